@@ -0,0 +1,218 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
+import br.com.guilhermedealmeidafreitas.creditos.service.ValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquece os caches de créditos por número e de páginas por NFS-e com as chaves
+ * mais acessadas, para que o tráfego após um deploy não encontre os caches vazios.
+ *
+ * Na inicialização ({@link ApplicationReadyEvent}), lê as chaves registradas em
+ * {@link ChavesQuentes} e as carrega em segundo plano, com no máximo
+ * {@code parallelism} consultas simultâneas. A aplicação só fica pronta
+ * ({@link AquecimentoCacheHealthIndicator}) quando a fração {@code readinessThreshold}
+ * das chaves foi processada, o aquecimento termina ou {@code maxDuration} se esgota.
+ *
+ * Periodicamente, registra as chaves mais acessadas e recarrega as que expiraram. As mais
+ * consultadas segundo o {@link DetectorChavesQuentes} vêm primeiro; o restante até
+ * {@code maxKeys} é completado com as mais acessadas de cada cache.
+ * Das NFS-e é aquecida a primeira página na ordenação padrão do endpoint paginado.
+ */
+@Component
+public class AquecimentoCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoCache.class);
+
+    private final CacheConfig.Aquecimento config;
+    private final CreditoCache creditoCache;
+    private final NfsePaginaCache nfsePaginaCache;
+    private final DetectorChavesQuentes detectorChavesQuentes;
+    private final ChavesQuentes chavesQuentes;
+    private final CreditoService creditoService;
+    private final ValidationService validationService;
+    private final Progresso inicial = new Progresso();
+    private volatile long inicioNanos;
+    private volatile boolean pronto;
+
+    public AquecimentoCache(CacheConfig cacheConfig,
+                            CreditoCache creditoCache,
+                            NfsePaginaCache nfsePaginaCache,
+                            DetectorChavesQuentes detectorChavesQuentes,
+                            ChavesQuentes chavesQuentes,
+                            CreditoService creditoService,
+                            ValidationService validationService) {
+        this.config = cacheConfig.getAquecimento();
+        this.creditoCache = creditoCache;
+        this.nfsePaginaCache = nfsePaginaCache;
+        this.detectorChavesQuentes = detectorChavesQuentes;
+        this.chavesQuentes = chavesQuentes;
+        this.creditoService = creditoService;
+        this.validationService = validationService;
+    }
+
+    /**
+     * Inicia o aquecimento em segundo plano, sem atrasar a inicialização.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        inicioNanos = System.nanoTime();
+        Thread thread = new Thread(() -> aquecer(inicial), "aquecimento-cache");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Registra as chaves mais acessadas e recarrega as que saíram dos caches.
+     */
+    @Scheduled(initialDelayString = "${app.cache.aquecimento.interval:PT5M}",
+               fixedDelayString = "${app.cache.aquecimento.interval:PT5M}")
+    public void atualizar() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        registrarChavesQuentes();
+        aquecer(new Progresso());
+    }
+
+    /**
+     * Indica se o aquecimento inicial atingiu o limiar de prontidão.
+     * Uma vez pronta, a aplicação não volta a ficar fora de serviço por causa do aquecimento.
+     */
+    public boolean isPronto() {
+        if (pronto || !config.isEnabled()) {
+            return true;
+        }
+        if (inicioNanos == 0) {
+            return false;
+        }
+        Duration decorrido = Duration.ofNanos(System.nanoTime() - inicioNanos);
+        if (inicial.concluido
+                || inicial.fracaoProcessada() >= config.getReadinessThreshold()
+                || decorrido.compareTo(config.getMaxDuration()) >= 0) {
+            pronto = true;
+        }
+        return pronto;
+    }
+
+    int getTotalInicial() {
+        return inicial.total;
+    }
+
+    int getProcessadasInicial() {
+        return inicial.processadas.get();
+    }
+
+    void registrarChavesQuentes() {
+        List<String> numeros = maisQuentes(ChavesQuentes.Tipo.CREDITO, creditoCache.maisAcessados(config.getMaxKeys()));
+        List<String> nfses = maisQuentes(ChavesQuentes.Tipo.NFSE, nfsePaginaCache.nfsesMaisAcessadas(config.getMaxKeys()));
+        try {
+            // Caches vazios (instância sem tráfego) não apagam o registro anterior
+            if (!numeros.isEmpty()) {
+                chavesQuentes.substituir(ChavesQuentes.Tipo.CREDITO, numeros);
+            }
+            if (!nfses.isEmpty()) {
+                chavesQuentes.substituir(ChavesQuentes.Tipo.NFSE, nfses);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível registrar as chaves quentes dos caches", e);
+        }
+    }
+
+    private List<String> maisQuentes(ChavesQuentes.Tipo tipo, List<String> maisAcessadasDoCache) {
+        Set<String> chaves = new LinkedHashSet<>();
+        for (DetectorChavesQuentes.ChaveQuente chaveQuente : detectorChavesQuentes.maisQuentes(tipo, config.getMaxKeys())) {
+            chaves.add(chaveQuente.chave());
+        }
+        for (String chave : maisAcessadasDoCache) {
+            if (chaves.size() >= config.getMaxKeys()) {
+                break;
+            }
+            chaves.add(chave);
+        }
+        return List.copyOf(chaves);
+    }
+
+    void aquecer(Progresso progresso) {
+        long inicio = System.nanoTime();
+        List<String> numeros;
+        List<String> nfses;
+        try {
+            numeros = chavesQuentes.listar(ChavesQuentes.Tipo.CREDITO, config.getMaxKeys());
+            nfses = chavesQuentes.listar(ChavesQuentes.Tipo.NFSE, config.getMaxKeys());
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível ler as chaves quentes; caches não serão aquecidos", e);
+            progresso.concluido = true;
+            return;
+        }
+        progresso.total = numeros.size() + nfses.size();
+        Pageable pagina = validationService.validateAndCreatePageable(
+            0, config.getPageSize(), config.getSortBy(), config.getSortDirection());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.getParallelism()));
+        try {
+            for (String numero : numeros) {
+                executor.execute(() -> carregar(progresso, () -> creditoService.buscarCreditoPorNumero(numero)));
+            }
+            for (String nfse : nfses) {
+                executor.execute(() -> carregar(progresso,
+                    () -> creditoService.buscarCreditosPorNfseComPaginacao(nfse, pagina)));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(config.getMaxDuration().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Aquecimento dos caches interrompido após {}", config.getMaxDuration());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            progresso.concluido = true;
+        }
+        log.info("Caches aquecidos: {} de {} chaves em {} ms",
+                 progresso.processadas.get(), progresso.total, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static void carregar(Progresso progresso, Runnable consulta) {
+        try {
+            consulta.run();
+        } catch (RuntimeException e) {
+            // Chave removida desde o registro (ex.: NFS-e sem créditos); não impede o aquecimento
+            log.debug("Falha ao aquecer chave: {}", e.getMessage());
+        } finally {
+            progresso.processadas.incrementAndGet();
+        }
+    }
+
+    static final class Progresso {
+        private volatile int total = -1;
+        private final AtomicInteger processadas = new AtomicInteger();
+        private volatile boolean concluido;
+
+        double fracaoProcessada() {
+            if (total < 0) {
+                return 0;
+            }
+            return total == 0 ? 1 : (double) processadas.get() / total;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém a aplicação fora de serviço (OUT_OF_SERVICE) até o aquecimento inicial
+ * dos caches atingir o limiar de prontidão. Incluído no grupo readiness.
+ *
+ * Como todo indicador, também entra no /actuator/health agregado, que responde 503 durante
+ * o aquecimento; os healthchecks de processo (docker-compose, scripts) usam
+ * /actuator/health/liveness, que não depende dele.
+ */
+@Component
+public class AquecimentoCacheHealthIndicator implements HealthIndicator {
+
+    private final AquecimentoCache aquecimentoCache;
+
+    public AquecimentoCacheHealthIndicator(AquecimentoCache aquecimentoCache) {
+        this.aquecimentoCache = aquecimentoCache;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = aquecimentoCache.isPronto() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("chaves", Math.max(0, aquecimentoCache.getTotalInicial()))
+            .withDetail("processadas", aquecimentoCache.getProcessadasInicial())
+            .build();
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.config.LeituraAposEscrita;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Propaga as invalidações dos caches locais entre as instâncias da API pelo
+ * LISTEN/NOTIFY do PostgreSQL.
+ *
+ * O envio ({@code pg_notify}) usa a conexão da transação de escrita corrente, então a
+ * notificação só é entregue no commit e é descartada no rollback. Cada instância mantém
+ * uma conexão dedicada, fora do pool, ouvindo o canal; ao receber uma mensagem de outra
+ * instância, descarta as entradas correspondentes (e o cache de segundo nível do Hibernate)
+ * e registra os números no filtro de números.
+ *
+ * Notificações enviadas enquanto a escuta estava desconectada são perdidas; por isso,
+ * ao reconectar, os caches locais são esvaziados e o filtro de números é recarregado.
+ */
+@Component
+public class BarramentoInvalidacao implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BarramentoInvalidacao.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Chaves por notificação; mantém o payload abaixo do limite de 8000 bytes do NOTIFY.
+     */
+    static final int CHAVES_POR_MENSAGEM = 100;
+
+    static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    public static final String APPLICATION_NAME = "creditos-invalidacao";
+
+    private final CacheConfig.InvalidacaoDistribuida config;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CreditoCache creditoCache;
+    private final CreditoOffHeapCache creditoOffHeapCache;
+    private final NfsePaginaCache nfsePaginaCache;
+    private final RespostaJsonCache respostaJsonCache;
+    private final CreditoNumeroFiltro creditoNumeroFiltro;
+    private final CacheSegundoNivel cacheSegundoNivel;
+    private final LeituraAposEscrita leituraAposEscrita;
+    private final String origem = UUID.randomUUID().toString();
+    private volatile boolean executando;
+    private volatile Thread ouvinte;
+    private volatile Connection conexao;
+
+    public BarramentoInvalidacao(CacheConfig cacheConfig,
+                                 JdbcTemplate jdbcTemplate,
+                                 DataSourceProperties dataSourceProperties,
+                                 CreditoCache creditoCache,
+                                 CreditoOffHeapCache creditoOffHeapCache,
+                                 NfsePaginaCache nfsePaginaCache,
+                                 RespostaJsonCache respostaJsonCache,
+                                 CreditoNumeroFiltro creditoNumeroFiltro,
+                                 CacheSegundoNivel cacheSegundoNivel,
+                                 LeituraAposEscrita leituraAposEscrita) {
+        this.config = cacheConfig.getInvalidacaoDistribuida();
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.creditoCache = creditoCache;
+        this.creditoOffHeapCache = creditoOffHeapCache;
+        this.nfsePaginaCache = nfsePaginaCache;
+        this.respostaJsonCache = respostaJsonCache;
+        this.creditoNumeroFiltro = creditoNumeroFiltro;
+        this.cacheSegundoNivel = cacheSegundoNivel;
+        this.leituraAposEscrita = leituraAposEscrita;
+    }
+
+    /**
+     * Mensagem trafegada no canal, em JSON.
+     *
+     * @param origem Identificador da instância que enviou
+     * @param todos Se todos os caches devem ser esvaziados
+     * @param creditos Números dos créditos alterados
+     * @param nfses NFS-e cujas páginas mudaram
+     */
+    record Mensagem(String origem, boolean todos, List<String> creditos, List<String> nfses) {}
+
+    /**
+     * Notifica as demais instâncias dos créditos e NFS-e alterados.
+     *
+     * @param numerosCredito Números dos créditos alterados
+     * @param numerosNfse NFS-e cujas páginas mudaram
+     */
+    public void publicar(Collection<String> numerosCredito, Collection<String> numerosNfse) {
+        if (!config.isEnabled() || (numerosCredito.isEmpty() && numerosNfse.isEmpty())) {
+            return;
+        }
+        for (List<String> creditos : particionar(numerosCredito)) {
+            enviar(new Mensagem(origem, false, creditos, List.of()));
+        }
+        for (List<String> nfses : particionar(numerosNfse)) {
+            enviar(new Mensagem(origem, false, List.of(), nfses));
+        }
+    }
+
+    /**
+     * Notifica as demais instâncias para esvaziarem todos os caches.
+     */
+    public void publicarTodos() {
+        if (config.isEnabled()) {
+            enviar(new Mensagem(origem, true, List.of(), List.of()));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        executando = true;
+        Thread thread = new Thread(this::ouvir, "invalidacao-cache");
+        thread.setDaemon(true);
+        ouvinte = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        Connection atual = conexao;
+        if (atual != null) {
+            try {
+                atual.close();
+            } catch (SQLException e) {
+                log.debug("Falha ao fechar a conexão de escuta: {}", e.getMessage());
+            }
+        }
+        Thread thread = ouvinte;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    /**
+     * Aplica nos caches locais uma mensagem recebida; mensagens da própria instância são ignoradas.
+     *
+     * @param payload Mensagem em JSON
+     */
+    void aplicar(String payload) {
+        Mensagem mensagem;
+        try {
+            mensagem = OBJECT_MAPPER.readValue(payload, Mensagem.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Notificação de invalidação inválida ignorada: {}", payload);
+            return;
+        }
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+        // A escrita remota também pode ainda não ter chegado à réplica
+        leituraAposEscrita.registrarEscrita();
+        if (mensagem.todos()) {
+            esvaziarCaches();
+            creditoNumeroFiltro.recarregarEmSegundoPlano();
+            return;
+        }
+        // Números criados em outra instância precisam entrar no filtro local
+        creditoNumeroFiltro.adicionar(mensagem.creditos());
+        // Do nível interno para o externo, como no CreditoCacheInvalidador
+        creditoOffHeapCache.invalidar(mensagem.creditos());
+        creditoCache.invalidar(mensagem.creditos());
+        nfsePaginaCache.invalidar(mensagem.nfses());
+        respostaJsonCache.invalidar(mensagem.creditos(), mensagem.nfses());
+        // O cache de segundo nível não é indexado por número; qualquer escrita remota o esvazia
+        cacheSegundoNivel.esvaziar();
+    }
+
+    private void ouvir() {
+        boolean primeiraConexao = true;
+        while (executando) {
+            try (Connection connection = conectar()) {
+                conexao = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + config.getChannel().replace("\"", "\"\"") + "\"");
+                }
+                if (!primeiraConexao) {
+                    // Notificações podem ter sido perdidas enquanto a escuta esteve fora
+                    log.info("Escuta de invalidação reconectada; esvaziando caches locais");
+                    esvaziarCaches();
+                    creditoNumeroFiltro.recarregarEmSegundoPlano();
+                }
+                primeiraConexao = false;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (executando) {
+                    PGNotification[] notificacoes =
+                        pgConnection.getNotifications((int) config.getPollTimeout().toMillis());
+                    if (notificacoes != null) {
+                        for (PGNotification notificacao : notificacoes) {
+                            aplicar(notificacao.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (executando) {
+                    log.warn("Escuta de invalidação desconectada: {}", e.getMessage());
+                    aguardarReconexao();
+                }
+            } finally {
+                conexao = null;
+            }
+        }
+    }
+
+    private Connection conectar() throws SQLException {
+        Properties propriedades = new Properties();
+        String usuario = dataSourceProperties.determineUsername();
+        String senha = dataSourceProperties.determinePassword();
+        if (usuario != null) {
+            propriedades.setProperty("user", usuario);
+        }
+        if (senha != null) {
+            propriedades.setProperty("password", senha);
+        }
+        propriedades.setProperty("ApplicationName", APPLICATION_NAME);
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), propriedades);
+    }
+
+    private void aguardarReconexao() {
+        try {
+            Thread.sleep(config.getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executando = false;
+        }
+    }
+
+    private void esvaziarCaches() {
+        creditoOffHeapCache.invalidarTodos();
+        creditoCache.invalidarTodos();
+        nfsePaginaCache.invalidarTodos();
+        respostaJsonCache.invalidarTodos();
+        cacheSegundoNivel.esvaziar();
+    }
+
+    private void enviar(Mensagem mensagem) {
+        String payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsString(mensagem);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a notificação de invalidação", e);
+        }
+        jdbcTemplate.query(NOTIFY_SQL, (RowCallbackHandler) rs -> { }, config.getChannel(), payload);
+    }
+
+    private static List<List<String>> particionar(Collection<String> chaves) {
+        List<List<String>> partes = new ArrayList<>();
+        List<String> parte = new ArrayList<>(CHAVES_POR_MENSAGEM);
+        for (String chave : chaves) {
+            parte.add(chave);
+            if (parte.size() == CHAVES_POR_MENSAGEM) {
+                partes.add(parte);
+                parte = new ArrayList<>(CHAVES_POR_MENSAGEM);
+            }
+        }
+        if (!parte.isEmpty()) {
+            partes.add(parte);
+        }
+        return partes;
+    }
+}
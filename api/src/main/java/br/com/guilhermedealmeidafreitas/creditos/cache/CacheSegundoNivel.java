@@ -0,0 +1,31 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Esvaziamento do cache de segundo nível e de consultas do Hibernate para escritas que
+ * o Hibernate não enxerga: a importação via COPY e as escritas de outras instâncias.
+ *
+ * Sem o id dos créditos alterados, a região de Credito é esvaziada por inteiro, junto
+ * com as regiões de consultas. Com o cache desabilitado, as chamadas não têm efeito.
+ */
+@Component
+public class CacheSegundoNivel {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Descarta os créditos e os resultados de consultas em cache.
+     */
+    public void esvaziar() {
+        entityManagerFactory.getCache().evict(Credito.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
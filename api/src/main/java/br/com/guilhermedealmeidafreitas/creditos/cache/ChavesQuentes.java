@@ -0,0 +1,70 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lista persistida das chaves mais acessadas dos caches (tabela chave_quente).
+ *
+ * Cada tipo guarda só o registro mais recente; com várias instâncias, vale o da
+ * última que registrou. As linhas são sobrescritas por posição (upsert), então
+ * registros concorrentes não conflitam.
+ */
+@Component
+public class ChavesQuentes {
+
+    public enum Tipo {
+        CREDITO,
+        NFSE
+    }
+
+    static final String LISTAR_SQL =
+        "SELECT chave FROM chave_quente WHERE tipo = ? ORDER BY posicao LIMIT ?";
+
+    static final String UPSERT_SQL =
+        "INSERT INTO chave_quente (tipo, posicao, chave, registrado_em) " +
+        "VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (tipo, posicao) DO UPDATE " +
+        "SET chave = EXCLUDED.chave, registrado_em = EXCLUDED.registrado_em";
+
+    static final String REMOVER_EXCEDENTES_SQL =
+        "DELETE FROM chave_quente WHERE tipo = ? AND posicao >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChavesQuentes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lista as chaves registradas, da mais acessada para a menos acessada.
+     *
+     * @param tipo Tipo da chave
+     * @param limite Quantidade máxima de chaves
+     * @return Chaves registradas
+     */
+    @Transactional(readOnly = true)
+    public List<String> listar(Tipo tipo, int limite) {
+        return jdbcTemplate.queryForList(LISTAR_SQL, String.class, tipo.name(), limite);
+    }
+
+    /**
+     * Substitui as chaves registradas do tipo.
+     *
+     * @param tipo Tipo da chave
+     * @param chaves Chaves da mais acessada para a menos acessada
+     */
+    @Transactional
+    public void substituir(Tipo tipo, List<String> chaves) {
+        List<Object[]> linhas = new ArrayList<>(chaves.size());
+        for (int posicao = 0; posicao < chaves.size(); posicao++) {
+            linhas.add(new Object[] {tipo.name(), posicao, chaves.get(posicao)});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, linhas);
+        jdbcTemplate.update(REMOVER_EXCEDENTES_SQL, tipo.name(), chaves.size());
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/hotkeys}: chaves mais consultadas por tipo, segundo o
+ * {@link DetectorChavesQuentes}. {@code /actuator/hotkeys/credito} e
+ * {@code /actuator/hotkeys/nfse} retornam um tipo só.
+ *
+ * As chaves são números reais de créditos e NFS-e e a API não tem autenticação: a exposição
+ * via web fica restrita ao profile dev (JMX continua disponível onde estiver habilitado).
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class ChavesQuentesEndpoint {
+
+    private final DetectorChavesQuentes detectorChavesQuentes;
+    private final CacheConfig.DeteccaoChavesQuentes config;
+
+    public ChavesQuentesEndpoint(DetectorChavesQuentes detectorChavesQuentes, CacheConfig cacheConfig) {
+        this.detectorChavesQuentes = detectorChavesQuentes;
+        this.config = cacheConfig.getDeteccaoChavesQuentes();
+    }
+
+    @ReadOperation
+    public Map<String, List<DetectorChavesQuentes.ChaveQuente>> chavesQuentes() {
+        Map<String, List<DetectorChavesQuentes.ChaveQuente>> resultado = new LinkedHashMap<>();
+        for (ChavesQuentes.Tipo tipo : ChavesQuentes.Tipo.values()) {
+            resultado.put(tipo.name().toLowerCase(Locale.ROOT), detectorChavesQuentes.maisQuentes(tipo, config.getTopK()));
+        }
+        return resultado;
+    }
+
+    /**
+     * @param tipo credito ou nfse
+     * @return Chaves do tipo, ou null (404) para um tipo desconhecido
+     */
+    @ReadOperation
+    public List<DetectorChavesQuentes.ChaveQuente> chavesQuentesPorTipo(@Selector String tipo) {
+        for (ChavesQuentes.Tipo conhecido : ChavesQuentes.Tipo.values()) {
+            if (conhecido.name().equalsIgnoreCase(tipo)) {
+                return detectorChavesQuentes.maisQuentes(conhecido, config.getTopK());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache em memória (Caffeine, W-TinyLFU) dos créditos consultados por número.
+ *
+ * Apenas créditos encontrados são armazenados; números inexistentes sempre vão ao banco.
+ * As estatísticas de acerto, falta e descarte são publicadas no Micrometer como
+ * {@code cache.gets}, {@code cache.puts} e {@code cache.evictions} com a tag {@code cache=creditosPorNumero}.
+ *
+ * Os caminhos de escrita não chamam este cache diretamente, e sim o {@link CreditoCacheInvalidador}.
+ * Um crédito que expira aqui também sai do {@link CreditoOffHeapCache}, de onde as faltas são
+ * reabastecidas; descartes por tamanho o mantêm lá.
+ *
+ * Um crédito carregado enquanto uma invalidação acontecia não é mantido, como no
+ * {@link NfsePaginaCache}: o carregador pode ter lido a versão anterior no off-heap ou no banco.
+ */
+@Component
+public class CreditoCache {
+
+    public static final String NOME = "creditosPorNumero";
+
+    private final CacheConfig.CreditoPorNumero config;
+    private final Cache<String, Credito> cache;
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public CreditoCache(CacheConfig cacheConfig, CreditoOffHeapCache creditoOffHeapCache, MeterRegistry meterRegistry) {
+        this.config = cacheConfig.getCreditoPorNumero();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getExpireAfterWrite())
+            .evictionListener((String numeroCredito, Credito credito, RemovalCause causa) -> {
+                if (causa == RemovalCause.EXPIRED) {
+                    creditoOffHeapCache.expirar(numeroCredito);
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+    }
+
+    /**
+     * Retorna o crédito do cache ou o carrega, armazenando-o se existir.
+     *
+     * @param numeroCredito Número do crédito
+     * @param carregador Consulta ao banco executada em caso de falta
+     * @return Crédito encontrado ou null
+     */
+    public Credito obter(String numeroCredito, Function<String, Credito> carregador) {
+        if (!config.isEnabled()) {
+            return carregador.apply(numeroCredito);
+        }
+        Credito credito = cache.getIfPresent(numeroCredito);
+        if (credito != null) {
+            return credito;
+        }
+
+        long invalidacoesAntes = invalidacoes.get();
+        credito = carregador.apply(numeroCredito);
+        if (credito == null) {
+            return null;
+        }
+        cache.put(numeroCredito, credito);
+        // Conferido depois do put: uma invalidação concorrente pode ter passado antes dele
+        if (invalidacoes.get() != invalidacoesAntes) {
+            cache.invalidate(numeroCredito);
+        }
+        return credito;
+    }
+
+    /**
+     * Remove os créditos informados do cache.
+     *
+     * @param numerosCredito Números dos créditos alterados
+     */
+    public void invalidar(Collection<String> numerosCredito) {
+        if (numerosCredito.isEmpty()) {
+            return;
+        }
+        invalidacoes.incrementAndGet();
+        cache.invalidateAll(numerosCredito);
+    }
+
+    /**
+     * Esvazia o cache.
+     */
+    public void invalidarTodos() {
+        invalidacoes.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Números mais acessados, do mais quente para o menos quente, segundo a política do Caffeine.
+     *
+     * @param limite Quantidade máxima de números
+     * @return Números em cache ordenados por frequência de acesso
+     */
+    public List<String> maisAcessados(int limite) {
+        return cache.policy().eviction()
+            .map(eviction -> List.copyOf(eviction.hottest(limite).keySet()))
+            .orElse(List.of());
+    }
+
+    long tamanhoEstimado() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.config.LeituraAposEscrita;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ponto único de invalidação dos caches de créditos, chamado por todo caminho de escrita
+ * (comandos, geração de dados de teste, importação).
+ *
+ * A invalidação é feita na hora e repetida ao fim da transação corrente, para que uma
+ * leitura concorrente não recoloque no cache a versão anterior ao commit. Com réplica de
+ * leitura, cada escrita também abre a {@link LeituraAposEscrita}, para que a leitura que
+ * volta a preencher o cache não venha de uma réplica que ainda não recebeu o commit.
+ *
+ * As demais instâncias são notificadas pelo {@link BarramentoInvalidacao}, na mesma
+ * transação da escrita.
+ *
+ * Números novos entram no filtro de números ({@link CreditoNumeroFiltro}) por
+ * {@link #registrarGravacao}, que deve ser chamado antes da escrita.
+ */
+@Component
+public class CreditoCacheInvalidador {
+
+    private final CreditoCache creditoCache;
+    private final CreditoOffHeapCache creditoOffHeapCache;
+    private final NfsePaginaCache nfsePaginaCache;
+    private final RespostaJsonCache respostaJsonCache;
+    private final CreditoNumeroFiltro creditoNumeroFiltro;
+    private final BarramentoInvalidacao barramentoInvalidacao;
+    private final CacheSegundoNivel cacheSegundoNivel;
+    private final CacheConfig cacheConfig;
+    private final LeituraAposEscrita leituraAposEscrita;
+
+    public CreditoCacheInvalidador(CreditoCache creditoCache,
+                                   CreditoOffHeapCache creditoOffHeapCache,
+                                   NfsePaginaCache nfsePaginaCache,
+                                   RespostaJsonCache respostaJsonCache,
+                                   CreditoNumeroFiltro creditoNumeroFiltro,
+                                   BarramentoInvalidacao barramentoInvalidacao,
+                                   CacheSegundoNivel cacheSegundoNivel,
+                                   CacheConfig cacheConfig,
+                                   LeituraAposEscrita leituraAposEscrita) {
+        this.creditoCache = creditoCache;
+        this.creditoOffHeapCache = creditoOffHeapCache;
+        this.nfsePaginaCache = nfsePaginaCache;
+        this.respostaJsonCache = respostaJsonCache;
+        this.creditoNumeroFiltro = creditoNumeroFiltro;
+        this.barramentoInvalidacao = barramentoInvalidacao;
+        this.cacheSegundoNivel = cacheSegundoNivel;
+        this.cacheConfig = cacheConfig;
+        this.leituraAposEscrita = leituraAposEscrita;
+    }
+
+    /**
+     * Registra no filtro de números os créditos que serão gravados. Chamado antes da
+     * escrita: se a gravação falhar, o número só vira um falso positivo do filtro.
+     *
+     * @param creditos Créditos a gravar
+     */
+    public void registrarGravacao(Collection<Credito> creditos) {
+        creditoNumeroFiltro.adicionar(creditos.stream().map(Credito::getNumeroCredito).toList());
+    }
+
+    /**
+     * Registra no filtro de números um crédito que será gravado.
+     *
+     * @param numeroCredito Número do crédito a gravar
+     */
+    public void registrarGravacao(String numeroCredito) {
+        creditoNumeroFiltro.adicionar(numeroCredito);
+    }
+
+    /**
+     * Invalida os créditos gravados ou removidos e as páginas das suas NFS-e,
+     * inclusive as respostas JSON já serializadas.
+     *
+     * @param creditos Créditos alterados
+     */
+    public void invalidarCreditos(Collection<Credito> creditos) {
+        invalidar(
+            creditos.stream().map(Credito::getNumeroCredito).collect(Collectors.toSet()),
+            creditos.stream().map(Credito::getNumeroNfse).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Invalida os créditos e as páginas das NFS-e informadas.
+     *
+     * @param numerosCredito Números dos créditos alterados
+     * @param numerosNfse NFS-e cujas páginas mudaram (inclusive a NFS-e anterior de um crédito movido)
+     */
+    public void invalidar(Collection<String> numerosCredito, Collection<String> numerosNfse) {
+        Set<String> numeros = Set.copyOf(numerosCredito);
+        Set<String> nfses = Set.copyOf(numerosNfse);
+        Runnable invalidacao = () -> {
+            // Do nível interno para o externo: uma falta no Caffeine entre as duas
+            // chamadas não pode mais encontrar o crédito antigo fora do heap
+            creditoOffHeapCache.invalidar(numeros);
+            creditoCache.invalidar(numeros);
+            nfsePaginaCache.invalidar(nfses);
+            respostaJsonCache.invalidar(numeros, nfses);
+        };
+        invalidacao.run();
+        aoFimDaTransacao(invalidacao);
+        barramentoInvalidacao.publicar(numeros, nfses);
+    }
+
+    /**
+     * Esvazia todos os caches, para escritas cujo conjunto de créditos afetados
+     * não é conhecido ou é grande demais para ser acumulado.
+     */
+    public void invalidarTodos() {
+        Runnable invalidacao = () -> {
+            creditoOffHeapCache.invalidarTodos();
+            creditoCache.invalidarTodos();
+            nfsePaginaCache.invalidarTodos();
+            respostaJsonCache.invalidarTodos();
+        };
+        invalidacao.run();
+        aoFimDaTransacao(invalidacao);
+        barramentoInvalidacao.publicarTodos();
+    }
+
+    /**
+     * Esvazia o cache de segundo nível do Hibernate, para escritas feitas por JDBC
+     * (fora do Hibernate). Repetido ao fim da transação, como as demais invalidações.
+     */
+    public void invalidarSegundoNivel() {
+        cacheSegundoNivel.esvaziar();
+        aoFimDaTransacao(cacheSegundoNivel::esvaziar);
+    }
+
+    /**
+     * Quantidade de chaves a partir da qual é mais barato esvaziar os caches
+     * do que acumular e invalidar cada uma.
+     */
+    public long getLimiteInvalidacaoIndividual() {
+        return cacheConfig.getCreditoPorNumero().getMaximumSize();
+    }
+
+    private void aoFimDaTransacao(Runnable invalidacao) {
+        leituraAposEscrita.registrarEscrita();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // A janela conta a partir do commit, antes de liberar o cache para a próxima leitura
+                leituraAposEscrita.registrarEscrita();
+                invalidacao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+
+/**
+ * Filtro de Bloom sobre todos os números de crédito existentes, para responder
+ * consultas por números inexistentes sem ir ao banco.
+ *
+ * É carregado na inicialização lendo a coluna numero_credito em lotes (cursor do driver)
+ * e recebe os novos números dos caminhos de escrita antes da gravação: um número
+ * adicionado e não gravado (rollback) só vira falso positivo, enquanto um número
+ * gravado e ainda não adicionado seria um falso negativo. Até a carga terminar,
+ * todo número é tratado como possivelmente existente.
+ *
+ * Métricas: {@code creditos.filtro.taxa.falsos.positivos} (tipo=estimada, pela fração
+ * de bits ligados; tipo=observada, entre as consultas por números inexistentes) e
+ * {@code creditos.filtro.consultas} (resultado=ausente|falso_positivo).
+ */
+@Component
+public class CreditoNumeroFiltro {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditoNumeroFiltro.class);
+
+    static final String CARGA_SQL = "SELECT numero_credito FROM credito";
+
+    private final CacheConfig.FiltroNumeros config;
+    private final DataSource dataSource;
+    private final FiltroBloom filtro;
+    private final Counter ausentes;
+    private final Counter falsosPositivos;
+    private volatile boolean pronto;
+
+    public CreditoNumeroFiltro(CacheConfig cacheConfig, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.config = cacheConfig.getFiltroNumeros();
+        this.dataSource = dataSource;
+        this.filtro = new FiltroBloom(config.getExpectedInsertions(), config.getFalsePositiveRate());
+        this.ausentes = Counter.builder("creditos.filtro.consultas")
+            .description("Consultas por número respondidas pelo filtro de Bloom")
+            .tag("resultado", "ausente")
+            .register(meterRegistry);
+        this.falsosPositivos = Counter.builder("creditos.filtro.consultas")
+            .description("Consultas por número respondidas pelo filtro de Bloom")
+            .tag("resultado", "falso_positivo")
+            .register(meterRegistry);
+        Gauge.builder("creditos.filtro.taxa.falsos.positivos", filtro, FiltroBloom::taxaFalsosPositivosEstimada)
+            .description("Taxa de falsos positivos do filtro de números de crédito")
+            .tag("tipo", "estimada")
+            .register(meterRegistry);
+        Gauge.builder("creditos.filtro.taxa.falsos.positivos", this, CreditoNumeroFiltro::taxaFalsosPositivosObservada)
+            .description("Taxa de falsos positivos do filtro de números de crédito")
+            .tag("tipo", "observada")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Carrega no filtro todos os números de crédito existentes.
+     * Em caso de erro o filtro permanece desativado e as consultas vão ao banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        long carregados = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // O driver do PostgreSQL só usa cursor (fetchSize) fora do modo autocommit
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(config.getFetchSize());
+                try (ResultSet rs = statement.executeQuery(CARGA_SQL)) {
+                    while (rs.next()) {
+                        filtro.adicionar(rs.getString(1));
+                        carregados++;
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.error("Falha ao carregar o filtro de números de crédito; consultas seguirão indo ao banco", e);
+            return;
+        }
+        pronto = true;
+        log.info("Filtro de números de crédito carregado: {} números em {} ms ({} bits, {} funções de hash)",
+                 carregados, (System.nanoTime() - inicio) / 1_000_000, filtro.getTotalBits(), filtro.getFuncoesHash());
+    }
+
+    /**
+     * Recarrega o filtro em segundo plano, para números gravados sem passar por esta
+     * instância. Até o fim da recarga, todo número é tratado como possivelmente existente.
+     */
+    public void recarregarEmSegundoPlano() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        pronto = false;
+        Thread thread = new Thread(this::carregar, "recarga-filtro-numeros");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Indica se o número pode existir. false significa que certamente não existe.
+     *
+     * @param numeroCredito Número do crédito
+     * @return false apenas se o filtro estiver carregado e o número certamente não existir
+     */
+    public boolean podeExistir(String numeroCredito) {
+        if (!config.isEnabled() || !pronto) {
+            return true;
+        }
+        if (filtro.podeConter(numeroCredito)) {
+            return true;
+        }
+        ausentes.increment();
+        return false;
+    }
+
+    /**
+     * Registra que um número aprovado pelo filtro não existia no banco (falso positivo).
+     */
+    public void registrarInexistente() {
+        if (config.isEnabled() && pronto) {
+            falsosPositivos.increment();
+        }
+    }
+
+    /**
+     * Adiciona números que serão gravados. Deve ser chamado antes da gravação.
+     *
+     * @param numerosCredito Números dos créditos
+     */
+    public void adicionar(Collection<String> numerosCredito) {
+        for (String numeroCredito : numerosCredito) {
+            filtro.adicionar(numeroCredito);
+        }
+    }
+
+    /**
+     * Adiciona um número que será gravado. Deve ser chamado antes da gravação.
+     *
+     * @param numeroCredito Número do crédito
+     */
+    public void adicionar(String numeroCredito) {
+        filtro.adicionar(numeroCredito);
+    }
+
+    boolean isPronto() {
+        return pronto;
+    }
+
+    private double taxaFalsosPositivosObservada() {
+        double negativos = ausentes.count() + falsosPositivos.count();
+        return negativos == 0 ? 0 : falsosPositivos.count() / negativos;
+    }
+}
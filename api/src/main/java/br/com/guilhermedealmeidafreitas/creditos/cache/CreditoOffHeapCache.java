@@ -0,0 +1,124 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Segundo nível do cache de créditos por número, fora do heap: consultado quando o
+ * {@link CreditoCache} falha e antes do banco. Guarda muito mais créditos que o Caffeine
+ * sem custo para o coletor de lixo, ao preço de decodificar o crédito a cada leitura.
+ *
+ * O formato está em {@link TabelaCreditosCompacta}. Um crédito montado enquanto uma
+ * invalidação acontecia não é mantido, como no {@link NfsePaginaCache}.
+ *
+ * Os créditos expiram após {@code expire-after-write} e também quando a entrada do
+ * {@link CreditoCache} expira, para que a validade do cache em heap não seja renovada
+ * indefinidamente a partir daqui.
+ */
+@Component
+public class CreditoOffHeapCache {
+
+    private final CacheConfig.CreditoOffHeap config;
+    private final TabelaCreditosCompacta tabela;
+    private final AtomicLong invalidacoes = new AtomicLong();
+    private final Counter acertos;
+    private final Counter faltas;
+
+    public CreditoOffHeapCache(CacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.config = cacheConfig.getCreditoOffHeap();
+        this.tabela = new TabelaCreditosCompacta(
+            config.getMaxEntries(), config.getExpireAfterWrite().toNanos(), System::nanoTime);
+        this.acertos = Counter.builder("creditos.offheap.consultas")
+            .description("Consultas ao cache de créditos fora do heap")
+            .tag("resultado", "acerto")
+            .register(meterRegistry);
+        this.faltas = Counter.builder("creditos.offheap.consultas")
+            .description("Consultas ao cache de créditos fora do heap")
+            .tag("resultado", "falta")
+            .register(meterRegistry);
+        Gauge.builder("creditos.offheap.entradas", tabela, TabelaCreditosCompacta::tamanho)
+            .description("Créditos guardados fora do heap")
+            .register(meterRegistry);
+        Gauge.builder("creditos.offheap.bytes", tabela, TabelaCreditosCompacta::bytesReservados)
+            .description("Memória direta reservada pelo cache de créditos")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        FunctionCounter.builder("creditos.offheap.descartes", tabela, TabelaCreditosCompacta::descartes)
+            .description("Créditos descartados por falta de espaço")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Retorna o crédito da tabela ou o carrega, guardando-o se existir.
+     *
+     * @param numeroCredito Número do crédito
+     * @param carregador Consulta ao banco executada em caso de falta
+     * @return Crédito encontrado ou null
+     */
+    public Credito obter(String numeroCredito, Function<String, Credito> carregador) {
+        if (!config.isEnabled()) {
+            return carregador.apply(numeroCredito);
+        }
+        Credito credito = tabela.obter(numeroCredito);
+        if (credito != null) {
+            acertos.increment();
+            return credito;
+        }
+        faltas.increment();
+
+        long invalidacoesAntes = invalidacoes.get();
+        credito = carregador.apply(numeroCredito);
+        if (credito == null) {
+            return null;
+        }
+        tabela.guardar(credito);
+        // Conferido depois da gravação: uma invalidação concorrente pode ter passado antes dela
+        if (invalidacoes.get() != invalidacoesAntes) {
+            tabela.remover(numeroCredito);
+        }
+        return credito;
+    }
+
+    /**
+     * Remove os créditos informados.
+     *
+     * @param numerosCredito Números dos créditos alterados
+     */
+    public void invalidar(Collection<String> numerosCredito) {
+        if (numerosCredito.isEmpty()) {
+            return;
+        }
+        invalidacoes.incrementAndGet();
+        numerosCredito.forEach(tabela::remover);
+    }
+
+    /**
+     * Remove um crédito cuja entrada no cache em heap expirou.
+     *
+     * @param numeroCredito Número do crédito
+     */
+    public void expirar(String numeroCredito) {
+        tabela.remover(numeroCredito);
+    }
+
+    /**
+     * Esvazia a tabela; a memória reservada é mantida para as próximas gravações.
+     */
+    public void invalidarTodos() {
+        invalidacoes.incrementAndGet();
+        tabela.limpar();
+    }
+
+    int tamanho() {
+        return tabela.tamanho();
+    }
+}
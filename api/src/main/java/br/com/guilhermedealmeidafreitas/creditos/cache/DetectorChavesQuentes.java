@@ -0,0 +1,204 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detecta os números de crédito e as NFS-e mais consultados, por tipo de chave.
+ *
+ * Cada consulta é contada num {@link EsbocoContagemMinima} (sem travas) e oferecida a um
+ * heap mínimo das {@code topK} chaves mais frequentes. A maioria das chaves é descartada
+ * sem trava, comparando a estimativa com a menor contagem do heap. A cada {@code window}
+ * o esboço e o heap são divididos por dois, então a frequência reflete as últimas janelas.
+ *
+ * As chaves quentes são expostas em {@code /actuator/hotkeys} ({@link ChavesQuentesEndpoint}),
+ * entram no registro usado pelo aquecimento ({@link AquecimentoCache}) e a frequência
+ * estimada pode ser usada para decidir a admissão de uma chave num cache.
+ */
+@Component
+public class DetectorChavesQuentes {
+
+    private final CacheConfig.DeteccaoChavesQuentes config;
+    private final Map<ChavesQuentes.Tipo, EsbocoContagemMinima> esbocos = new EnumMap<>(ChavesQuentes.Tipo.class);
+    private final Map<ChavesQuentes.Tipo, MaisFrequentes> maisFrequentes = new EnumMap<>(ChavesQuentes.Tipo.class);
+
+    public DetectorChavesQuentes(CacheConfig cacheConfig) {
+        this.config = cacheConfig.getDeteccaoChavesQuentes();
+        for (ChavesQuentes.Tipo tipo : ChavesQuentes.Tipo.values()) {
+            esbocos.put(tipo, new EsbocoContagemMinima(config.getDepth(), config.getWidth()));
+            maisFrequentes.put(tipo, new MaisFrequentes(config.getTopK()));
+        }
+    }
+
+    /**
+     * Chave quente com a frequência estimada nas janelas recentes.
+     *
+     * @param chave Número do crédito ou da NFS-e
+     * @param frequenciaEstimada Consultas estimadas, com peso decrescente para janelas antigas
+     */
+    public record ChaveQuente(String chave, long frequenciaEstimada) {}
+
+    /**
+     * Conta uma consulta à chave.
+     *
+     * @param tipo Tipo da chave
+     * @param chave Número do crédito ou da NFS-e
+     */
+    public void registrar(ChavesQuentes.Tipo tipo, String chave) {
+        if (!config.isEnabled() || chave == null) {
+            return;
+        }
+        long estimativa = esbocos.get(tipo).incrementar(chave);
+        maisFrequentes.get(tipo).oferecer(chave, estimativa);
+    }
+
+    /**
+     * Frequência estimada da chave nas janelas recentes; nunca abaixo da real.
+     *
+     * @param tipo Tipo da chave
+     * @param chave Número do crédito ou da NFS-e
+     * @return Consultas estimadas
+     */
+    public long frequenciaEstimada(ChavesQuentes.Tipo tipo, String chave) {
+        return esbocos.get(tipo).estimar(chave);
+    }
+
+    /**
+     * Chaves mais consultadas, da mais quente para a menos quente.
+     *
+     * @param tipo Tipo da chave
+     * @param limite Quantidade máxima de chaves (no máximo {@code topK})
+     * @return Chaves com a frequência estimada
+     */
+    public List<ChaveQuente> maisQuentes(ChavesQuentes.Tipo tipo, int limite) {
+        return maisFrequentes.get(tipo).listar(limite);
+    }
+
+    /**
+     * Divide as contagens por dois ao fim de cada janela.
+     */
+    @Scheduled(initialDelayString = "${app.cache.deteccao-chaves-quentes.window:PT1M}",
+               fixedRateString = "${app.cache.deteccao-chaves-quentes.window:PT1M}")
+    public void decair() {
+        for (ChavesQuentes.Tipo tipo : ChavesQuentes.Tipo.values()) {
+            esbocos.get(tipo).decair();
+            maisFrequentes.get(tipo).decair();
+        }
+    }
+
+    /**
+     * Heap mínimo indexado das chaves mais frequentes: o topo é a menos frequente,
+     * a primeira a sair quando uma chave mais frequente chega.
+     */
+    private static final class MaisFrequentes {
+
+        private final int capacidade;
+        private final String[] chaves;
+        private final long[] contagens;
+        private final Map<String, Integer> posicoes = new HashMap<>();
+        private int tamanho;
+        // Menor contagem com o heap cheio (-1 antes disso); lido sem trava para descartar rápido
+        private volatile long limiar = -1;
+
+        MaisFrequentes(int capacidade) {
+            this.capacidade = Math.max(1, capacidade);
+            this.chaves = new String[this.capacidade];
+            this.contagens = new long[this.capacidade];
+        }
+
+        void oferecer(String chave, long estimativa) {
+            if (estimativa <= limiar) {
+                return;
+            }
+            synchronized (this) {
+                Integer posicao = posicoes.get(chave);
+                if (posicao != null) {
+                    if (estimativa > contagens[posicao]) {
+                        contagens[posicao] = estimativa;
+                        descer(posicao);
+                    }
+                } else if (tamanho < capacidade) {
+                    colocar(tamanho, chave, estimativa);
+                    subir(tamanho++);
+                } else if (estimativa > contagens[0]) {
+                    posicoes.remove(chaves[0]);
+                    colocar(0, chave, estimativa);
+                    descer(0);
+                }
+                atualizarLimiar();
+            }
+        }
+
+        synchronized void decair() {
+            // Dividir todas por dois preserva a ordem, e portanto o heap
+            for (int i = 0; i < tamanho; i++) {
+                contagens[i] >>>= 1;
+            }
+            atualizarLimiar();
+        }
+
+        synchronized List<ChaveQuente> listar(int limite) {
+            List<ChaveQuente> resultado = new ArrayList<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                resultado.add(new ChaveQuente(chaves[i], contagens[i]));
+            }
+            resultado.sort(Comparator.comparingLong(ChaveQuente::frequenciaEstimada).reversed());
+            return List.copyOf(resultado.subList(0, Math.min(Math.max(0, limite), resultado.size())));
+        }
+
+        private void atualizarLimiar() {
+            limiar = tamanho < capacidade ? -1 : contagens[0];
+        }
+
+        private void subir(int posicao) {
+            while (posicao > 0) {
+                int pai = (posicao - 1) / 2;
+                if (contagens[pai] <= contagens[posicao]) {
+                    return;
+                }
+                trocar(posicao, pai);
+                posicao = pai;
+            }
+        }
+
+        private void descer(int posicao) {
+            while (true) {
+                int menor = posicao;
+                int esquerda = 2 * posicao + 1;
+                int direita = esquerda + 1;
+                if (esquerda < tamanho && contagens[esquerda] < contagens[menor]) {
+                    menor = esquerda;
+                }
+                if (direita < tamanho && contagens[direita] < contagens[menor]) {
+                    menor = direita;
+                }
+                if (menor == posicao) {
+                    return;
+                }
+                trocar(posicao, menor);
+                posicao = menor;
+            }
+        }
+
+        private void trocar(int a, int b) {
+            String chave = chaves[a];
+            long contagem = contagens[a];
+            colocar(a, chaves[b], contagens[b]);
+            colocar(b, chave, contagem);
+        }
+
+        private void colocar(int posicao, String chave, long contagem) {
+            chaves[posicao] = chave;
+            contagens[posicao] = contagem;
+            posicoes.put(chave, posicao);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch de strings, sem travas: cada linha é um vetor de contadores atômicos
+ * indexado por um hash próprio, e a estimativa é o menor contador entre as linhas.
+ *
+ * A estimativa nunca fica abaixo da contagem real; o excesso é no máximo
+ * 2/largura do total de eventos com probabilidade 1 - (1/2)^profundidade.
+ * {@link #decair()} divide os contadores por dois, para que a contagem
+ * favoreça os acessos recentes (janelas deslizantes com peso decrescente).
+ */
+class EsbocoContagemMinima {
+
+    private final AtomicLongArray contadores;
+    private final int profundidade;
+    private final int mascara;
+
+    /**
+     * @param profundidade Quantidade de linhas (funções de hash)
+     * @param largura Contadores por linha, arredondado para potência de dois
+     */
+    EsbocoContagemMinima(int profundidade, int largura) {
+        this.profundidade = Math.max(1, profundidade);
+        int larguraReal = Integer.highestOneBit(Math.max(2, Math.min(largura, 1 << 24)) - 1) << 1;
+        this.mascara = larguraReal - 1;
+        this.contadores = new AtomicLongArray(this.profundidade * larguraReal);
+    }
+
+    /**
+     * Conta uma ocorrência da chave.
+     *
+     * @return Estimativa da frequência já incluindo esta ocorrência
+     */
+    long incrementar(String chave) {
+        long hash = hash(chave);
+        long minimo = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            minimo = Math.min(minimo, contadores.incrementAndGet(indice(hash, linha)));
+        }
+        return minimo;
+    }
+
+    long estimar(String chave) {
+        long hash = hash(chave);
+        long minimo = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            minimo = Math.min(minimo, contadores.get(indice(hash, linha)));
+        }
+        return minimo;
+    }
+
+    /**
+     * Divide todos os contadores por dois. Incrementos concorrentes não se perdem,
+     * apenas podem ser contados antes ou depois da divisão.
+     */
+    void decair() {
+        for (int i = 0; i < contadores.length(); i++) {
+            contadores.getAndUpdate(i, valor -> valor >>> 1);
+        }
+    }
+
+    private int indice(long hash, int linha) {
+        // Double hashing, como no FiltroBloom: h1 + linha * h2
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return linha * (mascara + 1) + ((h1 + linha * h2) & mascara);
+    }
+
+    private static long hash(String chave) {
+        long h = chave.hashCode() * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 32);
+    }
+}
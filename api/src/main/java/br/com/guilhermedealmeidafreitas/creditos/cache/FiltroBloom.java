@@ -0,0 +1,99 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, seguro para escritas e leituras concorrentes.
+ *
+ * Responde "certamente ausente" ou "possivelmente presente"; não há remoção,
+ * então valores removidos do conjunto apenas contam como falsos positivos.
+ * Os k índices vêm de double hashing (h1 + i * h2) sobre um hash de 64 bits.
+ */
+class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private final int funcoesHash;
+    private final AtomicLong bitsLigados = new AtomicLong();
+
+    /**
+     * @param insercoesPrevistas Quantidade de valores prevista
+     * @param taxaFalsosPositivos Taxa de falsos positivos desejada para essa quantidade
+     */
+    FiltroBloom(long insercoesPrevistas, double taxaFalsosPositivos) {
+        long n = Math.max(1, insercoesPrevistas);
+        double p = Math.min(Math.max(taxaFalsosPositivos, Double.MIN_VALUE), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int quantidadePalavras = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.palavras = new AtomicLongArray(quantidadePalavras);
+        this.totalBits = (long) quantidadePalavras * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+    }
+
+    void adicionar(String valor) {
+        long hash = hash(valor);
+        long h1 = hash;
+        long h2 = misturar(hash) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            ligar(Math.floorMod(h1 + i * h2, totalBits));
+        }
+    }
+
+    boolean podeConter(String valor) {
+        long hash = hash(valor);
+        long h1 = hash;
+        long h2 = misturar(hash) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falsos positivos estimada pela fração de bits ligados: (bits ligados / total)^k.
+     */
+    double taxaFalsosPositivosEstimada() {
+        return Math.pow((double) bitsLigados.get() / totalBits, funcoesHash);
+    }
+
+    long getTotalBits() {
+        return totalBits;
+    }
+
+    int getFuncoesHash() {
+        return funcoesHash;
+    }
+
+    private void ligar(long bit) {
+        int indice = (int) (bit >>> 6);
+        long mascara = 1L << bit;
+        long atual;
+        do {
+            atual = palavras.get(indice);
+            if ((atual & mascara) != 0) {
+                return;
+            }
+        } while (!palavras.compareAndSet(indice, atual, atual | mascara));
+        bitsLigados.incrementAndGet();
+    }
+
+    // FNV-1a de 64 bits sobre os chars, seguido do finalizador do SplitMix64
+    private static long hash(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return misturar(hash);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
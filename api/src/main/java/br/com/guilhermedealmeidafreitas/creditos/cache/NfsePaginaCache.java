@@ -0,0 +1,167 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória das páginas de créditos por NFS-e, chaveado por
+ * (NFS-e, versão, página, tamanho, ordenação, com ou sem total), e das versões
+ * das NFS-e usadas nessas chaves e nos ETags das listas.
+ *
+ * A versão, lida antes da página, faz parte da chave: uma página guardada numa versão
+ * anterior nunca é devolvida para a versão atual, e por isso nunca é servida com o
+ * ETag da versão nova.
+ *
+ * Guardar a versão poupa a consulta de MAX(updated_at) e COUNT(*) a cada GET, mas ela
+ * passa a depender da invalidação: se a mensagem de outra instância se perder, a versão
+ * antiga (e o ETag e as páginas dela) é servida até expirar (expireAfterWrite). Sem o
+ * cache, a versão é consultada no banco a cada chamada.
+ *
+ * A invalidação é por NFS-e: a versão e todas as páginas da NFS-e alterada são descartadas.
+ * Uma versão ou página montada enquanto uma invalidação acontecia não é mantida no cache,
+ * pois pode ter sido lida antes do commit da escrita.
+ */
+@Component
+public class NfsePaginaCache {
+
+    public static final String NOME = "nfsePaginas";
+    public static final String NOME_VERSOES = "nfseVersoes";
+
+    private final CacheConfig.NfsePaginas config;
+    private final Cache<Chave, PaginatedCreditoResponse> cache;
+    private final Cache<String, VersaoNfse> versoes;
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public NfsePaginaCache(CacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.config = cacheConfig.getNfsePaginas();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getExpireAfterWrite())
+            .recordStats()
+            .build();
+        this.versoes = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getExpireAfterWrite())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+        CaffeineCacheMetrics.monitor(meterRegistry, versoes, NOME_VERSOES);
+    }
+
+    /**
+     * Retorna a versão da NFS-e do cache ou a consulta com o carregador.
+     *
+     * @param numeroNfse Número da NFS-e
+     * @param carregador Consulta da versão no banco executada em caso de falta
+     * @return Versão da NFS-e
+     */
+    public VersaoNfse versao(String numeroNfse, Supplier<VersaoNfse> carregador) {
+        if (!config.isEnabled()) {
+            return carregador.get();
+        }
+        return carregar(versoes, numeroNfse, carregador);
+    }
+
+    /**
+     * Retorna a página do cache ou a monta com o carregador. A versão da NFS-e, que
+     * entra na chave, é obtida antes da página (e só com o cache habilitado).
+     *
+     * @param numeroNfse Número da NFS-e
+     * @param pageable Página, tamanho e ordenação
+     * @param comTotal Se a página traz o total de elementos
+     * @param carregadorVersao Consulta da versão no banco executada em caso de falta
+     * @param carregador Consulta ao banco executada em caso de falta
+     * @return Página de créditos
+     */
+    public PaginatedCreditoResponse obter(String numeroNfse, Pageable pageable, boolean comTotal,
+                                          Supplier<VersaoNfse> carregadorVersao,
+                                          Supplier<PaginatedCreditoResponse> carregador) {
+        if (!config.isEnabled()) {
+            return carregador.get();
+        }
+        VersaoNfse versao = versao(numeroNfse, carregadorVersao);
+        Chave chave = new Chave(numeroNfse, versao, pageable.getPageNumber(), pageable.getPageSize(),
+                                pageable.getSort().toString(), comTotal);
+        return carregar(cache, chave, carregador);
+    }
+
+    /**
+     * Descarta as versões e todas as páginas das NFS-e informadas.
+     *
+     * @param numerosNfse Números das NFS-e alteradas
+     */
+    public void invalidar(Collection<String> numerosNfse) {
+        if (numerosNfse.isEmpty()) {
+            return;
+        }
+        Set<String> nfses = Set.copyOf(numerosNfse);
+        invalidacoes.incrementAndGet();
+        versoes.invalidateAll(nfses);
+        cache.asMap().keySet().removeIf(chave -> nfses.contains(chave.numeroNfse()));
+    }
+
+    /**
+     * Descarta todas as versões e páginas.
+     */
+    public void invalidarTodos() {
+        invalidacoes.incrementAndGet();
+        versoes.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    /**
+     * NFS-e com as páginas mais acessadas, da mais quente para a menos quente.
+     *
+     * @param limite Quantidade máxima de NFS-e
+     * @return Números das NFS-e em cache ordenados por frequência de acesso
+     */
+    public List<String> nfsesMaisAcessadas(int limite) {
+        // O cache é pequeno (maximumSize de páginas); a ordem completa é barata de obter
+        return cache.policy().eviction()
+            .map(eviction -> eviction.hottest(Integer.MAX_VALUE).keySet().stream()
+                .map(Chave::numeroNfse)
+                .distinct()
+                .limit(limite)
+                .toList())
+            .orElse(List.of());
+    }
+
+    long tamanhoEstimado() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private <K, V> V carregar(Cache<K, V> destino, K chave, Supplier<V> carregador) {
+        V valor = destino.getIfPresent(chave);
+        if (valor != null) {
+            return valor;
+        }
+
+        long invalidacoesAntes = invalidacoes.get();
+        valor = carregador.get();
+        if (valor == null) {
+            return null;
+        }
+        destino.put(chave, valor);
+        // Conferido depois do put: uma invalidação concorrente pode ter passado antes dele
+        if (invalidacoes.get() != invalidacoesAntes) {
+            destino.invalidate(chave);
+        }
+        return valor;
+    }
+
+    private record Chave(String numeroNfse, VersaoNfse versao, int page, int size, String sort, boolean comTotal) {}
+}
@@ -0,0 +1,204 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache das respostas JSON já serializadas (UTF-8) do crédito por número e das
+ * páginas por NFS-e, opcionalmente também comprimidas em gzip. Um acerto é escrito
+ * direto na resposta, sem passar pelo Jackson.
+ *
+ * Cada entrada é um crédito ou uma NFS-e, com as respostas de todas as variantes (página,
+ * tamanho, ordenação) da versão identificada pelo ETag. Bytes de uma versão anterior nunca
+ * são servidos sob o ETag de outra, e a primeira resposta de uma versão nova descarta as da
+ * anterior. O ETag das NFS-e também vem de cache (ver {@link NfsePaginaCache}): se uma
+ * invalidação se perder, a versão antiga continua sendo servida até expirar. A invalidação
+ * por crédito e por NFS-e, feita junto com a dos demais caches, remove a entrada
+ * diretamente pela chave.
+ */
+@Component
+public class RespostaJsonCache {
+
+    public static final String NOME = "respostasJson";
+
+    private final CacheConfig.RespostasJson config;
+    private final ObjectMapper objectMapper;
+    private final Cache<Chave, Respostas> cache;
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public RespostaJsonCache(CacheConfig cacheConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = cacheConfig.getRespostasJson();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(config.getMaximumWeight().toBytes())
+            .weigher((Chave chave, Respostas respostas) -> respostas.tamanho())
+            .expireAfterWrite(config.getExpireAfterWrite())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME);
+    }
+
+    /**
+     * Corpo serializado de uma resposta.
+     *
+     * @param json JSON em UTF-8
+     * @param gzip O mesmo JSON comprimido, ou null quando não compensa ou está desabilitado
+     */
+    public record Corpo(byte[] json, byte[] gzip) {
+
+        int tamanho() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    /**
+     * Retorna o JSON do crédito do cache ou o serializa.
+     *
+     * @param numeroCredito Número do crédito
+     * @param etag ETag da versão do crédito (pode ser null)
+     * @param carregador Fornece o crédito em caso de falta
+     * @return Corpo serializado
+     */
+    public Corpo obterCredito(String numeroCredito, String etag, Supplier<?> carregador) {
+        return obter(new Chave(Tipo.CREDITO, numeroCredito), "", etag, carregador);
+    }
+
+    /**
+     * Retorna o JSON da página de créditos da NFS-e do cache ou a serializa.
+     * Exceções do carregador (como a NFS-e inexistente) não são guardadas.
+     *
+     * @param numeroNfse Número da NFS-e
+     * @param pageable Página, tamanho e ordenação
+     * @param comTotal Se a página traz o total de elementos
+     * @param etag ETag da versão da NFS-e (pode ser null)
+     * @param carregador Fornece a página em caso de falta
+     * @return Corpo serializado
+     */
+    public Corpo obterPaginaNfse(String numeroNfse, Pageable pageable, boolean comTotal, String etag,
+                                 Supplier<?> carregador) {
+        String variante = pageable.getPageNumber() + "|" + pageable.getPageSize() + "|"
+            + pageable.getSort() + "|" + comTotal;
+        return obter(new Chave(Tipo.NFSE, numeroNfse), variante, etag, carregador);
+    }
+
+    /**
+     * Descarta as respostas dos créditos e das NFS-e informados.
+     *
+     * @param numerosCredito Números dos créditos alterados
+     * @param numerosNfse Números das NFS-e alteradas
+     */
+    public void invalidar(Collection<String> numerosCredito, Collection<String> numerosNfse) {
+        if (numerosCredito.isEmpty() && numerosNfse.isEmpty()) {
+            return;
+        }
+        invalidacoes.incrementAndGet();
+        cache.invalidateAll(Stream.concat(
+                numerosCredito.stream().map(numero -> new Chave(Tipo.CREDITO, numero)),
+                numerosNfse.stream().map(numero -> new Chave(Tipo.NFSE, numero)))
+            .toList());
+    }
+
+    /**
+     * Descarta todas as respostas.
+     */
+    public void invalidarTodos() {
+        invalidacoes.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Quantidade de respostas guardadas, somando as variantes de cada entrada.
+     */
+    long tamanhoEstimado() {
+        cache.cleanUp();
+        return cache.asMap().values().stream().mapToLong(respostas -> respostas.porVariante().size()).sum();
+    }
+
+    private Corpo obter(Chave chave, String variante, String etag, Supplier<?> carregador) {
+        if (!config.isEnabled()) {
+            return serializar(carregador.get());
+        }
+        Respostas respostas = cache.getIfPresent(chave);
+        if (respostas != null && Objects.equals(respostas.etag(), etag)) {
+            Corpo corpo = respostas.porVariante().get(variante);
+            if (corpo != null) {
+                return corpo;
+            }
+        }
+
+        long invalidacoesAntes = invalidacoes.get();
+        Corpo corpo = serializar(carregador.get());
+        // Substituição por cópia: o peso da entrada é recalculado a cada gravação
+        cache.asMap().compute(chave, (k, atuais) -> atuais == null || !Objects.equals(atuais.etag(), etag)
+            ? new Respostas(etag, Map.of(variante, corpo))
+            : atuais.com(variante, corpo));
+        // Conferido depois da gravação: uma invalidação concorrente pode ter passado antes dela
+        if (invalidacoes.get() != invalidacoesAntes) {
+            cache.invalidate(chave);
+        }
+        return corpo;
+    }
+
+    private Corpo serializar(Object valor) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(valor);
+            if (!config.isGzip() || json.length < config.getGzipMinSize().toBytes()) {
+                return new Corpo(json, null);
+            }
+            return new Corpo(json, comprimir(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao serializar resposta JSON", e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] json) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        }
+        return saida.toByteArray();
+    }
+
+    private enum Tipo { CREDITO, NFSE }
+
+    private record Chave(Tipo tipo, String identificador) {}
+
+    /**
+     * Respostas de uma mesma versão de um crédito ou NFS-e, por variante. Imutável.
+     */
+    private record Respostas(String etag, Map<String, Corpo> porVariante) {
+
+        private static final int MAX_VARIANTES = 64;
+
+        Respostas com(String variante, Corpo corpo) {
+            if (porVariante.size() >= MAX_VARIANTES) {
+                return new Respostas(etag, Map.of(variante, corpo));
+            }
+            Map<String, Corpo> copia = new HashMap<>(porVariante);
+            copia.put(variante, corpo);
+            return new Respostas(etag, Map.copyOf(copia));
+        }
+
+        int tamanho() {
+            return porVariante.values().stream().mapToInt(Corpo::tamanho).sum();
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Tabela de créditos fora do heap, em registros de tamanho fixo num único
+ * {@link ByteBuffer#allocateDirect}: valores em centavos (long), alíquota em centésimos (int),
+ * data em dias desde a época (int) e tipo do crédito codificado num dicionário (short).
+ *
+ * O índice por número do crédito é outro buffer direto com endereçamento aberto (sondagem
+ * linear, remoção por deslocamento para trás); cada posição guarda o hash e o registro.
+ * Cheia, a tabela descarta pelo algoritmo do relógio: um registro lido ganha uma segunda
+ * chance, e um registro novo entra sem ela.
+ *
+ * Cada registro guarda o instante da gravação: passada a validade, a leitura o trata como
+ * ausente e a próxima gravação do mesmo número o substitui.
+ *
+ * Os buffers só são alocados na primeira gravação. Créditos que não cabem no formato
+ * (textos acima de 50 bytes, valores com mais de duas casas, campos nulos) não são guardados.
+ */
+class TabelaCreditosCompacta {
+
+    static final int TAMANHO_REGISTRO = 192;
+    static final int MAX_BYTES_TEXTO = 50;
+
+    private static final int REFERENCIA = 0;
+    private static final int TIPO = 2;
+    private static final int DATA = 4;
+    private static final int ID = 8;
+    private static final int VALOR_ISSQN = 16;
+    private static final int VALOR_FATURADO = 24;
+    private static final int VALOR_DEDUCAO = 32;
+    private static final int BASE_CALCULO = 40;
+    private static final int ALIQUOTA = 48;
+    private static final int HASH = 52;
+    private static final int CRIADO_SEGUNDOS = 56;
+    private static final int CRIADO_NANOS = 64;
+    private static final int ATUALIZADO_NANOS = 68;
+    private static final int ATUALIZADO_SEGUNDOS = 72;
+    private static final int SIMPLES = 80;
+    private static final int TAMANHO_NUMERO = 81;
+    private static final int TAMANHO_NFSE = 82;
+    private static final int NUMERO = 83;
+    private static final int NFSE = NUMERO + MAX_BYTES_TEXTO;
+    private static final int GRAVADO = 184;
+
+    private static final long ID_NULO = Long.MIN_VALUE;
+    private static final int NANOS_NULO = -1;
+
+    private final int capacidade;
+    private final int capacidadeIndice;
+    private final long validadeNanos;
+    private final LongSupplier relogio;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Short> codigosTipo = new HashMap<>();
+    private final List<String> tipos = new ArrayList<>();
+    private ByteBuffer registros;
+    private ByteBuffer indice;
+    private int[] livres;
+    private int quantidadeLivres;
+    private int usados;
+    private int ponteiro;
+    private int tamanho;
+    private long descartes;
+
+    /**
+     * @param capacidade Quantidade máxima de créditos
+     * @param validadeNanos Tempo de vida de um registro após a gravação
+     * @param relogio Fonte de tempo em nanossegundos, como {@link System#nanoTime()}
+     */
+    TabelaCreditosCompacta(int capacidade, long validadeNanos, LongSupplier relogio) {
+        this.capacidade = Math.max(1, Math.min(capacidade, Integer.MAX_VALUE / TAMANHO_REGISTRO));
+        // Pelo menos o dobro da capacidade: a sondagem sempre encontra uma posição vazia
+        this.capacidadeIndice = Integer.highestOneBit(this.capacidade) << 2;
+        this.validadeNanos = validadeNanos;
+        this.relogio = relogio;
+    }
+
+    Credito obter(String numeroCredito) {
+        byte[] chave = numeroCredito.getBytes(StandardCharsets.UTF_8);
+        if (chave.length > MAX_BYTES_TEXTO) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            if (registros == null) {
+                return null;
+            }
+            int posicao = localizar(hash(numeroCredito), chave);
+            if (posicao < 0) {
+                return null;
+            }
+            int base = registro(posicao) * TAMANHO_REGISTRO;
+            if (relogio.getAsLong() - registros.getLong(base + GRAVADO) >= validadeNanos) {
+                return null;
+            }
+            // Corrida benigna entre leitores: todos gravam o mesmo valor
+            registros.put(base + REFERENCIA, (byte) 1);
+            return decodificar(base, numeroCredito);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda o crédito, substituindo a versão anterior do mesmo número.
+     *
+     * @return false se o crédito não cabe no formato compacto
+     */
+    boolean guardar(Credito credito) {
+        byte[] numero = bytes(credito.getNumeroCredito());
+        byte[] nfse = bytes(credito.getNumeroNfse());
+        if (numero == null || nfse == null || credito.getDataConstituicao() == null || credito.getTipoCredito() == null) {
+            return false;
+        }
+        long valorIssqn;
+        long valorFaturado;
+        long valorDeducao;
+        long baseCalculo;
+        int aliquota;
+        try {
+            valorIssqn = credito.getValorIssqn().movePointRight(2).longValueExact();
+            valorFaturado = credito.getValorFaturado().movePointRight(2).longValueExact();
+            valorDeducao = credito.getValorDeducao().movePointRight(2).longValueExact();
+            baseCalculo = credito.getBaseCalculo().movePointRight(2).longValueExact();
+            aliquota = credito.getAliquota().movePointRight(2).intValueExact();
+        } catch (NullPointerException | ArithmeticException e) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Short tipo = codigoTipo(credito.getTipoCredito());
+            if (tipo == null) {
+                return false;
+            }
+            alocar();
+            int hash = hash(credito.getNumeroCredito());
+            int posicao = localizar(hash, numero);
+            int registro;
+            if (posicao >= 0) {
+                registro = registro(posicao);
+            } else {
+                registro = registroLivre();
+                inserirNoIndice(hash, registro);
+                tamanho++;
+            }
+
+            int base = registro * TAMANHO_REGISTRO;
+            registros.put(base + REFERENCIA, (byte) 0);
+            registros.putShort(base + TIPO, tipo);
+            registros.putInt(base + DATA, (int) credito.getDataConstituicao().toEpochDay());
+            registros.putLong(base + ID, credito.getId() != null ? credito.getId() : ID_NULO);
+            registros.putLong(base + VALOR_ISSQN, valorIssqn);
+            registros.putLong(base + VALOR_FATURADO, valorFaturado);
+            registros.putLong(base + VALOR_DEDUCAO, valorDeducao);
+            registros.putLong(base + BASE_CALCULO, baseCalculo);
+            registros.putInt(base + ALIQUOTA, aliquota);
+            registros.putInt(base + HASH, hash);
+            gravarInstante(base + CRIADO_SEGUNDOS, base + CRIADO_NANOS, credito.getCreatedAt());
+            gravarInstante(base + ATUALIZADO_SEGUNDOS, base + ATUALIZADO_NANOS, credito.getUpdatedAt());
+            registros.put(base + SIMPLES, credito.getSimplesNacional() == null ? 2 : (byte) (credito.getSimplesNacional() ? 1 : 0));
+            registros.put(base + TAMANHO_NUMERO, (byte) numero.length);
+            registros.put(base + TAMANHO_NFSE, (byte) nfse.length);
+            registros.put(base + NUMERO, numero);
+            registros.put(base + NFSE, nfse);
+            registros.putLong(base + GRAVADO, relogio.getAsLong());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(String numeroCredito) {
+        byte[] chave = numeroCredito.getBytes(StandardCharsets.UTF_8);
+        if (chave.length > MAX_BYTES_TEXTO) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (registros == null) {
+                return;
+            }
+            int posicao = localizar(hash(numeroCredito), chave);
+            if (posicao >= 0) {
+                liberar(registro(posicao));
+                removerDoIndice(posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void limpar() {
+        lock.writeLock().lock();
+        try {
+            if (registros == null) {
+                return;
+            }
+            for (int posicao = 0; posicao < capacidadeIndice; posicao++) {
+                indice.putLong(posicao * Long.BYTES, 0);
+            }
+            usados = 0;
+            quantidadeLivres = 0;
+            ponteiro = 0;
+            tamanho = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long descartes() {
+        lock.readLock().lock();
+        try {
+            return descartes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes reservados fora do heap (zero até a primeira gravação).
+     */
+    long bytesReservados() {
+        lock.readLock().lock();
+        try {
+            return registros == null ? 0 : (long) registros.capacity() + indice.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void alocar() {
+        if (registros != null) {
+            return;
+        }
+        registros = ByteBuffer.allocateDirect(capacidade * TAMANHO_REGISTRO);
+        indice = ByteBuffer.allocateDirect(capacidadeIndice * Long.BYTES);
+        livres = new int[capacidade];
+    }
+
+    private Short codigoTipo(String tipoCredito) {
+        Short codigo = codigosTipo.get(tipoCredito);
+        if (codigo == null && tipos.size() < Short.MAX_VALUE) {
+            codigo = (short) tipos.size();
+            tipos.add(tipoCredito);
+            codigosTipo.put(tipoCredito, codigo);
+        }
+        return codigo;
+    }
+
+    private int registroLivre() {
+        if (quantidadeLivres > 0) {
+            return livres[--quantidadeLivres];
+        }
+        if (usados < capacidade) {
+            return usados++;
+        }
+        return descartarPeloRelogio();
+    }
+
+    private int descartarPeloRelogio() {
+        while (true) {
+            int registro = ponteiro;
+            ponteiro = (ponteiro + 1) % capacidade;
+            int base = registro * TAMANHO_REGISTRO;
+            if (registros.get(base + REFERENCIA) != 0) {
+                registros.put(base + REFERENCIA, (byte) 0);
+                continue;
+            }
+            int posicao = posicaoDoRegistro(registros.getInt(base + HASH), registro);
+            removerDoIndice(posicao);
+            tamanho--;
+            descartes++;
+            return registro;
+        }
+    }
+
+    private void liberar(int registro) {
+        livres[quantidadeLivres++] = registro;
+        tamanho--;
+    }
+
+    private int localizar(int hash, byte[] chave) {
+        int mascara = capacidadeIndice - 1;
+        for (int posicao = hash & mascara; ; posicao = (posicao + 1) & mascara) {
+            long entrada = indice.getLong(posicao * Long.BYTES);
+            if (entrada == 0) {
+                return -1;
+            }
+            if ((int) (entrada >>> 32) == hash && chaveIgual((int) entrada - 1, chave)) {
+                return posicao;
+            }
+        }
+    }
+
+    private int posicaoDoRegistro(int hash, int registro) {
+        int mascara = capacidadeIndice - 1;
+        for (int posicao = hash & mascara; ; posicao = (posicao + 1) & mascara) {
+            long entrada = indice.getLong(posicao * Long.BYTES);
+            if ((int) entrada - 1 == registro) {
+                return posicao;
+            }
+        }
+    }
+
+    private void inserirNoIndice(int hash, int registro) {
+        int mascara = capacidadeIndice - 1;
+        int posicao = hash & mascara;
+        while (indice.getLong(posicao * Long.BYTES) != 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        indice.putLong(posicao * Long.BYTES, ((long) hash << 32) | (registro + 1L));
+    }
+
+    /**
+     * Remove a posição e desloca para trás as entradas seguintes da mesma sequência de
+     * sondagem, sem deixar marcas de remoção no índice.
+     */
+    private void removerDoIndice(int posicao) {
+        int mascara = capacidadeIndice - 1;
+        int vazia = posicao;
+        int atual = posicao;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            long entrada = indice.getLong(atual * Long.BYTES);
+            if (entrada == 0) {
+                break;
+            }
+            int ideal = (int) (entrada >>> 32) & mascara;
+            // Só move se a posição ideal não estiver entre a vazia (exclusive) e a atual
+            if (((atual - ideal) & mascara) >= ((atual - vazia) & mascara)) {
+                indice.putLong(vazia * Long.BYTES, entrada);
+                vazia = atual;
+            }
+        }
+        indice.putLong(vazia * Long.BYTES, 0);
+    }
+
+    private int registro(int posicao) {
+        return (int) indice.getLong(posicao * Long.BYTES) - 1;
+    }
+
+    private boolean chaveIgual(int registro, byte[] chave) {
+        int base = registro * TAMANHO_REGISTRO;
+        if (registros.get(base + TAMANHO_NUMERO) != chave.length) {
+            return false;
+        }
+        for (int i = 0; i < chave.length; i++) {
+            if (registros.get(base + NUMERO + i) != chave[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Credito decodificar(int base, String numeroCredito) {
+        byte[] nfse = new byte[registros.get(base + TAMANHO_NFSE)];
+        registros.get(base + NFSE, nfse);
+        byte simples = registros.get(base + SIMPLES);
+
+        Credito credito = new Credito(
+            numeroCredito,
+            new String(nfse, StandardCharsets.UTF_8),
+            LocalDate.ofEpochDay(registros.getInt(base + DATA)),
+            BigDecimal.valueOf(registros.getLong(base + VALOR_ISSQN), 2),
+            tipos.get(registros.getShort(base + TIPO)),
+            simples == 2 ? null : simples == 1,
+            BigDecimal.valueOf(registros.getInt(base + ALIQUOTA), 2),
+            BigDecimal.valueOf(registros.getLong(base + VALOR_FATURADO), 2),
+            BigDecimal.valueOf(registros.getLong(base + VALOR_DEDUCAO), 2),
+            BigDecimal.valueOf(registros.getLong(base + BASE_CALCULO), 2));
+        long id = registros.getLong(base + ID);
+        credito.setId(id == ID_NULO ? null : id);
+        credito.setCreatedAt(lerInstante(base + CRIADO_SEGUNDOS, base + CRIADO_NANOS));
+        credito.setUpdatedAt(lerInstante(base + ATUALIZADO_SEGUNDOS, base + ATUALIZADO_NANOS));
+        return credito;
+    }
+
+    private void gravarInstante(int segundos, int nanos, LocalDateTime instante) {
+        registros.putLong(segundos, instante != null ? instante.toEpochSecond(ZoneOffset.UTC) : 0);
+        registros.putInt(nanos, instante != null ? instante.getNano() : NANOS_NULO);
+    }
+
+    private LocalDateTime lerInstante(int segundos, int nanos) {
+        int nano = registros.getInt(nanos);
+        return nano == NANOS_NULO ? null : LocalDateTime.ofEpochSecond(registros.getLong(segundos), nano, ZoneOffset.UTC);
+    }
+
+    private static byte[] bytes(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= MAX_BYTES_TEXTO ? bytes : null;
+    }
+
+    private static int hash(String numeroCredito) {
+        int h = numeroCredito.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -62,7 +62,7 @@ public class CommandFactory {
      */
     private Command createGenerateTestDataCommand(Map<String, Object> parameters) {
         // Criar nova instância do comando
-        GenerateTestDataCommand command = new GenerateTestDataCommand(null, null);
+        GenerateTestDataCommand command = new GenerateTestDataCommand(null, null, null);
         
         if (parameters != null) {
             command.setParameters(parameters);
@@ -79,7 +79,7 @@ public class CommandFactory {
      */
     private Command createDeleteTestDataCommand(Map<String, Object> parameters) {
         // Criar nova instância do comando
-        DeleteTestDataCommand command = new DeleteTestDataCommand(null);
+        DeleteTestDataCommand command = new DeleteTestDataCommand(null, null);
         
         if (parameters != null) {
             command.setParameters(parameters);
@@ -1,5 +1,6 @@
 package br.com.guilhermedealmeidafreitas.creditos.command;
 
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCacheInvalidador;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,16 +35,18 @@ public class DeleteTestDataCommand extends BaseCommand {
     private static final boolean DEFAULT_CONFIRM_DELETE = false;
     
     private final CreditoRepository creditoRepository;
+    private final CreditoCacheInvalidador creditoCacheInvalidador;
     
     // Armazenar dados deletados para undo
     private List<Credito> deletedCreditos;
     
     @Autowired
-    public DeleteTestDataCommand(CreditoRepository creditoRepository) {
+    public DeleteTestDataCommand(CreditoRepository creditoRepository, CreditoCacheInvalidador creditoCacheInvalidador) {
         super("DeleteTestData", 
               "Remove dados de teste do sistema de créditos", 
               "TEST_DATA_DELETION");
         this.creditoRepository = creditoRepository;
+        this.creditoCacheInvalidador = creditoCacheInvalidador;
         this.deletedCreditos = null;
     }
     
@@ -81,6 +84,7 @@ public class DeleteTestDataCommand extends BaseCommand {
         
         // Deletar registros
         creditoRepository.deleteAll(creditosToDelete);
+        creditoCacheInvalidador.invalidarCreditos(creditosToDelete);
         
         // Criar metadados do resultado
         Map<String, Object> metadata = new HashMap<>();
@@ -107,7 +111,9 @@ public class DeleteTestDataCommand extends BaseCommand {
         }
         
         // Restaurar os créditos deletados
+        creditoCacheInvalidador.registrarGravacao(deletedCreditos);
         List<Credito> restoredCreditos = creditoRepository.saveAll(deletedCreditos);
+        creditoCacheInvalidador.invalidarCreditos(restoredCreditos);
         int restoredCount = restoredCreditos.size();
         
         String message = String.format("Restaurados %d registros de teste", restoredCount);
@@ -201,7 +207,7 @@ public class DeleteTestDataCommand extends BaseCommand {
      * @return Comando configurado
      */
     public static DeleteTestDataCommand createDeleteAll() {
-        DeleteTestDataCommand command = new DeleteTestDataCommand(null);
+        DeleteTestDataCommand command = new DeleteTestDataCommand(null, null);
         Map<String, Object> params = new HashMap<>();
         params.put(PARAM_DELETE_ALL, true);
         params.put(PARAM_CONFIRM_DELETE, true);
@@ -217,7 +223,7 @@ public class DeleteTestDataCommand extends BaseCommand {
      * @return Comando configurado
      */
     public static DeleteTestDataCommand createDeleteSpecific(String numeroPrefix, String nfsePrefix) {
-        DeleteTestDataCommand command = new DeleteTestDataCommand(null);
+        DeleteTestDataCommand command = new DeleteTestDataCommand(null, null);
         Map<String, Object> params = new HashMap<>();
         params.put(PARAM_DELETE_ALL, false);
         params.put(PARAM_NUMERO_PREFIX, numeroPrefix);
@@ -234,7 +240,7 @@ public class DeleteTestDataCommand extends BaseCommand {
      * @return Comando configurado
      */
     public static DeleteTestDataCommand createDeleteByType(String tipoCredito) {
-        DeleteTestDataCommand command = new DeleteTestDataCommand(null);
+        DeleteTestDataCommand command = new DeleteTestDataCommand(null, null);
         Map<String, Object> params = new HashMap<>();
         params.put(PARAM_DELETE_ALL, false);
         params.put(PARAM_TIPO_CREDITO, tipoCredito);
@@ -1,6 +1,7 @@
 package br.com.guilhermedealmeidafreitas.creditos.command;
 
 import br.com.guilhermedealmeidafreitas.creditos.builder.CreditoBuilderFactory;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCacheInvalidador;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,18 +52,21 @@ public class GenerateTestDataCommand extends BaseCommand {
     
     private final CreditoRepository creditoRepository;
     private final CreditoBuilderFactory creditoBuilderFactory;
+    private final CreditoCacheInvalidador creditoCacheInvalidador;
     
     // Armazenar dados gerados para undo
     private List<Credito> generatedCreditos;
     
     @Autowired
     public GenerateTestDataCommand(CreditoRepository creditoRepository, 
-                                  CreditoBuilderFactory creditoBuilderFactory) {
+                                  CreditoBuilderFactory creditoBuilderFactory,
+                                  CreditoCacheInvalidador creditoCacheInvalidador) {
         super("GenerateTestData", 
               "Gera dados de teste para o sistema de créditos", 
               "TEST_DATA_GENERATION");
         this.creditoRepository = creditoRepository;
         this.creditoBuilderFactory = creditoBuilderFactory;
+        this.creditoCacheInvalidador = creditoCacheInvalidador;
         this.generatedCreditos = new ArrayList<>();
     }
     
@@ -125,7 +129,9 @@ public class GenerateTestDataCommand extends BaseCommand {
         }
         
         // Salvar todos os registros em batch
+        creditoCacheInvalidador.registrarGravacao(registrosTeste);
         generatedCreditos = creditoRepository.saveAll(registrosTeste);
+        creditoCacheInvalidador.invalidarCreditos(generatedCreditos);
         
         // Criar metadados do resultado
         Map<String, Object> metadata = new HashMap<>();
@@ -150,6 +156,7 @@ public class GenerateTestDataCommand extends BaseCommand {
         
         // Remover os créditos gerados
         creditoRepository.deleteAll(generatedCreditos);
+        creditoCacheInvalidador.invalidarCreditos(generatedCreditos);
         int removedCount = generatedCreditos.size();
         generatedCreditos.clear();
         
@@ -225,7 +232,7 @@ public class GenerateTestDataCommand extends BaseCommand {
      * @return Comando configurado com parâmetros padrão
      */
     public static GenerateTestDataCommand createDefault() {
-        GenerateTestDataCommand command = new GenerateTestDataCommand(null, null);
+        GenerateTestDataCommand command = new GenerateTestDataCommand(null, null, null);
         Map<String, Object> params = new HashMap<>();
         params.put(PARAM_COUNT, DEFAULT_COUNT);
         params.put(PARAM_NFSE_COUNT, DEFAULT_NFSE_COUNT);
@@ -0,0 +1,38 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configurações da busca em lote de créditos por número.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.batch-lookup")
+public class BatchLookupConfig {
+    
+    /**
+     * Quantidade máxima de números de crédito aceitos por requisição.
+     */
+    private int maxSize = 1000;
+    
+    /**
+     * Quantidade de números enviados em cada consulta IN (...).
+     */
+    private int chunkSize = 500;
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
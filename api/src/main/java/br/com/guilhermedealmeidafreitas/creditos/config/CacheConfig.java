@@ -0,0 +1,643 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configurações dos caches em memória da aplicação.
+ * Habilita o agendamento usado pelo aquecimento periódico dos caches.
+ */
+@Configuration
+@EnableScheduling
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheConfig {
+    
+    /**
+     * Cache de créditos consultados por número.
+     */
+    private CreditoPorNumero creditoPorNumero = new CreditoPorNumero();
+    
+    /**
+     * Segundo nível, fora do heap, do cache de créditos por número.
+     */
+    private CreditoOffHeap creditoOffHeap = new CreditoOffHeap();
+    
+    /**
+     * Cache das páginas de créditos por NFS-e.
+     */
+    private NfsePaginas nfsePaginas = new NfsePaginas();
+    
+    /**
+     * Filtro de Bloom dos números de crédito existentes.
+     */
+    private FiltroNumeros filtroNumeros = new FiltroNumeros();
+    
+    /**
+     * Aquecimento dos caches com as chaves mais acessadas.
+     */
+    private Aquecimento aquecimento = new Aquecimento();
+    
+    /**
+     * Detecção das chaves mais consultadas (count-min sketch com top-K).
+     */
+    private DeteccaoChavesQuentes deteccaoChavesQuentes = new DeteccaoChavesQuentes();
+    
+    /**
+     * Invalidação dos caches entre instâncias (LISTEN/NOTIFY do PostgreSQL).
+     */
+    private InvalidacaoDistribuida invalidacaoDistribuida = new InvalidacaoDistribuida();
+    
+    /**
+     * Cache das respostas JSON já serializadas dos GETs mais quentes.
+     */
+    private RespostasJson respostasJson = new RespostasJson();
+    
+    public CreditoPorNumero getCreditoPorNumero() {
+        return creditoPorNumero;
+    }
+    
+    public void setCreditoPorNumero(CreditoPorNumero creditoPorNumero) {
+        this.creditoPorNumero = creditoPorNumero;
+    }
+    
+    public CreditoOffHeap getCreditoOffHeap() {
+        return creditoOffHeap;
+    }
+    
+    public void setCreditoOffHeap(CreditoOffHeap creditoOffHeap) {
+        this.creditoOffHeap = creditoOffHeap;
+    }
+    
+    public NfsePaginas getNfsePaginas() {
+        return nfsePaginas;
+    }
+    
+    public void setNfsePaginas(NfsePaginas nfsePaginas) {
+        this.nfsePaginas = nfsePaginas;
+    }
+    
+    public FiltroNumeros getFiltroNumeros() {
+        return filtroNumeros;
+    }
+    
+    public void setFiltroNumeros(FiltroNumeros filtroNumeros) {
+        this.filtroNumeros = filtroNumeros;
+    }
+    
+    public Aquecimento getAquecimento() {
+        return aquecimento;
+    }
+    
+    public void setAquecimento(Aquecimento aquecimento) {
+        this.aquecimento = aquecimento;
+    }
+    
+    public DeteccaoChavesQuentes getDeteccaoChavesQuentes() {
+        return deteccaoChavesQuentes;
+    }
+    
+    public void setDeteccaoChavesQuentes(DeteccaoChavesQuentes deteccaoChavesQuentes) {
+        this.deteccaoChavesQuentes = deteccaoChavesQuentes;
+    }
+    
+    public InvalidacaoDistribuida getInvalidacaoDistribuida() {
+        return invalidacaoDistribuida;
+    }
+    
+    public void setInvalidacaoDistribuida(InvalidacaoDistribuida invalidacaoDistribuida) {
+        this.invalidacaoDistribuida = invalidacaoDistribuida;
+    }
+    
+    public RespostasJson getRespostasJson() {
+        return respostasJson;
+    }
+    
+    public void setRespostasJson(RespostasJson respostasJson) {
+        this.respostasJson = respostasJson;
+    }
+    
+    /**
+     * Configurações do cache de créditos por número.
+     */
+    public static class CreditoPorNumero {
+        
+        /**
+         * Habilita o cache. Desabilitado, toda consulta vai ao banco.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Quantidade máxima de créditos mantidos; acima disso o Caffeine descarta
+         * os menos prováveis de serem consultados novamente (W-TinyLFU).
+         */
+        private long maximumSize = 10_000;
+        
+        /**
+         * Tempo máximo que um crédito permanece no cache após ser carregado.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+        
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+        
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+        
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+    
+    /**
+     * Configurações do cache de créditos fora do heap.
+     */
+    public static class CreditoOffHeap {
+        
+        /**
+         * Habilita o cache. Desabilitado, as faltas do cache em heap vão direto ao banco.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Quantidade máxima de créditos; cada um ocupa 192 bytes de memória direta,
+         * mais 16 a 32 bytes de índice. A memória é reservada na primeira gravação.
+         */
+        private int maxEntries = 250_000;
+        
+        /**
+         * Tempo máximo que um crédito permanece fora do heap após ser gravado. O cache em
+         * heap é reabastecido a partir daqui, então não deve passar do expire-after-write dele.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+        
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+        
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+        
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+    
+    /**
+     * Configurações do cache de páginas por NFS-e.
+     */
+    public static class NfsePaginas {
+        
+        /**
+         * Habilita o cache. Desabilitado, toda página é consultada no banco.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Quantidade máxima de páginas mantidas.
+         */
+        private long maximumSize = 1_000;
+        
+        /**
+         * Tempo máximo que uma página permanece no cache após ser montada.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+        
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+        
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+        
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+    
+    /**
+     * Configurações do filtro de Bloom dos números de crédito.
+     */
+    public static class FiltroNumeros {
+        
+        /**
+         * Habilita o filtro. Desabilitado, toda consulta por número vai ao cache/banco.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Quantidade de números prevista; acima dela a taxa de falsos positivos sobe.
+         */
+        private long expectedInsertions = 1_000_000;
+        
+        /**
+         * Taxa de falsos positivos desejada para a quantidade prevista.
+         */
+        private double falsePositiveRate = 0.01;
+        
+        /**
+         * Quantidade de linhas lidas por ida ao banco na carga inicial.
+         */
+        private int fetchSize = 10_000;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+        
+        public void setExpectedInsertions(long expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+        
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+        
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+        
+        public int getFetchSize() {
+            return fetchSize;
+        }
+        
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+    
+    /**
+     * Configurações do aquecimento dos caches na inicialização e periódico.
+     */
+    public static class Aquecimento {
+        
+        /**
+         * Habilita o aquecimento. Desabilitado, a aplicação fica pronta sem aquecer.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Quantidade máxima de chaves quentes guardadas e aquecidas por tipo (crédito e NFS-e).
+         */
+        private int maxKeys = 500;
+        
+        /**
+         * Quantidade de consultas simultâneas ao banco durante o aquecimento.
+         */
+        private int parallelism = 4;
+        
+        /**
+         * Fração das chaves que precisa estar carregada para a aplicação ficar pronta.
+         */
+        private double readinessThreshold = 0.9;
+        
+        /**
+         * Tempo após o qual a aplicação fica pronta mesmo sem atingir o limiar.
+         */
+        private Duration maxDuration = Duration.ofMinutes(2);
+        
+        /**
+         * Intervalo entre o registro das chaves quentes e o reaquecimento periódico.
+         */
+        private Duration interval = Duration.ofMinutes(5);
+        
+        /**
+         * Tamanho da página de NFS-e aquecida (o padrão do endpoint paginado).
+         */
+        private int pageSize = 10;
+        
+        /**
+         * Campo de ordenação da página de NFS-e aquecida.
+         */
+        private String sortBy = "dataConstituicao";
+        
+        /**
+         * Direção da ordenação da página de NFS-e aquecida.
+         */
+        private String sortDirection = "desc";
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+        
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+        
+        public int getParallelism() {
+            return parallelism;
+        }
+        
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+        
+        public double getReadinessThreshold() {
+            return readinessThreshold;
+        }
+        
+        public void setReadinessThreshold(double readinessThreshold) {
+            this.readinessThreshold = readinessThreshold;
+        }
+        
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+        
+        public void setMaxDuration(Duration maxDuration) {
+            this.maxDuration = maxDuration;
+        }
+        
+        public Duration getInterval() {
+            return interval;
+        }
+        
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+        
+        public int getPageSize() {
+            return pageSize;
+        }
+        
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+        
+        public String getSortBy() {
+            return sortBy;
+        }
+        
+        public void setSortBy(String sortBy) {
+            this.sortBy = sortBy;
+        }
+        
+        public String getSortDirection() {
+            return sortDirection;
+        }
+        
+        public void setSortDirection(String sortDirection) {
+            this.sortDirection = sortDirection;
+        }
+    }
+    
+    /**
+     * Configurações da detecção de chaves quentes.
+     */
+    public static class DeteccaoChavesQuentes {
+        
+        /**
+         * Habilita a contagem das consultas por chave.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Linhas do count-min sketch; cada linha a mais reduz pela metade a chance de superestimar.
+         */
+        private int depth = 4;
+        
+        /**
+         * Contadores por linha (arredondado para potência de dois); o excesso da estimativa
+         * fica em torno de 2/width do total de consultas da janela.
+         */
+        private int width = 2048;
+        
+        /**
+         * Quantidade de chaves quentes mantidas por tipo.
+         */
+        private int topK = 100;
+        
+        /**
+         * Duração da janela; ao fim de cada uma as contagens são divididas por dois.
+         */
+        private Duration window = Duration.ofMinutes(1);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getDepth() {
+            return depth;
+        }
+        
+        public void setDepth(int depth) {
+            this.depth = depth;
+        }
+        
+        public int getWidth() {
+            return width;
+        }
+        
+        public void setWidth(int width) {
+            this.width = width;
+        }
+        
+        public int getTopK() {
+            return topK;
+        }
+        
+        public void setTopK(int topK) {
+            this.topK = topK;
+        }
+        
+        public Duration getWindow() {
+            return window;
+        }
+        
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+    }
+    
+    /**
+     * Configurações da invalidação dos caches entre instâncias.
+     */
+    public static class InvalidacaoDistribuida {
+        
+        /**
+         * Habilita o envio e a escuta das notificações de invalidação.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Canal do LISTEN/NOTIFY usado pelas instâncias.
+         */
+        private String channel = "credito_invalidacao";
+        
+        /**
+         * Espera máxima por notificações a cada volta da escuta.
+         */
+        private Duration pollTimeout = Duration.ofMillis(500);
+        
+        /**
+         * Espera antes de reabrir a conexão de escuta após uma falha.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getChannel() {
+            return channel;
+        }
+        
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+        
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+        
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+        
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+        
+        public void setReconnectDelay(Duration reconnectDelay) {
+            this.reconnectDelay = reconnectDelay;
+        }
+    }
+    
+    /**
+     * Configurações do cache de respostas JSON serializadas.
+     */
+    public static class RespostasJson {
+        
+        /**
+         * Habilita o cache. Desabilitado, toda resposta é serializada novamente.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Total de bytes mantidos (JSON mais a versão gzip), e não quantidade de respostas:
+         * uma página pode ser muito maior que um crédito.
+         */
+        private DataSize maximumWeight = DataSize.ofMegabytes(32);
+        
+        /**
+         * Tempo máximo que uma resposta permanece no cache após ser serializada.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+        
+        /**
+         * Guarda também a resposta comprimida, enviada a quem aceita gzip.
+         */
+        private boolean gzip = true;
+        
+        /**
+         * Tamanho mínimo do JSON para valer a pena guardar a versão gzip.
+         */
+        private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public DataSize getMaximumWeight() {
+            return maximumWeight;
+        }
+        
+        public void setMaximumWeight(DataSize maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+        
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+        
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+        
+        public boolean isGzip() {
+            return gzip;
+        }
+        
+        public void setGzip(boolean gzip) {
+            this.gzip = gzip;
+        }
+        
+        public DataSize getGzipMinSize() {
+            return gzipMinSize;
+        }
+        
+        public void setGzipMinSize(DataSize gzipMinSize) {
+            this.gzipMinSize = gzipMinSize;
+        }
+    }
+}
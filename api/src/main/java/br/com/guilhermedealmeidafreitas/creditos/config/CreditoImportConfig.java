@@ -0,0 +1,53 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configurações da importação em massa de créditos (COPY FROM STDIN).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.import")
+public class CreditoImportConfig {
+    
+    /**
+     * Quantidade máxima de linhas rejeitadas detalhadas na resposta.
+     * As demais rejeições são apenas contadas.
+     */
+    private int maxRejeicoesReportadas = 100;
+    
+    /**
+     * Tamanho, em bytes, do buffer enviado ao servidor a cada escrita do COPY.
+     */
+    private int copyBufferSize = 64 * 1024;
+    
+    /**
+     * Linhas lidas antes de cada validação em lote; lotes acima de
+     * {@code app.validation.batch.parallel-threshold} são validados em paralelo.
+     */
+    private int loteValidacao = 4096;
+    
+    public int getMaxRejeicoesReportadas() {
+        return maxRejeicoesReportadas;
+    }
+    
+    public void setMaxRejeicoesReportadas(int maxRejeicoesReportadas) {
+        this.maxRejeicoesReportadas = maxRejeicoesReportadas;
+    }
+    
+    public int getCopyBufferSize() {
+        return copyBufferSize;
+    }
+    
+    public void setCopyBufferSize(int copyBufferSize) {
+        this.copyBufferSize = copyBufferSize;
+    }
+    
+    public int getLoteValidacao() {
+        return loteValidacao;
+    }
+    
+    public void setLoteValidacao(int loteValidacao) {
+        this.loteValidacao = loteValidacao;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Roteamento de leituras para a réplica.
+ * 
+ * Ativado com app.datasource.replica.enabled=true. Cria um pool Hikari para o
+ * primário (spring.datasource.*) e outro para a réplica (app.datasource.replica.*,
+ * com as propriedades do Hikari: jdbc-url, username, maximum-pool-size...),
+ * e expõe como DataSource da aplicação o ReadWriteRoutingDataSource. Sem a
+ * propriedade, o DataSource autoconfigurado do Spring Boot é usado normalmente.
+ * 
+ * A réplica é assíncrona: por app.datasource.replica.janela-apos-escrita depois de cada
+ * escrita as leituras continuam no primário ({@link LeituraAposEscrita}), para que os caches
+ * recém-invalidados não sejam preenchidos de novo com a versão anterior.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("creditos-primario");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("creditos-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 LeituraAposEscrita leituraAposEscrita) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(leituraAposEscrita);
+        routingDataSource.setTargetDataSources(Map.of(
+            ReadWriteRoutingDataSource.Rota.PRIMARIO, primaryDataSource,
+            ReadWriteRoutingDataSource.Rota.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
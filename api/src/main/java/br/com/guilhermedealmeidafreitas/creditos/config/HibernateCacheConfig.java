@@ -0,0 +1,147 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível e de consultas do Hibernate, via JCache com o Caffeine.
+ *
+ * As regiões são criadas aqui com os tamanhos e expirações de app.cache.hibernate.regions,
+ * ajustados por perfil. A região de timestamps, que o cache de consultas usa para descartar
+ * resultados de tabelas alteradas, não expira nem tem limite de tamanho.
+ *
+ * Escritas feitas fora do Hibernate (COPY da importação, outras instâncias) não atualizam
+ * estas regiões; para elas o {@code CacheSegundoNivel} esvazia a região de Credito e as de consultas.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache.hibernate")
+public class HibernateCacheConfig {
+    
+    public static final String REGIAO_CREDITO = "credito";
+    public static final String REGIAO_CREDITO_POR_NUMERO = "credito-por-numero";
+    public static final String REGIAO_CREDITO_POR_NFSE = "credito-por-nfse";
+    
+    /**
+     * Habilita os caches de segundo nível e de consultas.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Configuração de cada região, pelo nome.
+     */
+    private Map<String, Regiao> regions = new LinkedHashMap<>(Map.of(
+        REGIAO_CREDITO, new Regiao(10_000, Duration.ofMinutes(10)),
+        REGIAO_CREDITO_POR_NUMERO, new Regiao(10_000, Duration.ofMinutes(10)),
+        REGIAO_CREDITO_POR_NFSE, new Regiao(1_000, Duration.ofMinutes(5)),
+        RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, new Regiao(1_000, Duration.ofMinutes(5))
+    ));
+    
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, JCacheRegionFactory.class.getName());
+                properties.put(ConfigSettings.CACHE_MANAGER, criarCacheManager());
+            }
+        };
+    }
+    
+    // O CacheManager padrão do provedor é único na JVM: outro contexto Spring (testes, reinício
+    // do devtools) veria ou destruiria as mesmas regiões. Cada contexto usa o seu, por uma URI
+    // própria, fechado pelo Hibernate junto com a SessionFactory.
+    CacheManager criarCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create("creditos-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        regions.forEach((nome, regiao) -> cacheManager.createCache(nome, regiao.configuracao()));
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Map<String, Regiao> getRegions() {
+        return regions;
+    }
+    
+    public void setRegions(Map<String, Regiao> regions) {
+        this.regions = regions;
+    }
+    
+    /**
+     * Configuração de uma região do cache de segundo nível.
+     */
+    public static class Regiao {
+        
+        /**
+         * Quantidade máxima de entradas da região.
+         */
+        private long maximumSize;
+        
+        /**
+         * Tempo de permanência de cada entrada após ser gravada.
+         */
+        private Duration expireAfterWrite;
+        
+        public Regiao() {
+            this(1_000, Duration.ofMinutes(5));
+        }
+        
+        public Regiao(long maximumSize, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+        
+        CaffeineConfiguration<Object, Object> configuracao() {
+            CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+            configuracao.setMaximumSize(OptionalLong.of(maximumSize));
+            configuracao.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+            configuracao.setStatisticsEnabled(true);
+            return configuracao;
+        }
+        
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+        
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+        
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+        
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
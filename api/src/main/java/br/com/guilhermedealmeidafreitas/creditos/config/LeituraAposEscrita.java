@@ -0,0 +1,49 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Janela, após cada escrita, em que as transações somente leitura também vão para o primário.
+ *
+ * A réplica é assíncrona e os caches são invalidados no commit: uma leitura feita logo em
+ * seguida numa réplica atrasada recolocaria no cache a versão anterior, que só sairia pela
+ * expiração. Enquanto a janela está aberta, o {@link ReadWriteRoutingDataSource} manda as
+ * leituras ao primário. Ela é aberta pelas escritas desta instância e pelas invalidações
+ * recebidas das demais, e deve cobrir o atraso de replicação esperado
+ * (app.datasource.replica.janela-apos-escrita).
+ */
+@Component
+public class LeituraAposEscrita {
+
+    private final long janelaNanos;
+    private final LongSupplier relogio;
+    private volatile long primarioAte;
+
+    public LeituraAposEscrita(@Value("${app.datasource.replica.janela-apos-escrita:PT5S}") Duration janela) {
+        this(janela, System::nanoTime);
+    }
+
+    LeituraAposEscrita(Duration janela, LongSupplier relogio) {
+        this.janelaNanos = janela.toNanos();
+        this.relogio = relogio;
+        this.primarioAte = relogio.getAsLong();
+    }
+
+    /**
+     * Abre (ou estende) a janela a partir de agora.
+     */
+    public void registrarEscrita() {
+        primarioAte = relogio.getAsLong() + janelaNanos;
+    }
+
+    /**
+     * Se as leituras ainda devem ir para o primário.
+     */
+    public boolean janelaAberta() {
+        return relogio.getAsLong() - primarioAte < 0;
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que escolhe o pool conforme a transação corrente:
+ * transações {@code @Transactional(readOnly = true)} vão para a réplica,
+ * todo o resto (escritas, comandos e acessos fora de transação) vai para o primário.
+ * Logo após uma escrita, enquanto a {@link LeituraAposEscrita} estiver aberta, as leituras
+ * também vão para o primário.
+ * 
+ * Deve ser envolvido por um LazyConnectionDataSourceProxy: a conexão real só é
+ * obtida no primeiro statement, quando o flag read-only da transação já foi definido.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private final LeituraAposEscrita leituraAposEscrita;
+    
+    public ReadWriteRoutingDataSource(LeituraAposEscrita leituraAposEscrita) {
+        this.leituraAposEscrita = leituraAposEscrita;
+    }
+    
+    /**
+     * Destinos possíveis do roteamento.
+     */
+    public enum Rota {
+        PRIMARIO,
+        REPLICA
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || leituraAposEscrita.janelaAberta()) {
+            return Rota.PRIMARIO;
+        }
+        return Rota.REPLICA;
+    }
+}
@@ -38,6 +38,11 @@ public class ValidationConfig {
      */
     private SortFields sortFields = new SortFields();
     
+    /**
+     * Configurações de validação em lote.
+     */
+    private Batch batch = new Batch();
+    
     // Getters e Setters
     public Pagination getPagination() {
         return pagination;
@@ -71,6 +76,14 @@ public class ValidationConfig {
         this.sortFields = sortFields;
     }
     
+    public Batch getBatch() {
+        return batch;
+    }
+    
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+    
     /**
      * Configurações de paginação.
      */
@@ -122,6 +135,7 @@ public class ValidationConfig {
         private int defaultMaxLength = 255;
         private boolean trimEnabled = true;
         private boolean allowEmpty = false;
+        private int patternCacheSize = 256;
         
         // Getters e Setters
         public int getDefaultMinLength() {
@@ -155,6 +169,14 @@ public class ValidationConfig {
         public void setAllowEmpty(boolean allowEmpty) {
             this.allowEmpty = allowEmpty;
         }
+        
+        public int getPatternCacheSize() {
+            return patternCacheSize;
+        }
+        
+        public void setPatternCacheSize(int patternCacheSize) {
+            this.patternCacheSize = patternCacheSize;
+        }
     }
     
     /**
@@ -237,4 +259,33 @@ public class ValidationConfig {
             this.defaultSortDirection = defaultSortDirection;
         }
     }
+    
+    /**
+     * Configurações de validação em lote.
+     */
+    public static class Batch {
+        // Lotes maiores que o limiar são divididos em intervalos deste tamanho e validados em paralelo
+        private int parallelThreshold = 1024;
+        
+        // Exige o ISSQN igual ao calculado a partir da base de cálculo e da alíquota. Desabilitado
+        // por padrão porque os créditos de origem trazem o ISSQN informado pelo emissor
+        private boolean validarValorIssqn = false;
+        
+        // Getters e Setters
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+        
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+        
+        public boolean isValidarValorIssqn() {
+            return validarValorIssqn;
+        }
+        
+        public void setValidarValorIssqn(boolean validarValorIssqn) {
+            this.validarValorIssqn = validarValorIssqn;
+        }
+    }
 }
@@ -1,7 +1,18 @@
 package br.com.guilhermedealmeidafreitas.creditos.controller;
 
+import br.com.guilhermedealmeidafreitas.creditos.cache.ChavesQuentes;
+import br.com.guilhermedealmeidafreitas.creditos.cache.DetectorChavesQuentes;
+import br.com.guilhermedealmeidafreitas.creditos.cache.RespostaJsonCache;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoBatchRequest;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoBatchResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoImportResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CursorPaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoLeituraResponse;
 import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoExportService;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoImportService;
 import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
 import br.com.guilhermedealmeidafreitas.creditos.service.ValidationService;
 import br.com.guilhermedealmeidafreitas.creditos.config.TestFeaturesConfig;
@@ -14,14 +25,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Controller simplificado usando os serviços consolidados
+ * 
+ * Os GETs por número do crédito e por NFS-e enviam um ETag forte e respondem 304
+ * a um If-None-Match igual. Nas listas por NFS-e o ETag vem da versão da NFS-e
+ * (maior updated_at + quantidade), calculada antes de consultar a lista.
+ * 
+ * O crédito por número e a lista paginada por NFS-e são respondidos com o JSON já
+ * serializado do {@link RespostaJsonCache}, em gzip quando o cliente aceita.
+ * 
+ * As consultas por número do crédito e por NFS-e são contadas no {@link DetectorChavesQuentes}.
  */
 @RestController
 @RequestMapping("/api/creditos")
@@ -29,19 +56,31 @@ import java.util.Map;
 public class CreditoController {
     
     private final CreditoService creditoService;
+    private final CreditoExportService creditoExportService;
+    private final CreditoImportService creditoImportService;
     private final ValidationService validationService;
     private final TestFeaturesConfig testFeaturesConfig;
+    private final RespostaJsonCache respostaJsonCache;
+    private final DetectorChavesQuentes detectorChavesQuentes;
     
     /**
      * Construtor para injeção de dependências seguindo o Dependency Inversion Principle (DIP).
      * Torna as dependências explícitas e facilita testes unitários.
      */
     public CreditoController(CreditoService creditoService, 
+                           CreditoExportService creditoExportService,
+                           CreditoImportService creditoImportService,
                            ValidationService validationService,
-                           TestFeaturesConfig testFeaturesConfig) {
+                           TestFeaturesConfig testFeaturesConfig,
+                           RespostaJsonCache respostaJsonCache,
+                           DetectorChavesQuentes detectorChavesQuentes) {
         this.creditoService = creditoService;
+        this.creditoExportService = creditoExportService;
+        this.creditoImportService = creditoImportService;
         this.validationService = validationService;
         this.testFeaturesConfig = testFeaturesConfig;
+        this.respostaJsonCache = respostaJsonCache;
+        this.detectorChavesQuentes = detectorChavesQuentes;
     }
     
     @GetMapping("/credito/{numeroCredito}")
@@ -63,18 +102,53 @@ public class CreditoController {
             description = "Crédito não encontrado para o número informado"
         )
     })
-    public ResponseEntity<Credito> buscarCreditoPorNumero(
+    public ResponseEntity<byte[]> buscarCreditoPorNumero(
             @Parameter(description = "Número identificador do crédito", required = true)
-            @PathVariable String numeroCredito) {
+            @PathVariable String numeroCredito,
+            WebRequest webRequest) {
         
-        validationService.validateStringInput(numeroCredito, "Número do crédito");
+        validationService.validateCreditoPorNumero(numeroCredito);
         
         Credito credito = creditoService.buscarCreditoPorNumero(numeroCredito);
         if (credito == null) {
             throw CreditoExceptions.notFound(numeroCredito, "número do crédito");
         }
+        detectorChavesQuentes.registrar(ChavesQuentes.Tipo.CREDITO, numeroCredito);
         
-        return ResponseEntity.ok(credito);
+        String etag = credito.getUpdatedAt() != null ? etag(credito.getId(), credito.getUpdatedAt()) : null;
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return json(respostaJsonCache.obterCredito(numeroCredito, etag, () -> credito), etag, webRequest);
+    }
+    
+    @PostMapping("/credito/batch")
+    @Operation(
+        summary = "Buscar créditos em lote",
+        description = "Retorna, em uma única requisição, os créditos correspondentes a uma lista de números de crédito. " +
+                      "Os números encontrados e os inexistentes são retornados separadamente."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resultado da busca em lote",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CreditoBatchResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lista vazia, com números inválidos ou acima do limite permitido"
+        )
+    })
+    public ResponseEntity<CreditoBatchResponse> buscarCreditosPorNumeros(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Números dos créditos a buscar", required = true)
+            @RequestBody CreditoBatchRequest request) {
+        
+        CreditoBatchResponse response = creditoService.buscarCreditosPorNumeros(request.getNumerosCredito());
+        
+        return ResponseEntity.ok(response);
     }
     
     @GetMapping("/{numeroNfse}")
@@ -98,23 +172,32 @@ public class CreditoController {
     })
     public ResponseEntity<List<Credito>> buscarCreditosPorNfse(
             @Parameter(description = "Número identificador da NFS-e", required = true)
-            @PathVariable String numeroNfse) {
+            @PathVariable String numeroNfse,
+            WebRequest webRequest) {
         
-        validationService.validateStringInput(numeroNfse, "Número da NFS-e");
+        validationService.validateCreditosPorNfse(numeroNfse);
+        
+        String etag = etagNfse(numeroNfse);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            detectorChavesQuentes.registrar(ChavesQuentes.Tipo.NFSE, numeroNfse);
+            return null;
+        }
         
         List<Credito> creditos = creditoService.buscarCreditosPorNfse(numeroNfse);
         
         if (creditos.isEmpty()) {
             throw CreditoExceptions.notFound(numeroNfse, "número da NFS-e");
         }
+        detectorChavesQuentes.registrar(ChavesQuentes.Tipo.NFSE, numeroNfse);
         
-        return ResponseEntity.ok(creditos);
+        return comEtag(creditos, etag);
     }
     
     @GetMapping("/paginated/{numeroNfse}")
     @Operation(
         summary = "Buscar créditos por NFS-e com paginação",
-        description = "Retorna uma lista paginada de créditos constituídos com base no número da NFS-e"
+        description = "Retorna uma lista paginada de créditos constituídos com base no número da NFS-e. " +
+                      "Com withTotal=false a consulta de contagem é omitida e totalElements/totalPages retornam -1."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -130,7 +213,7 @@ public class CreditoController {
             description = "Nenhum crédito encontrado para o número da NFS-e informado"
         )
     })
-    public ResponseEntity<PaginatedCreditoResponse> buscarCreditosPorNfseComPaginacao(
+    public ResponseEntity<byte[]> buscarCreditosPorNfseComPaginacao(
             @Parameter(description = "Número identificador da NFS-e", required = true)
             @PathVariable String numeroNfse,
             
@@ -144,16 +227,230 @@ public class CreditoController {
             @RequestParam(defaultValue = "dataConstituicao") String sortBy,
             
             @Parameter(description = "Direção da ordenação (asc ou desc)", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            
+            @Parameter(description = "Calcula totalElements/totalPages (false evita a consulta de contagem)", example = "true")
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest webRequest) {
+        
+        Pageable pageable = validationService
+            .validateCreditosPorNfsePaginados(numeroNfse, page, size, sortBy, sortDirection).pageable();
+        
+        String etag = etagNfse(numeroNfse);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            detectorChavesQuentes.registrar(ChavesQuentes.Tipo.NFSE, numeroNfse);
+            return null;
+        }
+        
+        RespostaJsonCache.Corpo corpo = respostaJsonCache.obterPaginaNfse(numeroNfse, pageable, withTotal, etag, () -> {
+            PaginatedCreditoResponse response = withTotal
+                ? creditoService.buscarCreditosPorNfseComPaginacao(numeroNfse, pageable)
+                : creditoService.buscarCreditosPorNfseComPaginacaoSemTotal(numeroNfse, pageable);
+            
+            if (response.getContent().isEmpty()) {
+                throw CreditoExceptions.notFound(numeroNfse, "número da NFS-e");
+            }
+            return response;
+        });
+        detectorChavesQuentes.registrar(ChavesQuentes.Tipo.NFSE, numeroNfse);
+        
+        return json(corpo, etag, webRequest);
+    }
+    
+    @GetMapping("/paginated/{numeroNfse}/cursor")
+    @Operation(
+        summary = "Buscar créditos por NFS-e com paginação por cursor",
+        description = "Retorna uma página de créditos constituídos usando paginação por keyset. " +
+                      "Envie o nextCursor da resposta anterior para obter a página seguinte; " +
+                      "o custo de cada página independe da sua profundidade e não há consulta de contagem."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de créditos encontrados",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CursorPaginatedCreditoResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parâmetros de paginação ou cursor inválidos"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Nenhum crédito encontrado para o número da NFS-e informado"
+        )
+    })
+    public ResponseEntity<CursorPaginatedCreditoResponse> buscarCreditosPorNfseComCursor(
+            @Parameter(description = "Número identificador da NFS-e", required = true)
+            @PathVariable String numeroNfse,
+            
+            @Parameter(description = "Cursor opaco retornado na página anterior (vazio para a primeira página)")
+            @RequestParam(required = false) String cursor,
+            
+            @Parameter(description = "Tamanho da página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Campo para ordenação", example = "dataConstituicao")
+            @RequestParam(defaultValue = "dataConstituicao") String sortBy,
+            
+            @Parameter(description = "Direção da ordenação (asc ou desc)", example = "desc")
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            WebRequest webRequest) {
+        
+        Pageable pageable = validationService
+            .validateCreditosPorNfseCursor(numeroNfse, size, sortBy, sortDirection).pageable();
         
-        validationService.validateStringInput(numeroNfse, "Número da NFS-e");
-        Pageable pageable = validationService.validateAndCreatePageable(page, size, sortBy, sortDirection);
+        String etag = etagNfse(numeroNfse);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            detectorChavesQuentes.registrar(ChavesQuentes.Tipo.NFSE, numeroNfse);
+            return null;
+        }
         
-        PaginatedCreditoResponse response = creditoService.buscarCreditosPorNfseComPaginacao(numeroNfse, pageable);
+        CursorPaginatedCreditoResponse response = creditoService.buscarCreditosPorNfseComCursor(numeroNfse, cursor, pageable);
         
-        if (response.getContent().isEmpty()) {
+        if (response.getContent().isEmpty() && cursor == null) {
             throw CreditoExceptions.notFound(numeroNfse, "número da NFS-e");
         }
+        detectorChavesQuentes.registrar(ChavesQuentes.Tipo.NFSE, numeroNfse);
+        
+        return comEtag(response, etag);
+    }
+    
+    @GetMapping("/search")
+    @Operation(
+        summary = "Buscar créditos por filtros com paginação",
+        description = "Retorna uma lista paginada de créditos que atendem aos filtros informados. " +
+                      "Todos os filtros são opcionais; apenas os informados são aplicados à consulta."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lista paginada de créditos encontrados (vazia se nenhum crédito atender aos filtros)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PaginatedCreditoLeituraResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Filtros ou parâmetros de paginação inválidos"
+        )
+    })
+    public ResponseEntity<PaginatedCreditoLeituraResponse> buscarCreditosComFiltros(
+            @Parameter(description = "Número da NFS-e (opcional)")
+            @RequestParam(required = false) String numeroNfse,
+            
+            @Parameter(description = "Tipo do crédito (opcional)")
+            @RequestParam(required = false) String tipoCredito,
+            
+            @Parameter(description = "Se é Simples Nacional (opcional)")
+            @RequestParam(required = false) Boolean simplesNacional,
+            
+            @Parameter(description = "Número da página (começando em 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            
+            @Parameter(description = "Tamanho da página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Campo para ordenação", example = "dataConstituicao")
+            @RequestParam(defaultValue = "dataConstituicao") String sortBy,
+            
+            @Parameter(description = "Direção da ordenação (asc ou desc)", example = "desc")
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        ValidationService.FiltrosPaginados filtros = validationService.validateCreditosComFiltros(
+            numeroNfse, tipoCredito, page, size, sortBy, sortDirection);
+        
+        PaginatedCreditoLeituraResponse response = creditoService.buscarCreditosComFiltros(
+            filtros.numeroNfse(), filtros.tipoCredito(), simplesNacional, filtros.pageable());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportar créditos em streaming",
+        description = "Exporta todos os créditos que atendem aos filtros informados em NDJSON (um crédito por linha) " +
+                      "ou CSV. As linhas são enviadas à medida que são lidas do banco, com memória constante " +
+                      "independentemente do tamanho do resultado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Exportação iniciada",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "text/csv")
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Filtros ou formato inválidos"
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportarCreditos(
+            @Parameter(description = "Número da NFS-e (opcional)")
+            @RequestParam(required = false) String numeroNfse,
+            
+            @Parameter(description = "Tipo do crédito (opcional)")
+            @RequestParam(required = false) String tipoCredito,
+            
+            @Parameter(description = "Se é Simples Nacional (opcional)")
+            @RequestParam(required = false) Boolean simplesNacional,
+            
+            @Parameter(description = "Formato de saída (ndjson ou csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        
+        ValidationService.FiltrosExportacao filtros = validationService.validateExportacao(numeroNfse, tipoCredito);
+        CreditoExportService.Formato formatoExportacao = CreditoExportService.Formato.of(formato);
+        
+        StreamingResponseBody body = out ->
+            creditoExportService.exportar(filtros.numeroNfse(), filtros.tipoCredito(), simplesNacional, formatoExportacao, out);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formatoExportacao.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"creditos." + formatoExportacao.getExtensao() + "\"")
+            .body(body);
+    }
+    
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+        summary = "Importar créditos em massa",
+        description = "Importa créditos a partir de um arquivo CSV (mesmo layout da exportação) ou NDJSON enviado no corpo " +
+                      "da requisição. As linhas válidas são carregadas via COPY e consolidadas por número do crédito: " +
+                      "créditos novos são inseridos e os existentes atualizados. Linhas inconsistentes são rejeitadas " +
+                      "e reportadas sem interromper a importação."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Importação concluída",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CreditoImportResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Formato ou cabeçalho do arquivo inválido"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor ao importar créditos"
+        )
+    })
+    public ResponseEntity<CreditoImportResponse> importarCreditos(
+            @Parameter(description = "Formato do arquivo (ndjson ou csv)", example = "csv")
+            @RequestParam(defaultValue = "ndjson") String formato,
+            
+            InputStream arquivo) {
+        
+        CreditoExportService.Formato formatoImportacao = CreditoExportService.Formato.of(formato);
+        
+        CreditoImportResponse response = creditoImportService.importar(formatoImportacao, arquivo);
         
         return ResponseEntity.ok(response);
     }
@@ -227,4 +524,65 @@ public class CreditoController {
             "mensagem", "Registros de teste deletados com sucesso"
         ));
     }
+    
+    /**
+     * ETag das listas da NFS-e, ou null se ela não tiver créditos (a resposta será 404).
+     * A versão vem do cache das páginas da NFS-e; só uma falta nele consulta o banco.
+     */
+    private String etagNfse(String numeroNfse) {
+        VersaoNfse versao = creditoService.buscarVersaoNfse(numeroNfse);
+        if (versao == null || versao.quantidade() == null || versao.quantidade() == 0) {
+            return null;
+        }
+        return etag(versao.quantidade(), versao.ultimaAtualizacao());
+    }
+    
+    private static <T> ResponseEntity<T> comEtag(T body, String etag) {
+        return etag == null ? ResponseEntity.ok(body) : ResponseEntity.ok().eTag(etag).body(body);
+    }
+    
+    /**
+     * Resposta com o JSON já serializado, escrito direto no corpo (sem o Jackson).
+     * A versão gzip vai para quem a aceita; Vary avisa os caches HTTP intermediários.
+     * As duas codificações compartilham o ETag, que por isso é fraco (ver {@link #etag}).
+     */
+    private static ResponseEntity<byte[]> json(RespostaJsonCache.Corpo corpo, String etag, WebRequest webRequest) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        if (corpo.gzip() != null && aceitaGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(corpo.gzip());
+        }
+        return builder.body(corpo.json());
+    }
+    
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" recusa explicitamente
+                return partes.length == 1 || !partes[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * ETag fraco da versão: identifica o conteúdo, não os bytes, que mudam com a
+     * codificação (gzip ou identidade). If-None-Match usa comparação fraca, então
+     * clientes que ainda enviam a forma forte continuam recebendo 304.
+     */
+    private static String etag(long identificador, LocalDateTime atualizacao) {
+        long micros = 0;
+        if (atualizacao != null) {
+            micros = atualizacao.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + atualizacao.getNano() / 1_000;
+        }
+        return "W/\"" + identificador + "-" + Long.toHexString(micros) + "\"";
+    }
 }
@@ -0,0 +1,28 @@
+package br.com.guilhermedealmeidafreitas.creditos.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Requisição de busca em lote de créditos")
+public class CreditoBatchRequest {
+    
+    @Schema(description = "Números dos créditos a buscar", example = "[\"123456\", \"789012\"]")
+    private List<String> numerosCredito;
+    
+    // Construtores
+    public CreditoBatchRequest() {}
+    
+    public CreditoBatchRequest(List<String> numerosCredito) {
+        this.numerosCredito = numerosCredito;
+    }
+    
+    // Getters e Setters
+    public List<String> getNumerosCredito() {
+        return numerosCredito;
+    }
+    
+    public void setNumerosCredito(List<String> numerosCredito) {
+        this.numerosCredito = numerosCredito;
+    }
+}
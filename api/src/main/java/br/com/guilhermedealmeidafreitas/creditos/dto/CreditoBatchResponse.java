@@ -0,0 +1,41 @@
+package br.com.guilhermedealmeidafreitas.creditos.dto;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resposta da busca em lote de créditos")
+public class CreditoBatchResponse {
+    
+    @Schema(description = "Créditos encontrados, na ordem em que foram solicitados")
+    private List<Credito> encontrados;
+    
+    @Schema(description = "Números de crédito solicitados que não existem")
+    private List<String> naoEncontrados;
+    
+    // Construtores
+    public CreditoBatchResponse() {}
+    
+    public CreditoBatchResponse(List<Credito> encontrados, List<String> naoEncontrados) {
+        this.encontrados = encontrados;
+        this.naoEncontrados = naoEncontrados;
+    }
+    
+    // Getters e Setters
+    public List<Credito> getEncontrados() {
+        return encontrados;
+    }
+    
+    public void setEncontrados(List<Credito> encontrados) {
+        this.encontrados = encontrados;
+    }
+    
+    public List<String> getNaoEncontrados() {
+        return naoEncontrados;
+    }
+    
+    public void setNaoEncontrados(List<String> naoEncontrados) {
+        this.naoEncontrados = naoEncontrados;
+    }
+}
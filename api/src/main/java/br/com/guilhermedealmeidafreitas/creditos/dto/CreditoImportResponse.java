@@ -0,0 +1,134 @@
+package br.com.guilhermedealmeidafreitas.creditos.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado da importação em massa de créditos")
+public class CreditoImportResponse {
+    
+    @Schema(description = "Linhas de dados lidas do arquivo (sem o cabeçalho)")
+    private long linhasLidas;
+    
+    @Schema(description = "Créditos novos inseridos")
+    private long linhasInseridas;
+    
+    @Schema(description = "Créditos existentes atualizados (mesmo número de crédito)")
+    private long linhasAtualizadas;
+    
+    @Schema(description = "Linhas rejeitadas pelas validações")
+    private long linhasRejeitadas;
+    
+    @Schema(description = "Duração total da importação em milissegundos")
+    private long duracaoMs;
+    
+    @Schema(description = "Vazão da importação em linhas lidas por segundo")
+    private long linhasPorSegundo;
+    
+    @Schema(description = "Detalhe das primeiras linhas rejeitadas")
+    private List<Rejeicao> rejeicoes;
+    
+    // Construtores
+    public CreditoImportResponse() {}
+    
+    public CreditoImportResponse(long linhasLidas, long linhasInseridas, long linhasAtualizadas,
+                                 long linhasRejeitadas, long duracaoMs, List<Rejeicao> rejeicoes) {
+        this.linhasLidas = linhasLidas;
+        this.linhasInseridas = linhasInseridas;
+        this.linhasAtualizadas = linhasAtualizadas;
+        this.linhasRejeitadas = linhasRejeitadas;
+        this.duracaoMs = duracaoMs;
+        this.linhasPorSegundo = duracaoMs > 0 ? linhasLidas * 1000 / duracaoMs : linhasLidas;
+        this.rejeicoes = rejeicoes;
+    }
+    
+    // Getters e Setters
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+    
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+    
+    public long getLinhasInseridas() {
+        return linhasInseridas;
+    }
+    
+    public void setLinhasInseridas(long linhasInseridas) {
+        this.linhasInseridas = linhasInseridas;
+    }
+    
+    public long getLinhasAtualizadas() {
+        return linhasAtualizadas;
+    }
+    
+    public void setLinhasAtualizadas(long linhasAtualizadas) {
+        this.linhasAtualizadas = linhasAtualizadas;
+    }
+    
+    public long getLinhasRejeitadas() {
+        return linhasRejeitadas;
+    }
+    
+    public void setLinhasRejeitadas(long linhasRejeitadas) {
+        this.linhasRejeitadas = linhasRejeitadas;
+    }
+    
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+    
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+    
+    public long getLinhasPorSegundo() {
+        return linhasPorSegundo;
+    }
+    
+    public void setLinhasPorSegundo(long linhasPorSegundo) {
+        this.linhasPorSegundo = linhasPorSegundo;
+    }
+    
+    public List<Rejeicao> getRejeicoes() {
+        return rejeicoes;
+    }
+    
+    public void setRejeicoes(List<Rejeicao> rejeicoes) {
+        this.rejeicoes = rejeicoes;
+    }
+    
+    @Schema(description = "Linha rejeitada na importação")
+    public static class Rejeicao {
+        
+        @Schema(description = "Número da linha no arquivo (o cabeçalho CSV é a linha 1)")
+        private long linha;
+        
+        @Schema(description = "Motivo da rejeição")
+        private String motivo;
+        
+        public Rejeicao() {}
+        
+        public Rejeicao(long linha, String motivo) {
+            this.linha = linha;
+            this.motivo = motivo;
+        }
+        
+        public long getLinha() {
+            return linha;
+        }
+        
+        public void setLinha(long linha) {
+            this.linha = linha;
+        }
+        
+        public String getMotivo() {
+            return motivo;
+        }
+        
+        public void setMotivo(String motivo) {
+            this.motivo = motivo;
+        }
+    }
+}
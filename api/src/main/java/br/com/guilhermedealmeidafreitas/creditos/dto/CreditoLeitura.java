@@ -0,0 +1,28 @@
+package br.com.guilhermedealmeidafreitas.creditos.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Crédito somente leitura, montado direto das colunas pela consulta (constructor expression).
+ *
+ * Tem as mesmas propriedades JSON da entidade Credito, sem passar pelo persistence context:
+ * não há entidade gerenciada, snapshot de dirty checking nem entrada no cache de segundo nível.
+ */
+@Schema(description = "Crédito constituído (somente leitura)")
+public record CreditoLeitura(
+    Long id,
+    String numeroCredito,
+    String numeroNfse,
+    LocalDate dataConstituicao,
+    BigDecimal valorIssqn,
+    String tipoCredito,
+    Boolean simplesNacional,
+    BigDecimal aliquota,
+    BigDecimal valorFaturado,
+    BigDecimal valorDeducao,
+    BigDecimal baseCalculo
+) {
+}
@@ -0,0 +1,65 @@
+package br.com.guilhermedealmeidafreitas.creditos.dto;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resposta paginada de créditos por cursor (keyset)")
+public class CursorPaginatedCreditoResponse {
+
+    @Schema(description = "Lista de créditos da página atual")
+    private List<Credito> content;
+
+    @Schema(description = "Tamanho da página")
+    private int size;
+
+    @Schema(description = "Cursor opaco para buscar a próxima página (nulo na última página)")
+    private String nextCursor;
+
+    @Schema(description = "Indica se existe próxima página")
+    private boolean hasNext;
+
+    // Construtores
+    public CursorPaginatedCreditoResponse() {}
+
+    public CursorPaginatedCreditoResponse(List<Credito> content, int size, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // Getters e Setters
+    public List<Credito> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Credito> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -8,6 +8,11 @@ import java.util.List;
 @Schema(description = "Resposta paginada de créditos")
 public class PaginatedCreditoResponse {
     
+    /**
+     * Valor de totalElements/totalPages quando a contagem não é solicitada (withTotal=false).
+     */
+    public static final int TOTAL_NAO_CALCULADO = -1;
+    
     @Schema(description = "Lista de créditos da página atual")
     private List<Credito> content;
     
@@ -17,10 +22,10 @@ public class PaginatedCreditoResponse {
     @Schema(description = "Tamanho da página")
     private int size;
     
-    @Schema(description = "Total de elementos")
+    @Schema(description = "Total de elementos (-1 quando withTotal=false)")
     private long totalElements;
     
-    @Schema(description = "Total de páginas")
+    @Schema(description = "Total de páginas (-1 quando withTotal=false)")
     private int totalPages;
     
     @Schema(description = "Indica se é a primeira página")
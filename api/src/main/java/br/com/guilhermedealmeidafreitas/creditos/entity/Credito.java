@@ -1,8 +1,12 @@
 package br.com.guilhermedealmeidafreitas.creditos.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -11,10 +15,16 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "credito")
+// Cache de segundo nível (região "credito"): leitura predominante, atualizado pelas escritas do Hibernate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "credito")
 public class Credito {
     
+    // Sequence com otimizador pooled: reserva blocos de ids e permite batch de INSERTs
+    // (IDENTITY obriga o Hibernate a executar um INSERT por vez para obter o id)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credito_id_seq")
+    @SequenceGenerator(name = "credito_id_seq", sequenceName = "credito_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "numero_credito", nullable = false)
@@ -47,6 +57,16 @@ public class Credito {
     @Column(name = "base_calculo", nullable = false, precision = 15, scale = 2)
     private BigDecimal baseCalculo;
     
+    // Mantidos pelo banco (DEFAULT e trigger update_credito_updated_at); usados para
+    // calcular a versão das listas por NFS-e (ETag), fora do contrato JSON da API
+    @JsonIgnore
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @JsonIgnore
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+    
     // Construtores simples
     public Credito() {}
     
@@ -155,6 +175,22 @@ public class Credito {
         this.baseCalculo = baseCalculo;
     }
     
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -7,6 +7,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Factory para criação de objetos Pageable com validação e correção automática.
  * 
@@ -14,6 +18,9 @@ import org.springframework.stereotype.Component;
  * duplicada no PageableValidationHandler, eliminando duplicação de código e
  * melhorando a manutenibilidade.
  * 
+ * Sort e PageRequest são imutáveis: o Sort de cada campo permitido e direção é criado
+ * uma vez e reaproveitado, assim como o PageRequest da primeira página de cada tamanho.
+ * 
  * @author Guilherme de Almeida Freitas
  */
 @Component
@@ -21,6 +28,9 @@ public class PageableFactory {
     
     private final ValidationConstants validationConstants;
     
+    // Por campo de ordenação validado, um InternedSort por Sort.Direction (índice = ordinal)
+    private final ConcurrentMap<String, InternedSort[]> internedSorts = new ConcurrentHashMap<>();
+    
     public PageableFactory(ValidationConstants validationConstants) {
         this.validationConstants = validationConstants;
     }
@@ -48,9 +58,8 @@ public class PageableFactory {
         // Validar direção de ordenação
         Sort.Direction validDirection = validateAndCorrectSortDirection(sortDirection);
         
-        // Criar Sort e Pageable
-        Sort sort = Sort.by(validDirection, validSortBy);
-        return PageRequest.of(validPage, validSize, sort);
+        // Sort e primeira página reaproveitados
+        return internedSort(validSortBy, validDirection).pageRequest(validPage, validSize);
     }
     
     /**
@@ -135,14 +144,64 @@ public class PageableFactory {
             return Sort.Direction.ASC;
         }
         
-        String trimmedDirection = sortDirection.trim().toUpperCase();
-        if ("DESC".equals(trimmedDirection)) {
+        if ("DESC".equalsIgnoreCase(sortDirection.trim())) {
             return Sort.Direction.DESC;
         }
         
         return Sort.Direction.ASC;
     }
     
+    /**
+     * Obtém o Sort já criado para o campo e a direção, criando-o na primeira vez.
+     * O campo deve ter passado por {@link #validateAndCorrectSortField(String)}, o que
+     * limita as entradas aos campos permitidos e ao campo padrão.
+     * 
+     * @param sortBy Campo de ordenação validado
+     * @param direction Direção de ordenação
+     * @return Sort reaproveitável
+     */
+    private InternedSort internedSort(String sortBy, Sort.Direction direction) {
+        InternedSort[] porDirecao = internedSorts.get(sortBy);
+        if (porDirecao == null) {
+            porDirecao = internedSorts.computeIfAbsent(sortBy, campo -> {
+                Sort.Direction[] direcoes = Sort.Direction.values();
+                InternedSort[] novos = new InternedSort[direcoes.length];
+                for (Sort.Direction direcao : direcoes) {
+                    novos[direcao.ordinal()] = new InternedSort(Sort.by(direcao, campo), validationConstants.getMaxPageSize());
+                }
+                return novos;
+            });
+        }
+        return porDirecao[direction.ordinal()];
+    }
+    
+    /**
+     * Sort imutável e os PageRequest da primeira página criados com ele, por tamanho.
+     */
+    private static final class InternedSort {
+        
+        private final Sort sort;
+        private final AtomicReferenceArray<PageRequest> firstPages;
+        
+        InternedSort(Sort sort, int maxPageSize) {
+            this.sort = sort;
+            this.firstPages = new AtomicReferenceArray<>(Math.max(0, maxPageSize) + 1);
+        }
+        
+        PageRequest pageRequest(int page, int size) {
+            if (page != 0 || size >= firstPages.length()) {
+                return PageRequest.of(page, size, sort);
+            }
+            PageRequest pageRequest = firstPages.get(size);
+            if (pageRequest == null) {
+                // Corrida inofensiva: instâncias equivalentes, fica a última
+                pageRequest = PageRequest.of(0, size, sort);
+                firstPages.set(size, pageRequest);
+            }
+            return pageRequest;
+        }
+    }
+    
     /**
      * Cria um Pageable padrão com configurações padrão do sistema.
      * 
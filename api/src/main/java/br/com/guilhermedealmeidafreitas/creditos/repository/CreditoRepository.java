@@ -1,24 +1,48 @@
 package br.com.guilhermedealmeidafreitas.creditos.repository;
 
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CreditoRepository extends JpaRepository<Credito, Long> {
+public interface CreditoRepository extends JpaRepository<Credito, Long>, JpaSpecificationExecutor<Credito>,
+                                           CreditoRepositoryCustom {
+    
+    // As consultas de leitura carregam entidades somente leitura (HINT_READ_ONLY):
+    // o Hibernate não guarda snapshot para dirty checking nem as considera no flush.
+    // As consultas por número e por NFS-e usam o cache de consultas (HINT_CACHEABLE),
+    // com regiões configuradas em HibernateCacheConfig. As leituras em lote e a exportação
+    // não gravam no cache de segundo nível (HINT_CACHE_MODE), para não expulsar as entradas quentes.
     
     /**
      * Busca todos os créditos por número da NFS-e
      * @param numeroNfse Número da NFS-e
      * @return Lista de créditos encontrados
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "credito-por-nfse")
+    })
     List<Credito> findByNumeroNfse(String numeroNfse);
     
     /**
@@ -26,8 +50,36 @@ public interface CreditoRepository extends JpaRepository<Credito, Long> {
      * @param numeroCredito Número do crédito
      * @return Crédito encontrado ou null se não existir
      */
+    // Transação própria: o cache de créditos por número chama esta consulta fora de transação
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "credito-por-numero")
+    })
     Credito findByNumeroCredito(String numeroCredito);
     
+    /**
+     * Calcula a versão dos créditos de uma NFS-e, respondida por Index Only Scan
+     * em idx_credito_nfse_data_constituicao (que inclui updated_at)
+     * @param numeroNfse Número da NFS-e
+     * @return Maior updated_at e quantidade de créditos da NFS-e
+     */
+    @Query("SELECT new br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse(MAX(c.updatedAt), COUNT(c)) " +
+           "FROM Credito c WHERE c.numeroNfse = :numeroNfse")
+    VersaoNfse findVersaoByNumeroNfse(@Param("numeroNfse") String numeroNfse);
+    
+    /**
+     * Busca os créditos cujos números estão na coleção informada (IN).
+     * @param numerosCredito Números dos créditos
+     * @return Créditos encontrados, sem ordem garantida
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    List<Credito> findByNumeroCreditoIn(Collection<String> numerosCredito);
+    
     /**
      * Busca todos os créditos com paginação
      * @param pageable Configurações de paginação
@@ -41,8 +93,32 @@ public interface CreditoRepository extends JpaRepository<Credito, Long> {
      * @param pageable Configurações de paginação
      * @return Página de créditos encontrados
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Credito> findByNumeroNfse(String numeroNfse, Pageable pageable);
     
+    /**
+     * Busca créditos por número da NFS-e com paginação, sem consulta de contagem.
+     * Busca size+1 linhas para determinar se existe próxima página.
+     * @param numeroNfse Número da NFS-e
+     * @param pageable Configurações de paginação
+     * @return Fatia de créditos encontrados
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<Credito> findSliceByNumeroNfse(String numeroNfse, Pageable pageable);
+    
+    /**
+     * Busca créditos por número da NFS-e com paginação por keyset (seek).
+     * O id é adicionado automaticamente como critério de desempate da ordenação,
+     * e nenhuma consulta de contagem é executada.
+     * @param numeroNfse Número da NFS-e
+     * @param position Posição da última linha da página anterior
+     * @param sort Ordenação da listagem
+     * @param limit Tamanho da página
+     * @return Janela de créditos a partir da posição informada
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Window<Credito> findByNumeroNfse(String numeroNfse, ScrollPosition position, Sort sort, Limit limit);
+    
     /**
      * Busca créditos por tipo de crédito com paginação
      * @param tipoCredito Tipo do crédito
@@ -60,21 +136,15 @@ public interface CreditoRepository extends JpaRepository<Credito, Long> {
     Page<Credito> findBySimplesNacional(Boolean simplesNacional, Pageable pageable);
     
     /**
-     * Busca créditos com filtros múltiplos e paginação
-     * @param numeroNfse Número da NFS-e (opcional)
-     * @param tipoCredito Tipo do crédito (opcional)
-     * @param simplesNacional Se é simples nacional (opcional)
+     * Busca créditos que atendem à specification, com paginação.
+     * Usado com {@link CreditoSpecifications#comFiltros(String, String, Boolean)}.
+     * @param spec Critérios da busca
      * @param pageable Configurações de paginação
      * @return Página de créditos encontrados
      */
-    @Query("SELECT c FROM Credito c WHERE " +
-           "(:numeroNfse IS NULL OR c.numeroNfse = :numeroNfse) AND " +
-           "(:tipoCredito IS NULL OR c.tipoCredito = :tipoCredito) AND " +
-           "(:simplesNacional IS NULL OR c.simplesNacional = :simplesNacional)")
-    Page<Credito> findByFilters(@Param("numeroNfse") String numeroNfse,
-                                @Param("tipoCredito") String tipoCredito,
-                                @Param("simplesNacional") Boolean simplesNacional,
-                                Pageable pageable);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<Credito> findAll(Specification<Credito> spec, Pageable pageable);
     
     /**
      * Busca todos os créditos de teste (com prefixo TESTE)
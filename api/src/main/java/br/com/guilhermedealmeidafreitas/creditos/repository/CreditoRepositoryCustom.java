@@ -0,0 +1,40 @@
+package br.com.guilhermedealmeidafreitas.creditos.repository;
+
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoLeitura;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+/**
+ * Consultas do {@link CreditoRepository} implementadas à mão em {@link CreditoRepositoryImpl}.
+ */
+public interface CreditoRepositoryCustom {
+
+    /**
+     * Percorre os créditos que atendem aos filtros como stream, para exportação.
+     * Os filtros vêm de {@link CreditoSpecifications#comFiltros(String, String, Boolean)}, como na
+     * busca paginada. As linhas são lidas do cursor JDBC em lotes (fetch size), sem materializar
+     * o resultado inteiro; deve ser consumido dentro de uma transação.
+     * @param numeroNfse Número da NFS-e (opcional)
+     * @param tipoCredito Tipo do crédito (opcional)
+     * @param simplesNacional Se é simples nacional (opcional)
+     * @return Stream de créditos ordenado por id
+     */
+    Stream<Credito> streamByFilters(String numeroNfse, String tipoCredito, Boolean simplesNacional);
+
+    /**
+     * Busca os créditos que atendem aos filtros, com paginação, como projeção {@link CreditoLeitura}.
+     * Seleciona só as colunas da resposta (constructor expression): nenhuma entidade é gerenciada
+     * pela sessão nem gravada no cache de segundo nível. A contagem só é executada quando o total
+     * não pode ser deduzido da própria página.
+     * @param numeroNfse Número da NFS-e (opcional)
+     * @param tipoCredito Tipo do crédito (opcional)
+     * @param simplesNacional Se é simples nacional (opcional)
+     * @param pageable Configurações de paginação
+     * @return Página de créditos encontrados
+     */
+    Page<CreditoLeitura> findLeituraByFilters(String numeroNfse, String tipoCredito, Boolean simplesNacional,
+                                              Pageable pageable);
+}
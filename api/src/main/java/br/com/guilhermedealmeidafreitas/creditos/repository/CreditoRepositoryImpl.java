@@ -0,0 +1,97 @@
+package br.com.guilhermedealmeidafreitas.creditos.repository;
+
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoLeitura;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.stream.Stream;
+
+/**
+ * Implementação de {@link CreditoRepositoryCustom}, combinada pelo Spring Data ao {@link CreditoRepository}.
+ *
+ * O JpaSpecificationExecutor não devolve Stream com fetch size nem projeções por construtor;
+ * as consultas são montadas aqui com a mesma Specification da busca paginada.
+ *
+ * A exportação percorre a tabela inteira: CacheMode.IGNORE impede que ela encha a região
+ * "credito" do cache de segundo nível e expulse os créditos realmente consultados.
+ */
+public class CreditoRepositoryImpl implements CreditoRepositoryCustom {
+
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Credito> streamByFilters(String numeroNfse, String tipoCredito, Boolean simplesNacional) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Credito> query = cb.createQuery(Credito.class);
+        Root<Credito> root = query.from(Credito.class);
+
+        filtrar(query, root, cb, numeroNfse, tipoCredito, simplesNacional);
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+            .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+            .getResultStream();
+    }
+
+    @Override
+    public Page<CreditoLeitura> findLeituraByFilters(String numeroNfse, String tipoCredito, Boolean simplesNacional,
+                                                     Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CreditoLeitura> query = cb.createQuery(CreditoLeitura.class);
+        Root<Credito> root = query.from(Credito.class);
+
+        // Mesma ordem dos componentes de CreditoLeitura
+        query.select(cb.construct(CreditoLeitura.class,
+            root.get("id"), root.get("numeroCredito"), root.get("numeroNfse"), root.get("dataConstituicao"),
+            root.get("valorIssqn"), root.get("tipoCredito"), root.get("simplesNacional"), root.get("aliquota"),
+            root.get("valorFaturado"), root.get("valorDeducao"), root.get("baseCalculo")));
+        filtrar(query, root, cb, numeroNfse, tipoCredito, simplesNacional);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<CreditoLeitura> consulta = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(consulta.getResultList(), pageable,
+            () -> contar(numeroNfse, tipoCredito, simplesNacional));
+    }
+
+    private long contar(String numeroNfse, String tipoCredito, Boolean simplesNacional) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Credito> root = query.from(Credito.class);
+
+        query.select(cb.count(root));
+        filtrar(query, root, cb, numeroNfse, tipoCredito, simplesNacional);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void filtrar(CriteriaQuery<?> query, Root<Credito> root, CriteriaBuilder cb,
+                                String numeroNfse, String tipoCredito, Boolean simplesNacional) {
+        Predicate filtros = CreditoSpecifications.comFiltros(numeroNfse, tipoCredito, simplesNacional)
+            .toPredicate(root, query, cb);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+    }
+}
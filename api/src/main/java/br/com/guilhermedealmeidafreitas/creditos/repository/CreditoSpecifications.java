@@ -0,0 +1,47 @@
+package br.com.guilhermedealmeidafreitas.creditos.repository;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications para a busca de créditos por filtros.
+ * 
+ * Apenas os filtros informados geram predicados, então cada combinação de filtros
+ * produz um SQL próprio (ex.: só numero_nfse = ?) que o PostgreSQL planeja com o
+ * índice adequado, ao contrário do catch-all (:x IS NULL OR c.x = :x), cujo plano
+ * genérico não consegue usar índices.
+ */
+public final class CreditoSpecifications {
+    
+    private CreditoSpecifications() {
+        // Classe utilitária
+    }
+    
+    /**
+     * Combina os filtros informados com AND, ignorando os nulos.
+     * @param numeroNfse Número da NFS-e (opcional)
+     * @param tipoCredito Tipo do crédito (opcional)
+     * @param simplesNacional Se é simples nacional (opcional)
+     * @return Specification com apenas os predicados dos filtros informados
+     */
+    public static Specification<Credito> comFiltros(String numeroNfse, String tipoCredito, Boolean simplesNacional) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>(3);
+            if (numeroNfse != null) {
+                predicados.add(cb.equal(root.get("numeroNfse"), numeroNfse));
+            }
+            if (tipoCredito != null) {
+                predicados.add(cb.equal(root.get("tipoCredito"), tipoCredito));
+            }
+            if (simplesNacional != null) {
+                predicados.add(cb.equal(root.get("simplesNacional"), simplesNacional));
+            }
+            // Sem filtros, nenhuma cláusula WHERE é gerada
+            return predicados.isEmpty() ? null : cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+}
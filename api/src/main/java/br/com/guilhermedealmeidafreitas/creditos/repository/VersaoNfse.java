@@ -0,0 +1,15 @@
+package br.com.guilhermedealmeidafreitas.creditos.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão dos créditos de uma NFS-e: maior updated_at e quantidade de créditos.
+ *
+ * A quantidade detecta remoções e créditos movidos para outra NFS-e, que não
+ * alteram o maior updated_at das linhas restantes.
+ *
+ * @param ultimaAtualizacao Maior updated_at entre os créditos (null se não houver créditos)
+ * @param quantidade Quantidade de créditos da NFS-e
+ */
+public record VersaoNfse(LocalDateTime ultimaAtualizacao, Long quantidade) {
+}
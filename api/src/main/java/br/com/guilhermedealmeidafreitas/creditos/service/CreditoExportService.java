@@ -0,0 +1,186 @@
+package br.com.guilhermedealmeidafreitas.creditos.service;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoExceptions;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação de créditos em streaming.
+ *
+ * Lê as linhas do banco por um cursor JDBC (fetch size) e escreve cada crédito
+ * diretamente no OutputStream, desanexando-o do contexto de persistência logo
+ * em seguida. O consumo de memória independe do tamanho do resultado.
+ */
+@Service
+public class CreditoExportService {
+
+    /**
+     * Quantidade de linhas escritas entre flushes do OutputStream.
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String CSV_HEADER = "id,numeroCredito,numeroNfse,dataConstituicao,valorIssqn,tipoCredito," +
+                                             "simplesNacional,aliquota,valorFaturado,valorDeducao,baseCalculo";
+
+    /**
+     * Formatos suportados pela exportação.
+     */
+    public enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extensao;
+
+        Formato(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        /**
+         * Converte o parâmetro da requisição no formato correspondente.
+         */
+        public static Formato of(String formato) {
+            if (formato == null || formato.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return Formato.valueOf(formato.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw CreditoExceptions.validation(
+                    String.format("Formato de exportação inválido: %s. Use ndjson ou csv", formato), "formato");
+            }
+        }
+    }
+
+    private final CreditoRepository creditoRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Construtor para injeção de dependências seguindo o Dependency Inversion Principle (DIP).
+     * Usa o ObjectMapper da aplicação para que o JSON exportado siga o mesmo formato da API.
+     */
+    public CreditoExportService(CreditoRepository creditoRepository, ObjectMapper objectMapper) {
+        this.creditoRepository = creditoRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Exporta os créditos que atendem aos filtros, escrevendo-os no OutputStream.
+     *
+     * @param numeroNfse Número da NFS-e (opcional)
+     * @param tipoCredito Tipo do crédito (opcional)
+     * @param simplesNacional Se é simples nacional (opcional)
+     * @param formato Formato de saída
+     * @param out Destino dos dados
+     * @return Número de créditos exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportar(String numeroNfse, String tipoCredito, Boolean simplesNacional,
+                         Formato formato, OutputStream out) {
+        try (Stream<Credito> creditos = creditoRepository.streamByFilters(numeroNfse, tipoCredito, simplesNacional)) {
+            return formato == Formato.CSV
+                ? escreverCsv(creditos.iterator(), out)
+                : escreverNdjson(creditos.iterator(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao escrever exportação de créditos", e);
+        }
+    }
+
+    private long escreverNdjson(Iterator<Credito> creditos, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long total = 0;
+        while (creditos.hasNext()) {
+            Credito credito = creditos.next();
+            objectMapper.writeValue(generator, credito);
+            generator.writeRaw('\n');
+            liberar(credito);
+
+            if (++total % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        generator.close();
+        return total;
+    }
+
+    private long escreverCsv(Iterator<Credito> creditos, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long total = 0;
+        while (creditos.hasNext()) {
+            Credito credito = creditos.next();
+            writer.write(String.join(",",
+                valorCsv(credito.getId()),
+                valorCsv(credito.getNumeroCredito()),
+                valorCsv(credito.getNumeroNfse()),
+                valorCsv(credito.getDataConstituicao()),
+                valorCsv(credito.getValorIssqn()),
+                valorCsv(credito.getTipoCredito()),
+                valorCsv(credito.getSimplesNacional()),
+                valorCsv(credito.getAliquota()),
+                valorCsv(credito.getValorFaturado()),
+                valorCsv(credito.getValorDeducao()),
+                valorCsv(credito.getBaseCalculo())));
+            writer.write('\n');
+            liberar(credito);
+
+            if (++total % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return total;
+    }
+
+    /**
+     * Remove o crédito já escrito do contexto de persistência para manter a memória constante.
+     */
+    private void liberar(Credito credito) {
+        entityManager.detach(credito);
+    }
+
+    private String valorCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,474 @@
+package br.com.guilhermedealmeidafreitas.creditos.service;
+
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCacheInvalidador;
+import br.com.guilhermedealmeidafreitas.creditos.config.CreditoImportConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoImportResponse;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoExceptions;
+import br.com.guilhermedealmeidafreitas.creditos.validation.batch.BatchValidationReport;
+import br.com.guilhermedealmeidafreitas.creditos.validation.batch.CreditoBatchValidator;
+import br.com.guilhermedealmeidafreitas.creditos.validation.batch.CreditoValidationError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de importação em massa de créditos.
+ *
+ * O arquivo (CSV no mesmo layout da exportação, ou NDJSON) é lido registro a registro; a cada
+ * {@code app.import.lote-validacao} linhas, o lote passa pelo {@link CreditoBatchValidator}
+ * e as linhas válidas são enviadas ao PostgreSQL por COPY FROM STDIN para uma tabela temporária.
+ * Ao final, um único INSERT ... ON CONFLICT (uk_credito_numero_credito) consolida a
+ * tabela temporária em credito. Apenas o lote em validação é mantido em memória.
+ */
+@Service
+public class CreditoImportService {
+
+    static final String STAGING_TABLE = "credito_import_staging";
+
+    private static final String COLUNAS = "numero_credito, numero_nfse, data_constituicao, valor_issqn, tipo_credito, " +
+                                          "simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo";
+
+    static final String CREATE_STAGING_SQL =
+        "CREATE TEMP TABLE IF NOT EXISTS " + STAGING_TABLE + " (" +
+        "linha BIGINT NOT NULL, " +
+        "numero_credito VARCHAR(50) NOT NULL, " +
+        "numero_nfse VARCHAR(50) NOT NULL, " +
+        "data_constituicao DATE NOT NULL, " +
+        "valor_issqn DECIMAL(15, 2) NOT NULL, " +
+        "tipo_credito VARCHAR(50) NOT NULL, " +
+        "simples_nacional BOOLEAN NOT NULL, " +
+        "aliquota DECIMAL(5, 2) NOT NULL, " +
+        "valor_faturado DECIMAL(15, 2) NOT NULL, " +
+        "valor_deducao DECIMAL(15, 2) NOT NULL, " +
+        "base_calculo DECIMAL(15, 2) NOT NULL" +
+        ") ON COMMIT DROP";
+
+    static final String COPY_SQL = "COPY " + STAGING_TABLE + " (linha, " + COLUNAS + ") FROM STDIN WITH (FORMAT csv)";
+
+    // Mesmo incremento da credito_id_seq e allocationSize da entidade Credito (otimizador pooled)
+    static final int BLOCO_IDS = 50;
+
+    // DISTINCT ON mantém a última ocorrência de cada número no arquivo: o ON CONFLICT
+    // não pode atualizar a mesma linha duas vezes no mesmo comando.
+    // Os ids são reservados como o Hibernate faz: cada nextval devolve o teto de um bloco de
+    // BLOCO_IDS ids (teto - 49 até teto), então o arquivo consome um nextval a cada 50 linhas
+    // em vez de um por linha. O valor inicial 1 da sequence não é teto de bloco (o otimizador
+    // pooled o trata à parte) e é descartado; por isso é pedido um bloco a mais.
+    // xmax = 0 identifica as linhas inseridas (as atualizadas recebem o xmax da transação).
+    static final String MERGE_SQL =
+        "WITH novos AS (" +
+        "SELECT DISTINCT ON (numero_credito) " + COLUNAS + " FROM " + STAGING_TABLE + " " +
+        "ORDER BY numero_credito, linha DESC), " +
+        "numerados AS (" +
+        "SELECT novos.*, row_number() OVER () - 1 AS posicao FROM novos), " +
+        "blocos AS (" +
+        "SELECT teto, row_number() OVER (ORDER BY teto) - 1 AS bloco FROM (" +
+        "SELECT nextval('credito_id_seq') AS teto FROM generate_series(1, " +
+        "(SELECT (COUNT(*) + " + (BLOCO_IDS - 1) + ") / " + BLOCO_IDS + " + 1 FROM novos))) reservados " +
+        "WHERE teto >= " + BLOCO_IDS + "), " +
+        "consolidados AS (" +
+        "INSERT INTO credito (id, " + COLUNAS + ") " +
+        "SELECT b.teto - " + (BLOCO_IDS - 1) + " + n.posicao % " + BLOCO_IDS + ", " + COLUNAS + " " +
+        "FROM numerados n JOIN blocos b ON b.bloco = n.posicao / " + BLOCO_IDS + " " +
+        "ON CONFLICT ON CONSTRAINT uk_credito_numero_credito DO UPDATE SET " +
+        "numero_nfse = EXCLUDED.numero_nfse, " +
+        "data_constituicao = EXCLUDED.data_constituicao, " +
+        "valor_issqn = EXCLUDED.valor_issqn, " +
+        "tipo_credito = EXCLUDED.tipo_credito, " +
+        "simples_nacional = EXCLUDED.simples_nacional, " +
+        "aliquota = EXCLUDED.aliquota, " +
+        "valor_faturado = EXCLUDED.valor_faturado, " +
+        "valor_deducao = EXCLUDED.valor_deducao, " +
+        "base_calculo = EXCLUDED.base_calculo " +
+        "WHERE (credito.numero_nfse, credito.data_constituicao, credito.valor_issqn, credito.tipo_credito, " +
+        "credito.simples_nacional, credito.aliquota, credito.valor_faturado, credito.valor_deducao, credito.base_calculo) " +
+        "IS DISTINCT FROM (EXCLUDED.numero_nfse, EXCLUDED.data_constituicao, EXCLUDED.valor_issqn, EXCLUDED.tipo_credito, " +
+        "EXCLUDED.simples_nacional, EXCLUDED.aliquota, EXCLUDED.valor_faturado, EXCLUDED.valor_deducao, EXCLUDED.base_calculo) " +
+        "RETURNING (xmax = 0) AS inserido) " +
+        "SELECT COUNT(*) FILTER (WHERE inserido) AS inseridos, COUNT(*) FILTER (WHERE NOT inserido) AS atualizados " +
+        "FROM consolidados";
+
+    // NFS-e de origem dos créditos que o arquivo move para outra NFS-e: as páginas delas também mudam
+    static final String NFSE_ANTERIORES_SQL =
+        "SELECT DISTINCT c.numero_nfse FROM credito c JOIN " + STAGING_TABLE + " s " +
+        "ON s.numero_credito = c.numero_credito WHERE s.numero_nfse <> c.numero_nfse";
+
+    private static final String[] CAMPOS_CSV = {
+        "numeroCredito", "numeroNfse", "dataConstituicao", "valorIssqn", "tipoCredito",
+        "simplesNacional", "aliquota", "valorFaturado", "valorDeducao", "baseCalculo"
+    };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CreditoBatchValidator creditoBatchValidator;
+    private final CreditoImportConfig creditoImportConfig;
+    private final CreditoCacheInvalidador creditoCacheInvalidador;
+
+    /**
+     * Construtor para injeção de dependências seguindo o Dependency Inversion Principle (DIP).
+     * Usa o ObjectMapper da aplicação para que o NDJSON aceito siga o mesmo formato da exportação.
+     */
+    public CreditoImportService(DataSource dataSource,
+                                JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                CreditoBatchValidator creditoBatchValidator,
+                                CreditoImportConfig creditoImportConfig,
+                                CreditoCacheInvalidador creditoCacheInvalidador) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.creditoBatchValidator = creditoBatchValidator;
+        this.creditoImportConfig = creditoImportConfig;
+        this.creditoCacheInvalidador = creditoCacheInvalidador;
+    }
+
+    /**
+     * Importa os créditos do arquivo, inserindo os novos e atualizando os existentes.
+     *
+     * @param formato Formato do arquivo
+     * @param in Conteúdo do arquivo em UTF-8
+     * @return Contadores da importação e as primeiras linhas rejeitadas
+     */
+    @Transactional
+    public CreditoImportResponse importar(CreditoExportService.Formato formato, InputStream in) {
+        long inicio = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            Leitura leitura;
+            try {
+                leitura = new Leitura(copyIn);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                if (formato == CreditoExportService.Formato.CSV) {
+                    lerCsv(reader, leitura);
+                } else {
+                    lerNdjson(reader, leitura);
+                }
+                leitura.finalizar();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+
+            leitura.registrarNfseAnteriores();
+            long[] consolidados = jdbcTemplate.queryForObject(MERGE_SQL,
+                (rs, rowNum) -> new long[] {rs.getLong("inseridos"), rs.getLong("atualizados")});
+            leitura.invalidarCache();
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            return new CreditoImportResponse(
+                leitura.linhasLidas,
+                consolidados[0],
+                consolidados[1],
+                leitura.linhasRejeitadas,
+                duracaoMs,
+                leitura.rejeicoes
+            );
+        } catch (SQLException e) {
+            throw CreditoExceptions.internalServer("Erro ao importar créditos", e);
+        } catch (IOException e) {
+            throw CreditoExceptions.internalServer("Erro ao ler o arquivo de importação", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void lerCsv(BufferedReader reader, Leitura leitura) throws IOException, SQLException {
+        LeitorCsv leitorCsv = new LeitorCsv(reader);
+        List<String> colunas;
+        try {
+            colunas = leitorCsv.proximoRegistro();
+        } catch (IllegalArgumentException e) {
+            throw CreditoExceptions.validation("Cabeçalho CSV mal formado: " + e.getMessage(), "arquivo");
+        }
+        if (colunas == null) {
+            return;
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < colunas.size(); i++) {
+            indices.put((i == 0 ? removerBom(colunas.get(i)) : colunas.get(i)).trim(), i);
+        }
+        for (String campo : CAMPOS_CSV) {
+            if (!indices.containsKey(campo)) {
+                throw CreditoExceptions.validation(
+                    String.format("Cabeçalho CSV sem a coluna obrigatória %s", campo), "arquivo");
+            }
+        }
+
+        while (true) {
+            List<String> valores;
+            try {
+                valores = leitorCsv.proximoRegistro();
+            } catch (IllegalArgumentException e) {
+                leitura.rejeitar(leitorCsv.linhaDoRegistro(), "Linha mal formada: " + e.getMessage());
+                return;
+            }
+            if (valores == null) {
+                return;
+            }
+            long numeroLinha = leitorCsv.linhaDoRegistro();
+            if (valores.size() == 1 && valores.get(0).isBlank()) {
+                continue;
+            }
+            Credito credito;
+            try {
+                credito = new Credito(
+                    texto(valores, indices, "numeroCredito"),
+                    texto(valores, indices, "numeroNfse"),
+                    data(valores, indices, "dataConstituicao"),
+                    decimal(valores, indices, "valorIssqn"),
+                    texto(valores, indices, "tipoCredito"),
+                    booleano(valores, indices, "simplesNacional"),
+                    decimal(valores, indices, "aliquota"),
+                    decimal(valores, indices, "valorFaturado"),
+                    decimal(valores, indices, "valorDeducao"),
+                    decimal(valores, indices, "baseCalculo"));
+            } catch (RuntimeException e) {
+                leitura.rejeitar(numeroLinha, "Linha mal formada: " + e.getMessage());
+                continue;
+            }
+            leitura.processar(numeroLinha, credito);
+        }
+    }
+
+    private void lerNdjson(BufferedReader reader, Leitura leitura) throws IOException, SQLException {
+        long numeroLinha = 0;
+        String linha;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            Credito credito;
+            try {
+                credito = objectMapper.readValue(numeroLinha == 1 ? removerBom(linha) : linha, Credito.class);
+            } catch (JsonProcessingException e) {
+                leitura.rejeitar(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+                continue;
+            }
+            leitura.processar(numeroLinha, credito);
+        }
+    }
+
+    /**
+     * Motivo da rejeição de uma linha: os erros da validação em lote, com o campo de cada um.
+     */
+    static String motivoRejeicao(Set<CreditoValidationError> erros) {
+        return erros.stream()
+            .map(erro -> String.format("%s (%s)", erro.getDescription(), erro.getFieldName()))
+            .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Estado de uma importação: contadores, rejeições, o lote aguardando validação e o buffer do COPY.
+     */
+    private final class Leitura {
+
+        private final CopyIn copyIn;
+        private final ByteArrayOutputStream buffer;
+        private final List<Credito> lote = new ArrayList<>();
+        private final List<Long> linhasDoLote = new ArrayList<>();
+        private final List<CreditoImportResponse.Rejeicao> rejeicoes = new ArrayList<>();
+        private long linhasLidas;
+        private long linhasRejeitadas;
+        // Chaves enviadas ao COPY, até o limite em que é mais barato esvaziar os caches
+        private final Set<String> numerosImportados = new HashSet<>();
+        private final Set<String> nfsesImportadas = new HashSet<>();
+        private boolean invalidarCacheInteiro;
+
+        private Leitura(CopyIn copyIn) {
+            this.copyIn = copyIn;
+            this.buffer = new ByteArrayOutputStream(creditoImportConfig.getCopyBufferSize());
+        }
+
+        private void processar(long numeroLinha, Credito credito) throws SQLException {
+            linhasLidas++;
+            lote.add(credito);
+            linhasDoLote.add(numeroLinha);
+            if (lote.size() >= creditoImportConfig.getLoteValidacao()) {
+                validarLote();
+            }
+        }
+
+        private void rejeitar(long numeroLinha, String motivo) throws SQLException {
+            // Valida o lote antes, para que as rejeições fiquem na ordem das linhas
+            validarLote();
+            linhasLidas++;
+            registrarRejeicao(numeroLinha, motivo);
+        }
+
+        private void validarLote() throws SQLException {
+            if (lote.isEmpty()) {
+                return;
+            }
+            BatchValidationReport relatorio = creditoBatchValidator.validate(lote);
+            for (int i = 0; i < lote.size(); i++) {
+                if (relatorio.isRowValid(i)) {
+                    escrever(linhasDoLote.get(i), lote.get(i));
+                } else {
+                    registrarRejeicao(linhasDoLote.get(i), motivoRejeicao(relatorio.getErrors(i)));
+                }
+            }
+            lote.clear();
+            linhasDoLote.clear();
+        }
+
+        private void registrarRejeicao(long numeroLinha, String motivo) {
+            linhasRejeitadas++;
+            if (rejeicoes.size() < creditoImportConfig.getMaxRejeicoesReportadas()) {
+                rejeicoes.add(new CreditoImportResponse.Rejeicao(numeroLinha, motivo));
+            }
+        }
+
+        private void escrever(long numeroLinha, Credito credito) throws SQLException {
+            String linhaCopy = String.join(",",
+                Long.toString(numeroLinha),
+                valorCopy(credito.getNumeroCredito()),
+                valorCopy(credito.getNumeroNfse()),
+                credito.getDataConstituicao().toString(),
+                credito.getValorIssqn().toPlainString(),
+                valorCopy(credito.getTipoCredito()),
+                credito.getSimplesNacional().toString(),
+                credito.getAliquota().toPlainString(),
+                credito.getValorFaturado().toPlainString(),
+                credito.getValorDeducao().toPlainString(),
+                credito.getBaseCalculo().toPlainString()) + "\n";
+            buffer.writeBytes(linhaCopy.getBytes(StandardCharsets.UTF_8));
+            registrarChavesImportadas(credito);
+            if (buffer.size() >= creditoImportConfig.getCopyBufferSize()) {
+                descarregar();
+            }
+        }
+
+        private void registrarChavesImportadas(Credito credito) {
+            // O filtro de números recebe todos os números, mesmo quando o cache será esvaziado
+            creditoCacheInvalidador.registrarGravacao(credito.getNumeroCredito());
+            if (invalidarCacheInteiro) {
+                return;
+            }
+            numerosImportados.add(credito.getNumeroCredito());
+            nfsesImportadas.add(credito.getNumeroNfse());
+            verificarLimiteInvalidacao();
+        }
+
+        private void registrarNfseAnteriores() {
+            if (invalidarCacheInteiro) {
+                return;
+            }
+            nfsesImportadas.addAll(jdbcTemplate.queryForList(NFSE_ANTERIORES_SQL, String.class));
+            verificarLimiteInvalidacao();
+        }
+
+        private void verificarLimiteInvalidacao() {
+            long limite = creditoCacheInvalidador.getLimiteInvalidacaoIndividual();
+            if (numerosImportados.size() > limite || nfsesImportadas.size() > limite) {
+                invalidarCacheInteiro = true;
+                numerosImportados.clear();
+                nfsesImportadas.clear();
+            }
+        }
+
+        private void invalidarCache() {
+            // O MERGE é feito por JDBC: o Hibernate não atualiza o cache de segundo nível
+            creditoCacheInvalidador.invalidarSegundoNivel();
+            if (invalidarCacheInteiro) {
+                creditoCacheInvalidador.invalidarTodos();
+            } else {
+                creditoCacheInvalidador.invalidar(numerosImportados, nfsesImportadas);
+            }
+        }
+
+        private void descarregar() throws SQLException {
+            if (buffer.size() > 0) {
+                copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                buffer.reset();
+            }
+        }
+
+        private void finalizar() throws SQLException {
+            validarLote();
+            descarregar();
+            copyIn.endCopy();
+        }
+    }
+
+    /**
+     * Escapa um texto para o formato CSV do COPY. Textos nunca são vazios aqui,
+     * então não há ambiguidade com NULL.
+     */
+    private static String valorCopy(String valor) {
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    private static String removerBom(String linha) {
+        return !linha.isEmpty() && linha.charAt(0) == '\uFEFF' ? linha.substring(1) : linha;
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> indices, String campo) {
+        int indice = indices.get(campo);
+        if (indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static String texto(List<String> valores, Map<String, Integer> indices, String campo) {
+        return valor(valores, indices, campo);
+    }
+
+    private static LocalDate data(List<String> valores, Map<String, Integer> indices, String campo) {
+        String valor = valor(valores, indices, campo);
+        return valor == null ? null : LocalDate.parse(valor);
+    }
+
+    private static BigDecimal decimal(List<String> valores, Map<String, Integer> indices, String campo) {
+        String valor = valor(valores, indices, campo);
+        return valor == null ? null : new BigDecimal(valor);
+    }
+
+    private static Boolean booleano(List<String> valores, Map<String, Integer> indices, String campo) {
+        String valor = valor(valores, indices, campo);
+        if (valor == null) {
+            return null;
+        }
+        return switch (valor.toLowerCase(Locale.ROOT)) {
+            case "true", "t", "1", "sim" -> Boolean.TRUE;
+            case "false", "f", "0", "nao", "não" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException(String.format("valor booleano inválido em %s: %s", campo, valor));
+        };
+    }
+}
@@ -1,8 +1,12 @@
 package br.com.guilhermedealmeidafreitas.creditos.service;
 
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoBatchResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CursorPaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoLeituraResponse;
 import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -15,8 +19,13 @@ import java.util.List;
 public interface CreditoService {
     // Consultas
     Credito buscarCreditoPorNumero(String numeroCredito);
+    CreditoBatchResponse buscarCreditosPorNumeros(List<String> numerosCredito);
     List<Credito> buscarCreditosPorNfse(String numeroNfse);
     PaginatedCreditoResponse buscarCreditosPorNfseComPaginacao(String numeroNfse, Pageable pageable);
+    PaginatedCreditoResponse buscarCreditosPorNfseComPaginacaoSemTotal(String numeroNfse, Pageable pageable);
+    CursorPaginatedCreditoResponse buscarCreditosPorNfseComCursor(String numeroNfse, String cursor, Pageable pageable);
+    PaginatedCreditoLeituraResponse buscarCreditosComFiltros(String numeroNfse, String tipoCredito, Boolean simplesNacional, Pageable pageable);
+    VersaoNfse buscarVersaoNfse(String numeroNfse);
     
     // Testes (apenas em desenvolvimento)
     int gerarRegistrosTeste();
@@ -1,17 +1,42 @@
 package br.com.guilhermedealmeidafreitas.creditos.service;
 
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCache;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoNumeroFiltro;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoOffHeapCache;
+import br.com.guilhermedealmeidafreitas.creditos.cache.NfsePaginaCache;
+import br.com.guilhermedealmeidafreitas.creditos.config.BatchLookupConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoBatchResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoLeitura;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CursorPaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoLeituraResponse;
 import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoExceptions;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
+import br.com.guilhermedealmeidafreitas.creditos.util.CreditoCursorCodec;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementação única e simples - SRP respeitado
  * Cada método tem uma responsabilidade clara
+ * 
+ * As consultas rodam em transações somente leitura: a sessão do Hibernate
+ * fica em modo read-only e com FlushMode.MANUAL, sem snapshots nem flush.
  */
 @Service
 public class CreditoServiceImpl implements CreditoService {
@@ -19,48 +44,202 @@ public class CreditoServiceImpl implements CreditoService {
     private final CreditoRepository creditoRepository;
     private final ValidationService validationService;
     private final TestDataGeneratorService testDataGeneratorService;
+    private final BatchLookupConfig batchLookupConfig;
+    private final CreditoCache creditoCache;
+    private final NfsePaginaCache nfsePaginaCache;
+    private final CreditoNumeroFiltro creditoNumeroFiltro;
+    private final CreditoOffHeapCache creditoOffHeapCache;
     
     // Construtor para DIP
     public CreditoServiceImpl(CreditoRepository creditoRepository,
                             ValidationService validationService,
-                            TestDataGeneratorService testDataGeneratorService) {
+                            TestDataGeneratorService testDataGeneratorService,
+                            BatchLookupConfig batchLookupConfig,
+                            CreditoCache creditoCache,
+                            NfsePaginaCache nfsePaginaCache,
+                            CreditoNumeroFiltro creditoNumeroFiltro,
+                            CreditoOffHeapCache creditoOffHeapCache) {
         this.creditoRepository = creditoRepository;
         this.validationService = validationService;
         this.testDataGeneratorService = testDataGeneratorService;
+        this.batchLookupConfig = batchLookupConfig;
+        this.creditoCache = creditoCache;
+        this.nfsePaginaCache = nfsePaginaCache;
+        this.creditoNumeroFiltro = creditoNumeroFiltro;
+        this.creditoOffHeapCache = creditoOffHeapCache;
     }
     
+    // Sem @Transactional: um acerto no cache não abre transação nem pega conexão;
+    // em caso de falta, a consulta roda na transação somente leitura do repositório.
     @Override
     public Credito buscarCreditoPorNumero(String numeroCredito) {
         validationService.validateStringInput(numeroCredito, "Número do crédito");
-        return creditoRepository.findByNumeroCredito(numeroCredito);
+        // Números que o filtro de Bloom garante não existir não chegam ao cache nem ao banco
+        if (!creditoNumeroFiltro.podeExistir(numeroCredito)) {
+            return null;
+        }
+        // Falta no cache em heap consulta o cache fora do heap, e só então o banco
+        Credito credito = creditoCache.obter(numeroCredito,
+            numero -> creditoOffHeapCache.obter(numero, creditoRepository::findByNumeroCredito));
+        if (credito == null) {
+            creditoNumeroFiltro.registrarInexistente();
+        }
+        return credito;
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public CreditoBatchResponse buscarCreditosPorNumeros(List<String> numerosCredito) {
+        if (numerosCredito == null || numerosCredito.isEmpty()) {
+            throw CreditoExceptions.validation("Informe ao menos um número de crédito", "numerosCredito");
+        }
+        if (numerosCredito.size() > batchLookupConfig.getMaxSize()) {
+            throw CreditoExceptions.validation(
+                String.format("Máximo de %d números de crédito por requisição", batchLookupConfig.getMaxSize()),
+                "numerosCredito");
+        }
+        
+        // Remove duplicados preservando a ordem da requisição
+        Set<String> numeros = new LinkedHashSet<>();
+        for (String numeroCredito : numerosCredito) {
+            numeros.add(validationService.validateStringInput(numeroCredito, "Número do crédito"));
+        }
+        
+        // Uma consulta IN (...) por lote, em vez de uma consulta por número
+        List<String> pendentes = new ArrayList<>(numeros);
+        Map<String, Credito> encontradosPorNumero = new HashMap<>();
+        int chunkSize = Math.max(1, batchLookupConfig.getChunkSize());
+        for (int inicio = 0; inicio < pendentes.size(); inicio += chunkSize) {
+            List<String> lote = pendentes.subList(inicio, Math.min(inicio + chunkSize, pendentes.size()));
+            for (Credito credito : creditoRepository.findByNumeroCreditoIn(lote)) {
+                encontradosPorNumero.put(credito.getNumeroCredito(), credito);
+            }
+        }
+        
+        List<Credito> encontrados = new ArrayList<>(encontradosPorNumero.size());
+        List<String> naoEncontrados = new ArrayList<>();
+        for (String numeroCredito : numeros) {
+            Credito credito = encontradosPorNumero.get(numeroCredito);
+            if (credito != null) {
+                encontrados.add(credito);
+            } else {
+                naoEncontrados.add(numeroCredito);
+            }
+        }
+        
+        return new CreditoBatchResponse(encontrados, naoEncontrados);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public List<Credito> buscarCreditosPorNfse(String numeroNfse) {
         validationService.validateStringInput(numeroNfse, "Número da NFS-e");
         return creditoRepository.findByNumeroNfse(numeroNfse);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public PaginatedCreditoResponse buscarCreditosPorNfseComPaginacao(String numeroNfse, Pageable pageable) {
         validationService.validateStringInput(numeroNfse, "Número da NFS-e");
         
         // O Pageable já foi validado no controller, então usamos diretamente
-        Page<Credito> creditosPage = creditoRepository.findByNumeroNfse(numeroNfse, pageable);
+        return nfsePaginaCache.obter(numeroNfse, pageable, true,
+            () -> creditoRepository.findVersaoByNumeroNfse(numeroNfse), () -> {
+            Page<Credito> creditosPage = creditoRepository.findByNumeroNfse(numeroNfse, pageable);
+            
+            return new PaginatedCreditoResponse(
+                creditosPage.getContent(), 
+                creditosPage.getNumber(), 
+                creditosPage.getSize(),
+                creditosPage.getTotalElements(), 
+                creditosPage.getTotalPages(),
+                creditosPage.isFirst(), 
+                creditosPage.isLast(),
+                creditosPage.hasNext(), 
+                creditosPage.hasPrevious()
+            );
+        });
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedCreditoResponse buscarCreditosPorNfseComPaginacaoSemTotal(String numeroNfse, Pageable pageable) {
+        validationService.validateStringInput(numeroNfse, "Número da NFS-e");
         
-        return new PaginatedCreditoResponse(
-            creditosPage.getContent(), 
-            creditosPage.getNumber(), 
+        // Slice busca size+1 linhas para calcular hasNext, sem executar o SELECT COUNT(*)
+        return nfsePaginaCache.obter(numeroNfse, pageable, false,
+            () -> creditoRepository.findVersaoByNumeroNfse(numeroNfse), () -> {
+            Slice<Credito> creditosSlice = creditoRepository.findSliceByNumeroNfse(numeroNfse, pageable);
+            
+            return new PaginatedCreditoResponse(
+                creditosSlice.getContent(),
+                creditosSlice.getNumber(),
+                creditosSlice.getSize(),
+                PaginatedCreditoResponse.TOTAL_NAO_CALCULADO,
+                PaginatedCreditoResponse.TOTAL_NAO_CALCULADO,
+                creditosSlice.isFirst(),
+                creditosSlice.isLast(),
+                creditosSlice.hasNext(),
+                creditosSlice.hasPrevious()
+            );
+        });
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedCreditoResponse buscarCreditosPorNfseComCursor(String numeroNfse, String cursor, Pageable pageable) {
+        validationService.validateStringInput(numeroNfse, "Número da NFS-e");
+        
+        // Seek a partir da última linha da página anterior: custo constante em qualquer profundidade
+        KeysetScrollPosition position = CreditoCursorCodec.decode(cursor, pageable.getSort());
+        Window<Credito> janela = creditoRepository.findByNumeroNfse(
+            numeroNfse, position, pageable.getSort(), Limit.of(pageable.getPageSize()));
+        
+        String nextCursor = null;
+        if (janela.hasNext() && !janela.isEmpty()) {
+            KeysetScrollPosition ultimaPosicao = (KeysetScrollPosition) janela.positionAt(janela.size() - 1);
+            nextCursor = CreditoCursorCodec.encode(ultimaPosicao, pageable.getSort());
+        }
+        
+        return new CursorPaginatedCreditoResponse(
+            janela.getContent(),
+            pageable.getPageSize(),
+            nextCursor,
+            nextCursor != null
+        );
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedCreditoLeituraResponse buscarCreditosComFiltros(String numeroNfse, String tipoCredito,
+                                                                    Boolean simplesNacional, Pageable pageable) {
+        // Só os filtros informados viram predicados: cada combinação tem seu próprio plano com índice.
+        // Projeção por construtor: a busca não carrega entidades gerenciadas
+        Page<CreditoLeitura> creditosPage = creditoRepository.findLeituraByFilters(
+            numeroNfse, tipoCredito, simplesNacional, pageable);
+        
+        return new PaginatedCreditoLeituraResponse(
+            creditosPage.getContent(),
+            creditosPage.getNumber(),
             creditosPage.getSize(),
-            creditosPage.getTotalElements(), 
+            creditosPage.getTotalElements(),
             creditosPage.getTotalPages(),
-            creditosPage.isFirst(), 
+            creditosPage.isFirst(),
             creditosPage.isLast(),
-            creditosPage.hasNext(), 
+            creditosPage.hasNext(),
             creditosPage.hasPrevious()
         );
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public VersaoNfse buscarVersaoNfse(String numeroNfse) {
+        validationService.validateStringInput(numeroNfse, "Número da NFS-e");
+        // Guardada junto das páginas e descartada pela invalidação da NFS-e:
+        // um GET cuja resposta está em cache não consulta o banco para montar o ETag
+        return nfsePaginaCache.versao(numeroNfse, () -> creditoRepository.findVersaoByNumeroNfse(numeroNfse));
+    }
+    
     @Override
     public int gerarRegistrosTeste() {
         return testDataGeneratorService.gerarRegistrosTeste();
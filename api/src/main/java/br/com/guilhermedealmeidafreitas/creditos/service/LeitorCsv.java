@@ -0,0 +1,124 @@
+package br.com.guilhermedealmeidafreitas.creditos.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de registros CSV (RFC 4180) no formato gerado pela exportação: campos separados
+ * por vírgula, aspas duplas em volta de campos com vírgula, aspas ou quebra de linha, e
+ * aspas internas duplicadas. Uma quebra de linha entre aspas faz parte do campo, então um
+ * registro pode ocupar várias linhas do arquivo.
+ *
+ * Aceita LF, CRLF e CR como fim de registro. O arquivo é lido em blocos de caracteres,
+ * sem ser materializado.
+ */
+final class LeitorCsv {
+
+    private static final int FIM = -1;
+
+    private final Reader reader;
+    private final char[] bloco = new char[8192];
+    private int posicao;
+    private int limite;
+    private long linhaAtual = 1;
+    private long linhaDoRegistro;
+
+    LeitorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return Campos do registro (uma linha em branco retorna um único campo vazio), ou null no fim do arquivo
+     * @throws IllegalArgumentException se o arquivo termina dentro de um campo entre aspas
+     */
+    List<String> proximoRegistro() throws IOException {
+        int c = ler();
+        if (c == FIM) {
+            return null;
+        }
+        linhaDoRegistro = linhaAtual;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == FIM) {
+                    throw new IllegalArgumentException("aspas não fechadas");
+                }
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        atual.append('"');
+                    } else {
+                        entreAspas = false;
+                        c = seguinte;
+                        continue;
+                    }
+                } else {
+                    contarLinha(c);
+                    atual.append((char) c);
+                }
+            } else if (c == FIM || c == '\n' || c == '\r') {
+                if (c != FIM) {
+                    terminarLinha(c);
+                }
+                campos.add(atual.toString());
+                return campos;
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append((char) c);
+            }
+            c = ler();
+        }
+    }
+
+    /**
+     * Número da linha do arquivo em que começa o último registro lido (a primeira linha é 1).
+     */
+    long linhaDoRegistro() {
+        return linhaDoRegistro;
+    }
+
+    private void terminarLinha(int c) throws IOException {
+        linhaAtual++;
+        // CRLF conta como um único fim de linha
+        if (c == '\r' && espiar() == '\n') {
+            posicao++;
+        }
+    }
+
+    private void contarLinha(int c) throws IOException {
+        if (c == '\n' || (c == '\r' && espiar() != '\n')) {
+            linhaAtual++;
+        }
+    }
+
+    private int ler() throws IOException {
+        int c = espiar();
+        if (c != FIM) {
+            posicao++;
+        }
+        return c;
+    }
+
+    private int espiar() throws IOException {
+        if (posicao == limite) {
+            limite = reader.read(bloco, 0, bloco.length);
+            posicao = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return FIM;
+            }
+        }
+        return bloco[posicao];
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.guilhermedealmeidafreitas.creditos.service;
 
 import br.com.guilhermedealmeidafreitas.creditos.builder.CreditoBuilderFactory;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCacheInvalidador;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,7 @@ public class TestDataGeneratorService {
     private final CreditoRepository creditoRepository;
     private final TaxCalculationService taxCalculationService;
     private final CreditoBuilderFactory creditoBuilderFactory;
+    private final CreditoCacheInvalidador creditoCacheInvalidador;
     
     /**
      * Construtor para injeção de dependências seguindo o Dependency Inversion Principle (DIP).
@@ -33,10 +35,12 @@ public class TestDataGeneratorService {
      */
     public TestDataGeneratorService(CreditoRepository creditoRepository,
                                    TaxCalculationService taxCalculationService,
-                                   CreditoBuilderFactory creditoBuilderFactory) {
+                                   CreditoBuilderFactory creditoBuilderFactory,
+                                   CreditoCacheInvalidador creditoCacheInvalidador) {
         this.creditoRepository = creditoRepository;
         this.taxCalculationService = taxCalculationService;
         this.creditoBuilderFactory = creditoBuilderFactory;
+        this.creditoCacheInvalidador = creditoCacheInvalidador;
     }
     
     /**
@@ -98,7 +102,9 @@ public class TestDataGeneratorService {
         }
         
         // Salvar todos os registros em batch
+        creditoCacheInvalidador.registrarGravacao(registrosTeste);
         creditoRepository.saveAll(registrosTeste);
+        creditoCacheInvalidador.invalidarCreditos(registrosTeste);
         
         return registrosTeste.size();
     }
@@ -115,6 +121,7 @@ public class TestDataGeneratorService {
         
         // Deletar registros de teste
         creditoRepository.deleteTestRecords();
+        creditoCacheInvalidador.invalidarCreditos(registrosTeste);
         
         return quantidade;
     }
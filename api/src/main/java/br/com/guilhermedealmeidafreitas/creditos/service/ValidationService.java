@@ -3,13 +3,17 @@ package br.com.guilhermedealmeidafreitas.creditos.service;
 import br.com.guilhermedealmeidafreitas.creditos.constants.ValidationConstants;
 import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoExceptions;
 import br.com.guilhermedealmeidafreitas.creditos.service.validation.ValidationContext;
+import br.com.guilhermedealmeidafreitas.creditos.service.validation.ValidationEndpoint;
 import br.com.guilhermedealmeidafreitas.creditos.service.validation.ValidationException;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.CompiledValidator;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -18,6 +22,10 @@ import java.util.Set;
  * 
  * REFATORAÇÃO: Agora usa ValidationChain que implementa Chain of Responsibility
  * para organizar validações em uma cadeia flexível e extensível.
+ * 
+ * As regras de cada endpoint ({@link ValidationEndpoint}) são compiladas na construção
+ * pela ValidationChain; o controller valida todos os argumentos de um endpoint numa chamada
+ * e recebe os valores processados num record do endpoint.
  */
 @Service
 public class ValidationService {
@@ -25,12 +33,111 @@ public class ValidationService {
     private final ValidationContext validationContext;
     private final ValidationChain validationChain;
     private final ValidationConstants validationConstants;
+    private final Map<ValidationEndpoint, CompiledValidator> endpointValidators;
     
     @Autowired
     public ValidationService(ValidationContext validationContext, ValidationChain validationChain, ValidationConstants validationConstants) {
         this.validationContext = validationContext;
         this.validationChain = validationChain;
         this.validationConstants = validationConstants;
+        
+        this.endpointValidators = new EnumMap<>(ValidationEndpoint.class);
+        for (ValidationEndpoint endpoint : ValidationEndpoint.values()) {
+            endpointValidators.put(endpoint, validationChain.compile(endpoint.name(), endpoint.getRules()));
+        }
+    }
+    
+    /**
+     * Número da NFS-e e paginação validados de um endpoint paginado por NFS-e.
+     */
+    public record NfsePaginada(String numeroNfse, Pageable pageable) {}
+    
+    /**
+     * Filtros opcionais e paginação validados da busca com filtros.
+     */
+    public record FiltrosPaginados(String numeroNfse, String tipoCredito, Pageable pageable) {}
+    
+    /**
+     * Filtros opcionais validados da exportação.
+     */
+    public record FiltrosExportacao(String numeroNfse, String tipoCredito) {}
+    
+    /**
+     * Valida o número do crédito da consulta por número.
+     * 
+     * @return Número do crédito trimado
+     */
+    public String validateCreditoPorNumero(String numeroCredito) {
+        ValidationResult[] results = validateEndpoint(ValidationEndpoint.CREDITO_POR_NUMERO, numeroCredito);
+        return (String) results[0].getProcessedValue();
+    }
+    
+    /**
+     * Valida o número da NFS-e da consulta por NFS-e.
+     * 
+     * @return Número da NFS-e trimado
+     */
+    public String validateCreditosPorNfse(String numeroNfse) {
+        ValidationResult[] results = validateEndpoint(ValidationEndpoint.CREDITOS_POR_NFSE, numeroNfse);
+        return (String) results[0].getProcessedValue();
+    }
+    
+    /**
+     * Valida a NFS-e e os parâmetros de paginação da consulta paginada por NFS-e.
+     */
+    public NfsePaginada validateCreditosPorNfsePaginados(String numeroNfse, int page, int size,
+                                                         String sortBy, String sortDirection) {
+        ValidationResult[] results = validateEndpoint(
+            ValidationEndpoint.CREDITOS_POR_NFSE_PAGINADOS, numeroNfse, page, size, sortBy, sortDirection);
+        return new NfsePaginada((String) results[0].getProcessedValue(), (Pageable) results[1].getProcessedValue());
+    }
+    
+    /**
+     * Valida a NFS-e e os parâmetros de paginação da consulta por cursor (sempre a partir da página 0).
+     */
+    public NfsePaginada validateCreditosPorNfseCursor(String numeroNfse, int size, String sortBy, String sortDirection) {
+        ValidationResult[] results = validateEndpoint(
+            ValidationEndpoint.CREDITOS_POR_NFSE_CURSOR, numeroNfse, 0, size, sortBy, sortDirection);
+        return new NfsePaginada((String) results[0].getProcessedValue(), (Pageable) results[1].getProcessedValue());
+    }
+    
+    /**
+     * Valida os filtros opcionais e os parâmetros de paginação da busca com filtros.
+     */
+    public FiltrosPaginados validateCreditosComFiltros(String numeroNfse, String tipoCredito, int page, int size,
+                                                       String sortBy, String sortDirection) {
+        ValidationResult[] results = validateEndpoint(
+            ValidationEndpoint.CREDITOS_COM_FILTROS, numeroNfse, tipoCredito, page, size, sortBy, sortDirection);
+        return new FiltrosPaginados(
+            (String) results[0].getProcessedValue(),
+            (String) results[1].getProcessedValue(),
+            (Pageable) results[2].getProcessedValue());
+    }
+    
+    /**
+     * Valida os filtros opcionais da exportação.
+     */
+    public FiltrosExportacao validateExportacao(String numeroNfse, String tipoCredito) {
+        ValidationResult[] results = validateEndpoint(ValidationEndpoint.EXPORTACAO, numeroNfse, tipoCredito);
+        return new FiltrosExportacao((String) results[0].getProcessedValue(), (String) results[1].getProcessedValue());
+    }
+    
+    /**
+     * Valida os argumentos de um endpoint com o validador compilado na inicialização.
+     * Lança erro de validação na primeira regra inválida, como os demais métodos.
+     * 
+     * @param endpoint Endpoint cujas regras serão aplicadas
+     * @param arguments Argumentos na ordem das regras do endpoint
+     * @return Resultado de cada regra, todos válidos
+     */
+    private ValidationResult[] validateEndpoint(ValidationEndpoint endpoint, Object... arguments) {
+        ValidationResult[] results = endpointValidators.get(endpoint).validate(arguments);
+        for (ValidationResult result : results) {
+            if (result.isInvalid()) {
+                throw CreditoExceptions.validation(result.getFirstError());
+            }
+        }
+        return results;
     }
     
     /**
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -20,6 +21,14 @@ public class ValidationContext {
     private final NumberValidationStrategy numberValidationStrategy;
     private final PageableValidationStrategy pageableValidationStrategy;
     
+    // Estratégia resolvida uma vez por classe: o mapa de estratégias não muda após a construção
+    private final ClassValue<Optional<ValidationStrategy<?>>> resolvedStrategies = new ClassValue<>() {
+        @Override
+        protected Optional<ValidationStrategy<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(resolveStrategy(type));
+        }
+    };
+    
     @Autowired
     public ValidationContext(List<ValidationStrategy<?>> strategyList,
                            StringValidationStrategy stringValidationStrategy,
@@ -82,6 +91,16 @@ public class ValidationContext {
      * @return Estratégia apropriada ou null se não encontrada
      */
     private ValidationStrategy<?> findStrategy(Class<?> type) {
+        return resolvedStrategies.get(type).orElse(null);
+    }
+    
+    /**
+     * Busca a estratégia do tipo: direta e, depois, por compatibilidade.
+     * 
+     * @param type Tipo do objeto
+     * @return Estratégia apropriada ou null se não encontrada
+     */
+    private ValidationStrategy<?> resolveStrategy(Class<?> type) {
         // Busca direta
         ValidationStrategy<?> strategy = strategies.get(type);
         if (strategy != null) {
@@ -0,0 +1,45 @@
+package br.com.guilhermedealmeidafreitas.creditos.service.validation;
+
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRule;
+
+import java.util.List;
+
+/**
+ * Regras de validação de cada endpoint do {@code CreditoController}, na ordem dos argumentos.
+ * Compiladas uma vez na inicialização pelo {@code ValidationService}.
+ */
+public enum ValidationEndpoint {
+
+    CREDITO_POR_NUMERO(
+        ValidationRule.notEmpty("Número do crédito")),
+
+    CREDITOS_POR_NFSE(
+        ValidationRule.notEmpty("Número da NFS-e")),
+
+    CREDITOS_POR_NFSE_PAGINADOS(
+        ValidationRule.notEmpty("Número da NFS-e"),
+        ValidationRule.pageable()),
+
+    CREDITOS_POR_NFSE_CURSOR(
+        ValidationRule.notEmpty("Número da NFS-e"),
+        ValidationRule.pageable()),
+
+    CREDITOS_COM_FILTROS(
+        ValidationRule.optional("optionalString"),
+        ValidationRule.optional("optionalString"),
+        ValidationRule.pageable()),
+
+    EXPORTACAO(
+        ValidationRule.optional("optionalString"),
+        ValidationRule.optional("optionalString"));
+
+    private final List<ValidationRule> rules;
+
+    ValidationEndpoint(ValidationRule... rules) {
+        this.rules = List.of(rules);
+    }
+
+    public List<ValidationRule> getRules() {
+        return rules;
+    }
+}
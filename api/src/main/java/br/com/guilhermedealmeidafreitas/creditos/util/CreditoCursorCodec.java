@@ -0,0 +1,145 @@
+package br.com.guilhermedealmeidafreitas.creditos.util;
+
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoExceptions;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Codificação do cursor opaco usado na paginação por keyset (seek).
+ *
+ * O cursor carrega o campo e a direção de ordenação com que foi gerado e os
+ * valores da última linha retornada (campo de ordenação + id como desempate),
+ * serializados em JSON e codificados em Base64 URL-safe.
+ *
+ * @author Guilherme de Almeida Freitas
+ */
+public class CreditoCursorCodec {
+
+    private static final String ID_FIELD = "id";
+    private static final String CURSOR_FIELD = "cursor";
+    private static final String INVALID_CURSOR_MESSAGE = "Cursor de paginação inválido";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Conversores dos valores do cursor para o tipo de cada campo ordenável de Credito.
+     */
+    private static final Map<String, Function<String, Object>> FIELD_PARSERS = Map.ofEntries(
+        Map.entry("id", Long::valueOf),
+        Map.entry("numeroCredito", value -> value),
+        Map.entry("numeroNfse", value -> value),
+        Map.entry("dataConstituicao", LocalDate::parse),
+        Map.entry("valorIssqn", BigDecimal::new),
+        Map.entry("tipoCredito", value -> value),
+        Map.entry("simplesNacional", Boolean::valueOf),
+        Map.entry("aliquota", BigDecimal::new),
+        Map.entry("valorFaturado", BigDecimal::new),
+        Map.entry("valorDeducao", BigDecimal::new),
+        Map.entry("baseCalculo", BigDecimal::new)
+    );
+
+    /**
+     * Construtor privado para evitar instanciação da classe utilitária.
+     */
+    private CreditoCursorCodec() {
+        throw new UnsupportedOperationException("Classe utilitária não deve ser instanciada");
+    }
+
+    /**
+     * Codifica a posição de keyset em um cursor opaco.
+     *
+     * @param position Posição da última linha da página
+     * @param sort Ordenação utilizada na consulta (uma única propriedade)
+     * @return Cursor opaco
+     */
+    public static String encode(KeysetScrollPosition position, Sort sort) {
+        Sort.Order order = requireSingleOrder(sort);
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        position.getKeys().forEach((key, value) -> keys.put(key, String.valueOf(value)));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sort", order.getProperty());
+        payload.put("direction", order.getDirection().name());
+        payload.put("keys", keys);
+
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(payload);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw CreditoExceptions.internalServer("Erro ao gerar cursor de paginação", e);
+        }
+    }
+
+    /**
+     * Decodifica um cursor opaco na posição de keyset correspondente.
+     * Um cursor nulo ou vazio representa o início da listagem.
+     *
+     * @param cursor Cursor recebido do cliente
+     * @param sort Ordenação solicitada, que deve ser a mesma com que o cursor foi gerado
+     * @return Posição de keyset para continuar a listagem
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (ValidationUtils.isNullOrBlank(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        Sort.Order order = requireSingleOrder(sort);
+        Map<String, Object> payload;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.trim());
+            payload = OBJECT_MAPPER.readValue(new String(json, StandardCharsets.UTF_8),
+                                              new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw CreditoExceptions.validation(INVALID_CURSOR_MESSAGE, CURSOR_FIELD);
+        }
+
+        if (!order.getProperty().equals(payload.get("sort"))
+                || !order.getDirection().name().equals(payload.get("direction"))) {
+            throw CreditoExceptions.validation(
+                "Cursor de paginação gerado para outra ordenação", CURSOR_FIELD);
+        }
+
+        if (!(payload.get("keys") instanceof Map<?, ?> rawKeys)
+                || !rawKeys.containsKey(order.getProperty()) || !rawKeys.containsKey(ID_FIELD)) {
+            throw CreditoExceptions.validation(INVALID_CURSOR_MESSAGE, CURSOR_FIELD);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : rawKeys.entrySet()) {
+            String field = String.valueOf(entry.getKey());
+            Function<String, Object> parser = FIELD_PARSERS.get(field);
+            if (parser == null || entry.getValue() == null) {
+                throw CreditoExceptions.validation(INVALID_CURSOR_MESSAGE, CURSOR_FIELD);
+            }
+            try {
+                keys.put(field, parser.apply(String.valueOf(entry.getValue())));
+            } catch (RuntimeException e) {
+                throw CreditoExceptions.validation(INVALID_CURSOR_MESSAGE, CURSOR_FIELD);
+            }
+        }
+
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Sort.Order requireSingleOrder(Sort sort) {
+        Sort.Order order = sort.stream().findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Ordenação é obrigatória para paginação por cursor"));
+        if (!FIELD_PARSERS.containsKey(order.getProperty())) {
+            throw new IllegalArgumentException(
+                String.format("Campo de ordenação '%s' não suportado na paginação por cursor", order.getProperty()));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Relatório compacto de uma validação em lote: só as linhas com erro, cada uma com a
+ * máscara dos seus {@link CreditoValidationError}. Linhas válidas não ocupam espaço.
+ */
+public final class BatchValidationReport {
+
+    private final int totalRows;
+    // Índices das linhas com erro, em ordem crescente, e a máscara de erros de cada uma
+    private final int[] invalidRows;
+    private final int[] errorMasks;
+
+    BatchValidationReport(int totalRows, int[] invalidRows, int[] errorMasks) {
+        this.totalRows = totalRows;
+        this.invalidRows = invalidRows;
+        this.errorMasks = errorMasks;
+    }
+
+    /**
+     * Monta o relatório a partir da máscara de cada linha (zero = válida).
+     *
+     * @param masks Máscara de erros por linha
+     * @return Relatório apenas com as linhas inválidas
+     */
+    static BatchValidationReport fromMasks(int[] masks) {
+        int invalidas = 0;
+        for (int mask : masks) {
+            if (mask != 0) {
+                invalidas++;
+            }
+        }
+        int[] linhas = new int[invalidas];
+        int[] mascaras = new int[invalidas];
+        int j = 0;
+        for (int i = 0; i < masks.length; i++) {
+            if (masks[i] != 0) {
+                linhas[j] = i;
+                mascaras[j++] = masks[i];
+            }
+        }
+        return new BatchValidationReport(masks.length, linhas, mascaras);
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getInvalidRowCount() {
+        return invalidRows.length;
+    }
+
+    public boolean isValid() {
+        return invalidRows.length == 0;
+    }
+
+    /**
+     * @param row Índice da linha no lote (a partir de 0)
+     * @return true se a linha não tem erros
+     */
+    public boolean isRowValid(int row) {
+        return Arrays.binarySearch(invalidRows, row) < 0;
+    }
+
+    /**
+     * @param row Índice da linha no lote (a partir de 0)
+     * @return Erros da linha, vazio se válida
+     */
+    public Set<CreditoValidationError> getErrors(int row) {
+        int posicao = Arrays.binarySearch(invalidRows, row);
+        if (posicao < 0) {
+            return Collections.emptySet();
+        }
+        EnumSet<CreditoValidationError> erros = EnumSet.noneOf(CreditoValidationError.class);
+        Collections.addAll(erros, CreditoValidationError.fromMask(errorMasks[posicao]));
+        return erros;
+    }
+
+    /**
+     * Linha → códigos de erro, apenas para as linhas inválidas e em ordem de linha.
+     *
+     * @return Mapa de índice da linha para os nomes dos códigos de erro
+     */
+    public Map<Integer, List<String>> getErrorsByRow() {
+        Map<Integer, List<String>> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < invalidRows.length; i++) {
+            CreditoValidationError[] erros = CreditoValidationError.fromMask(errorMasks[i]);
+            List<String> codigos = new ArrayList<>(erros.length);
+            for (CreditoValidationError erro : erros) {
+                codigos.add(erro.name());
+            }
+            resultado.put(invalidRows[i], codigos);
+        }
+        return resultado;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchValidationReport{totalRows=%d, invalidRows=%d}", totalRows, invalidRows.length);
+    }
+}
@@ -0,0 +1,266 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.batch;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.service.TaxCalculationService;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.CompiledValidator;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntUnaryOperator;
+
+import static br.com.guilhermedealmeidafreitas.creditos.validation.batch.CreditoValidationError.*;
+
+/**
+ * Validação em lote de créditos: valida milhares de linhas numa única passada e devolve
+ * um {@link BatchValidationReport} com os códigos de erro de cada linha inválida.
+ *
+ * É a validação usada pela importação ({@code CreditoImportService}), que valida o arquivo
+ * em lotes por aqui. Acumula todos os erros da linha em vez de parar no primeiro e nunca lança
+ * exceção por linha: as pré-condições dos cálculos do {@link TaxCalculationService} são
+ * checadas antes da chamada.
+ *
+ * Os campos de texto obrigatórios usam a regra STRING_NOT_EMPTY da {@link ValidationChain},
+ * a mesma dos endpoints, compilada uma vez por campo (um validador por campo, pois o
+ * compilado para na primeira regra inválida). As demais regras ficam aqui porque a cadeia
+ * não tem handler para elas, só para strings, inteiros e paginação: datas, decimais na
+ * precisão das colunas, valores negativos e as relações entre faturado, dedução, base e
+ * ISSQN. O limite de tamanho também fica aqui, pois é medido sem trim (o texto é gravado
+ * como veio), ao contrário do validateLength do handler. Lotes acima de {@code app.validation.batch.parallel-threshold} linhas
+ * são divididos em intervalos e validados em paralelo no {@link ForkJoinPool#commonPool()}.
+ */
+@Component
+public class CreditoBatchValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditoBatchValidator.class);
+
+    // Limite das colunas VARCHAR(50); sem trim, pois o texto é gravado como veio
+    private static final int TAMANHO_MAXIMO_TEXTO = 50;
+
+    // Colunas DECIMAL(15, 2) dos valores e DECIMAL(5, 2) da alíquota: um valor maior aborta
+    // o COPY inteiro, e casas extras seriam arredondadas depois das verificações
+    private static final int PRECISAO_VALOR = 15;
+    private static final int PRECISAO_ALIQUOTA = 5;
+    private static final int CASAS_DECIMAIS = 2;
+
+    private final TaxCalculationService taxCalculationService;
+    private final ValidationConfig validationConfig;
+    private final CompiledValidator numeroCreditoObrigatorio;
+    private final CompiledValidator numeroNfseObrigatorio;
+    private final CompiledValidator tipoCreditoObrigatorio;
+
+    public CreditoBatchValidator(TaxCalculationService taxCalculationService,
+                                 ValidationChain validationChain,
+                                 ValidationConfig validationConfig) {
+        this.taxCalculationService = taxCalculationService;
+        this.validationConfig = validationConfig;
+        this.numeroCreditoObrigatorio = obrigatorio(validationChain, "numeroCredito");
+        this.numeroNfseObrigatorio = obrigatorio(validationChain, "numeroNfse");
+        this.tipoCreditoObrigatorio = obrigatorio(validationChain, "tipoCredito");
+    }
+
+    private static CompiledValidator obrigatorio(ValidationChain validationChain, String campo) {
+        return validationChain.compile("importacao." + campo, List.of(ValidationRule.notEmpty(campo)));
+    }
+
+    /**
+     * Valida um lote de créditos em linhas.
+     *
+     * @param creditos Créditos a validar; uma linha nula conta como todos os campos ausentes
+     * @return Relatório com os erros por índice de linha
+     */
+    public BatchValidationReport validate(List<Credito> creditos) {
+        List<Credito> linhas = creditos instanceof RandomAccess ? creditos : new ArrayList<>(creditos);
+        return validar(linhas.size(), i -> validarLinha(linhas.get(i)));
+    }
+
+    /**
+     * Valida um lote de créditos em colunas.
+     *
+     * @param colunas Um array por campo, todos com o mesmo número de linhas
+     * @return Relatório com os erros por índice de linha
+     */
+    public BatchValidationReport validate(CreditoColumns colunas) {
+        return validar(colunas.size(), i -> validarCampos(
+            colunas.numeroCredito()[i], colunas.numeroNfse()[i], colunas.dataConstituicao()[i],
+            colunas.valorIssqn()[i], colunas.tipoCredito()[i], colunas.simplesNacional()[i],
+            colunas.aliquota()[i], colunas.valorFaturado()[i], colunas.valorDeducao()[i],
+            colunas.baseCalculo()[i]));
+    }
+
+    private BatchValidationReport validar(int totalLinhas, IntUnaryOperator validacaoLinha) {
+        int[] mascaras = new int[totalLinhas];
+        int limiar = Math.max(1, validationConfig.getBatch().getParallelThreshold());
+
+        if (totalLinhas <= limiar) {
+            for (int i = 0; i < totalLinhas; i++) {
+                mascaras[i] = validacaoLinha.applyAsInt(i);
+            }
+        } else {
+            ForkJoinPool.commonPool().invoke(new ValidarIntervalo(validacaoLinha, mascaras, 0, totalLinhas, limiar));
+        }
+
+        BatchValidationReport relatorio = BatchValidationReport.fromMasks(mascaras);
+        logger.debug("Validação em lote concluída: {} linhas, {} inválidas",
+                     relatorio.getTotalRows(), relatorio.getInvalidRowCount());
+        return relatorio;
+    }
+
+    private int validarLinha(Credito credito) {
+        if (credito == null) {
+            return validarCampos(null, null, null, null, null, null, null, null, null, null);
+        }
+        return validarCampos(
+            credito.getNumeroCredito(), credito.getNumeroNfse(), credito.getDataConstituicao(),
+            credito.getValorIssqn(), credito.getTipoCredito(), credito.getSimplesNacional(),
+            credito.getAliquota(), credito.getValorFaturado(), credito.getValorDeducao(),
+            credito.getBaseCalculo());
+    }
+
+    /**
+     * Regras de uma linha, na forma de máscara de {@link CreditoValidationError}.
+     *
+     * @return Máscara de erros; zero quando a linha é válida
+     */
+    private int validarCampos(String numeroCredito, String numeroNfse, LocalDate dataConstituicao,
+                              BigDecimal valorIssqn, String tipoCredito, Boolean simplesNacional,
+                              BigDecimal aliquota, BigDecimal valorFaturado, BigDecimal valorDeducao,
+                              BigDecimal baseCalculo) {
+        int erros = validarTexto(numeroCreditoObrigatorio, numeroCredito, NUMERO_CREDITO_OBRIGATORIO, NUMERO_CREDITO_TAMANHO)
+                  | validarTexto(numeroNfseObrigatorio, numeroNfse, NUMERO_NFSE_OBRIGATORIO, NUMERO_NFSE_TAMANHO)
+                  | validarTexto(tipoCreditoObrigatorio, tipoCredito, TIPO_CREDITO_OBRIGATORIO, TIPO_CREDITO_TAMANHO);
+
+        if (dataConstituicao == null) {
+            erros |= DATA_CONSTITUICAO_OBRIGATORIA.mask();
+        }
+        if (simplesNacional == null) {
+            erros |= SIMPLES_NACIONAL_OBRIGATORIO.mask();
+        }
+
+        boolean aliquotaValida = false;
+        if (aliquota == null) {
+            erros |= ALIQUOTA_OBRIGATORIA.mask();
+        } else if (!taxCalculationService.validarAliquota(aliquota)) {
+            erros |= ALIQUOTA_FORA_DO_INTERVALO.mask();
+        } else if (!cabeNaColuna(aliquota, PRECISAO_ALIQUOTA)) {
+            erros |= ALIQUOTA_FORMATO.mask();
+        } else {
+            aliquotaValida = true;
+        }
+
+        // Base esperada só é calculada quando faturado e dedução passam nas pré-condições
+        // de calcularBaseCalculo, para não lançar exceção dentro do laço
+        boolean valoresValidos = true;
+        if (valorFaturado == null) {
+            erros |= VALOR_FATURADO_OBRIGATORIO.mask();
+            valoresValidos = false;
+        } else if (valorFaturado.signum() < 0) {
+            erros |= VALOR_FATURADO_NEGATIVO.mask();
+            valoresValidos = false;
+        } else if (!cabeNaColuna(valorFaturado, PRECISAO_VALOR)) {
+            erros |= VALOR_FATURADO_FORMATO.mask();
+            valoresValidos = false;
+        }
+        if (valorDeducao == null) {
+            erros |= VALOR_DEDUCAO_OBRIGATORIO.mask();
+            valoresValidos = false;
+        } else if (valorDeducao.signum() < 0) {
+            erros |= VALOR_DEDUCAO_NEGATIVO.mask();
+            valoresValidos = false;
+        } else if (!cabeNaColuna(valorDeducao, PRECISAO_VALOR)) {
+            erros |= VALOR_DEDUCAO_FORMATO.mask();
+            valoresValidos = false;
+        } else if (valoresValidos && valorDeducao.compareTo(valorFaturado) > 0) {
+            erros |= VALOR_DEDUCAO_MAIOR_QUE_FATURADO.mask();
+            valoresValidos = false;
+        }
+
+        boolean baseNaColuna = false;
+        if (baseCalculo == null) {
+            erros |= BASE_CALCULO_OBRIGATORIA.mask();
+        } else if (!cabeNaColuna(baseCalculo, PRECISAO_VALOR)) {
+            erros |= BASE_CALCULO_FORMATO.mask();
+        } else {
+            baseNaColuna = true;
+            if (valoresValidos
+                    && taxCalculationService.calcularBaseCalculo(valorFaturado, valorDeducao).compareTo(baseCalculo) != 0) {
+                erros |= BASE_CALCULO_INCONSISTENTE.mask();
+            }
+        }
+
+        if (valorIssqn == null) {
+            erros |= VALOR_ISSQN_OBRIGATORIO.mask();
+        } else if (valorIssqn.signum() < 0) {
+            erros |= VALOR_ISSQN_NEGATIVO.mask();
+        } else if (!cabeNaColuna(valorIssqn, PRECISAO_VALOR)) {
+            erros |= VALOR_ISSQN_FORMATO.mask();
+        } else if (validationConfig.getBatch().isValidarValorIssqn() && aliquotaValida
+                && baseNaColuna && baseCalculo.signum() >= 0
+                && taxCalculationService.calcularValorIssqn(baseCalculo, aliquota).compareTo(valorIssqn) != 0) {
+            erros |= VALOR_ISSQN_INCONSISTENTE.mask();
+        }
+
+        return erros;
+    }
+
+    /**
+     * Se o valor cabe numa coluna DECIMAL(precisao, 2) sem arredondamento nem estouro.
+     */
+    private static boolean cabeNaColuna(BigDecimal valor, int precisao) {
+        BigDecimal normalizado = valor.stripTrailingZeros();
+        return normalizado.scale() <= CASAS_DECIMAIS
+            && normalizado.precision() - normalizado.scale() <= precisao - CASAS_DECIMAIS;
+    }
+
+    private static int validarTexto(CompiledValidator validador, String valor,
+                                    CreditoValidationError obrigatorio, CreditoValidationError tamanho) {
+        if (validador.validate(valor)[0].isInvalid()) {
+            return obrigatorio.mask();
+        }
+        return valor.length() > TAMANHO_MAXIMO_TEXTO ? tamanho.mask() : 0;
+    }
+
+    /**
+     * Divide o intervalo de linhas ao meio até o limiar e valida cada parte em sequência.
+     * Cada tarefa escreve apenas no seu trecho do array de máscaras.
+     */
+    private static final class ValidarIntervalo extends RecursiveAction {
+
+        private final IntUnaryOperator validacaoLinha;
+        private final int[] mascaras;
+        private final int inicio;
+        private final int fim;
+        private final int limiar;
+
+        ValidarIntervalo(IntUnaryOperator validacaoLinha, int[] mascaras, int inicio, int fim, int limiar) {
+            this.validacaoLinha = validacaoLinha;
+            this.mascaras = mascaras;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.limiar = limiar;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= limiar) {
+                for (int i = inicio; i < fim; i++) {
+                    mascaras[i] = validacaoLinha.applyAsInt(i);
+                }
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new ValidarIntervalo(validacaoLinha, mascaras, inicio, meio, limiar),
+                      new ValidarIntervalo(validacaoLinha, mascaras, meio, fim, limiar));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.batch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lote de créditos em colunas: um array por campo, a linha i formada pelo elemento i
+ * de cada array. Evita criar uma entidade por linha quando a origem já é colunar.
+ *
+ * Os arrays não são copiados; não devem ser alterados durante a validação.
+ */
+public record CreditoColumns(
+    String[] numeroCredito,
+    String[] numeroNfse,
+    LocalDate[] dataConstituicao,
+    BigDecimal[] valorIssqn,
+    String[] tipoCredito,
+    Boolean[] simplesNacional,
+    BigDecimal[] aliquota,
+    BigDecimal[] valorFaturado,
+    BigDecimal[] valorDeducao,
+    BigDecimal[] baseCalculo
+) {
+
+    public CreditoColumns {
+        int tamanho = numeroCredito.length;
+        if (numeroNfse.length != tamanho || dataConstituicao.length != tamanho || valorIssqn.length != tamanho
+                || tipoCredito.length != tamanho || simplesNacional.length != tamanho || aliquota.length != tamanho
+                || valorFaturado.length != tamanho || valorDeducao.length != tamanho || baseCalculo.length != tamanho) {
+            throw new IllegalArgumentException("Todas as colunas do lote devem ter o mesmo número de linhas");
+        }
+    }
+
+    /**
+     * @return Número de linhas do lote
+     */
+    public int size() {
+        return numeroCredito.length;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.batch;
+
+/**
+ * Códigos de erro da validação em lote de créditos.
+ *
+ * Cada código ocupa um bit ({@link #mask()}), então os erros de uma linha cabem num int
+ * (no máximo 32 códigos).
+ */
+public enum CreditoValidationError {
+
+    NUMERO_CREDITO_OBRIGATORIO("numeroCredito", "Número do crédito é obrigatório"),
+    NUMERO_CREDITO_TAMANHO("numeroCredito", "Número do crédito excede o tamanho máximo"),
+    NUMERO_NFSE_OBRIGATORIO("numeroNfse", "Número da NFS-e é obrigatório"),
+    NUMERO_NFSE_TAMANHO("numeroNfse", "Número da NFS-e excede o tamanho máximo"),
+    DATA_CONSTITUICAO_OBRIGATORIA("dataConstituicao", "Data de constituição é obrigatória"),
+    VALOR_ISSQN_OBRIGATORIO("valorIssqn", "Valor do ISSQN é obrigatório"),
+    VALOR_ISSQN_NEGATIVO("valorIssqn", "Valor do ISSQN não pode ser negativo"),
+    VALOR_ISSQN_INCONSISTENTE("valorIssqn", "Valor do ISSQN diferente do calculado"),
+    VALOR_ISSQN_FORMATO("valorIssqn", "Valor do ISSQN excede 13 dígitos inteiros ou 2 casas decimais"),
+    TIPO_CREDITO_OBRIGATORIO("tipoCredito", "Tipo do crédito é obrigatório"),
+    TIPO_CREDITO_TAMANHO("tipoCredito", "Tipo do crédito excede o tamanho máximo"),
+    SIMPLES_NACIONAL_OBRIGATORIO("simplesNacional", "Indicador de Simples Nacional é obrigatório"),
+    ALIQUOTA_OBRIGATORIA("aliquota", "Alíquota é obrigatória"),
+    ALIQUOTA_FORA_DO_INTERVALO("aliquota", "Alíquota fora do intervalo de 0 a 100"),
+    ALIQUOTA_FORMATO("aliquota", "Alíquota excede 2 casas decimais"),
+    VALOR_FATURADO_OBRIGATORIO("valorFaturado", "Valor faturado é obrigatório"),
+    VALOR_FATURADO_NEGATIVO("valorFaturado", "Valor faturado não pode ser negativo"),
+    VALOR_FATURADO_FORMATO("valorFaturado", "Valor faturado excede 13 dígitos inteiros ou 2 casas decimais"),
+    VALOR_DEDUCAO_OBRIGATORIO("valorDeducao", "Valor da dedução é obrigatório"),
+    VALOR_DEDUCAO_NEGATIVO("valorDeducao", "Valor da dedução não pode ser negativo"),
+    VALOR_DEDUCAO_FORMATO("valorDeducao", "Valor da dedução excede 13 dígitos inteiros ou 2 casas decimais"),
+    VALOR_DEDUCAO_MAIOR_QUE_FATURADO("valorDeducao", "Valor da dedução maior que o valor faturado"),
+    BASE_CALCULO_OBRIGATORIA("baseCalculo", "Base de cálculo é obrigatória"),
+    BASE_CALCULO_INCONSISTENTE("baseCalculo", "Base de cálculo diferente de valor faturado menos dedução"),
+    BASE_CALCULO_FORMATO("baseCalculo", "Base de cálculo excede 13 dígitos inteiros ou 2 casas decimais");
+
+    private static final CreditoValidationError[] VALORES = values();
+
+    private final String fieldName;
+    private final String description;
+
+    CreditoValidationError(String fieldName, String description) {
+        this.fieldName = fieldName;
+        this.description = description;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Bit do código na máscara de erros de uma linha.
+     *
+     * @return Máscara com apenas este código
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Código correspondente a cada bit ligado da máscara, na ordem de declaração.
+     *
+     * @param mask Máscara de erros de uma linha
+     * @return Códigos presentes na máscara
+     */
+    static CreditoValidationError[] fromMask(int mask) {
+        CreditoValidationError[] erros = new CreditoValidationError[Integer.bitCount(mask)];
+        int i = 0;
+        for (int restante = mask; restante != 0; restante &= restante - 1) {
+            erros[i++] = VALORES[Integer.numberOfTrailingZeros(restante)];
+        }
+        return erros;
+    }
+}
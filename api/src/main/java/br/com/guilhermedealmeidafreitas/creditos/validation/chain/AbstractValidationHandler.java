@@ -1,5 +1,11 @@
 package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Classe base abstrata para handlers de validação no Chain of Responsibility.
  * Implementa a lógica comum da cadeia e fornece métodos auxiliares.
@@ -9,19 +15,41 @@ package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
  */
 public abstract class AbstractValidationHandler implements ValidationHandler {
     
+    // Limite de mensagens guardadas; os nomes de campo vêm do código, então raramente passa disso
+    private static final int MAX_CACHED_MESSAGES = 256;
+    
+    private final Map<String, String> validatedMessages = new ConcurrentHashMap<>();
     private ValidationHandler nextHandler;
     private final String handlerName;
     private final int priority;
+    private final Set<ValidationType> supportedTypes;
     
     /**
      * Construtor.
      * 
      * @param handlerName Nome do handler
      * @param priority Prioridade do handler (menor número = maior prioridade)
+     * @param supportedTypes Tipos de validação processados pelo handler
      */
-    protected AbstractValidationHandler(String handlerName, int priority) {
+    protected AbstractValidationHandler(String handlerName, int priority, Set<ValidationType> supportedTypes) {
         this.handlerName = handlerName;
         this.priority = priority;
+        this.supportedTypes = supportedTypes.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(EnumSet.copyOf(supportedTypes));
+    }
+    
+    /**
+     * Aceita as requisições dos tipos declarados no construtor.
+     */
+    @Override
+    public boolean canHandle(ValidationRequest request) {
+        return supportedTypes.contains(request.getType());
+    }
+    
+    @Override
+    public Set<ValidationType> supportedTypes() {
+        return supportedTypes;
     }
     
     @Override
@@ -97,10 +125,8 @@ public abstract class AbstractValidationHandler implements ValidationHandler {
      * @return Resultado de sucesso
      */
     protected ValidationResult success(String message, Object processedValue) {
-        return ValidationResult.Builder.success(message)
-            .withProcessedValue(processedValue)
-            .withHandlerName(getHandlerName())
-            .build();
+        // Sem Builder: o resultado de sucesso não tem listas de erros ou avisos a copiar
+        return new ValidationResult(message, processedValue, getHandlerName());
     }
     
     /**
@@ -112,11 +138,24 @@ public abstract class AbstractValidationHandler implements ValidationHandler {
      * @return Resultado de sucesso
      */
     protected ValidationResult success(String message, String fieldName, Object processedValue) {
-        return ValidationResult.Builder.success(message)
-            .withFieldName(fieldName)
-            .withProcessedValue(processedValue)
-            .withHandlerName(getHandlerName())
-            .build();
+        return new ValidationResult(message, fieldName, processedValue, getHandlerName());
+    }
+    
+    /**
+     * Mensagem "Campo '...' validado com sucesso", formatada uma vez por nome de campo.
+     * 
+     * @param fieldName Nome do campo
+     * @return Mensagem de sucesso
+     */
+    protected String validatedMessage(String fieldName) {
+        String message = fieldName != null ? validatedMessages.get(fieldName) : null;
+        if (message == null) {
+            message = String.format("Campo '%s' validado com sucesso", fieldName);
+            if (fieldName != null && validatedMessages.size() < MAX_CACHED_MESSAGES) {
+                validatedMessages.putIfAbsent(fieldName, message);
+            }
+        }
+        return message;
     }
     
     /**
@@ -0,0 +1,79 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
+
+import java.util.List;
+
+/**
+ * Validador de linha reta gerado pelo {@link ValidationChain#compile} a partir de uma lista
+ * de {@link ValidationRule}. Handler, interface tipada e parâmetros de cada regra são
+ * resolvidos uma vez na compilação; a validação só executa as regras em sequência.
+ */
+public final class CompiledValidator {
+
+    /**
+     * Regra já resolvida: lê seus argumentos a partir de {@code offset}.
+     */
+    @FunctionalInterface
+    interface CompiledRule {
+        ValidationResult apply(Object[] arguments, int offset);
+    }
+
+    private final String name;
+    private final List<ValidationRule> rules;
+    private final CompiledRule[] compiledRules;
+    private final int[] offsets;
+    private final int argumentCount;
+
+    CompiledValidator(String name, List<ValidationRule> rules, CompiledRule[] compiledRules) {
+        this.name = name;
+        this.rules = List.copyOf(rules);
+        this.compiledRules = compiledRules;
+        this.offsets = new int[compiledRules.length];
+
+        int offset = 0;
+        for (int i = 0; i < this.rules.size(); i++) {
+            offsets[i] = offset;
+            offset += this.rules.get(i).arity();
+        }
+        this.argumentCount = offset;
+    }
+
+    /**
+     * Executa as regras em ordem, parando na primeira inválida.
+     *
+     * @param arguments Argumentos das regras, na ordem das regras
+     * @return Resultado de cada regra; após a primeira inválida, as posições restantes ficam nulas
+     * @throws IllegalArgumentException se o número de argumentos não corresponder às regras
+     */
+    public ValidationResult[] validate(Object... arguments) {
+        if (arguments.length != argumentCount) {
+            throw new IllegalArgumentException(String.format(
+                "Validador '%s' espera %d argumentos, recebeu %d", name, argumentCount, arguments.length));
+        }
+
+        ValidationResult[] results = new ValidationResult[compiledRules.length];
+        for (int i = 0; i < compiledRules.length; i++) {
+            results[i] = compiledRules[i].apply(arguments, offsets[i]);
+            if (results[i].isInvalid()) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<ValidationRule> getRules() {
+        return rules;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompiledValidator{name='%s', rules=%d, arguments=%d}", name, rules.size(), argumentCount);
+    }
+}
@@ -1,9 +1,14 @@
 package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
 
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.NumberValidationHandlerInterface;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.PageableValidationHandlerInterface;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandlerInterface;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +16,20 @@ import java.util.Map;
  * Gerenciador da cadeia de validação no Chain of Responsibility Pattern.
  * Organiza e executa os handlers de validação em ordem de prioridade.
  * 
+ * Na construção, cada {@link ValidationType} é associado ao primeiro handler, em ordem de
+ * prioridade, que o declara em {@link ValidationHandler#supportedTypes()}. A validação entra
+ * direto nesse handler em vez de percorrer a cadeia desde o início; se ele recusar a
+ * requisição, segue para os próximos da cadeia como antes. Tipos que nenhum handler declara
+ * percorrem a cadeia inteira.
+ * 
+ * As validações de inteiros, de paginação e de string opcional têm caminho rápido: quando o
+ * valor é um {@link Integer} ou uma {@link String} e o handler do tipo implementa a interface
+ * específica, ele é chamado direto, sem montar {@link ValidationRequest} nem o mapa de
+ * parâmetros com inteiros em boxing.
+ * 
+ * Listas fixas de regras, como as de cada endpoint, podem ser compiladas com
+ * {@link #compile} num {@link CompiledValidator} que chama os handlers tipados em sequência.
+ * 
  * REFATORAÇÃO: Implementa Chain of Responsibility Pattern para organizar
  * validações em uma cadeia flexível e extensível.
  */
@@ -18,6 +37,11 @@ import java.util.Map;
 public class ValidationChain {
     
     private final List<ValidationHandler> handlers;
+    private final Map<ValidationType, ValidationHandler> dispatchTable;
+    private final StringValidationHandlerInterface optionalStringHandler;
+    private final NumberValidationHandlerInterface positiveNumberHandler;
+    private final NumberValidationHandlerInterface numberRangeHandler;
+    private final PageableValidationHandlerInterface pageableHandler;
     
     @Autowired
     public ValidationChain(List<ValidationHandler> handlers) {
@@ -28,6 +52,12 @@ public class ValidationChain {
         
         // Conecta os handlers em cadeia
         connectHandlers();
+        
+        this.dispatchTable = buildDispatchTable();
+        this.optionalStringHandler = typedHandler(ValidationType.STRING_OPTIONAL, StringValidationHandlerInterface.class);
+        this.positiveNumberHandler = typedHandler(ValidationType.NUMBER_POSITIVE, NumberValidationHandlerInterface.class);
+        this.numberRangeHandler = typedHandler(ValidationType.NUMBER_RANGE, NumberValidationHandlerInterface.class);
+        this.pageableHandler = typedHandler(ValidationType.PAGEABLE, PageableValidationHandlerInterface.class);
     }
     
     /**
@@ -39,6 +69,31 @@ public class ValidationChain {
         }
     }
     
+    /**
+     * Associa cada tipo de validação ao primeiro handler, em ordem de prioridade, que o declara.
+     * 
+     * @return Tabela de despacho por tipo
+     */
+    private Map<ValidationType, ValidationHandler> buildDispatchTable() {
+        Map<ValidationType, ValidationHandler> table = new EnumMap<>(ValidationType.class);
+        for (ValidationHandler handler : handlers) {
+            for (ValidationType type : handler.supportedTypes()) {
+                table.putIfAbsent(type, handler);
+            }
+        }
+        return table;
+    }
+    
+    /**
+     * Handler do tipo, se implementar a interface específica usada pelas sobrecargas primitivas.
+     * 
+     * @return Handler tipado ou null para seguir pelo caminho genérico
+     */
+    private <T> T typedHandler(ValidationType type, Class<T> handlerInterface) {
+        ValidationHandler handler = dispatchTable.get(type);
+        return handlerInterface.isInstance(handler) ? handlerInterface.cast(handler) : null;
+    }
+    
     /**
      * Executa a validação através da cadeia de handlers.
      * 
@@ -53,8 +108,12 @@ public class ValidationChain {
                 .build();
         }
         
-        // Inicia a validação com o primeiro handler
-        return handlers.get(0).handle(request);
+        // Entra direto no handler do tipo; sem handler, a cadeia inteira devolve o erro
+        ValidationHandler handler = dispatchTable.get(request.getType());
+        if (handler == null) {
+            handler = handlers.get(0);
+        }
+        return handler.handle(request);
     }
     
     /**
@@ -79,6 +138,10 @@ public class ValidationChain {
      * @return Resultado da validação
      */
     public ValidationResult validateStringOptional(Object value, String fieldName) {
+        if ((value == null || value instanceof String) && optionalStringHandler != null) {
+            return optionalStringHandler.validateOptional((String) value, fieldName);
+        }
+        
         ValidationRequest request = new ValidationRequest(
             ValidationType.STRING_OPTIONAL, value, fieldName
         );
@@ -93,6 +156,10 @@ public class ValidationChain {
      * @return Resultado da validação
      */
     public ValidationResult validatePositiveNumber(Object value, String fieldName) {
+        if (value instanceof Integer number && positiveNumberHandler != null) {
+            return positiveNumberHandler.validatePositive(number.intValue(), fieldName);
+        }
+        
         ValidationRequest request = new ValidationRequest(
             ValidationType.NUMBER_POSITIVE, value, fieldName
         );
@@ -109,6 +176,10 @@ public class ValidationChain {
      * @return Resultado da validação
      */
     public ValidationResult validateNumberRange(Object value, String fieldName, int min, int max) {
+        if (value instanceof Integer number && numberRangeHandler != null) {
+            return numberRangeHandler.validateRange(number.intValue(), fieldName, min, max);
+        }
+        
         ValidationRequest request = new ValidationRequest(
             ValidationType.NUMBER_RANGE, value, fieldName,
             Map.of("min", min, "max", max)
@@ -126,6 +197,10 @@ public class ValidationChain {
      * @return Resultado da validação com Pageable criado
      */
     public ValidationResult validateAndCreatePageable(int page, int size, String sortBy, String sortDirection) {
+        if (pageableHandler != null) {
+            return pageableHandler.validatePageableParameters(page, size, sortBy, sortDirection);
+        }
+        
         ValidationRequest request = new ValidationRequest(
             ValidationType.PAGEABLE, null, "pageable",
             Map.of("page", page, "size", size, "sortBy", sortBy, "sortDirection", sortDirection)
@@ -161,6 +236,160 @@ public class ValidationChain {
         return validate(request);
     }
     
+    /**
+     * Compila uma lista fixa de regras num validador de linha reta.
+     * 
+     * O handler de cada regra vem da tabela de despacho. Quando ele implementa a interface
+     * tipada do tipo, a regra chama o método tipado direto, com o mesmo tratamento de exceção
+     * de {@link AbstractValidationHandler#handle}; argumentos de tipo inesperado e demais
+     * tipos seguem pelo {@link #validate(ValidationRequest)}. O resultado é o mesmo da cadeia.
+     * 
+     * @param name Nome do validador, usado nas mensagens de erro
+     * @param rules Regras, na ordem de execução
+     * @return Validador compilado
+     */
+    public CompiledValidator compile(String name, List<ValidationRule> rules) {
+        CompiledValidator.CompiledRule[] compiledRules = new CompiledValidator.CompiledRule[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            compiledRules[i] = compileRule(rules.get(i));
+        }
+        return new CompiledValidator(name, rules, compiledRules);
+    }
+    
+    private CompiledValidator.CompiledRule compileRule(ValidationRule rule) {
+        ValidationType type = rule.type();
+        String fieldName = rule.fieldName();
+        CompiledValidator.CompiledRule generic = genericRule(rule);
+        
+        // O caminho tipado só vale para handlers com o tratamento de exceção da classe base
+        ValidationHandler handler = dispatchTable.get(type);
+        if (!(handler instanceof AbstractValidationHandler)) {
+            return generic;
+        }
+        
+        if (type == ValidationType.STRING_NOT_EMPTY && handler instanceof StringValidationHandlerInterface stringHandler) {
+            return (arguments, offset) -> {
+                Object value = arguments[offset];
+                if (value != null && !(value instanceof String)) {
+                    return generic.apply(arguments, offset);
+                }
+                try {
+                    return stringHandler.validateNotEmpty((String) value, fieldName);
+                } catch (Exception e) {
+                    return handlerError(handler, fieldName, e);
+                }
+            };
+        }
+        
+        if (type == ValidationType.STRING_OPTIONAL && handler instanceof StringValidationHandlerInterface stringHandler) {
+            return (arguments, offset) -> {
+                Object value = arguments[offset];
+                if (value != null && !(value instanceof String)) {
+                    return generic.apply(arguments, offset);
+                }
+                try {
+                    return stringHandler.validateOptional((String) value, fieldName);
+                } catch (Exception e) {
+                    return handlerError(handler, fieldName, e);
+                }
+            };
+        }
+        
+        if (type == ValidationType.NUMBER_POSITIVE && handler instanceof NumberValidationHandlerInterface numberHandler) {
+            return (arguments, offset) -> {
+                if (!(arguments[offset] instanceof Integer value)) {
+                    return generic.apply(arguments, offset);
+                }
+                try {
+                    return numberHandler.validatePositive(value.intValue(), fieldName);
+                } catch (Exception e) {
+                    return handlerError(handler, fieldName, e);
+                }
+            };
+        }
+        
+        if (type == ValidationType.NUMBER_RANGE && handler instanceof NumberValidationHandlerInterface numberHandler
+                && rule.parameters().get("min") instanceof Integer min
+                && rule.parameters().get("max") instanceof Integer max) {
+            int minValue = min;
+            int maxValue = max;
+            return (arguments, offset) -> {
+                if (!(arguments[offset] instanceof Integer value)) {
+                    return generic.apply(arguments, offset);
+                }
+                try {
+                    return numberHandler.validateRange(value.intValue(), fieldName, minValue, maxValue);
+                } catch (Exception e) {
+                    return handlerError(handler, fieldName, e);
+                }
+            };
+        }
+        
+        if (type == ValidationType.PAGEABLE && handler instanceof PageableValidationHandlerInterface typedPageableHandler) {
+            return (arguments, offset) -> {
+                if (!(arguments[offset] instanceof Integer page) || !(arguments[offset + 1] instanceof Integer size)
+                        || !isStringOrNull(arguments[offset + 2]) || !isStringOrNull(arguments[offset + 3])) {
+                    return generic.apply(arguments, offset);
+                }
+                // Mesmo trim que o caminho genérico aplica ao converter os parâmetros de ordenação
+                String sortBy = trim((String) arguments[offset + 2]);
+                String sortDirection = trim((String) arguments[offset + 3]);
+                try {
+                    return typedPageableHandler.validatePageableParameters(page, size, sortBy, sortDirection);
+                } catch (Exception e) {
+                    return handlerError(handler, fieldName, e);
+                }
+            };
+        }
+        
+        return generic;
+    }
+    
+    /**
+     * Regra pelo caminho genérico: monta a {@link ValidationRequest} e entra pela tabela de despacho.
+     */
+    private CompiledValidator.CompiledRule genericRule(ValidationRule rule) {
+        ValidationType type = rule.type();
+        String fieldName = rule.fieldName();
+        
+        if (type == ValidationType.PAGEABLE) {
+            return (arguments, offset) -> {
+                // Parâmetros nulos ficam de fora e o handler usa os padrões
+                Map<String, Object> parameters = new HashMap<>(rule.parameters());
+                putIfNotNull(parameters, "page", arguments[offset]);
+                putIfNotNull(parameters, "size", arguments[offset + 1]);
+                putIfNotNull(parameters, "sortBy", arguments[offset + 2]);
+                putIfNotNull(parameters, "sortDirection", arguments[offset + 3]);
+                return validate(new ValidationRequest(type, null, fieldName, parameters));
+            };
+        }
+        
+        Map<String, Object> parameters = rule.parameters();
+        return (arguments, offset) -> validate(new ValidationRequest(type, arguments[offset], fieldName, parameters));
+    }
+    
+    private static ValidationResult handlerError(ValidationHandler handler, String fieldName, Exception e) {
+        return ValidationResult.Builder.error(
+            String.format("Erro durante validação: %s", e.getMessage()))
+            .withFieldName(fieldName)
+            .withHandlerName(handler.getHandlerName())
+            .build();
+    }
+    
+    private static boolean isStringOrNull(Object value) {
+        return value == null || value instanceof String;
+    }
+    
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+    
+    private static void putIfNotNull(Map<String, Object> parameters, String key, Object value) {
+        if (value != null) {
+            parameters.put(key, value);
+        }
+    }
+    
     /**
      * Retorna informações sobre os handlers registrados.
      * 
@@ -1,5 +1,7 @@
 package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
 
+import java.util.Set;
+
 /**
  * Interface base para o Chain of Responsibility Pattern de validação.
  * Cada handler é responsável por um tipo específico de validação.
@@ -33,6 +35,15 @@ public interface ValidationHandler {
      */
     boolean canHandle(ValidationRequest request);
     
+    /**
+     * Tipos de validação que este handler processa. A {@link ValidationChain} monta a
+     * tabela de despacho a partir desta declaração; o {@code canHandle} deve aceitar
+     * as requisições desses tipos.
+     * 
+     * @return Tipos processados (vazio se o handler só for alcançado percorrendo a cadeia)
+     */
+    Set<ValidationType> supportedTypes();
+    
     /**
      * Retorna o nome do handler para logging e debugging.
      * 
@@ -0,0 +1,50 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Regra de validação de um endpoint: tipo, nome do campo e parâmetros fixos.
+ * Uma lista de regras é compilada pelo {@link ValidationChain#compile} num {@link CompiledValidator}.
+ *
+ * Cada regra consome um argumento, exceto {@link ValidationType#PAGEABLE}, que consome quatro
+ * (página, tamanho, campo e direção de ordenação).
+ */
+public record ValidationRule(ValidationType type, String fieldName, Map<String, Object> parameters) {
+
+    public ValidationRule {
+        Objects.requireNonNull(type, "Tipo de validação é obrigatório");
+        parameters = parameters != null ? Map.copyOf(parameters) : Map.of();
+    }
+
+    public static ValidationRule of(ValidationType type, String fieldName) {
+        return new ValidationRule(type, fieldName, Map.of());
+    }
+
+    public static ValidationRule notEmpty(String fieldName) {
+        return of(ValidationType.STRING_NOT_EMPTY, fieldName);
+    }
+
+    public static ValidationRule optional(String fieldName) {
+        return of(ValidationType.STRING_OPTIONAL, fieldName);
+    }
+
+    public static ValidationRule positive(String fieldName) {
+        return of(ValidationType.NUMBER_POSITIVE, fieldName);
+    }
+
+    public static ValidationRule range(String fieldName, int min, int max) {
+        return new ValidationRule(ValidationType.NUMBER_RANGE, fieldName, Map.<String, Object>of("min", min, "max", max));
+    }
+
+    public static ValidationRule pageable() {
+        return of(ValidationType.PAGEABLE, "pageable");
+    }
+
+    /**
+     * @return Número de argumentos consumidos pela regra
+     */
+    public int arity() {
+        return type == ValidationType.PAGEABLE ? 4 : 1;
+    }
+}
@@ -9,7 +9,9 @@ import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handler para validações de números no Chain of Responsibility.
@@ -21,14 +23,17 @@ import java.util.Map;
 @Component
 public class NumberValidationHandler extends AbstractValidationHandler implements NumberValidationHandlerInterface {
     
-    public NumberValidationHandler() {
-        super("NumberValidationHandler", 200);
-    }
+    private static final int MAX_SHARED_FIELDS = 256;
     
-    @Override
-    public boolean canHandle(ValidationRequest request) {
-        return request.getType() == ValidationType.NUMBER_POSITIVE || 
-               request.getType() == ValidationType.NUMBER_RANGE;
+    // Maior valor com resultado compartilhado: o mesmo limite do cache de Integer.valueOf
+    private static final int MAX_SHARED_VALUE = 127;
+    
+    // Resultados de sucesso dos inteiros por nome de campo, indexados pelo valor: imutáveis
+    private final Map<String, ValidationResult[]> intSuccessResults = new ConcurrentHashMap<>();
+    
+    public NumberValidationHandler() {
+        super("NumberValidationHandler", 200,
+              EnumSet.of(ValidationType.NUMBER_POSITIVE, ValidationType.NUMBER_RANGE));
     }
     
     @Override
@@ -73,8 +78,7 @@ public class NumberValidationHandler extends AbstractValidationHandler implement
             }
             
             // Validação bem-sucedida
-            return success(String.format("Campo '%s' validado com sucesso", fieldName), 
-                          fieldName, number);
+            return success(validatedMessage(fieldName), fieldName, number);
         } catch (IllegalArgumentException e) {
             return error(e.getMessage(), fieldName);
         }
@@ -125,8 +129,7 @@ public class NumberValidationHandler extends AbstractValidationHandler implement
             }
             
             // Validação bem-sucedida
-            return success(String.format("Campo '%s' validado com sucesso", fieldName), 
-                          fieldName, number);
+            return success(validatedMessage(fieldName), fieldName, number);
         } catch (IllegalArgumentException e) {
             return error(e.getMessage(), fieldName);
         }
@@ -139,6 +142,55 @@ public class NumberValidationHandler extends AbstractValidationHandler implement
         return validatePositiveNumber(value, fieldName);
     }
     
+    @Override
+    public ValidationResult validatePositive(int value, String fieldName) {
+        if (value <= 0) {
+            return error(ErrorMessages.numberMustBePositive(fieldName), fieldName);
+        }
+        return intSuccess(value, fieldName);
+    }
+    
+    @Override
+    public ValidationResult validateRange(int value, String fieldName, int min, int max) {
+        if (min > max) {
+            return error(ErrorMessages.MIN_MUST_BE_LESS_OR_EQUAL_MAX, fieldName);
+        }
+        if (value < min || value > max) {
+            return error(String.format("Campo '%s' deve estar entre %s e %s", fieldName, min, max), fieldName);
+        }
+        return intSuccess(value, fieldName);
+    }
+    
+    /**
+     * Resultado de sucesso de um inteiro, compartilhado para valores de 0 a {@value #MAX_SHARED_VALUE}
+     * (páginas, tamanhos e percentuais, os casos comuns).
+     * 
+     * @param value Valor validado
+     * @param fieldName Nome do campo
+     * @return Resultado de sucesso com o valor processado
+     */
+    private ValidationResult intSuccess(int value, String fieldName) {
+        if (fieldName == null || value < 0 || value > MAX_SHARED_VALUE) {
+            return success(validatedMessage(fieldName), fieldName, value);
+        }
+        
+        ValidationResult[] results = intSuccessResults.get(fieldName);
+        if (results == null) {
+            if (intSuccessResults.size() >= MAX_SHARED_FIELDS) {
+                return success(validatedMessage(fieldName), fieldName, value);
+            }
+            results = intSuccessResults.computeIfAbsent(fieldName, campo -> new ValidationResult[MAX_SHARED_VALUE + 1]);
+        }
+        
+        // Corrida benigna: resultados iguais e de campos final, seguros sem sincronização
+        ValidationResult result = results[value];
+        if (result == null) {
+            result = success(validatedMessage(fieldName), fieldName, value);
+            results[value] = result;
+        }
+        return result;
+    }
+    
     @Override
     public ValidationResult validateRange(Number value, String fieldName, Number min, Number max) {
         ValidationRequest request = new ValidationRequest(ValidationType.NUMBER_RANGE, value, fieldName, 
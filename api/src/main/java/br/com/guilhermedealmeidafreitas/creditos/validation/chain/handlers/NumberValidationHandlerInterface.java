@@ -23,6 +23,15 @@ public interface NumberValidationHandlerInterface {
      */
     ValidationResult validatePositive(Number value, String fieldName);
     
+    /**
+     * Valida se um inteiro é positivo, sem boxing na validação.
+     * 
+     * @param value Valor a ser validado
+     * @param fieldName Nome do campo
+     * @return Resultado da validação
+     */
+    ValidationResult validatePositive(int value, String fieldName);
+    
     /**
      * Valida se um número está dentro de um range.
      * 
@@ -34,6 +43,18 @@ public interface NumberValidationHandlerInterface {
      */
     ValidationResult validateRange(Number value, String fieldName, Number min, Number max);
     
+    /**
+     * Valida se um inteiro está dentro de um range, com as mesmas regras de
+     * {@link #validateRange(Number, String, Number, Number)} e sem boxing na validação.
+     * 
+     * @param value Valor a ser validado
+     * @param fieldName Nome do campo
+     * @param min Valor mínimo
+     * @param max Valor máximo
+     * @return Resultado da validação
+     */
+    ValidationResult validateRange(int value, String fieldName, int min, int max);
+    
     /**
      * Valida se um número é maior que um valor mínimo.
      * 
@@ -11,6 +11,10 @@ import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Handler para validações de paginação no Chain of Responsibility.
  * Responsável por validar parâmetros de paginação e criar Pageable.
@@ -21,22 +25,21 @@ import org.springframework.stereotype.Component;
 @Component
 public class PageableValidationHandler extends AbstractValidationHandler implements PageableValidationHandlerInterface {
     
+    private static final int MAX_SHARED_RESULTS = 1024;
+    
     private final PageableFactory pageableFactory;
     private final ValidationConstants validationConstants;
     
+    // Resultado de sucesso por Pageable da primeira página, que o PageableFactory reaproveita: imutável
+    private final Map<Pageable, ValidationResult> firstPageResults = new ConcurrentHashMap<>();
+    
     public PageableValidationHandler(PageableFactory pageableFactory, ValidationConstants validationConstants) {
-        super("PageableValidationHandler", 300);
+        super("PageableValidationHandler", 300,
+              EnumSet.of(ValidationType.PAGEABLE, ValidationType.SORT_FIELD, ValidationType.SORT_DIRECTION));
         this.pageableFactory = pageableFactory;
         this.validationConstants = validationConstants;
     }
     
-    @Override
-    public boolean canHandle(ValidationRequest request) {
-        return request.getType() == ValidationType.PAGEABLE ||
-               request.getType() == ValidationType.SORT_FIELD ||
-               request.getType() == ValidationType.SORT_DIRECTION;
-    }
-    
     @Override
     protected ValidationResult doHandle(ValidationRequest request) {
         // Validação de parâmetros de paginação
@@ -75,25 +78,17 @@ public class PageableValidationHandler extends AbstractValidationHandler impleme
             Object sortByParam = request.getParameter("sortBy");
             Object sortDirectionParam = request.getParameter("sortDirection");
             
-            // Valida parâmetros individuais antes de criar o Pageable
-            ValidationResult pageValidation = validatePageParameter(pageParam);
-            if (!pageValidation.isValid()) {
-                return pageValidation;
+            // Valida os parâmetros antes de criar o Pageable; página negativa e
+            // tamanho inválido são corrigidos pela factory
+            ValidationResult parameterError = validateIntegerParameter(pageParam, "page");
+            if (parameterError == null) {
+                parameterError = validateIntegerParameter(sizeParam, "size");
             }
-            
-            ValidationResult sizeValidation = validateSizeParameter(sizeParam);
-            if (!sizeValidation.isValid()) {
-                return sizeValidation;
+            if (parameterError == null) {
+                parameterError = validateSortParameters(sortByParam, sortDirectionParam);
             }
-            
-            ValidationResult sortByValidation = validateSortByParameter(sortByParam);
-            if (!sortByValidation.isValid()) {
-                return sortByValidation;
-            }
-            
-            ValidationResult sortDirectionValidation = validateSortDirectionParameter(sortDirectionParam);
-            if (!sortDirectionValidation.isValid()) {
-                return sortDirectionValidation;
+            if (parameterError != null) {
+                return parameterError;
             }
             
             // Cria o Pageable usando a factory
@@ -110,82 +105,54 @@ public class PageableValidationHandler extends AbstractValidationHandler impleme
     }
     
     /**
-     * Valida parâmetro de página.
+     * Valida parâmetro inteiro de paginação (página ou tamanho), opcional.
+     * 
+     * @return Erro, ou null se o parâmetro for válido
      */
-    private ValidationResult validatePageParameter(Object pageParam) {
-        if (pageParam == null) {
-            return success(ErrorMessages.PAGE_NOT_SPECIFIED, "page", 0);
+    private ValidationResult validateIntegerParameter(Object param, String parameterName) {
+        if (param == null) {
+            return null;
         }
-        
         try {
-            int page = ValidationUtils.parseInteger(pageParam, "page");
-            if (page < 0) {
-                return success(ErrorMessages.PAGE_NEGATIVE_CORRECTED, "page", 0);
-            }
-            return success(ErrorMessages.PAGE_VALIDATED_SUCCESS, "page", page);
+            ValidationUtils.parseInteger(param, parameterName);
+            return null;
         } catch (IllegalArgumentException e) {
-            return error(e.getMessage(), "page");
+            return error(e.getMessage(), parameterName);
         }
     }
     
     /**
-     * Valida parâmetro de tamanho.
+     * Valida campo e direção de ordenação, ambos opcionais. Não cria resultados de
+     * sucesso intermediários: quem chama só precisa saber se houve erro.
+     * 
+     * @return Erro, ou null se os parâmetros forem válidos
      */
-    private ValidationResult validateSizeParameter(Object sizeParam) {
-        if (sizeParam == null) {
-            return success(ErrorMessages.SIZE_NOT_SPECIFIED, "size", validationConstants.getDefaultPageSize());
-        }
-        
-        try {
-            int size = ValidationUtils.parseInteger(sizeParam, "size");
-            if (size <= 0) {
-                return success(ErrorMessages.SIZE_INVALID_CORRECTED, "size", validationConstants.getDefaultPageSize());
+    private ValidationResult validateSortParameters(Object sortByParam, Object sortDirectionParam) {
+        if (sortByParam != null) {
+            String sortBy;
+            try {
+                sortBy = ValidationUtils.parseString(sortByParam, "sortBy");
+            } catch (IllegalArgumentException e) {
+                return error(e.getMessage(), "sortBy");
             }
-            if (size > validationConstants.getMaxPageSize()) {
-                return success(ErrorMessages.SIZE_EXCEEDED_LIMIT, "size", validationConstants.getMaxPageSize());
-            }
-            return success(ErrorMessages.SIZE_VALIDATED_SUCCESS, "size", size);
-        } catch (IllegalArgumentException e) {
-            return error(e.getMessage(), "size");
-        }
-    }
-    
-    /**
-     * Valida parâmetro de campo de ordenação.
-     */
-    private ValidationResult validateSortByParameter(Object sortByParam) {
-        if (sortByParam == null) {
-            return success(ErrorMessages.SORT_FIELD_NOT_SPECIFIED, "sortBy", validationConstants.getDefaultSortField());
-        }
-        
-        try {
-            String sortBy = ValidationUtils.parseString(sortByParam, "sortBy");
             if (!validationConstants.getValidSortFields().contains(sortBy)) {
                 return error(ErrorMessages.invalidSortField(sortBy, validationConstants.getValidSortFields().toString()), "sortBy");
             }
-            return success(ErrorMessages.SORT_FIELD_VALIDATED_SUCCESS, "sortBy", sortBy);
-        } catch (IllegalArgumentException e) {
-            return error(e.getMessage(), "sortBy");
-        }
-    }
-    
-    /**
-     * Valida parâmetro de direção de ordenação.
-     */
-    private ValidationResult validateSortDirectionParameter(Object sortDirectionParam) {
-        if (sortDirectionParam == null) {
-            return success(ErrorMessages.SORT_DIRECTION_NOT_SPECIFIED, "sortDirection", validationConstants.getDefaultSortDirection());
         }
         
-        try {
-            String directionStr = ValidationUtils.parseString(sortDirectionParam, "sortDirection").toUpperCase();
-            if (!"ASC".equals(directionStr) && !"DESC".equals(directionStr)) {
+        if (sortDirectionParam != null) {
+            String direction;
+            try {
+                direction = ValidationUtils.parseString(sortDirectionParam, "sortDirection");
+            } catch (IllegalArgumentException e) {
+                return error(e.getMessage(), "sortDirection");
+            }
+            if (!"ASC".equalsIgnoreCase(direction) && !"DESC".equalsIgnoreCase(direction)) {
                 return error(ErrorMessages.SORT_DIRECTION_MUST_BE_ASC_OR_DESC, "sortDirection");
             }
-            return success(ErrorMessages.SORT_DIRECTION_VALIDATED_SUCCESS, "sortDirection", directionStr);
-        } catch (IllegalArgumentException e) {
-            return error(e.getMessage(), "sortDirection");
         }
+        
+        return null;
     }
     
     /**
@@ -242,6 +209,42 @@ public class PageableValidationHandler extends AbstractValidationHandler impleme
     
     // ==================== IMPLEMENTAÇÃO DA INTERFACE ====================
     
+    @Override
+    public ValidationResult validatePageableParameters(int page, int size, String sortBy, String sortDirection) {
+        ValidationResult parameterError = validateSortParameters(sortBy, sortDirection);
+        if (parameterError != null) {
+            return parameterError;
+        }
+        
+        try {
+            Pageable pageable = pageableFactory.createPageable(page, size, sortBy, sortDirection);
+            return pageableSuccess(pageable);
+        } catch (IllegalArgumentException e) {
+            return error(ErrorMessages.pageableValidationError(e.getMessage()), "pageable");
+        }
+    }
+    
+    /**
+     * Resultado de sucesso do Pageable, compartilhado para a primeira página.
+     * 
+     * @param pageable Pageable criado
+     * @return Resultado de sucesso com o Pageable
+     */
+    private ValidationResult pageableSuccess(Pageable pageable) {
+        if (pageable.getPageNumber() != 0) {
+            return success(ErrorMessages.PAGEABLE_VALIDATED_SUCCESS, "pageable", pageable);
+        }
+        
+        ValidationResult result = firstPageResults.get(pageable);
+        if (result == null) {
+            result = success(ErrorMessages.PAGEABLE_VALIDATED_SUCCESS, "pageable", pageable);
+            if (firstPageResults.size() < MAX_SHARED_RESULTS) {
+                firstPageResults.putIfAbsent(pageable, result);
+            }
+        }
+        return result;
+    }
+    
     @Override
     public ValidationResult validatePageable(int page, int size, String sortBy, String sortDirection) {
         try {
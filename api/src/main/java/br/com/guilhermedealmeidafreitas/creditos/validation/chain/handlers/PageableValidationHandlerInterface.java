@@ -24,6 +24,19 @@ public interface PageableValidationHandlerInterface {
      */
     ValidationResult validatePageable(int page, int size, String sortBy, String sortDirection);
     
+    /**
+     * Valida parâmetros de paginação com as regras da validação PAGEABLE da cadeia:
+     * campo ou direção de ordenação informados e inválidos são erro, ausentes usam o padrão.
+     * Recebe os inteiros sem boxing.
+     * 
+     * @param page Página solicitada
+     * @param size Tamanho da página
+     * @param sortBy Campo de ordenação (opcional)
+     * @param sortDirection Direção da ordenação (opcional)
+     * @return Resultado da validação com Pageable criado
+     */
+    ValidationResult validatePageableParameters(int page, int size, String sortBy, String sortDirection);
+    
     /**
      * Valida parâmetros de paginação a partir de objetos.
      * 
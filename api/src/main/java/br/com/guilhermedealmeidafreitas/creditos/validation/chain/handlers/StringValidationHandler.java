@@ -1,31 +1,60 @@
 package br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers;
 
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
 import br.com.guilhermedealmeidafreitas.creditos.constants.ErrorMessages;
 import br.com.guilhermedealmeidafreitas.creditos.util.ValidationUtils;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.AbstractValidationHandler;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRequest;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
 /**
  * Handler para validações de string no Chain of Responsibility.
  * Responsável por validar strings não vazias e opcionais.
  * 
+ * Os padrões regex de {@link #validatePattern} são compilados uma vez e guardados num cache
+ * limitado (Caffeine); cada compilação conta em {@code creditos.validacao.padroes.compilacoes}.
+ * 
  * REFATORAÇÃO: Implementa Chain of Responsibility Pattern para organizar
  * validações em uma cadeia flexível e extensível.
  */
 @Component
 public class StringValidationHandler extends AbstractValidationHandler implements StringValidationHandlerInterface {
     
-    public StringValidationHandler() {
-        super("StringValidationHandler", 100);
-    }
+    private static final int MAX_SHARED_RESULTS = 256;
     
-    @Override
-    public boolean canHandle(ValidationRequest request) {
-        return request.getType() == ValidationType.STRING_NOT_EMPTY || 
-               request.getType() == ValidationType.STRING_OPTIONAL;
+    // Resultado de campo opcional nulo por nome de campo: imutável e igual a cada chamada
+    private final Map<String, ValidationResult> optionalNullResults = new ConcurrentHashMap<>();
+    
+    private final Cache<String, Pattern> patternCache;
+    private final Counter compilacoes;
+    private final Function<String, Pattern> compilador;
+    
+    public StringValidationHandler(ValidationConfig validationConfig, MeterRegistry meterRegistry) {
+        super("StringValidationHandler", 100,
+              EnumSet.of(ValidationType.STRING_NOT_EMPTY, ValidationType.STRING_OPTIONAL));
+        ValidationConfig.StringValidation config = validationConfig.getStringValidation();
+        this.patternCache = Caffeine.newBuilder()
+            .maximumSize(config.getPatternCacheSize())
+            .build();
+        this.compilacoes = Counter.builder("creditos.validacao.padroes.compilacoes")
+            .description("Padrões regex compilados por falta no cache de validação")
+            .register(meterRegistry);
+        this.compilador = regex -> {
+            compilacoes.increment();
+            return Pattern.compile(regex);
+        };
     }
     
     @Override
@@ -75,13 +104,29 @@ public class StringValidationHandler extends AbstractValidationHandler implement
             }
             
             // Validação bem-sucedida - retorna a string trimada
-            return success(String.format("Campo '%s' validado com sucesso", fieldName), 
-                          fieldName, stringValue);
+            return success(validatedMessage(fieldName), fieldName, stringValue);
         } catch (IllegalArgumentException e) {
             return error(e.getMessage(), fieldName);
         }
     }
     
+    /**
+     * Resultado compartilhado para campo opcional nulo, o caso mais comum dos filtros.
+     * 
+     * @param fieldName Nome do campo
+     * @return Resultado de sucesso sem valor processado
+     */
+    private ValidationResult optionalNullResult(String fieldName) {
+        ValidationResult result = fieldName != null ? optionalNullResults.get(fieldName) : null;
+        if (result == null) {
+            result = success(String.format("Campo '%s' é opcional e está nulo", fieldName), fieldName, null);
+            if (fieldName != null && optionalNullResults.size() < MAX_SHARED_RESULTS) {
+                optionalNullResults.putIfAbsent(fieldName, result);
+            }
+        }
+        return result;
+    }
+    
     /**
      * Valida string opcional.
      * 
@@ -92,8 +137,7 @@ public class StringValidationHandler extends AbstractValidationHandler implement
     private ValidationResult validateStringOptional(Object value, String fieldName) {
         // Se o valor é nulo, é válido (opcional)
         if (ValidationUtils.isNull(value)) {
-            return success(String.format("Campo '%s' é opcional e está nulo", fieldName), 
-                          fieldName, null);
+            return optionalNullResult(fieldName);
         }
         
         try {
@@ -113,8 +157,7 @@ public class StringValidationHandler extends AbstractValidationHandler implement
             }
             
             // Validação bem-sucedida - retorna a string trimada
-            return success(String.format("Campo '%s' validado com sucesso", fieldName), 
-                          fieldName, stringValue);
+            return success(validatedMessage(fieldName), fieldName, stringValue);
         } catch (IllegalArgumentException e) {
             return error(e.getMessage(), fieldName);
         }
@@ -149,7 +192,7 @@ public class StringValidationHandler extends AbstractValidationHandler implement
             return error(ErrorMessages.format("Campo '%s' deve ter no máximo %d caracteres", fieldName, maxLength), fieldName);
         }
         
-        return success(ErrorMessages.format("Campo '%s' validado com sucesso", fieldName), fieldName, stringValue);
+        return success(validatedMessage(fieldName), fieldName, stringValue);
     }
     
     @Override
@@ -158,12 +201,24 @@ public class StringValidationHandler extends AbstractValidationHandler implement
             return error(ErrorMessages.format("Campo '%s' é obrigatório", fieldName), fieldName);
         }
         
+        return matchPattern(value, fieldName, patternCache.get(pattern, compilador));
+    }
+    
+    private ValidationResult matchPattern(String value, String fieldName, Pattern pattern) {
         String stringValue = value.trim();
         
-        if (!stringValue.matches(pattern)) {
+        if (!pattern.matcher(stringValue).matches()) {
             return error(ErrorMessages.format("Campo '%s' não corresponde ao padrão esperado", fieldName), fieldName);
         }
         
-        return success(ErrorMessages.format("Campo '%s' validado com sucesso", fieldName), fieldName, stringValue);
+        return success(validatedMessage(fieldName), fieldName, stringValue);
+    }
+    
+    /**
+     * @return Número de padrões no cache, após aplicar os descartes pendentes
+     */
+    long cachedPatternCount() {
+        patternCache.cleanUp();
+        return patternCache.estimatedSize();
     }
 }
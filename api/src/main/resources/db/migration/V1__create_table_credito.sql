@@ -0,0 +1,63 @@
+-- Schema base da tabela credito
+-- Equivale aos scripts database/02_create_table.sql, 05_add_constraints.sql e
+-- 06_create_sequence.sql. Bancos criados por esses scripts recebem esta versão
+-- como baseline (spring.flyway.baseline-on-migrate) e não a executam.
+
+-- Sequence usada pela entidade Credito (allocationSize 50, otimizador pooled)
+CREATE SEQUENCE IF NOT EXISTS credito_id_seq
+    INCREMENT BY 50
+    START WITH 1;
+
+CREATE TABLE IF NOT EXISTS credito (
+    id BIGINT PRIMARY KEY DEFAULT nextval('credito_id_seq'),
+    numero_credito VARCHAR(50) NOT NULL,
+    numero_nfse VARCHAR(50) NOT NULL,
+    data_constituicao DATE NOT NULL,
+    valor_issqn DECIMAL(15, 2) NOT NULL,
+    tipo_credito VARCHAR(50) NOT NULL,
+    simples_nacional BOOLEAN NOT NULL,
+    aliquota DECIMAL(5, 2) NOT NULL,
+    valor_faturado DECIMAL(15, 2) NOT NULL,
+    valor_deducao DECIMAL(15, 2) NOT NULL,
+    base_calculo DECIMAL(15, 2) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_credito_numero_credito UNIQUE (numero_credito),
+    CONSTRAINT uk_credito_composto UNIQUE (numero_credito, numero_nfse, data_constituicao, tipo_credito)
+);
+
+ALTER SEQUENCE credito_id_seq OWNED BY credito.id;
+
+COMMENT ON TABLE credito IS 'Tabela para armazenar informações de créditos';
+COMMENT ON COLUMN credito.id IS 'Identificador único do crédito';
+COMMENT ON COLUMN credito.numero_credito IS 'Número do crédito';
+COMMENT ON COLUMN credito.numero_nfse IS 'Número da NFSe';
+COMMENT ON COLUMN credito.data_constituicao IS 'Data de constituição do crédito';
+COMMENT ON COLUMN credito.valor_issqn IS 'Valor do ISSQN';
+COMMENT ON COLUMN credito.tipo_credito IS 'Tipo do crédito (ISSQN, Outros, etc.)';
+COMMENT ON COLUMN credito.simples_nacional IS 'Indica se é do Simples Nacional';
+COMMENT ON COLUMN credito.aliquota IS 'Alíquota aplicada';
+COMMENT ON COLUMN credito.valor_faturado IS 'Valor faturado';
+COMMENT ON COLUMN credito.valor_deducao IS 'Valor da dedução';
+COMMENT ON COLUMN credito.base_calculo IS 'Base de cálculo';
+
+-- Índices de coluna única do schema original
+CREATE INDEX IF NOT EXISTS idx_credito_numero_credito ON credito(numero_credito);
+CREATE INDEX IF NOT EXISTS idx_credito_numero_nfse ON credito(numero_nfse);
+CREATE INDEX IF NOT EXISTS idx_credito_data_constituicao ON credito(data_constituicao);
+CREATE INDEX IF NOT EXISTS idx_credito_tipo_credito ON credito(tipo_credito);
+
+-- Atualização automática do campo updated_at
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS update_credito_updated_at ON credito;
+CREATE TRIGGER update_credito_updated_at
+    BEFORE UPDATE ON credito
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
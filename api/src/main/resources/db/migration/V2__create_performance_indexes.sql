@@ -0,0 +1,31 @@
+-- Índices compostos/cobrindo para as consultas da API
+--
+-- CONCURRENTLY evita bloquear escritas durante a criação em tabelas grandes;
+-- por isso esta migração roda fora de transação (o Flyway detecta o comando,
+-- e spring.flyway.postgresql.transactional-lock=false evita que o lock do próprio
+-- Flyway a bloqueie) e todos os comandos dela precisam ser compatíveis com esse modo.
+--
+-- Um CREATE INDEX CONCURRENTLY interrompido deixa o índice INVALID com o nome final,
+-- e IF NOT EXISTS o manteria. Cada índice é removido antes de ser criado, para que
+-- executar a migração de novo (após flyway repair) reconstrua um índice válido.
+
+-- Listagem por NFS-e (paginada, slice e keyset): filtro por numero_nfse,
+-- ordenação padrão data_constituicao DESC com id como desempate do keyset.
+-- O INCLUDE traz as demais colunas da entidade, então a página e o COUNT(*)
+-- são respondidos por Index Only Scan, sem Sort e sem acesso ao heap.
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_nfse_data_constituicao;
+CREATE INDEX CONCURRENTLY idx_credito_nfse_data_constituicao
+    ON credito (numero_nfse, data_constituicao DESC, id)
+    INCLUDE (numero_credito, valor_issqn, tipo_credito, simples_nacional,
+             aliquota, valor_faturado, valor_deducao, base_calculo);
+
+-- Filtros por tipo de crédito e Simples Nacional (sem NFS-e informada)
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_tipo_simples_nacional;
+CREATE INDEX CONCURRENTLY idx_credito_tipo_simples_nacional
+    ON credito (tipo_credito, simples_nacional, id);
+
+-- Redundantes: numero_nfse é prefixo do índice composto acima, tipo_credito
+-- do índice de filtros, e numero_credito já é indexado por uk_credito_numero_credito
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_numero_nfse;
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_tipo_credito;
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_numero_credito;
@@ -0,0 +1,18 @@
+-- Credito passou a mapear created_at/updated_at: sem essas colunas no INCLUDE,
+-- as páginas por NFS-e voltariam a ler o heap. O índice também passa a responder
+-- a versão da NFS-e (MAX(updated_at) + COUNT(*)) usada no ETag por Index Only Scan.
+--
+-- Um índice não pode ser alterado para incluir colunas: cria-se o novo ao lado
+-- (CONCURRENTLY, fora de transação como a V2), remove-se o antigo e o novo
+-- assume o nome original. Como na V2, o novo índice é removido antes de ser
+-- criado, para não aproveitar um índice INVALID de uma execução interrompida.
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_nfse_data_constituicao_v3;
+CREATE INDEX CONCURRENTLY idx_credito_nfse_data_constituicao_v3
+    ON credito (numero_nfse, data_constituicao DESC, id)
+    INCLUDE (numero_credito, valor_issqn, tipo_credito, simples_nacional,
+             aliquota, valor_faturado, valor_deducao, base_calculo,
+             created_at, updated_at);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_credito_nfse_data_constituicao;
+
+ALTER INDEX idx_credito_nfse_data_constituicao_v3 RENAME TO idx_credito_nfse_data_constituicao;
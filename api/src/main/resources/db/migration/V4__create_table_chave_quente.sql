@@ -0,0 +1,16 @@
+-- Chaves mais acessadas dos caches em memória, registradas periodicamente pela
+-- aplicação e usadas para aquecer os caches na inicialização.
+-- Cada tipo guarda apenas o registro mais recente, em ordem de posição.
+
+CREATE TABLE IF NOT EXISTS chave_quente (
+    tipo VARCHAR(20) NOT NULL,
+    posicao INTEGER NOT NULL,
+    chave VARCHAR(50) NOT NULL,
+    registrado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_chave_quente PRIMARY KEY (tipo, posicao)
+);
+
+COMMENT ON TABLE chave_quente IS 'Chaves mais acessadas dos caches, usadas no aquecimento';
+COMMENT ON COLUMN chave_quente.tipo IS 'Tipo da chave (CREDITO ou NFSE)';
+COMMENT ON COLUMN chave_quente.posicao IS 'Posição no ranking de acessos (0 = mais acessada)';
+COMMENT ON COLUMN chave_quente.chave IS 'Número do crédito ou da NFS-e';
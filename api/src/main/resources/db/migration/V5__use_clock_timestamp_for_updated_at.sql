@@ -0,0 +1,13 @@
+-- A versão das listas por NFS-e (ETag) é o MAX(updated_at) dos créditos. CURRENT_TIMESTAMP
+-- é o início da transação: uma transação longa gravaria um updated_at anterior ao de
+-- alterações que já foram confirmadas e lidas por clientes, que receberiam 304 com a
+-- lista antiga. clock_timestamp() é o instante da própria escrita da linha.
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = clock_timestamp();
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+ALTER TABLE credito ALTER COLUMN updated_at SET DEFAULT clock_timestamp();
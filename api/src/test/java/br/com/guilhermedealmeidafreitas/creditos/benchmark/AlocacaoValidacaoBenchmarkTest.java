@@ -0,0 +1,103 @@
+package br.com.guilhermedealmeidafreitas.creditos.benchmark;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
+import br.com.guilhermedealmeidafreitas.creditos.constants.ValidationConstants;
+import br.com.guilhermedealmeidafreitas.creditos.factory.PageableFactory;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRequest;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.NumberValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.PageableValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de alocação por validação: bytes alocados pela thread durante um milhão de
+ * chamadas, medidos com {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}
+ * (o mesmo contador de TLAB que o {@code -prof gc} do JMH lê).
+ *
+ * Os caminhos rápidos da {@link ValidationChain} (inteiros, paginação da primeira página e
+ * string opcional nula) devem terminar sem lixo: o total medido no laço tem de ficar abaixo
+ * de {@link #TOLERANCIA_BYTES}, folga para a própria medição, independente do número de chamadas.
+ * O caminho genérico com {@link ValidationRequest} é medido só para comparação.
+ *
+ * Executado apenas sob demanda, com o JIT em modo servidor (sem -Xint):
+ * mvn test -Dtest=AlocacaoValidacaoBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AlocacaoValidacaoBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlocacaoValidacaoBenchmarkTest.class);
+
+    private static final int AQUECIMENTO = 200_000;
+    private static final int CHAMADAS = 1_000_000;
+    private static final long TOLERANCIA_BYTES = 4 * 1024;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ValidationChain validationChain;
+
+    // Evita que o JIT descarte as chamadas medidas
+    private long sumidouro;
+
+    @BeforeEach
+    void setUp() {
+        ValidationConfig validationConfig = new ValidationConfig();
+        ValidationConstants validationConstants = new ValidationConstants(validationConfig);
+        PageableFactory pageableFactory = new PageableFactory(validationConstants);
+        validationChain = new ValidationChain(List.of(
+            new StringValidationHandler(validationConfig, new SimpleMeterRegistry()),
+            new NumberValidationHandler(),
+            new PageableValidationHandler(pageableFactory, validationConstants)
+        ));
+    }
+
+    @Test
+    void caminhosRapidos_NaoDevemAlocar() {
+        long pageable = bytesAlocados(() -> validationChain.validateAndCreatePageable(0, 10, "id", "ASC"));
+        long positivo = bytesAlocados(() -> validationChain.validatePositiveNumber(42, "quantidade"));
+        long intervalo = bytesAlocados(() -> validationChain.validateNumberRange(42, "percentual", 1, 100));
+        long opcionalNulo = bytesAlocados(() -> validationChain.validateStringOptional(null, "optionalString"));
+
+        long pageableGenerico = bytesAlocados(() -> validationChain.validate(new ValidationRequest(
+            ValidationType.PAGEABLE, null, "pageable",
+            Map.of("page", 0, "size", 10, "sortBy", "id", "sortDirection", "ASC"))));
+
+        log.info("PAGEABLE: {} B em {} chamadas (genérico: {} B)", pageable, CHAMADAS, pageableGenerico);
+        log.info("NUMBER_POSITIVE: {} B | NUMBER_RANGE: {} B | STRING_OPTIONAL nulo: {} B",
+            positivo, intervalo, opcionalNulo);
+        log.info("Sumidouro: {}", sumidouro);
+
+        assertThat(pageable).isLessThan(TOLERANCIA_BYTES);
+        assertThat(positivo).isLessThan(TOLERANCIA_BYTES);
+        assertThat(intervalo).isLessThan(TOLERANCIA_BYTES);
+        assertThat(opcionalNulo).isLessThan(TOLERANCIA_BYTES);
+    }
+
+    private long bytesAlocados(Supplier<ValidationResult> validacao) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            sumidouro += validacao.get().isValid() ? 1 : 0;
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < CHAMADAS; i++) {
+            sumidouro += validacao.get().isValid() ? 1 : 0;
+        }
+        return threads.getThreadAllocatedBytes(threadId) - antes;
+    }
+}
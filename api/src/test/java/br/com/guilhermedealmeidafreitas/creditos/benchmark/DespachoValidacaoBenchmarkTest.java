@@ -0,0 +1,208 @@
+package br.com.guilhermedealmeidafreitas.creditos.benchmark;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
+import br.com.guilhermedealmeidafreitas.creditos.constants.ValidationConstants;
+import br.com.guilhermedealmeidafreitas.creditos.factory.PageableFactory;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.AbstractValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRequest;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.NumberValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.PageableValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark do custo por chamada de uma validação PAGEABLE conforme cresce o número de
+ * handlers à frente dela: percurso da cadeia desde o primeiro handler contra a entrada
+ * direta pela tabela de despacho do {@link ValidationChain}.
+ *
+ * O projeto não tem JMH como dependência; o benchmark reproduz o que importa dele aqui.
+ * Cada combinação de handlers e variante roda em {@code benchmark.forks} JVMs próprias,
+ * para que o perfil do JIT de uma não contamine a outra, com {@code benchmark.aquecimento}
+ * rodadas de aquecimento descartadas e {@code benchmark.medicoes} rodadas medidas.
+ * O resultado é a mediana das medianas de cada JVM.
+ *
+ * Executado apenas sob demanda:
+ * mvn test -Dtest=DespachoValidacaoBenchmarkTest -Dbenchmark=true [-Dbenchmark.forks=3]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DespachoValidacaoBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachoValidacaoBenchmarkTest.class);
+
+    private static final int[] HANDLERS_EXTRAS = {0, 10, 30, 100};
+    private static final int CHAMADAS_POR_MEDICAO = 100_000;
+
+    private static final int FORKS = Integer.getInteger("benchmark.forks", 3);
+    private static final int AQUECIMENTO = Integer.getInteger("benchmark.aquecimento", 10);
+    private static final int MEDICOES = Integer.getInteger("benchmark.medicoes", 21);
+
+    private static final String PERCURSO = "percurso";
+    private static final String DESPACHO = "despacho";
+    private static final String PREFIXO_RESULTADO = "RESULTADO ";
+
+    private static final ValidationRequest REQUISICAO = new ValidationRequest(
+        ValidationType.PAGEABLE, null, "pageable",
+        Map.of("page", 0, "size", 10, "sortBy", "id", "sortDirection", "ASC"));
+
+    @Test
+    void despacho_DeveManterCustoConstanteComMaisHandlers() throws Exception {
+        double percursoMaior = 0;
+        double despachoMaior = 0;
+
+        for (int extras : HANDLERS_EXTRAS) {
+            double percurso = medianaEmForks(extras, PERCURSO);
+            double despacho = medianaEmForks(extras, DESPACHO);
+
+            log.info("PAGEABLE com {} handlers à frente: percurso da cadeia {} ns/chamada | despacho {} ns/chamada",
+                     extras + 2, percurso, despacho);
+
+            percursoMaior = percurso;
+            despachoMaior = despacho;
+        }
+
+        assertThat(despachoMaior).isLessThanOrEqualTo(percursoMaior);
+    }
+
+    private static double medianaEmForks(int extras, String variante) throws IOException, InterruptedException {
+        double[] medianas = new double[FORKS];
+        for (int fork = 0; fork < FORKS; fork++) {
+            medianas[fork] = executarFork(extras, variante);
+        }
+        Arrays.sort(medianas);
+        return medianas[FORKS / 2];
+    }
+
+    /**
+     * Executa {@link Medicao} numa JVM nova com o mesmo classpath dos testes.
+     *
+     * @return Mediana de ns por chamada medida na JVM filha
+     */
+    private static double executarFork(int extras, String variante) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process processo = new ProcessBuilder(
+                java, "-cp", System.getProperty("java.class.path"),
+                Medicao.class.getName(),
+                Integer.toString(extras), variante,
+                Integer.toString(AQUECIMENTO), Integer.toString(MEDICOES))
+            .redirectErrorStream(true)
+            .start();
+
+        String resultado = null;
+        try (BufferedReader saida = new BufferedReader(
+                new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = saida.readLine()) != null) {
+                if (linha.startsWith(PREFIXO_RESULTADO)) {
+                    resultado = linha.substring(PREFIXO_RESULTADO.length());
+                }
+            }
+        }
+
+        assertThat(processo.waitFor()).as("código de saída da JVM de medição").isZero();
+        assertThat(resultado).as("resultado da JVM de medição").isNotNull();
+        return Double.parseDouble(resultado);
+    }
+
+    /**
+     * Ponto de entrada da JVM filha: mede uma variante com um número de handlers extras.
+     */
+    static final class Medicao {
+
+        // Evita que o JIT descarte as chamadas medidas
+        private static long sumidouro;
+
+        public static void main(String[] args) {
+            int extras = Integer.parseInt(args[0]);
+            String variante = args[1];
+            int aquecimento = Integer.parseInt(args[2]);
+            int medicoes = Integer.parseInt(args[3]);
+
+            Supplier<ValidationResult> validacao;
+            List<ValidationHandler> handlers = handlers(extras);
+            if (PERCURSO.equals(variante)) {
+                ValidationHandler primeiro = handlers.stream()
+                    .min(Comparator.comparingInt(ValidationHandler::getPriority))
+                    .orElseThrow();
+                validacao = () -> primeiro.handle(REQUISICAO);
+            } else {
+                ValidationChain chain = new ValidationChain(handlers);
+                validacao = () -> chain.validate(REQUISICAO);
+            }
+
+            for (int i = 0; i < aquecimento; i++) {
+                executar(validacao);
+            }
+
+            double[] tempos = new double[medicoes];
+            for (int i = 0; i < medicoes; i++) {
+                long inicio = System.nanoTime();
+                executar(validacao);
+                tempos[i] = (System.nanoTime() - inicio) / (double) CHAMADAS_POR_MEDICAO;
+            }
+            Arrays.sort(tempos);
+
+            System.out.println("Sumidouro: " + sumidouro);
+            System.out.println(PREFIXO_RESULTADO + tempos[medicoes / 2]);
+        }
+
+        private static void executar(Supplier<ValidationResult> validacao) {
+            for (int i = 0; i < CHAMADAS_POR_MEDICAO; i++) {
+                sumidouro += validacao.get().isValid() ? 1 : 0;
+            }
+        }
+    }
+
+    /**
+     * Handlers reais mais {@code extras} handlers de prioridade maior que a do pageable,
+     * que só aceitam validações customizadas.
+     */
+    private static List<ValidationHandler> handlers(int extras) {
+        ValidationConfig validationConfig = new ValidationConfig();
+        ValidationConstants validationConstants = new ValidationConstants(validationConfig);
+        PageableFactory pageableFactory = new PageableFactory(validationConstants);
+
+        List<ValidationHandler> handlers = new ArrayList<>();
+        handlers.add(new StringValidationHandler(validationConfig, new SimpleMeterRegistry()));
+        handlers.add(new NumberValidationHandler());
+        handlers.add(new PageableValidationHandler(pageableFactory, validationConstants));
+        for (int i = 0; i < extras; i++) {
+            handlers.add(new CustomValidationHandler("Custom" + i, 150 + i));
+        }
+        return handlers;
+    }
+
+    private static final class CustomValidationHandler extends AbstractValidationHandler {
+
+        CustomValidationHandler(String handlerName, int priority) {
+            super(handlerName, priority, Set.of(ValidationType.CUSTOM));
+        }
+
+        @Override
+        protected ValidationResult doHandle(ValidationRequest request) {
+            return success("Validação customizada", request.getFieldName(), request.getValue());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.guilhermedealmeidafreitas.creditos.benchmark;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark da busca por filtros opcionais: consulta "catch-all" ({@code :param IS NULL OR ...})
+ * contra a Specification que inclui apenas os filtros informados, sobre 1 milhão de linhas.
+ *
+ * Executado apenas sob demanda, pois popula a base e leva alguns minutos:
+ * mvn test -Dtest=FiltrosBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FiltrosBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltrosBenchmarkTest.class);
+
+    private static final int TOTAL_LINHAS = 1_000_000;
+    private static final String NFSE = "NFSE42";
+    private static final int AQUECIMENTO = 5;
+    private static final int MEDICOES = 21;
+
+    private static final String JPQL_CATCH_ALL =
+        "SELECT c FROM Credito c WHERE (:numeroNfse IS NULL OR c.numeroNfse = :numeroNfse) " +
+        "AND (:tipoCredito IS NULL OR c.tipoCredito = :tipoCredito) " +
+        "AND (:simplesNacional IS NULL OR c.simplesNacional = :simplesNacional) " +
+        "ORDER BY c.dataConstituicao DESC";
+
+    private static final String JPQL_CATCH_ALL_CONTAGEM =
+        "SELECT COUNT(c) FROM Credito c WHERE (:numeroNfse IS NULL OR c.numeroNfse = :numeroNfse) " +
+        "AND (:tipoCredito IS NULL OR c.tipoCredito = :tipoCredito) " +
+        "AND (:simplesNacional IS NULL OR c.simplesNacional = :simplesNacional)";
+
+    private static final String SQL_CATCH_ALL =
+        "SELECT id FROM credito WHERE ($1::varchar IS NULL OR numero_nfse = $1) " +
+        "AND ($2::varchar IS NULL OR tipo_credito = $2) " +
+        "AND ($3::boolean IS NULL OR simples_nacional = $3) " +
+        "ORDER BY data_constituicao DESC LIMIT 10";
+
+    private static final String SQL_ESPECIFICA =
+        "SELECT id FROM credito WHERE numero_nfse = $1 ORDER BY data_constituicao DESC LIMIT 10";
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeAll
+    void popularBase() {
+        // 1000 NFS-e distintas, ~1000 linhas cada
+        jdbcTemplate.execute(
+            "INSERT INTO credito (id, numero_credito, numero_nfse, data_constituicao, valor_issqn, tipo_credito, " +
+            "simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo) " +
+            "SELECT nextval('credito_id_seq'), 'BENCH' || g, 'NFSE' || (g % 1000), " +
+            "DATE '2024-01-01' - (g % 3650), 100.00, CASE WHEN g % 2 = 0 THEN 'ISSQN' ELSE 'Outros' END, " +
+            "g % 3 = 0, 5.00, 2000.00, 0.00, 2000.00 " +
+            "FROM generate_series(1, " + TOTAL_LINHAS + ") AS g");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bench_nfse_data ON credito (numero_nfse, data_constituicao DESC)");
+        jdbcTemplate.execute("ANALYZE credito");
+    }
+
+    @Test
+    void specification_DeveSerMaisRapidaQueConsultaCatchAll() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao"));
+
+        double catchAll = medianaMs(() -> paginaCatchAll(NFSE, null, null, pageable));
+        double specification = medianaMs(() -> creditoRepository.findAll(
+            CreditoSpecifications.comFiltros(NFSE, null, null), pageable));
+
+        log.info("Filtro só por NFS-e em {} linhas: catch-all mediana {} ms | specification mediana {} ms",
+                 TOTAL_LINHAS, catchAll, specification);
+
+        assertThat(specification).isLessThanOrEqualTo(catchAll);
+    }
+
+    @Test
+    void planoGenerico_CatchAllNaoUsaIndice_EspecificaUsa() {
+        // Força plano genérico, como o driver passa a usar após cinco execuções do mesmo statement preparado
+        String planoCatchAll = explicarPlanoGenerico(SQL_CATCH_ALL, "(varchar, varchar, boolean)", "'" + NFSE + "', NULL, NULL");
+        String planoEspecifico = explicarPlanoGenerico(SQL_ESPECIFICA, "(varchar)", "'" + NFSE + "'");
+
+        log.info("Plano catch-all:\n{}", planoCatchAll);
+        log.info("Plano específico:\n{}", planoEspecifico);
+
+        assertThat(planoCatchAll).doesNotContain("idx_bench_nfse_data");
+        assertThat(planoEspecifico).contains("idx_bench_nfse_data");
+    }
+
+    /**
+     * Página e contagem pela consulta catch-all, como o Page da Specification.
+     */
+    private Page<Credito> paginaCatchAll(String numeroNfse, String tipoCredito, Boolean simplesNacional,
+                                         Pageable pageable) {
+        List<Credito> conteudo = entityManager.createQuery(JPQL_CATCH_ALL, Credito.class)
+            .setParameter("numeroNfse", numeroNfse)
+            .setParameter("tipoCredito", tipoCredito)
+            .setParameter("simplesNacional", simplesNacional)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+        long total = entityManager.createQuery(JPQL_CATCH_ALL_CONTAGEM, Long.class)
+            .setParameter("numeroNfse", numeroNfse)
+            .setParameter("tipoCredito", tipoCredito)
+            .setParameter("simplesNacional", simplesNacional)
+            .getSingleResult();
+        return new PageImpl<>(conteudo, pageable, total);
+    }
+
+    private String explicarPlanoGenerico(String sql, String tipos, String argumentos) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE consulta_bench " + tipos + " AS " + sql);
+                StringBuilder plano = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE consulta_bench(" + argumentos + ")")) {
+                    while (rs.next()) {
+                        plano.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("DEALLOCATE consulta_bench");
+                statement.execute("RESET plan_cache_mode");
+                return plano.toString();
+            }
+        });
+    }
+
+    private double medianaMs(Runnable consulta) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            consulta.run();
+        }
+
+        double[] tempos = new double[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            consulta.run();
+            tempos[i] = (System.nanoTime() - inicio) / 1_000_000.0;
+        }
+        Arrays.sort(tempos);
+
+        return tempos[MEDICOES / 2];
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.guilhermedealmeidafreitas.creditos.benchmark;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de saveAll com 100 mil créditos, com e sem batching JDBC.
+ *
+ * O modo sem lote força o tamanho de lote da sessão para 1, reproduzindo o
+ * comportamento de um INSERT por linha que a geração por IDENTITY impunha.
+ * Executado apenas sob demanda:
+ * mvn test -Dtest=InsercaoEmLoteBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsercaoEmLoteBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InsercaoEmLoteBenchmarkTest.class);
+
+    private static final int TOTAL_LINHAS = 100_000;
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void saveAllEmLote_DeveExecutarMenosStatementsQueInsercaoLinhaALinha() {
+        Medicao semLote = medir("SEMLOTE", 1);
+        Medicao emLote = medir("EMLOTE", null);
+
+        log.info("saveAll de {} créditos: sem lote {} statements, {} linhas/s | em lote {} statements, {} linhas/s",
+                 TOTAL_LINHAS, semLote.statements(), semLote.linhasPorSegundo(),
+                 emLote.statements(), emLote.linhasPorSegundo());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM credito", Long.class))
+            .isEqualTo(2L * TOTAL_LINHAS);
+        assertThat(emLote.statements()).isLessThan(semLote.statements() / 10);
+    }
+
+    /**
+     * Persiste TOTAL_LINHAS créditos em uma transação.
+     *
+     * @param prefixo Prefixo do número de crédito, para manter a unicidade entre as execuções
+     * @param tamanhoLote Tamanho de lote da sessão, ou nulo para usar o configurado na aplicação
+     */
+    private Medicao medir(String prefixo, Integer tamanhoLote) {
+        List<Credito> creditos = new ArrayList<>(TOTAL_LINHAS);
+        for (int i = 0; i < TOTAL_LINHAS; i++) {
+            creditos.add(new Credito(
+                prefixo + i, "NFSE" + (i % 1000), LocalDate.of(2024, 1, 1).minusDays(i % 365),
+                new BigDecimal("100.00"), "ISSQN", i % 2 == 0, new BigDecimal("5.00"),
+                new BigDecimal("2000.00"), BigDecimal.ZERO, new BigDecimal("2000.00")));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long inicio = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+            creditoRepository.saveAll(creditos);
+        });
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        return new Medicao(statistics.getPrepareStatementCount(), Math.round(TOTAL_LINHAS / segundos));
+    }
+
+    private record Medicao(long statements, long linhasPorSegundo) {}
+}
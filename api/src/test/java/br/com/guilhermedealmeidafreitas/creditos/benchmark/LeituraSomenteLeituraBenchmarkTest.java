@@ -0,0 +1,137 @@
+package br.com.guilhermedealmeidafreitas.creditos.benchmark;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de alocação por requisição: consulta por NFS-e com entidades gerenciadas
+ * (snapshot para dirty checking + flush no commit) versus o caminho somente leitura do serviço
+ * e versus a projeção por construtor da busca por filtros (CreditoLeitura, sem entidades).
+ *
+ * Executado apenas sob demanda:
+ * mvn test -Dtest=LeituraSomenteLeituraBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LeituraSomenteLeituraBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LeituraSomenteLeituraBenchmarkTest.class);
+
+    private static final String NFSE = "NFSE_LEITURA";
+    private static final int LINHAS_POR_NFSE = 5_000;
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 51;
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CreditoService creditoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeAll
+    void popularBase() {
+        jdbcTemplate.execute(
+            "INSERT INTO credito (id, numero_credito, numero_nfse, data_constituicao, valor_issqn, tipo_credito, " +
+            "simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo) " +
+            "SELECT nextval('credito_id_seq'), 'LEITURA' || g, '" + NFSE + "', DATE '2024-01-01' - (g % 365), 100.00, 'ISSQN', " +
+            "g % 2 = 0, 5.00, 2000.00, 0.00, 2000.00 FROM generate_series(1, " + LINHAS_POR_NFSE + ") AS g");
+    }
+
+    @Test
+    void consultaSomenteLeitura_DeveAlocarMenosQueEntidadesGerenciadas() {
+        // Mesma consulta, em transação de escrita e sem hint: entidades gerenciadas com snapshot
+        Medicao gerenciada = medir(() -> transactionTemplate.execute(status -> entityManager
+            .createQuery("SELECT c FROM Credito c WHERE c.numeroNfse = :numeroNfse", Credito.class)
+            .setParameter("numeroNfse", NFSE)
+            .getResultList()));
+        Medicao somenteLeitura = medir(() -> creditoService.buscarCreditosPorNfse(NFSE));
+        // Página maior que o resultado: a contagem não é executada
+        Medicao projecao = medir(() -> creditoService.buscarCreditosComFiltros(
+            NFSE, null, null, PageRequest.of(0, LINHAS_POR_NFSE + 1)).getContent());
+
+        log.info("{} créditos por requisição: gerenciada {} KB alocados, mediana {} ms | somente leitura {} KB alocados, " +
+                 "mediana {} ms | projeção {} KB alocados, mediana {} ms",
+                 LINHAS_POR_NFSE,
+                 gerenciada.bytesAlocados() / 1024, gerenciada.medianaMs(),
+                 somenteLeitura.bytesAlocados() / 1024, somenteLeitura.medianaMs(),
+                 projecao.bytesAlocados() / 1024, projecao.medianaMs());
+
+        assertThat(somenteLeitura.bytesAlocados()).isLessThan(gerenciada.bytesAlocados());
+        assertThat(projecao.bytesAlocados()).isLessThan(somenteLeitura.bytesAlocados());
+    }
+
+    private Medicao medir(Supplier<List<?>> consulta) {
+        com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            consulta.get();
+        }
+
+        long[] bytes = new long[MEDICOES];
+        double[] tempos = new double[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long alocadoAntes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long inicio = System.nanoTime();
+            assertThat(consulta.get()).hasSize(LINHAS_POR_NFSE);
+            tempos[i] = (System.nanoTime() - inicio) / 1_000_000.0;
+            bytes[i] = threadMXBean.getThreadAllocatedBytes(threadId) - alocadoAntes;
+        }
+        Arrays.sort(bytes);
+        Arrays.sort(tempos);
+
+        return new Medicao(bytes[MEDICOES / 2], tempos[MEDICOES / 2]);
+    }
+
+    private record Medicao(long bytesAlocados, double medianaMs) {}
+}
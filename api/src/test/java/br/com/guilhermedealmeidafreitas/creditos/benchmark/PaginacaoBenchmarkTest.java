@@ -0,0 +1,130 @@
+package br.com.guilhermedealmeidafreitas.creditos.benchmark;
+
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de paginação com e sem consulta de contagem sobre uma tabela de 1 milhão de linhas.
+ *
+ * Executado apenas sob demanda, pois popula a base e leva alguns minutos:
+ * mvn test -Dtest=PaginacaoBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PaginacaoBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaginacaoBenchmarkTest.class);
+
+    private static final int TOTAL_LINHAS = 1_000_000;
+    private static final String NFSE = "NFSE_BENCHMARK";
+    private static final int AQUECIMENTO = 5;
+    private static final int MEDICOES = 21;
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private CreditoService creditoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void popularBase() {
+        // Metade das linhas na NFS-e consultada, metade espalhada em outras NFS-e
+        jdbcTemplate.execute(
+            "INSERT INTO credito (id, numero_credito, numero_nfse, data_constituicao, valor_issqn, tipo_credito, " +
+            "simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo) " +
+            "SELECT nextval('credito_id_seq'), 'BENCH' || g, CASE WHEN g % 2 = 0 THEN '" + NFSE + "' ELSE 'NFSE' || (g % 1000) END, " +
+            "DATE '2024-01-01' - (g % 3650), 100.00, 'ISSQN', g % 3 = 0, 5.00, 2000.00, 0.00, 2000.00 " +
+            "FROM generate_series(1, " + TOTAL_LINHAS + ") AS g");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bench_numero_nfse ON credito (numero_nfse)");
+        jdbcTemplate.execute("ANALYZE credito");
+    }
+
+    @Test
+    void paginacaoSemTotal_DeveExecutarUmaConsultaPorPagina() {
+        Pageable primeiraPagina = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao"));
+        Pageable paginaProfunda = PageRequest.of(5_000, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao"));
+
+        for (Pageable pageable : new Pageable[] {primeiraPagina, paginaProfunda}) {
+            Medicao comTotal = medir(() -> creditoService.buscarCreditosPorNfseComPaginacao(NFSE, pageable));
+            Medicao semTotal = medir(() -> creditoService.buscarCreditosPorNfseComPaginacaoSemTotal(NFSE, pageable));
+
+            log.info("Página {} de {} linhas: withTotal=true {} consultas, mediana {} ms | withTotal=false {} consultas, mediana {} ms",
+                     pageable.getPageNumber(), TOTAL_LINHAS,
+                     comTotal.consultas(), comTotal.medianaMs(), semTotal.consultas(), semTotal.medianaMs());
+
+            assertThat(comTotal.consultas()).isEqualTo(2);
+            assertThat(semTotal.consultas()).isEqualTo(1);
+        }
+    }
+
+    private Medicao medir(Supplier<PaginatedCreditoResponse> consulta) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            consulta.get();
+        }
+
+        statistics.clear();
+        consulta.get();
+        long consultas = statistics.getPrepareStatementCount();
+
+        double[] tempos = new double[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            consulta.get();
+            tempos[i] = (System.nanoTime() - inicio) / 1_000_000.0;
+        }
+        Arrays.sort(tempos);
+
+        return new Medicao(consultas, tempos[MEDICOES / 2]);
+    }
+
+    private record Medicao(long consultas, double medianaMs) {}
+}
@@ -0,0 +1,49 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AquecimentoCacheHealthIndicatorTest {
+
+    @Mock
+    private AquecimentoCache aquecimentoCache;
+
+    @InjectMocks
+    private AquecimentoCacheHealthIndicator healthIndicator;
+
+    @Test
+    void health_AquecimentoEmAndamento_DeveFicarForaDeServico() {
+        // Given
+        when(aquecimentoCache.isPronto()).thenReturn(false);
+        when(aquecimentoCache.getTotalInicial()).thenReturn(100);
+        when(aquecimentoCache.getProcessadasInicial()).thenReturn(40);
+
+        // When
+        Health health = healthIndicator.health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("chaves", 100).containsEntry("processadas", 40);
+    }
+
+    @Test
+    void health_AquecimentoPronto_DeveFicarUp() {
+        // Given
+        when(aquecimentoCache.isPronto()).thenReturn(true);
+
+        // When
+        Health health = healthIndicator.health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
+import br.com.guilhermedealmeidafreitas.creditos.service.ValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AquecimentoCacheTest {
+
+    @Mock
+    private CreditoCache creditoCache;
+
+    @Mock
+    private NfsePaginaCache nfsePaginaCache;
+
+    @Mock
+    private DetectorChavesQuentes detectorChavesQuentes;
+
+    @Mock
+    private ChavesQuentes chavesQuentes;
+
+    @Mock
+    private CreditoService creditoService;
+
+    @Mock
+    private ValidationService validationService;
+
+    private CacheConfig cacheConfig;
+    private AquecimentoCache aquecimentoCache;
+    private Pageable pagina;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        aquecimentoCache = new AquecimentoCache(
+            cacheConfig, creditoCache, nfsePaginaCache, detectorChavesQuentes, chavesQuentes, creditoService,
+            validationService);
+        pagina = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao"));
+    }
+
+    @Test
+    void aquecer_DeveCarregarCreditosEPrimeiraPaginaDasNfse() {
+        // Given
+        AquecimentoCache.Progresso progresso = new AquecimentoCache.Progresso();
+        when(chavesQuentes.listar(ChavesQuentes.Tipo.CREDITO, 500)).thenReturn(List.of("123456", "789012"));
+        when(chavesQuentes.listar(ChavesQuentes.Tipo.NFSE, 500)).thenReturn(List.of("7891011"));
+        when(validationService.validateAndCreatePageable(0, 10, "dataConstituicao", "desc")).thenReturn(pagina);
+
+        // When
+        aquecimentoCache.aquecer(progresso);
+
+        // Then
+        verify(creditoService).buscarCreditoPorNumero("123456");
+        verify(creditoService).buscarCreditoPorNumero("789012");
+        verify(creditoService).buscarCreditosPorNfseComPaginacao("7891011", pagina);
+        assertThat(progresso.fracaoProcessada()).isEqualTo(1.0);
+    }
+
+    @Test
+    void aquecer_FalhaEmUmaChave_NaoDeveInterromperAsDemais() {
+        // Given
+        AquecimentoCache.Progresso progresso = new AquecimentoCache.Progresso();
+        when(chavesQuentes.listar(ChavesQuentes.Tipo.CREDITO, 500)).thenReturn(List.of("123456", "789012"));
+        when(chavesQuentes.listar(ChavesQuentes.Tipo.NFSE, 500)).thenReturn(List.of());
+        when(validationService.validateAndCreatePageable(0, 10, "dataConstituicao", "desc")).thenReturn(pagina);
+        when(creditoService.buscarCreditoPorNumero("123456")).thenThrow(new IllegalStateException("falha"));
+
+        // When
+        aquecimentoCache.aquecer(progresso);
+
+        // Then
+        verify(creditoService).buscarCreditoPorNumero("789012");
+        assertThat(progresso.fracaoProcessada()).isEqualTo(1.0);
+    }
+
+    @Test
+    void aquecer_SemTabelaDeChaves_DeveConcluirSemAquecer() {
+        // Given
+        AquecimentoCache.Progresso progresso = new AquecimentoCache.Progresso();
+        when(chavesQuentes.listar(ChavesQuentes.Tipo.CREDITO, 500))
+            .thenThrow(new DataAccessResourceFailureException("indisponível"));
+
+        // When
+        aquecimentoCache.aquecer(progresso);
+
+        // Then
+        verify(creditoService, never()).buscarCreditoPorNumero(anyString());
+    }
+
+    @Test
+    void registrarChavesQuentes_DeveSubstituirApenasTiposComChaves() {
+        // Given
+        when(creditoCache.maisAcessados(500)).thenReturn(List.of("123456"));
+        when(nfsePaginaCache.nfsesMaisAcessadas(500)).thenReturn(List.of());
+
+        // When
+        aquecimentoCache.registrarChavesQuentes();
+
+        // Then
+        verify(chavesQuentes).substituir(ChavesQuentes.Tipo.CREDITO, List.of("123456"));
+        verify(chavesQuentes, never()).substituir(ChavesQuentes.Tipo.NFSE, List.of());
+    }
+
+    @Test
+    void registrarChavesQuentes_DevePriorizarChavesDoDetectorECompletarComAsDoCache() {
+        // Given
+        cacheConfig.getAquecimento().setMaxKeys(3);
+        when(detectorChavesQuentes.maisQuentes(ChavesQuentes.Tipo.CREDITO, 3)).thenReturn(List.of(
+            new DetectorChavesQuentes.ChaveQuente("789012", 40), new DetectorChavesQuentes.ChaveQuente("123456", 12)));
+        when(creditoCache.maisAcessados(3)).thenReturn(List.of("123456", "345678", "901234"));
+        when(nfsePaginaCache.nfsesMaisAcessadas(3)).thenReturn(List.of());
+
+        // When
+        aquecimentoCache.registrarChavesQuentes();
+
+        // Then
+        verify(chavesQuentes).substituir(ChavesQuentes.Tipo.CREDITO, List.of("789012", "123456", "345678"));
+    }
+
+    @Test
+    void isPronto_AntesDaInicializacao_DeveSerFalso() {
+        assertThat(aquecimentoCache.isPronto()).isFalse();
+    }
+
+    @Test
+    void isPronto_Desabilitado_DeveSerVerdadeiro() {
+        // Given
+        cacheConfig.getAquecimento().setEnabled(false);
+
+        // Then
+        assertThat(aquecimentoCache.isPronto()).isTrue();
+    }
+
+    @Test
+    void isPronto_AposTempoMaximo_DeveSerVerdadeiroMesmoSemAquecer() {
+        // Given: limite de tempo já esgotado ao iniciar
+        cacheConfig.getAquecimento().setMaxDuration(Duration.ZERO);
+
+        // When
+        aquecimentoCache.aoIniciar();
+
+        // Then
+        assertThat(aquecimentoCache.isPronto()).isTrue();
+    }
+}
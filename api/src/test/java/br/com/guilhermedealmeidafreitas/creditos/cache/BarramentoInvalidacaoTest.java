@@ -0,0 +1,161 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.config.LeituraAposEscrita;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BarramentoInvalidacaoTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CreditoCache creditoCache;
+
+    @Mock
+    private CreditoOffHeapCache creditoOffHeapCache;
+
+    @Mock
+    private NfsePaginaCache nfsePaginaCache;
+
+    @Mock
+    private RespostaJsonCache respostaJsonCache;
+
+    @Mock
+    private CreditoNumeroFiltro creditoNumeroFiltro;
+
+    @Mock
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @Mock
+    private LeituraAposEscrita leituraAposEscrita;
+
+    private CacheConfig cacheConfig;
+    private BarramentoInvalidacao barramentoInvalidacao;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        barramentoInvalidacao = new BarramentoInvalidacao(
+            cacheConfig, jdbcTemplate, new DataSourceProperties(), creditoCache, creditoOffHeapCache, nfsePaginaCache, respostaJsonCache,
+            creditoNumeroFiltro, cacheSegundoNivel, leituraAposEscrita);
+    }
+
+    private List<String> payloadsEnviados(int quantidade) {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(quantidade)).query(eq(BarramentoInvalidacao.NOTIFY_SQL),
+            any(RowCallbackHandler.class), eq("credito_invalidacao"), payload.capture());
+        return payload.getAllValues();
+    }
+
+    @Test
+    void publicar_DeveEnviarCreditosENfseNoCanal() {
+        // When
+        barramentoInvalidacao.publicar(List.of("123456"), List.of("7891011"));
+
+        // Then
+        List<String> payloads = payloadsEnviados(2);
+        assertThat(payloads.get(0)).contains("\"creditos\":[\"123456\"]");
+        assertThat(payloads.get(1)).contains("\"nfses\":[\"7891011\"]");
+    }
+
+    @Test
+    void publicar_MuitasChaves_DeveDividirEmVariasNotificacoes() {
+        // Given
+        List<String> numeros = IntStream.range(0, 250).mapToObj(i -> "CR" + i).toList();
+
+        // When
+        barramentoInvalidacao.publicar(numeros, List.of());
+
+        // Then
+        assertThat(payloadsEnviados(3)).allSatisfy(payload -> assertThat(payload.length()).isLessThan(8000));
+    }
+
+    @Test
+    void publicar_Desabilitado_NaoDeveEnviar() {
+        // Given
+        cacheConfig.getInvalidacaoDistribuida().setEnabled(false);
+
+        // When
+        barramentoInvalidacao.publicar(List.of("123456"), List.of("7891011"));
+        barramentoInvalidacao.publicarTodos();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void aplicar_MensagemDeOutraInstancia_DeveInvalidarERegistrarNoFiltro() {
+        // When
+        barramentoInvalidacao.aplicar(
+            "{\"origem\":\"outra\",\"todos\":false,\"creditos\":[\"123456\"],\"nfses\":[\"7891011\"]}");
+
+        // Then
+        verify(creditoNumeroFiltro).adicionar(List.of("123456"));
+        verify(creditoCache).invalidar(List.of("123456"));
+        verify(creditoOffHeapCache).invalidar(List.of("123456"));
+        verify(nfsePaginaCache).invalidar(List.of("7891011"));
+        verify(respostaJsonCache).invalidar(List.of("123456"), List.of("7891011"));
+        verify(cacheSegundoNivel).esvaziar();
+        verify(leituraAposEscrita).registrarEscrita();
+    }
+
+    @Test
+    void aplicar_MensagemTodos_DeveEsvaziarCachesERecarregarFiltro() {
+        // When
+        barramentoInvalidacao.aplicar("{\"origem\":\"outra\",\"todos\":true,\"creditos\":[],\"nfses\":[]}");
+
+        // Then
+        verify(creditoCache).invalidarTodos();
+        verify(creditoOffHeapCache).invalidarTodos();
+        verify(nfsePaginaCache).invalidarTodos();
+        verify(respostaJsonCache).invalidarTodos();
+        verify(creditoNumeroFiltro).recarregarEmSegundoPlano();
+        verify(cacheSegundoNivel).esvaziar();
+    }
+
+    @Test
+    void aplicar_MensagemDaPropriaInstancia_DeveSerIgnorada() {
+        // Given
+        barramentoInvalidacao.publicarTodos();
+        String payload = payloadsEnviados(1).get(0);
+
+        // When
+        barramentoInvalidacao.aplicar(payload);
+
+        // Then
+        verify(creditoCache, never()).invalidarTodos();
+        verify(creditoCache, never()).invalidar(anyCollection());
+        verify(leituraAposEscrita, never()).registrarEscrita();
+    }
+
+    @Test
+    void aplicar_PayloadInvalido_DeveSerIgnorado() {
+        // When
+        barramentoInvalidacao.aplicar("não é json");
+
+        // Then
+        verifyNoInteractions(creditoCache, nfsePaginaCache, creditoNumeroFiltro, cacheSegundoNivel);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChavesQuentesEndpointTest {
+
+    private DetectorChavesQuentes detector;
+    private ChavesQuentesEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        detector = new DetectorChavesQuentes(cacheConfig);
+        endpoint = new ChavesQuentesEndpoint(detector, cacheConfig);
+    }
+
+    @Test
+    void chavesQuentes_DeveListarTodosOsTipos() {
+        // Given
+        detector.registrar(ChavesQuentes.Tipo.CREDITO, "123456");
+        detector.registrar(ChavesQuentes.Tipo.NFSE, "7891011");
+
+        // Then
+        assertThat(endpoint.chavesQuentes()).containsOnlyKeys("credito", "nfse");
+        assertThat(endpoint.chavesQuentes().get("credito"))
+            .containsExactly(new DetectorChavesQuentes.ChaveQuente("123456", 1));
+    }
+
+    @Test
+    void chavesQuentesPorTipo_DeveAceitarTipoSemDiferenciarMaiusculas() {
+        // Given
+        detector.registrar(ChavesQuentes.Tipo.NFSE, "7891011");
+
+        // Then
+        assertThat(endpoint.chavesQuentesPorTipo("NFSE"))
+            .containsExactly(new DetectorChavesQuentes.ChaveQuente("7891011", 1));
+        assertThat(endpoint.chavesQuentesPorTipo("desconhecido")).isNull();
+    }
+}
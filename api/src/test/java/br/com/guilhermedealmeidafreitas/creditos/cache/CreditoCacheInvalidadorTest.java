@@ -0,0 +1,161 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.config.LeituraAposEscrita;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CreditoCacheInvalidadorTest {
+
+    @Mock
+    private CreditoCache creditoCache;
+
+    @Mock
+    private CreditoOffHeapCache creditoOffHeapCache;
+
+    @Mock
+    private NfsePaginaCache nfsePaginaCache;
+
+    @Mock
+    private RespostaJsonCache respostaJsonCache;
+
+    @Mock
+    private CreditoNumeroFiltro creditoNumeroFiltro;
+
+    @Mock
+    private BarramentoInvalidacao barramentoInvalidacao;
+
+    @Mock
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @Mock
+    private LeituraAposEscrita leituraAposEscrita;
+
+    private CreditoCacheInvalidador creditoCacheInvalidador;
+
+    @BeforeEach
+    void setUp() {
+        creditoCacheInvalidador = new CreditoCacheInvalidador(
+            creditoCache, creditoOffHeapCache, nfsePaginaCache, respostaJsonCache, creditoNumeroFiltro, barramentoInvalidacao,
+            cacheSegundoNivel, new CacheConfig(), leituraAposEscrita);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Credito credito(String numeroCredito, String numeroNfse) {
+        return new Credito(
+            numeroCredito, numeroNfse, LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+    }
+
+    @Test
+    void invalidarCreditos_DeveInvalidarNumerosEPaginasDasNfse() {
+        // When
+        creditoCacheInvalidador.invalidarCreditos(List.of(
+            credito("123456", "7891011"), credito("789012", "7891011"), credito("345678", "1122334")));
+
+        // Then
+        verify(creditoCache).invalidar(Set.of("123456", "789012", "345678"));
+        verify(creditoOffHeapCache).invalidar(Set.of("123456", "789012", "345678"));
+        verify(nfsePaginaCache).invalidar(Set.of("7891011", "1122334"));
+        verify(respostaJsonCache).invalidar(Set.of("123456", "789012", "345678"), Set.of("7891011", "1122334"));
+        verify(barramentoInvalidacao).publicar(Set.of("123456", "789012", "345678"), Set.of("7891011", "1122334"));
+    }
+
+    @Test
+    void invalidar_DeveLimparOOffHeapAntesDoCaffeine() {
+        // When
+        creditoCacheInvalidador.invalidar(List.of("123456"), List.of("7891011"));
+        creditoCacheInvalidador.invalidarTodos();
+
+        // Then: o Caffeine só é limpo quando o nível de onde ele se reabastece já está limpo
+        InOrder ordem = inOrder(creditoOffHeapCache, creditoCache);
+        ordem.verify(creditoOffHeapCache).invalidar(Set.of("123456"));
+        ordem.verify(creditoCache).invalidar(Set.of("123456"));
+        ordem.verify(creditoOffHeapCache).invalidarTodos();
+        ordem.verify(creditoCache).invalidarTodos();
+    }
+
+    @Test
+    void registrarGravacao_DeveAdicionarNumerosAoFiltro() {
+        // When
+        creditoCacheInvalidador.registrarGravacao(List.of(
+            credito("123456", "7891011"), credito("789012", "7891011")));
+
+        // Then
+        verify(creditoNumeroFiltro).adicionar(List.of("123456", "789012"));
+    }
+
+    @Test
+    void invalidar_EmTransacao_DeveRepetirAoFimDaTransacao() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        creditoCacheInvalidador.invalidar(List.of("123456"), List.of("7891011"));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Then
+        verify(creditoCache, times(2)).invalidar(Set.of("123456"));
+        verify(nfsePaginaCache, times(2)).invalidar(Set.of("7891011"));
+        verify(barramentoInvalidacao).publicar(Set.of("123456"), Set.of("7891011"));
+        // Na escrita e de novo no commit, para que a janela conte a partir do commit
+        verify(leituraAposEscrita, times(2)).registrarEscrita();
+    }
+
+    @Test
+    void invalidarTodos_DeveEsvaziarOsDoisCaches() {
+        // When
+        creditoCacheInvalidador.invalidarTodos();
+
+        // Then
+        verify(creditoCache).invalidarTodos();
+        verify(creditoOffHeapCache).invalidarTodos();
+        verify(nfsePaginaCache).invalidarTodos();
+        verify(respostaJsonCache).invalidarTodos();
+        verify(barramentoInvalidacao).publicarTodos();
+        verify(leituraAposEscrita).registrarEscrita();
+    }
+
+    @Test
+    void invalidarSegundoNivel_EmTransacao_DeveRepetirAoFimDaTransacao() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        creditoCacheInvalidador.invalidarSegundoNivel();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Then
+        verify(cacheSegundoNivel, times(2)).esvaziar();
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreditoCacheTest {
+
+    private CacheConfig cacheConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private CreditoOffHeapCache creditoOffHeapCache;
+    private CreditoCache creditoCache;
+    private Credito credito;
+    private AtomicInteger consultas;
+    private Function<String, Credito> carregador;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        creditoOffHeapCache = new CreditoOffHeapCache(cacheConfig, meterRegistry);
+        creditoCache = new CreditoCache(cacheConfig, creditoOffHeapCache, meterRegistry);
+        credito = new Credito(
+            "123456", "7891011", LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+        consultas = new AtomicInteger();
+        carregador = numero -> {
+            consultas.incrementAndGet();
+            return "123456".equals(numero) ? credito : null;
+        };
+    }
+
+    @Test
+    void obter_SegundaConsulta_DeveVirDoCache() {
+        // When
+        Credito primeira = creditoCache.obter("123456", carregador);
+        Credito segunda = creditoCache.obter("123456", carregador);
+
+        // Then
+        assertThat(primeira).isSameAs(credito);
+        assertThat(segunda).isSameAs(credito);
+        assertThat(consultas).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CreditoCache.NOME).tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CreditoCache.NOME).tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void obter_CreditoInexistente_NaoDeveSerArmazenado() {
+        // When
+        creditoCache.obter("999999", carregador);
+        Credito resultado = creditoCache.obter("999999", carregador);
+
+        // Then
+        assertThat(resultado).isNull();
+        assertThat(consultas).hasValue(2);
+        assertThat(creditoCache.tamanhoEstimado()).isZero();
+    }
+
+    @Test
+    void obter_InvalidacaoDuranteACarga_NaoDeveManterOCreditoAntigo() {
+        // Given: a carga lê a versão antiga e a escrita invalida o número antes dela terminar
+        Credito atualizado = new Credito(
+            "123456", "1122334", LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+        Function<String, Credito> cargaConcorrente = numero -> {
+            creditoOffHeapCache.invalidar(List.of(numero));
+            creditoCache.invalidar(List.of(numero));
+            return credito;
+        };
+
+        // When
+        Credito durante = creditoCache.obter("123456", cargaConcorrente);
+        Credito depois = creditoCache.obter("123456", numero -> atualizado);
+
+        // Then
+        assertThat(durante).isSameAs(credito);
+        assertThat(depois).isSameAs(atualizado);
+    }
+
+    @Test
+    void obter_CacheDesabilitado_DeveSempreConsultar() {
+        // Given
+        cacheConfig.getCreditoPorNumero().setEnabled(false);
+
+        // When
+        creditoCache.obter("123456", carregador);
+        creditoCache.obter("123456", carregador);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void invalidar_DeveRemoverApenasOsNumerosInformados() {
+        // Given
+        creditoCache.obter("123456", carregador);
+
+        // When
+        creditoCache.invalidar(List.of("123456"));
+        creditoCache.obter("123456", carregador);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void invalidarTodos_DeveEsvaziarOCache() {
+        // Given
+        creditoCache.obter("123456", carregador);
+
+        // When
+        creditoCache.invalidarTodos();
+
+        // Then
+        assertThat(creditoCache.tamanhoEstimado()).isZero();
+    }
+
+    @Test
+    void maisAcessados_DeveListarOsNumerosEmCache() {
+        // Given
+        creditoCache.obter("123456", carregador);
+        creditoCache.obter("999999", carregador);
+
+        // Then
+        assertThat(creditoCache.maisAcessados(10)).containsExactly("123456");
+    }
+
+    @Test
+    void obter_EntradaExpirada_DeveSairTambemDoOffHeap() throws InterruptedException {
+        // Given
+        cacheConfig.getCreditoPorNumero().setExpireAfterWrite(Duration.ofMillis(200));
+        creditoCache = new CreditoCache(cacheConfig, creditoOffHeapCache, meterRegistry);
+        creditoCache.obter("123456", numero -> creditoOffHeapCache.obter(numero, carregador));
+        assertThat(creditoOffHeapCache.tamanho()).isEqualTo(1);
+
+        // When
+        Thread.sleep(300);
+        long tamanho = creditoCache.tamanhoEstimado();
+
+        // Then
+        assertThat(tamanho).isZero();
+        assertThat(creditoOffHeapCache.tamanho()).isZero();
+    }
+}
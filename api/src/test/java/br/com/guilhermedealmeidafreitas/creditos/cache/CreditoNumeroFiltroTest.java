@@ -0,0 +1,154 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditoNumeroFiltroTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private CacheConfig cacheConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private CreditoNumeroFiltro creditoNumeroFiltro;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        cacheConfig.getFiltroNumeros().setExpectedInsertions(1_000);
+        meterRegistry = new SimpleMeterRegistry();
+        creditoNumeroFiltro = new CreditoNumeroFiltro(cacheConfig, dataSource, meterRegistry);
+    }
+
+    private void prepararCarga(String... numeros) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(CreditoNumeroFiltro.CARGA_SQL)).thenReturn(resultSet);
+        Boolean[] proximos = new Boolean[numeros.length];
+        for (int i = 0; i < numeros.length; i++) {
+            proximos[i] = i < numeros.length - 1;
+        }
+        when(resultSet.next()).thenReturn(true, proximos);
+        if (numeros.length > 1) {
+            String[] demais = new String[numeros.length - 1];
+            System.arraycopy(numeros, 1, demais, 0, demais.length);
+            when(resultSet.getString(1)).thenReturn(numeros[0], demais);
+        } else {
+            when(resultSet.getString(1)).thenReturn(numeros[0]);
+        }
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("creditos.filtro.consultas").tag("resultado", resultado).counter().count();
+    }
+
+    @Test
+    void podeExistir_AntesDaCarga_DeveAceitarQualquerNumero() {
+        // Then
+        assertThat(creditoNumeroFiltro.isPronto()).isFalse();
+        assertThat(creditoNumeroFiltro.podeExistir("999999")).isTrue();
+    }
+
+    @Test
+    void carregar_DeveLerNumerosEmLotesERejeitarAusentes() throws SQLException {
+        // Given
+        prepararCarga("123456", "789012");
+
+        // When
+        creditoNumeroFiltro.carregar();
+
+        // Then
+        assertThat(creditoNumeroFiltro.isPronto()).isTrue();
+        assertThat(creditoNumeroFiltro.podeExistir("123456")).isTrue();
+        assertThat(creditoNumeroFiltro.podeExistir("789012")).isTrue();
+        assertThat(creditoNumeroFiltro.podeExistir("999999")).isFalse();
+        assertThat(contador("ausente")).isEqualTo(1);
+        verify(connection).setAutoCommit(false);
+        verify(statement).setFetchSize(10_000);
+        verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void adicionar_AposCarga_DeveAceitarNovoNumero() throws SQLException {
+        // Given
+        prepararCarga("123456");
+        creditoNumeroFiltro.carregar();
+
+        // When
+        creditoNumeroFiltro.adicionar(List.of("345678"));
+        creditoNumeroFiltro.adicionar("901234");
+
+        // Then
+        assertThat(creditoNumeroFiltro.podeExistir("345678")).isTrue();
+        assertThat(creditoNumeroFiltro.podeExistir("901234")).isTrue();
+    }
+
+    @Test
+    void carregar_ComErro_DeveManterFiltroDesativado() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLException("indisponível"));
+
+        // When
+        creditoNumeroFiltro.carregar();
+
+        // Then
+        assertThat(creditoNumeroFiltro.isPronto()).isFalse();
+        assertThat(creditoNumeroFiltro.podeExistir("999999")).isTrue();
+    }
+
+    @Test
+    void desabilitado_NaoDeveCarregarNemRejeitar() {
+        // Given
+        cacheConfig.getFiltroNumeros().setEnabled(false);
+
+        // When
+        creditoNumeroFiltro.carregar();
+
+        // Then
+        assertThat(creditoNumeroFiltro.podeExistir("999999")).isTrue();
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void registrarInexistente_AposCarga_DeveContarFalsoPositivo() throws SQLException {
+        // Given
+        prepararCarga("123456");
+        creditoNumeroFiltro.carregar();
+
+        // When
+        creditoNumeroFiltro.registrarInexistente();
+
+        // Then
+        assertThat(contador("falso_positivo")).isEqualTo(1);
+        assertThat(meterRegistry.get("creditos.filtro.taxa.falsos.positivos").tag("tipo", "observada")
+            .gauge().value()).isEqualTo(1.0);
+    }
+}
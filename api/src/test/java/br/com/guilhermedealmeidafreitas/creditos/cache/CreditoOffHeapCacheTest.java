@@ -0,0 +1,108 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreditoOffHeapCacheTest {
+
+    private CacheConfig cacheConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private CreditoOffHeapCache creditoOffHeapCache;
+    private AtomicInteger consultas;
+    private Function<String, Credito> carregador;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        cacheConfig.getCreditoOffHeap().setMaxEntries(100);
+        meterRegistry = new SimpleMeterRegistry();
+        creditoOffHeapCache = new CreditoOffHeapCache(cacheConfig, meterRegistry);
+        consultas = new AtomicInteger();
+        carregador = numero -> {
+            consultas.incrementAndGet();
+            return "123456".equals(numero) ? new Credito(
+                "123456", "7891011", LocalDate.of(2024, 2, 25),
+                new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.00"),
+                new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")) : null;
+        };
+    }
+
+    @Test
+    void obter_SegundaConsulta_DeveVirDaTabela() {
+        // When
+        creditoOffHeapCache.obter("123456", carregador);
+        Credito segunda = creditoOffHeapCache.obter("123456", carregador);
+
+        // Then
+        assertThat(segunda.getValorIssqn()).isEqualTo(new BigDecimal("1500.75"));
+        assertThat(consultas).hasValue(1);
+        assertThat(meterRegistry.get("creditos.offheap.consultas").tag("resultado", "acerto").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("creditos.offheap.entradas").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void obter_CreditoInexistente_NaoDeveSerGuardado() {
+        // When
+        creditoOffHeapCache.obter("999999", carregador);
+        creditoOffHeapCache.obter("999999", carregador);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+        assertThat(creditoOffHeapCache.tamanho()).isZero();
+    }
+
+    @Test
+    void obter_InvalidacaoDuranteACarga_NaoDeveManterCredito() {
+        // Given
+        Function<String, Credito> carregadorComEscrita = numero -> {
+            Credito credito = carregador.apply(numero);
+            creditoOffHeapCache.invalidar(List.of(numero));
+            return credito;
+        };
+
+        // When
+        creditoOffHeapCache.obter("123456", carregadorComEscrita);
+
+        // Then
+        assertThat(creditoOffHeapCache.tamanho()).isZero();
+    }
+
+    @Test
+    void invalidar_DeveForcarNovaConsulta() {
+        // Given
+        creditoOffHeapCache.obter("123456", carregador);
+
+        // When
+        creditoOffHeapCache.invalidar(List.of("123456"));
+        creditoOffHeapCache.obter("123456", carregador);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void obter_Desabilitado_DeveSempreConsultar() {
+        // Given
+        cacheConfig.getCreditoOffHeap().setEnabled(false);
+
+        // When
+        creditoOffHeapCache.obter("123456", carregador);
+        creditoOffHeapCache.obter("123456", carregador);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+        assertThat(meterRegistry.get("creditos.offheap.bytes").gauge().value()).isZero();
+    }
+}
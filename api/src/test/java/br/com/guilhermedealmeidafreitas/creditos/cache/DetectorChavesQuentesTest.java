@@ -0,0 +1,92 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DetectorChavesQuentesTest {
+
+    private CacheConfig cacheConfig;
+    private DetectorChavesQuentes detector;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        cacheConfig.getDeteccaoChavesQuentes().setTopK(3);
+        detector = new DetectorChavesQuentes(cacheConfig);
+    }
+
+    private void registrar(ChavesQuentes.Tipo tipo, String chave, int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            detector.registrar(tipo, chave);
+        }
+    }
+
+    @Test
+    void maisQuentes_DeveRetornarTopKEmOrdemDecrescente() {
+        // Given
+        registrar(ChavesQuentes.Tipo.CREDITO, "A", 5);
+        registrar(ChavesQuentes.Tipo.CREDITO, "B", 50);
+        registrar(ChavesQuentes.Tipo.CREDITO, "C", 20);
+        registrar(ChavesQuentes.Tipo.CREDITO, "D", 30);
+        for (int i = 0; i < 100; i++) {
+            detector.registrar(ChavesQuentes.Tipo.CREDITO, "FRIA" + i);
+        }
+
+        // When
+        List<DetectorChavesQuentes.ChaveQuente> quentes = detector.maisQuentes(ChavesQuentes.Tipo.CREDITO, 10);
+
+        // Then
+        assertThat(quentes).extracting(DetectorChavesQuentes.ChaveQuente::chave).containsExactly("B", "D", "C");
+        assertThat(quentes.get(0).frequenciaEstimada()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void maisQuentes_DeveSepararTiposDeChave() {
+        // Given
+        registrar(ChavesQuentes.Tipo.CREDITO, "123456", 3);
+        registrar(ChavesQuentes.Tipo.NFSE, "7891011", 2);
+
+        // Then
+        assertThat(detector.maisQuentes(ChavesQuentes.Tipo.CREDITO, 10))
+            .containsExactly(new DetectorChavesQuentes.ChaveQuente("123456", 3));
+        assertThat(detector.maisQuentes(ChavesQuentes.Tipo.NFSE, 10))
+            .containsExactly(new DetectorChavesQuentes.ChaveQuente("7891011", 2));
+    }
+
+    @Test
+    void decair_ChaveQueEsfriou_DeveSerSuperadaPorChaveRecente() {
+        // Given
+        cacheConfig.getDeteccaoChavesQuentes().setTopK(1);
+        detector = new DetectorChavesQuentes(cacheConfig);
+        registrar(ChavesQuentes.Tipo.CREDITO, "ANTIGA", 40);
+
+        // When: quatro janelas sem consultas à antiga
+        for (int janela = 0; janela < 4; janela++) {
+            detector.decair();
+        }
+        registrar(ChavesQuentes.Tipo.CREDITO, "RECENTE", 10);
+
+        // Then
+        assertThat(detector.frequenciaEstimada(ChavesQuentes.Tipo.CREDITO, "ANTIGA")).isEqualTo(2);
+        assertThat(detector.maisQuentes(ChavesQuentes.Tipo.CREDITO, 1))
+            .extracting(DetectorChavesQuentes.ChaveQuente::chave).containsExactly("RECENTE");
+    }
+
+    @Test
+    void registrar_Desabilitado_NaoDeveContar() {
+        // Given
+        cacheConfig.getDeteccaoChavesQuentes().setEnabled(false);
+
+        // When
+        registrar(ChavesQuentes.Tipo.CREDITO, "123456", 3);
+
+        // Then
+        assertThat(detector.maisQuentes(ChavesQuentes.Tipo.CREDITO, 10)).isEmpty();
+        assertThat(detector.frequenciaEstimada(ChavesQuentes.Tipo.CREDITO, "123456")).isZero();
+    }
+}
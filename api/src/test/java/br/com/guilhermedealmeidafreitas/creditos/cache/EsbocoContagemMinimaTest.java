@@ -0,0 +1,64 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EsbocoContagemMinimaTest {
+
+    @Test
+    void estimar_NuncaDeveFicarAbaixoDaContagemReal() {
+        // Given
+        EsbocoContagemMinima esboco = new EsbocoContagemMinima(4, 256);
+        for (int i = 0; i < 2_000; i++) {
+            for (int repeticao = 0; repeticao <= i % 5; repeticao++) {
+                esboco.incrementar("CR" + i);
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 2_000; i++) {
+            assertThat(esboco.estimar("CR" + i)).isGreaterThanOrEqualTo(i % 5 + 1);
+        }
+    }
+
+    @Test
+    void estimar_ChaveQuenteEntreMuitasFrias_DeveSerProximaDaReal() {
+        // Given
+        EsbocoContagemMinima esboco = new EsbocoContagemMinima(4, 2048);
+        for (int i = 0; i < 10_000; i++) {
+            esboco.incrementar("CR" + i);
+        }
+        for (int i = 0; i < 500; i++) {
+            esboco.incrementar("QUENTE");
+        }
+
+        // Then: excesso limitado a ~2/largura do total (10.500 eventos)
+        assertThat(esboco.estimar("QUENTE")).isBetween(500L, 520L);
+    }
+
+    @Test
+    void incrementar_DeveRetornarEstimativaAtualizada() {
+        // Given
+        EsbocoContagemMinima esboco = new EsbocoContagemMinima(4, 1024);
+
+        // Then
+        assertThat(esboco.incrementar("123456")).isEqualTo(1);
+        assertThat(esboco.incrementar("123456")).isEqualTo(2);
+    }
+
+    @Test
+    void decair_DeveDividirContagensPorDois() {
+        // Given
+        EsbocoContagemMinima esboco = new EsbocoContagemMinima(4, 1024);
+        for (int i = 0; i < 10; i++) {
+            esboco.incrementar("123456");
+        }
+
+        // When
+        esboco.decair();
+
+        // Then
+        assertThat(esboco.estimar("123456")).isEqualTo(5);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroBloomTest {
+
+    @Test
+    void podeConter_NumeroAdicionado_NuncaDeveSerFalsoNegativo() {
+        // Given
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("CR" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filtro.podeConter("CR" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void podeConter_NumerosNaoAdicionados_DeveRespeitarTaxaConfigurada() {
+        // Given
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("CR" + i);
+        }
+
+        // When
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter("NX" + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        // Then
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+        assertThat(filtro.taxaFalsosPositivosEstimada()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void filtroVazio_NaoDeveConterNada() {
+        // Given
+        FiltroBloom filtro = new FiltroBloom(1_000, 0.01);
+
+        // Then
+        assertThat(filtro.podeConter("123456")).isFalse();
+        assertThat(filtro.taxaFalsosPositivosEstimada()).isZero();
+    }
+
+    @Test
+    void dimensionamento_DeveSeguirInsercoesETaxa() {
+        // Given
+        FiltroBloom filtro = new FiltroBloom(1_000_000, 0.01);
+
+        // Then: ~9,6 bits por elemento e 7 funções de hash para 1%
+        assertThat(filtro.getTotalBits()).isBetween(9_000_000L, 10_000_000L);
+        assertThat(filtro.getFuncoesHash()).isEqualTo(7);
+    }
+}
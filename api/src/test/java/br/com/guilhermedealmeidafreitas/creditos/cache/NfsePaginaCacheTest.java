@@ -0,0 +1,194 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+class NfsePaginaCacheTest {
+
+    private static final VersaoNfse VERSAO = new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L);
+
+    private CacheConfig cacheConfig;
+    private NfsePaginaCache nfsePaginaCache;
+    private AtomicInteger consultas;
+    private Supplier<PaginatedCreditoResponse> carregador;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        nfsePaginaCache = new NfsePaginaCache(cacheConfig, new SimpleMeterRegistry());
+        consultas = new AtomicInteger();
+        carregador = () -> {
+            consultas.incrementAndGet();
+            return new PaginatedCreditoResponse(Collections.emptyList(), 0, 10, 0, 0, true, true, false, false);
+        };
+        pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao"));
+    }
+
+    @Test
+    void obter_MesmaChave_DeveVirDoCache() {
+        // When
+        PaginatedCreditoResponse primeira = nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+        PaginatedCreditoResponse segunda = nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+
+        // Then
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    void obter_ChavesDiferentes_DevemSerArmazenadasSeparadamente() {
+        // When
+        nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("7891011", pageable, false, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("7891011", PageRequest.of(1, 10, pageable.getSort()), true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("7891011", PageRequest.of(0, 10, Sort.by("id")), true, () -> VERSAO, carregador);
+
+        // Then
+        assertThat(consultas).hasValue(4);
+        assertThat(nfsePaginaCache.tamanhoEstimado()).isEqualTo(4);
+    }
+
+    @Test
+    void obter_VersaoNovaComAPaginaAntigaEmCache_DeveConsultarNovamente() {
+        // Given: a versão muda (ex.: expirou antes das páginas) e a página da anterior continua no cache
+        VersaoNfse versaoNova = new VersaoNfse(LocalDateTime.of(2024, 2, 27, 9, 30), 3L);
+        NfsePaginaCache cacheComVersaoNova = spy(nfsePaginaCache);
+        doReturn(VERSAO, versaoNova).when(cacheComVersaoNova).versao(eq("7891011"), any());
+        PaginatedCreditoResponse antiga = cacheComVersaoNova.obter("7891011", pageable, true, () -> VERSAO, carregador);
+
+        // When
+        PaginatedCreditoResponse atual = cacheComVersaoNova.obter("7891011", pageable, true, () -> versaoNova, carregador);
+
+        // Then
+        assertThat(atual).isNotSameAs(antiga);
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void versao_MesmaNfse_DeveVirDoCacheAteAInvalidacao() {
+        // Given
+        AtomicInteger consultasVersao = new AtomicInteger();
+        Supplier<VersaoNfse> carregadorVersao = () -> {
+            consultasVersao.incrementAndGet();
+            return VERSAO;
+        };
+        nfsePaginaCache.versao("7891011", carregadorVersao);
+        nfsePaginaCache.obter("7891011", pageable, true, carregadorVersao, carregador);
+
+        // When
+        nfsePaginaCache.invalidar(List.of("7891011"));
+        nfsePaginaCache.versao("7891011", carregadorVersao);
+
+        // Then: uma consulta antes e outra depois da invalidação
+        assertThat(consultasVersao).hasValue(2);
+    }
+
+    @Test
+    void versao_InvalidacaoDuranteAConsulta_NaoDeveManterAVersao() {
+        // Given
+        AtomicInteger consultasVersao = new AtomicInteger();
+        Supplier<VersaoNfse> carregadorConcorrente = () -> {
+            consultasVersao.incrementAndGet();
+            nfsePaginaCache.invalidar(List.of("7891011"));
+            return VERSAO;
+        };
+
+        // When
+        nfsePaginaCache.versao("7891011", carregadorConcorrente);
+        nfsePaginaCache.versao("7891011", carregadorConcorrente);
+
+        // Then
+        assertThat(consultasVersao).hasValue(2);
+    }
+
+    @Test
+    void obter_CacheDesabilitado_NaoDeveConsultarAVersao() {
+        // Given
+        cacheConfig.getNfsePaginas().setEnabled(false);
+
+        // When
+        nfsePaginaCache.obter("7891011", pageable, true, () -> {
+            throw new AssertionError("versão consultada com o cache desabilitado");
+        }, carregador);
+
+        // Then
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    void invalidar_DeveDescartarApenasAsPaginasDaNfse() {
+        // Given
+        nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("7891011", PageRequest.of(1, 10, pageable.getSort()), true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("1122334", pageable, true, () -> VERSAO, carregador);
+
+        // When
+        nfsePaginaCache.invalidar(List.of("7891011"));
+
+        // Then
+        assertThat(nfsePaginaCache.tamanhoEstimado()).isEqualTo(1);
+        nfsePaginaCache.obter("1122334", pageable, true, () -> VERSAO, carregador);
+        assertThat(consultas).hasValue(3);
+    }
+
+    @Test
+    void obter_InvalidacaoDuranteAConsulta_NaoDeveManterAPagina() {
+        // Given: a escrita é confirmada enquanto a página antiga está sendo montada
+        Supplier<PaginatedCreditoResponse> carregadorConcorrente = () -> {
+            PaginatedCreditoResponse resposta = carregador.get();
+            nfsePaginaCache.invalidar(List.of("7891011"));
+            return resposta;
+        };
+
+        // When
+        nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregadorConcorrente);
+
+        // Then
+        assertThat(nfsePaginaCache.tamanhoEstimado()).isZero();
+    }
+
+    @Test
+    void obter_CacheDesabilitado_DeveSempreConsultar() {
+        // Given
+        cacheConfig.getNfsePaginas().setEnabled(false);
+
+        // When
+        nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+
+        // Then
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    void nfsesMaisAcessadas_DeveListarCadaNfseUmaVez() {
+        // Given
+        nfsePaginaCache.obter("7891011", pageable, true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("7891011", PageRequest.of(1, 10, pageable.getSort()), true, () -> VERSAO, carregador);
+        nfsePaginaCache.obter("1122334", pageable, true, () -> VERSAO, carregador);
+
+        // Then
+        assertThat(nfsePaginaCache.nfsesMaisAcessadas(10)).containsExactlyInAnyOrder("7891011", "1122334");
+        assertThat(nfsePaginaCache.nfsesMaisAcessadas(1)).hasSize(1);
+    }
+}
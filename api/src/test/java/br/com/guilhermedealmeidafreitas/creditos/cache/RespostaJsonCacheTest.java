@@ -0,0 +1,175 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RespostaJsonCacheTest {
+
+    private CacheConfig cacheConfig;
+    private RespostaJsonCache respostaJsonCache;
+    private AtomicInteger serializacoes;
+    private Supplier<Object> carregador;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        respostaJsonCache = new RespostaJsonCache(cacheConfig, new ObjectMapper(), new SimpleMeterRegistry());
+        serializacoes = new AtomicInteger();
+        carregador = () -> {
+            serializacoes.incrementAndGet();
+            return Map.of("numeroCredito", "123456");
+        };
+        pageable = PageRequest.of(0, 10);
+    }
+
+    @Test
+    void obterCredito_MesmaVersao_DeveVirDoCache() {
+        // When
+        RespostaJsonCache.Corpo primeiro = respostaJsonCache.obterCredito("123456", "\"1-a\"", carregador);
+        RespostaJsonCache.Corpo segundo = respostaJsonCache.obterCredito("123456", "\"1-a\"", carregador);
+
+        // Then
+        assertThat(segundo).isSameAs(primeiro);
+        assertThat(new String(primeiro.json(), StandardCharsets.UTF_8)).isEqualTo("{\"numeroCredito\":\"123456\"}");
+        assertThat(serializacoes).hasValue(1);
+    }
+
+    @Test
+    void obterCredito_OutraVersao_DeveSerializarNovamente() {
+        // When
+        respostaJsonCache.obterCredito("123456", "\"1-a\"", carregador);
+        respostaJsonCache.obterCredito("123456", "\"1-b\"", carregador);
+
+        // Then
+        assertThat(serializacoes).hasValue(2);
+    }
+
+    @Test
+    void obterPaginaNfse_VariantesDiferentes_DevemSerArmazenadasSeparadamente() {
+        // When
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, true, null, carregador);
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, false, null, carregador);
+        respostaJsonCache.obterPaginaNfse("7891011", PageRequest.of(1, 10), true, null, carregador);
+
+        // Then
+        assertThat(serializacoes).hasValue(3);
+        assertThat(respostaJsonCache.tamanhoEstimado()).isEqualTo(3);
+    }
+
+    @Test
+    void obterPaginaNfse_NovaVersao_DeveDescartarVariantesDaAnterior() {
+        // Given
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, true, "\"2-a\"", carregador);
+        respostaJsonCache.obterPaginaNfse("7891011", PageRequest.of(1, 10), true, "\"2-a\"", carregador);
+
+        // When
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, true, "\"3-b\"", carregador);
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, true, "\"3-b\"", carregador);
+
+        // Then
+        assertThat(serializacoes).hasValue(3);
+        assertThat(respostaJsonCache.tamanhoEstimado()).isEqualTo(1);
+    }
+
+    @Test
+    void obterPaginaNfse_CarregadorFalha_NaoDeveGuardar() {
+        // When & Then
+        assertThatThrownBy(() -> respostaJsonCache.obterPaginaNfse("9999999", pageable, true, null, () -> {
+            throw new IllegalStateException("NFS-e inexistente");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(respostaJsonCache.tamanhoEstimado()).isZero();
+    }
+
+    @Test
+    void obter_JsonGrande_DeveGuardarVersaoGzip() throws IOException {
+        // Given
+        List<String> numeros = IntStream.range(0, 200).mapToObj(i -> "CR" + i).toList();
+
+        // When
+        RespostaJsonCache.Corpo corpo = respostaJsonCache.obterPaginaNfse("7891011", pageable, true, null, () -> numeros);
+
+        // Then
+        assertThat(corpo.gzip()).isNotNull();
+        assertThat(corpo.gzip().length).isLessThan(corpo.json().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(corpo.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(corpo.json());
+        }
+    }
+
+    @Test
+    void obter_JsonPequenoOuGzipDesabilitado_NaoDeveComprimir() {
+        // When
+        RespostaJsonCache.Corpo pequeno = respostaJsonCache.obterCredito("123456", null, carregador);
+        cacheConfig.getRespostasJson().setGzip(false);
+        cacheConfig.getRespostasJson().setGzipMinSize(DataSize.ofBytes(0));
+        RespostaJsonCache.Corpo semGzip = respostaJsonCache.obterCredito("789012", null, carregador);
+
+        // Then
+        assertThat(pequeno.gzip()).isNull();
+        assertThat(semGzip.gzip()).isNull();
+    }
+
+    @Test
+    void invalidar_DeveDescartarCreditosENfsesInformados() {
+        // Given
+        respostaJsonCache.obterCredito("123456", null, carregador);
+        respostaJsonCache.obterCredito("789012", null, carregador);
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, true, null, carregador);
+        respostaJsonCache.obterPaginaNfse("1122334", pageable, true, null, carregador);
+
+        // When
+        respostaJsonCache.invalidar(List.of("123456"), List.of("7891011"));
+
+        // Then
+        assertThat(respostaJsonCache.tamanhoEstimado()).isEqualTo(2);
+        respostaJsonCache.obterCredito("789012", null, carregador);
+        respostaJsonCache.obterPaginaNfse("1122334", pageable, true, null, carregador);
+        assertThat(serializacoes).hasValue(4);
+    }
+
+    @Test
+    void invalidarTodos_DeveEsvaziarCache() {
+        // Given
+        respostaJsonCache.obterCredito("123456", null, carregador);
+        respostaJsonCache.obterPaginaNfse("7891011", pageable, true, null, carregador);
+
+        // When
+        respostaJsonCache.invalidarTodos();
+
+        // Then
+        assertThat(respostaJsonCache.tamanhoEstimado()).isZero();
+    }
+
+    @Test
+    void obter_Desabilitado_DeveSerializarSempre() {
+        // Given
+        cacheConfig.getRespostasJson().setEnabled(false);
+
+        // When
+        respostaJsonCache.obterCredito("123456", null, carregador);
+        respostaJsonCache.obterCredito("123456", null, carregador);
+
+        // Then
+        assertThat(serializacoes).hasValue(2);
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.guilhermedealmeidafreitas.creditos.cache;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TabelaCreditosCompactaTest {
+
+    private static final long VALIDADE_NANOS = 1_000;
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private Credito credito(String numeroCredito) {
+        Credito credito = new Credito(
+            numeroCredito, "7891011", LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.00"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+        credito.setId(42L);
+        credito.setCreatedAt(LocalDateTime.of(2024, 2, 25, 10, 0, 0, 123_456_000));
+        credito.setUpdatedAt(LocalDateTime.of(2024, 2, 26, 11, 30, 15, 654_321_000));
+        return credito;
+    }
+
+    @Test
+    void obter_CreditoGuardado_DeveDecodificarTodosOsCampos() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(10, VALIDADE_NANOS, relogio::get);
+        Credito original = credito("123456");
+
+        // When
+        assertThat(tabela.guardar(original)).isTrue();
+        Credito lido = tabela.obter("123456");
+
+        // Then
+        assertThat(lido).isNotSameAs(original);
+        assertThat(lido).usingRecursiveComparison().isEqualTo(original);
+    }
+
+    @Test
+    void obter_NumeroInexistenteOuTabelaVazia_DeveRetornarNull() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(10, VALIDADE_NANOS, relogio::get);
+
+        // Then
+        assertThat(tabela.obter("123456")).isNull();
+        assertThat(tabela.bytesReservados()).isZero();
+        tabela.guardar(credito("123456"));
+        assertThat(tabela.obter("654321")).isNull();
+    }
+
+    @Test
+    void guardar_MesmoNumero_DeveSubstituirVersaoAnterior() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(10, VALIDADE_NANOS, relogio::get);
+        tabela.guardar(credito("123456"));
+        Credito alterado = credito("123456");
+        alterado.setValorIssqn(new BigDecimal("99.90"));
+        alterado.setTipoCredito("Outros");
+
+        // When
+        tabela.guardar(alterado);
+
+        // Then
+        assertThat(tabela.tamanho()).isEqualTo(1);
+        assertThat(tabela.obter("123456").getValorIssqn()).isEqualTo(new BigDecimal("99.90"));
+        assertThat(tabela.obter("123456").getTipoCredito()).isEqualTo("Outros");
+    }
+
+    @Test
+    void guardar_ValorComMaisDeDuasCasasOuNumeroLongo_NaoDeveGuardar() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(10, VALIDADE_NANOS, relogio::get);
+        Credito fracionado = credito("123456");
+        fracionado.setValorIssqn(new BigDecimal("1.005"));
+
+        // Then
+        assertThat(tabela.guardar(fracionado)).isFalse();
+        assertThat(tabela.guardar(credito("9".repeat(51)))).isFalse();
+        assertThat(tabela.tamanho()).isZero();
+    }
+
+    @Test
+    void remover_DeveManterDemaisNumerosAcessiveis() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(1_000, VALIDADE_NANOS, relogio::get);
+        for (int i = 0; i < 1_000; i++) {
+            tabela.guardar(credito("CR" + i));
+        }
+
+        // When
+        for (int i = 0; i < 1_000; i += 2) {
+            tabela.remover("CR" + i);
+        }
+
+        // Then
+        assertThat(tabela.tamanho()).isEqualTo(500);
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 2 == 0) {
+                assertThat(tabela.obter("CR" + i)).as("CR" + i).isNull();
+            } else {
+                assertThat(tabela.obter("CR" + i)).as("CR" + i).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    void guardar_TabelaCheia_DevePreservarCreditosLidos() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(3, VALIDADE_NANOS, relogio::get);
+        tabela.guardar(credito("A"));
+        tabela.guardar(credito("B"));
+        tabela.guardar(credito("C"));
+        tabela.obter("A");
+
+        // When
+        tabela.guardar(credito("D"));
+
+        // Then
+        assertThat(tabela.tamanho()).isEqualTo(3);
+        assertThat(tabela.descartes()).isEqualTo(1);
+        assertThat(tabela.obter("A")).isNotNull();
+        assertThat(tabela.obter("B")).isNull();
+        assertThat(tabela.obter("D")).isNotNull();
+    }
+
+    @Test
+    void limpar_DeveEsvaziarEPermitirNovasGravacoes() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(10, VALIDADE_NANOS, relogio::get);
+        tabela.guardar(credito("123456"));
+
+        // When
+        tabela.limpar();
+        tabela.guardar(credito("654321"));
+
+        // Then
+        assertThat(tabela.obter("123456")).isNull();
+        assertThat(tabela.obter("654321")).isNotNull();
+        assertThat(tabela.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void obter_RegistroVencido_DeveRetornarNullAteNovaGravacao() {
+        // Given
+        TabelaCreditosCompacta tabela = new TabelaCreditosCompacta(10, VALIDADE_NANOS, relogio::get);
+        tabela.guardar(credito("123456"));
+
+        // When
+        relogio.addAndGet(VALIDADE_NANOS - 1);
+        Credito antesDoVencimento = tabela.obter("123456");
+        relogio.addAndGet(1);
+        Credito vencido = tabela.obter("123456");
+        tabela.guardar(credito("123456"));
+
+        // Then
+        assertThat(antesDoVencimento).isNotNull();
+        assertThat(vencido).isNull();
+        assertThat(tabela.obter("123456")).isNotNull();
+        assertThat(tabela.tamanho()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLookupConfigTest {
+
+    private BatchLookupConfig batchLookupConfig;
+
+    @BeforeEach
+    void setUp() {
+        batchLookupConfig = new BatchLookupConfig();
+    }
+
+    @Test
+    void testDefaultValues() {
+        // Then
+        assertThat(batchLookupConfig.getMaxSize()).isEqualTo(1000);
+        assertThat(batchLookupConfig.getChunkSize()).isEqualTo(500);
+    }
+
+    @Test
+    void testSetters() {
+        // Given
+        batchLookupConfig.setMaxSize(50);
+        batchLookupConfig.setChunkSize(10);
+
+        // Then
+        assertThat(batchLookupConfig.getMaxSize()).isEqualTo(50);
+        assertThat(batchLookupConfig.getChunkSize()).isEqualTo(10);
+    }
+}
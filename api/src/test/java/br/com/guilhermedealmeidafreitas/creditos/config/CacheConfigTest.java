@@ -0,0 +1,71 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private CacheConfig cacheConfig;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+    }
+
+    @Test
+    void testDefaultValues() {
+        // Then
+        assertThat(cacheConfig.getCreditoPorNumero().isEnabled()).isTrue();
+        assertThat(cacheConfig.getCreditoPorNumero().getMaximumSize()).isEqualTo(10_000);
+        assertThat(cacheConfig.getCreditoPorNumero().getExpireAfterWrite()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(cacheConfig.getCreditoOffHeap().isEnabled()).isTrue();
+        assertThat(cacheConfig.getCreditoOffHeap().getMaxEntries()).isEqualTo(250_000);
+        assertThat(cacheConfig.getNfsePaginas().isEnabled()).isTrue();
+        assertThat(cacheConfig.getNfsePaginas().getMaximumSize()).isEqualTo(1_000);
+        assertThat(cacheConfig.getNfsePaginas().getExpireAfterWrite()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(cacheConfig.getFiltroNumeros().isEnabled()).isTrue();
+        assertThat(cacheConfig.getFiltroNumeros().getExpectedInsertions()).isEqualTo(1_000_000);
+        assertThat(cacheConfig.getFiltroNumeros().getFalsePositiveRate()).isEqualTo(0.01);
+        assertThat(cacheConfig.getFiltroNumeros().getFetchSize()).isEqualTo(10_000);
+        assertThat(cacheConfig.getAquecimento().isEnabled()).isTrue();
+        assertThat(cacheConfig.getAquecimento().getMaxKeys()).isEqualTo(500);
+        assertThat(cacheConfig.getAquecimento().getParallelism()).isEqualTo(4);
+        assertThat(cacheConfig.getAquecimento().getReadinessThreshold()).isEqualTo(0.9);
+        assertThat(cacheConfig.getAquecimento().getMaxDuration()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(cacheConfig.getAquecimento().getInterval()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(cacheConfig.getInvalidacaoDistribuida().isEnabled()).isTrue();
+        assertThat(cacheConfig.getInvalidacaoDistribuida().getChannel()).isEqualTo("credito_invalidacao");
+        assertThat(cacheConfig.getInvalidacaoDistribuida().getPollTimeout()).isEqualTo(Duration.ofMillis(500));
+        assertThat(cacheConfig.getInvalidacaoDistribuida().getReconnectDelay()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(cacheConfig.getRespostasJson().isEnabled()).isTrue();
+        assertThat(cacheConfig.getRespostasJson().getMaximumWeight()).isEqualTo(DataSize.ofMegabytes(32));
+        assertThat(cacheConfig.getRespostasJson().getExpireAfterWrite()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(cacheConfig.getRespostasJson().isGzip()).isTrue();
+        assertThat(cacheConfig.getRespostasJson().getGzipMinSize()).isEqualTo(DataSize.ofKilobytes(1));
+        assertThat(cacheConfig.getDeteccaoChavesQuentes().isEnabled()).isTrue();
+        assertThat(cacheConfig.getDeteccaoChavesQuentes().getDepth()).isEqualTo(4);
+        assertThat(cacheConfig.getDeteccaoChavesQuentes().getWidth()).isEqualTo(2048);
+        assertThat(cacheConfig.getDeteccaoChavesQuentes().getTopK()).isEqualTo(100);
+        assertThat(cacheConfig.getDeteccaoChavesQuentes().getWindow()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testSetters() {
+        // Given
+        CacheConfig.CreditoPorNumero creditoPorNumero = new CacheConfig.CreditoPorNumero();
+        creditoPorNumero.setEnabled(false);
+        creditoPorNumero.setMaximumSize(50);
+        creditoPorNumero.setExpireAfterWrite(Duration.ofSeconds(30));
+        cacheConfig.setCreditoPorNumero(creditoPorNumero);
+
+        // Then
+        assertThat(cacheConfig.getCreditoPorNumero().isEnabled()).isFalse();
+        assertThat(cacheConfig.getCreditoPorNumero().getMaximumSize()).isEqualTo(50);
+        assertThat(cacheConfig.getCreditoPorNumero().getExpireAfterWrite()).isEqualTo(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreditoImportConfigTest {
+
+    private CreditoImportConfig creditoImportConfig;
+
+    @BeforeEach
+    void setUp() {
+        creditoImportConfig = new CreditoImportConfig();
+    }
+
+    @Test
+    void testDefaultValues() {
+        // Then
+        assertThat(creditoImportConfig.getMaxRejeicoesReportadas()).isEqualTo(100);
+        assertThat(creditoImportConfig.getCopyBufferSize()).isEqualTo(65536);
+    }
+
+    @Test
+    void testSetters() {
+        // Given
+        creditoImportConfig.setMaxRejeicoesReportadas(5);
+        creditoImportConfig.setCopyBufferSize(1024);
+
+        // Then
+        assertThat(creditoImportConfig.getMaxRejeicoesReportadas()).isEqualTo(5);
+        assertThat(creditoImportConfig.getCopyBufferSize()).isEqualTo(1024);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HibernateCacheConfigTest {
+
+    private HibernateCacheConfig hibernateCacheConfig;
+
+    @BeforeEach
+    void setUp() {
+        hibernateCacheConfig = new HibernateCacheConfig();
+    }
+
+    @Test
+    void testDefaultValues() {
+        // Then
+        assertThat(hibernateCacheConfig.isEnabled()).isTrue();
+        assertThat(hibernateCacheConfig.getRegions()).containsKeys(
+            HibernateCacheConfig.REGIAO_CREDITO,
+            HibernateCacheConfig.REGIAO_CREDITO_POR_NUMERO,
+            HibernateCacheConfig.REGIAO_CREDITO_POR_NFSE,
+            "default-query-results-region");
+        assertThat(hibernateCacheConfig.getRegions().get(HibernateCacheConfig.REGIAO_CREDITO).getMaximumSize())
+            .isEqualTo(10_000);
+        assertThat(hibernateCacheConfig.getRegions().get(HibernateCacheConfig.REGIAO_CREDITO_POR_NFSE)
+            .getExpireAfterWrite()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testCustomizer_Habilitado_DeveCriarRegioes() {
+        // Given
+        Map<String, Object> properties = new HashMap<>();
+
+        // When
+        hibernateCacheConfig.cacheSegundoNivelCustomizer().customize(properties);
+
+        // Then
+        assertThat(properties).containsEntry(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        assertThat(properties).containsEntry(AvailableSettings.USE_QUERY_CACHE, true);
+        CacheManager cacheManager = (CacheManager) properties.get(ConfigSettings.CACHE_MANAGER);
+        assertThat(cacheManager.getCache(HibernateCacheConfig.REGIAO_CREDITO)).isNotNull();
+        assertThat(cacheManager.getCache("default-update-timestamps-region")).isNotNull();
+        cacheManager.close();
+    }
+
+    @Test
+    void testCustomizer_CadaContextoDeveTerOSeuCacheManager() {
+        // Given
+        Map<String, Object> primeiro = new HashMap<>();
+        Map<String, Object> segundo = new HashMap<>();
+        hibernateCacheConfig.cacheSegundoNivelCustomizer().customize(primeiro);
+        CacheManager cacheManagerPrimeiro = (CacheManager) primeiro.get(ConfigSettings.CACHE_MANAGER);
+        cacheManagerPrimeiro.<Object, Object>getCache(HibernateCacheConfig.REGIAO_CREDITO).put(1L, "credito");
+
+        // When
+        new HibernateCacheConfig().cacheSegundoNivelCustomizer().customize(segundo);
+        CacheManager cacheManagerSegundo = (CacheManager) segundo.get(ConfigSettings.CACHE_MANAGER);
+
+        // Then: o segundo contexto não recria nem enxerga as regiões do primeiro
+        assertThat(cacheManagerSegundo).isNotSameAs(cacheManagerPrimeiro);
+        assertThat(cacheManagerPrimeiro.getCache(HibernateCacheConfig.REGIAO_CREDITO).get(1L)).isEqualTo("credito");
+        assertThat(cacheManagerSegundo.getCache(HibernateCacheConfig.REGIAO_CREDITO).get(1L)).isNull();
+        cacheManagerPrimeiro.close();
+        cacheManagerSegundo.close();
+    }
+
+    @Test
+    void testCustomizer_Desabilitado_NaoDeveConfigurarRegionFactory() {
+        // Given
+        Map<String, Object> properties = new HashMap<>();
+        hibernateCacheConfig.setEnabled(false);
+
+        // When
+        hibernateCacheConfig.cacheSegundoNivelCustomizer().customize(properties);
+
+        // Then
+        assertThat(properties).containsEntry(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        assertThat(properties).containsEntry(AvailableSettings.USE_QUERY_CACHE, false);
+        assertThat(properties).doesNotContainKeys(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.CACHE_MANAGER);
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.guilhermedealmeidafreitas.creditos.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final LeituraAposEscrita leituraAposEscrita = new LeituraAposEscrita(Duration.ofSeconds(5), relogio::get);
+    private final ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(leituraAposEscrita);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_ForaDeTransacao_DeveUsarPrimario() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Rota.PRIMARIO);
+    }
+
+    @Test
+    void determineCurrentLookupKey_TransacaoSomenteLeitura_DeveUsarReplica() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Rota.REPLICA);
+    }
+
+    @Test
+    void determineCurrentLookupKey_LeituraLogoAposEscrita_DeveUsarPrimarioAteAJanelaFechar() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        leituraAposEscrita.registrarEscrita();
+
+        // When / Then
+        relogio.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Rota.PRIMARIO);
+        relogio.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Rota.REPLICA);
+    }
+}
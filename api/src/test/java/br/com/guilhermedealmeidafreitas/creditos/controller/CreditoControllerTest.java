@@ -1,35 +1,65 @@
 package br.com.guilhermedealmeidafreitas.creditos.controller;
 
+import br.com.guilhermedealmeidafreitas.creditos.cache.ChavesQuentes;
+import br.com.guilhermedealmeidafreitas.creditos.cache.DetectorChavesQuentes;
+import br.com.guilhermedealmeidafreitas.creditos.cache.RespostaJsonCache;
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoBatchResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoImportResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoLeitura;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CursorPaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoLeituraResponse;
 import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoExportService;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoImportService;
 import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
 import br.com.guilhermedealmeidafreitas.creditos.service.ValidationService;
 import br.com.guilhermedealmeidafreitas.creditos.config.TestFeaturesConfig;
 import br.com.guilhermedealmeidafreitas.creditos.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -43,12 +73,25 @@ class CreditoControllerTest {
     @Mock
     private CreditoService creditoService;
     
+    @Mock
+    private CreditoExportService creditoExportService;
+    
+    @Mock
+    private CreditoImportService creditoImportService;
+    
     @Mock
     private TestFeaturesConfig testFeaturesConfig;
     
     @Mock
     private ValidationService validationService;
     
+    @Mock
+    private DetectorChavesQuentes detectorChavesQuentes;
+    
+    @Spy
+    private RespostaJsonCache respostaJsonCache = new RespostaJsonCache(
+        new CacheConfig(), Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+    
     @InjectMocks
     private CreditoController creditoController;
 
@@ -82,8 +125,16 @@ class CreditoControllerTest {
         
         // Configurar mock padrão para o ControllerValidationService (lenient para evitar UnnecessaryStubbingException)
         Pageable defaultPageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao"));
-        lenient().when(validationService.validateAndCreatePageable(any(Integer.class), any(Integer.class), any(String.class), any(String.class)))
-            .thenReturn(defaultPageable);
+        lenient().when(validationService.validateCreditosPorNfsePaginados(any(), anyInt(), anyInt(), any(), any()))
+            .thenAnswer(invocation -> new ValidationService.NfsePaginada(invocation.getArgument(0), defaultPageable));
+        lenient().when(validationService.validateCreditosPorNfseCursor(any(), anyInt(), any(), any()))
+            .thenAnswer(invocation -> new ValidationService.NfsePaginada(invocation.getArgument(0), defaultPageable));
+        lenient().when(validationService.validateCreditosComFiltros(any(), any(), anyInt(), anyInt(), any(), any()))
+            .thenAnswer(invocation -> new ValidationService.FiltrosPaginados(
+                invocation.getArgument(0), invocation.getArgument(1), defaultPageable));
+        lenient().when(validationService.validateExportacao(any(), any()))
+            .thenAnswer(invocation -> new ValidationService.FiltrosExportacao(
+                invocation.getArgument(0), invocation.getArgument(1)));
     }
 
     @Test
@@ -108,6 +159,46 @@ class CreditoControllerTest {
                 .andExpect(jsonPath("$[1].simplesNacional").value(false));
     }
 
+    @Test
+    void testBuscarCreditosPorNfse_EnviaEtagDaVersaoDaNfse() throws Exception {
+        // Given
+        when(creditoService.buscarVersaoNfse("7891011"))
+            .thenReturn(new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L));
+        when(creditoService.buscarCreditosPorNfse("7891011")).thenReturn(creditos);
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/7891011"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2-61245f9028800\""));
+    }
+
+    @Test
+    void testBuscarCreditosPorNfse_IfNoneMatchIgual_DeveRetornar304SemConsultarALista() throws Exception {
+        // Given
+        when(creditoService.buscarVersaoNfse("7891011"))
+            .thenReturn(new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L));
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/7891011").header(HttpHeaders.IF_NONE_MATCH, "\"2-61245f9028800\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(creditoService, never()).buscarCreditosPorNfse(anyString());
+    }
+
+    @Test
+    void testBuscarCreditosPorNfse_IfNoneMatchDiferente_DeveRetornarALista() throws Exception {
+        // Given: um crédito foi removido desde a última consulta do cliente
+        when(creditoService.buscarVersaoNfse("7891011"))
+            .thenReturn(new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 1L));
+        when(creditoService.buscarCreditosPorNfse("7891011")).thenReturn(List.of(credito1));
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/7891011").header(HttpHeaders.IF_NONE_MATCH, "\"2-61245f9028800\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-61245f9028800\""))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     void testBuscarCreditosPorNfse_NaoEncontrado() throws Exception {
         // Given
@@ -120,6 +211,7 @@ class CreditoControllerTest {
                 .andExpect(jsonPath("$.error").value("SimpleCreditoException"))
                 .andExpect(jsonPath("$.message").value("Crédito não encontrado para número da NFS-e: 9999999"))
                 .andExpect(jsonPath("$.errorCode").value("CREDITO_NOT_FOUND"));
+        verify(detectorChavesQuentes, never()).registrar(any(), anyString());
     }
 
     @Test
@@ -147,6 +239,72 @@ class CreditoControllerTest {
                 .andExpect(jsonPath("$.content[1].numeroCredito").value("789012"));
     }
 
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_SegundaConsulta_DeveUsarJsonEmCache() throws Exception {
+        // Given
+        when(creditoService.buscarCreditosPorNfseComPaginacao(anyString(), any(Pageable.class)))
+                .thenReturn(paginatedResponse);
+
+        // When
+        mockMvc.perform(get("/api/creditos/paginated/7891011")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/creditos/paginated/7891011"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+
+        // Then
+        verify(creditoService, times(1)).buscarCreditosPorNfseComPaginacao(anyString(), any(Pageable.class));
+        verify(detectorChavesQuentes, times(2)).registrar(ChavesQuentes.Tipo.NFSE, "7891011");
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_AceitaGzip_DeveRetornarComprimido() throws Exception {
+        // Given
+        List<Credito> muitosCreditos = Collections.nCopies(20, credito1);
+        when(creditoService.buscarCreditosPorNfseComPaginacao(anyString(), any(Pageable.class)))
+                .thenReturn(new PaginatedCreditoResponse(muitosCreditos, 0, 20, 20, 1, true, true, false, false));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/creditos/paginated/7891011")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        // Then
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(json).contains("\"numeroCredito\":\"123456\"");
+        }
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_SemAcceptEncoding_NaoDeveComprimir() throws Exception {
+        // Given
+        when(creditoService.buscarCreditosPorNfseComPaginacao(anyString(), any(Pageable.class)))
+                .thenReturn(new PaginatedCreditoResponse(Collections.nCopies(20, credito1), 0, 20, 20, 1, true, true, false, false));
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/paginated/7891011"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.content.length()").value(20));
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_IfNoneMatchIgual_DeveRetornar304() throws Exception {
+        // Given
+        when(creditoService.buscarVersaoNfse("7891011"))
+            .thenReturn(new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L));
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/paginated/7891011?page=0&size=10")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2-61245f9028800\""))
+                .andExpect(status().isNotModified());
+        verify(creditoService, never()).buscarCreditosPorNfseComPaginacao(anyString(), any(Pageable.class));
+    }
+
     @Test
     void testBuscarCreditosPorNfseComPaginacao_ParametrosPadrao() throws Exception {
         // Given
@@ -298,6 +456,184 @@ class CreditoControllerTest {
                 .andExpect(jsonPath("$.size").value(10)); // O mock retorna size=10
     }
 
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_SemTotal() throws Exception {
+        // Given
+        PaginatedCreditoResponse responseSemTotal = new PaginatedCreditoResponse(
+            creditos, 0, 10, PaginatedCreditoResponse.TOTAL_NAO_CALCULADO, PaginatedCreditoResponse.TOTAL_NAO_CALCULADO,
+            true, false, true, false
+        );
+        when(creditoService.buscarCreditosPorNfseComPaginacaoSemTotal(anyString(), any(Pageable.class)))
+                .thenReturn(responseSemTotal);
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/paginated/7891011?withTotal=false")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.totalElements").value(-1))
+                .andExpect(jsonPath("$.totalPages").value(-1))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComCursor_PrimeiraPagina() throws Exception {
+        // Given
+        CursorPaginatedCreditoResponse response = new CursorPaginatedCreditoResponse(creditos, 2, "abc123", true);
+        when(creditoService.buscarCreditosPorNfseComCursor(eq("7891011"), isNull(), any(Pageable.class)))
+                .thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/paginated/7891011/cursor?size=2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("abc123"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+        verify(validationService).validateCreditosPorNfseCursor("7891011", 2, "dataConstituicao", "desc");
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComCursor_PaginaSeguinteVazia() throws Exception {
+        // Given
+        CursorPaginatedCreditoResponse response = new CursorPaginatedCreditoResponse(Collections.emptyList(), 10, null, false);
+        when(creditoService.buscarCreditosPorNfseComCursor(eq("7891011"), eq("abc123"), any(Pageable.class)))
+                .thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/paginated/7891011/cursor?cursor=abc123")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComCursor_NaoEncontrado() throws Exception {
+        // Given
+        CursorPaginatedCreditoResponse response = new CursorPaginatedCreditoResponse(Collections.emptyList(), 10, null, false);
+        when(creditoService.buscarCreditosPorNfseComCursor(eq("9999999"), isNull(), any(Pageable.class)))
+                .thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/paginated/9999999/cursor")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("CREDITO_NOT_FOUND"));
+    }
+
+    @Test
+    void testExportarCreditos_Ndjson() throws Exception {
+        // Given
+        when(creditoExportService.exportar(eq("7891011"), isNull(), isNull(),
+                eq(CreditoExportService.Formato.NDJSON), any()))
+            .thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(4);
+                out.write("{\"numeroCredito\":\"123456\"}\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            });
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/creditos/export?numeroNfse=7891011"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"creditos.ndjson\""))
+                .andExpect(content().string("{\"numeroCredito\":\"123456\"}\n"));
+    }
+
+    @Test
+    void testExportarCreditos_FormatoInvalido() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/creditos/export?formato=xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void testBuscarCreditosComFiltros_Sucesso() throws Exception {
+        // Given
+        CreditoLeitura leitura = new CreditoLeitura(1L, "123456", "7891011", LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00"));
+        when(creditoService.buscarCreditosComFiltros(eq("7891011"), isNull(), eq(true), any(Pageable.class)))
+            .thenReturn(new PaginatedCreditoLeituraResponse(List.of(leitura), 0, 10, 1, 1, true, true, false, false));
+
+        // When & Then: a projeção tem as mesmas propriedades JSON da entidade
+        mockMvc.perform(get("/api/creditos/search?numeroNfse=7891011&simplesNacional=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].numeroCredito").value("123456"))
+                .andExpect(jsonPath("$.content[0].simplesNacional").value(true))
+                .andExpect(jsonPath("$.content[0].baseCalculo").value(25000.00))
+                .andExpect(jsonPath("$.totalElements").value(1));
+        verify(validationService).validateCreditosComFiltros("7891011", null, 0, 10, "dataConstituicao", "desc");
+    }
+
+    @Test
+    void testBuscarCreditosComFiltros_SemResultados_DeveRetornarPaginaVazia() throws Exception {
+        // Given
+        when(creditoService.buscarCreditosComFiltros(isNull(), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(new PaginatedCreditoLeituraResponse(Collections.emptyList(), 0, 10, 0, 0, true, true, false, false));
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    void testImportarCreditos_Csv() throws Exception {
+        // Given
+        CreditoImportResponse importResponse = new CreditoImportResponse(3, 1, 1, 1, 10,
+            List.of(new CreditoImportResponse.Rejeicao(4, "Alíquota fora do intervalo de 0 a 100")));
+        when(creditoImportService.importar(eq(CreditoExportService.Formato.CSV), any()))
+            .thenReturn(importResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/creditos/import?formato=csv")
+                .contentType("text/csv")
+                .content("numeroCredito,numeroNfse\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(3))
+                .andExpect(jsonPath("$.linhasInseridas").value(1))
+                .andExpect(jsonPath("$.linhasRejeitadas").value(1))
+                .andExpect(jsonPath("$.linhasPorSegundo").value(300))
+                .andExpect(jsonPath("$.rejeicoes[0].linha").value(4));
+    }
+
+    @Test
+    void testImportarCreditos_FormatoInvalido() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/creditos/import?formato=xml")
+                .contentType("text/csv")
+                .content("x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void testBuscarCreditosPorNumeros_Sucesso() throws Exception {
+        // Given
+        when(creditoService.buscarCreditosPorNumeros(List.of("123456", "000000")))
+                .thenReturn(new CreditoBatchResponse(List.of(credito1), List.of("000000")));
+
+        // When & Then
+        mockMvc.perform(post("/api/creditos/credito/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numerosCredito\": [\"123456\", \"000000\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.encontrados.length()").value(1))
+                .andExpect(jsonPath("$.encontrados[0].numeroCredito").value("123456"))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value("000000"));
+    }
+
     @Test
     void testBuscarCreditoPorNumero_Sucesso() throws Exception {
         // Given
@@ -318,6 +654,23 @@ class CreditoControllerTest {
                 .andExpect(jsonPath("$.valorFaturado").value(30000.00))
                 .andExpect(jsonPath("$.valorDeducao").value(5000.00))
                 .andExpect(jsonPath("$.baseCalculo").value(25000.00));
+        verify(detectorChavesQuentes).registrar(ChavesQuentes.Tipo.CREDITO, "123456");
+    }
+
+    @Test
+    void testBuscarCreditoPorNumero_IfNoneMatchIgual_DeveRetornar304() throws Exception {
+        // Given
+        credito1.setId(42L);
+        credito1.setUpdatedAt(LocalDateTime.of(2024, 2, 26, 10, 0));
+        when(creditoService.buscarCreditoPorNumero("123456")).thenReturn(credito1);
+
+        // When & Then
+        mockMvc.perform(get("/api/creditos/credito/123456"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"42-61245f9028800\""))
+                .andExpect(jsonPath("$.updatedAt").doesNotExist());
+        mockMvc.perform(get("/api/creditos/credito/123456").header(HttpHeaders.IF_NONE_MATCH, "\"42-61245f9028800\""))
+                .andExpect(status().isNotModified());
     }
 
     @Test
@@ -332,6 +685,7 @@ class CreditoControllerTest {
                 .andExpect(jsonPath("$.error").value("SimpleCreditoException"))
                 .andExpect(jsonPath("$.message").value("Crédito não encontrado para número do crédito: 999999"))
                 .andExpect(jsonPath("$.errorCode").value("CREDITO_NOT_FOUND"));
+        verify(detectorChavesQuentes, never()).registrar(any(), anyString());
     }
 
     @Test
@@ -232,4 +232,19 @@ class PageableFactoryTest {
             assertEquals(sortField, pageable.getSort().getOrderFor(sortField).getProperty());
         }
     }
+    
+    @Test
+    @DisplayName("Deve reaproveitar o Sort e o Pageable da primeira página")
+    void shouldReuseInternedSortAndFirstPage() {
+        // When
+        Pageable primeira = pageableFactory.createPageable(0, 10, "numeroCredito", "DESC");
+        Pageable primeiraDeNovo = pageableFactory.createPageable(0, 10, " numeroCredito ", "desc");
+        Pageable segunda = pageableFactory.createPageable(1, 10, "numeroCredito", "DESC");
+        
+        // Then
+        assertSame(primeira, primeiraDeNovo);
+        assertSame(primeira.getSort(), segunda.getSort());
+        assertEquals(1, segunda.getPageNumber());
+        assertNotSame(pageableFactory.createPageable(0, 10, "numeroCredito", "ASC").getSort(), primeira.getSort());
+    }
 }
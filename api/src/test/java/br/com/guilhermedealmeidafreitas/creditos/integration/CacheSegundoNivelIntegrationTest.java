@@ -0,0 +1,180 @@
+package br.com.guilhermedealmeidafreitas.creditos.integration;
+
+import br.com.guilhermedealmeidafreitas.creditos.cache.CacheSegundoNivel;
+import br.com.guilhermedealmeidafreitas.creditos.config.HibernateCacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de segundo nível e de consultas do Hibernate: consultas repetidas por número
+ * e por NFS-e não devem executar JDBC, medido pelas estatísticas do Hibernate.
+ * Sem @Transactional: cada consulta abre sua própria sessão, como nas requisições.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+class CacheSegundoNivelIntegrationTest {
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.cache.hibernate.enabled", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    @Autowired
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        creditoRepository.deleteAll();
+        creditoRepository.saveAll(List.of(
+            credito("123456", "7891011"), credito("789012", "7891011"), credito("654321", "1122334")));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    private Credito credito(String numeroCredito, String numeroNfse) {
+        return new Credito(
+            numeroCredito, numeroNfse, LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+    }
+
+    @Test
+    void findByNumeroCredito_ConsultaRepetida_NaoDeveExecutarJdbc() {
+        // When
+        Credito primeira = creditoRepository.findByNumeroCredito("123456");
+        Credito segunda = creditoRepository.findByNumeroCredito("123456");
+
+        // Then
+        assertThat(primeira.getNumeroCredito()).isEqualTo("123456");
+        assertThat(segunda.getNumeroCredito()).isEqualTo("123456");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByNumeroNfse_ConsultaRepetida_NaoDeveExecutarJdbc() {
+        // When
+        List<Credito> primeira = creditoRepository.findByNumeroNfse("7891011");
+        List<Credito> segunda = creditoRepository.findByNumeroNfse("7891011");
+
+        // Then
+        assertThat(primeira).hasSize(2);
+        assertThat(segunda).extracting(Credito::getNumeroCredito).containsExactlyInAnyOrder("123456", "789012");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findByNumeroCredito_AposAlteracaoPeloHibernate_DeveRetornarNovoValor() {
+        // Given
+        Credito credito = creditoRepository.findByNumeroCredito("123456");
+        credito.setValorIssqn(new BigDecimal("999.00"));
+
+        // When
+        creditoRepository.save(credito);
+
+        // Then
+        assertThat(creditoRepository.findByNumeroCredito("123456").getValorIssqn())
+            .isEqualByComparingTo("999.00");
+    }
+
+    @Test
+    void esvaziar_DeveFazerAProximaConsultaIrAoBanco() {
+        // Given
+        creditoRepository.findByNumeroCredito("123456");
+
+        // When
+        cacheSegundoNivel.esvaziar();
+        statistics.clear();
+        creditoRepository.findByNumeroCredito("123456");
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void streamByFilters_Exportacao_NaoDeveGravarNoCacheDeSegundoNivel() {
+        // When
+        List<Credito> exportados = transactionTemplate.execute(status -> {
+            try (Stream<Credito> creditos = creditoRepository.streamByFilters(null, null, null)) {
+                return creditos.toList();
+            }
+        });
+
+        // Then
+        assertThat(exportados).hasSize(3);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    void findByNumeroCreditoIn_LeituraEmLote_NaoDeveGravarNoCacheDeSegundoNivel() {
+        // When
+        List<Credito> creditos = creditoRepository.findByNumeroCreditoIn(List.of("123456", "789012", "654321"));
+
+        // Then
+        assertThat(creditos).hasSize(3);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    void findByNumeroCredito_AposLeituraEmLote_DeveGravarSoOCreditoConsultado() {
+        // Given
+        creditoRepository.findByNumeroCreditoIn(List.of("123456", "789012", "654321"));
+
+        // When
+        creditoRepository.findByNumeroCredito("123456");
+
+        // Then: só a entidade consultada por número entra na região "credito"
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.REGIAO_CREDITO).getPutCount()).isEqualTo(1);
+    }
+}
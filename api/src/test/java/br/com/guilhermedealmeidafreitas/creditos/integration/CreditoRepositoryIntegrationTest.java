@@ -1,15 +1,23 @@
 package br.com.guilhermedealmeidafreitas.creditos.integration;
 
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoLeitura;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -20,7 +28,9 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -51,6 +61,9 @@ class CreditoRepositoryIntegrationTest {
     @Autowired
     private CreditoRepository creditoRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         // Limpa a base de dados antes de cada teste
@@ -86,6 +99,30 @@ class CreditoRepositoryIntegrationTest {
         assertThat(resultado).isNull();
     }
 
+    @Test
+    void findByNumeroCredito_DeveCarregarEntidadeSomenteLeitura() {
+        // Cenário: Um crédito persistido e o contexto de persistência limpo
+        Credito credito = new Credito("CREDITO_RO", "NFSE_RO", LocalDate.now(),
+                BigDecimal.valueOf(100.00), "ISS", true, BigDecimal.valueOf(5.00),
+                BigDecimal.valueOf(2000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(2000.00));
+        creditoRepository.saveAndFlush(credito);
+        entityManager.clear();
+
+        // Ação: Buscar pelas consultas de leitura
+        Credito porNumero = creditoRepository.findByNumeroCredito("CREDITO_RO");
+        List<Credito> porNfse = creditoRepository.findByNumeroNfse("NFSE_RO");
+
+        // Verificação: entidades somente leitura não participam do dirty checking
+        Session session = entityManager.unwrap(Session.class);
+        assertThat(session.isReadOnly(porNumero)).isTrue();
+        assertThat(porNfse).allMatch(session::isReadOnly);
+
+        porNumero.setTipoCredito("ALTERADO");
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(creditoRepository.findByNumeroCredito("CREDITO_RO").getTipoCredito()).isEqualTo("ISS");
+    }
+
     // Testes para findByNumeroNfse
     @Test
     void findByNumeroNfse_QuandoExistemCreditos_DeveRetornarLista() {
@@ -227,9 +264,44 @@ class CreditoRepositoryIntegrationTest {
         assertThat(resultado.getTotalPages()).isEqualTo(0);
     }
 
-    // Testes para filtros complexos - findByFilters
+    // Testes para paginação por keyset - findByNumeroNfse com ScrollPosition
+    @Test
+    void findByNumeroNfse_ComKeyset_DevePercorrerTodasAsPaginasSemRepeticao() {
+        // Cenário: 25 créditos com apenas 5 datas distintas (empates resolvidos pelo id)
+        String nfse = "NFSE_KEYSET";
+        for (int i = 1; i <= 25; i++) {
+            Credito credito = new Credito("CREDITO" + String.format("%03d", i), nfse, LocalDate.now().minusDays(i % 5),
+                    BigDecimal.valueOf(100.00 + i), "ISS", true, BigDecimal.valueOf(5.00),
+                    BigDecimal.valueOf(2000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(2000.00));
+            creditoRepository.save(credito);
+        }
+
+        // Ação: Percorrer todas as páginas de 10 itens seguindo a posição da última linha
+        Sort sort = Sort.by("dataConstituicao").descending();
+        List<Credito> percorridos = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        int paginas = 0;
+        Window<Credito> janela;
+        do {
+            janela = creditoRepository.findByNumeroNfse(nfse, position, sort, Limit.of(10));
+            percorridos.addAll(janela.getContent());
+            if (!janela.isEmpty()) {
+                position = janela.positionAt(janela.size() - 1);
+            }
+            paginas++;
+        } while (janela.hasNext());
+
+        // Verificação
+        assertThat(paginas).isEqualTo(3);
+        assertThat(percorridos).hasSize(25);
+        assertThat(percorridos).extracting(Credito::getId).doesNotHaveDuplicates();
+        assertThat(percorridos).extracting(Credito::getDataConstituicao)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    // Testes para filtros complexos - Specification comFiltros
     @Test
-    void findByFilters_ComTodosFiltros_DeveRetornarCreditosFiltrados() {
+    void findAllComFiltros_ComTodosFiltros_DeveRetornarCreditosFiltrados() {
         // Cenário: Criar créditos com diferentes características
         Credito credito1 = new Credito("CREDITO001", "NFSE001", LocalDate.now(),
                 BigDecimal.valueOf(100.00), "ISS", true, BigDecimal.valueOf(5.00),
@@ -247,7 +319,7 @@ class CreditoRepositoryIntegrationTest {
 
         // Ação: Filtrar por NFS-e, tipo e simples nacional
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Credito> resultado = creditoRepository.findByFilters("NFSE001", "ISS", true, pageable);
+        Page<Credito> resultado = creditoRepository.findAll(CreditoSpecifications.comFiltros("NFSE001", "ISS", true), pageable);
 
         // Verificação
         assertThat(resultado.getContent()).hasSize(1);
@@ -258,7 +330,7 @@ class CreditoRepositoryIntegrationTest {
     }
 
     @Test
-    void findByFilters_ComFiltrosParciais_DeveRetornarCreditosFiltrados() {
+    void findAllComFiltros_ComFiltrosParciais_DeveRetornarCreditosFiltrados() {
         // Cenário: Criar créditos com diferentes características
         Credito credito1 = new Credito("CREDITO001", "NFSE001", LocalDate.now(),
                 BigDecimal.valueOf(100.00), "ISS", true, BigDecimal.valueOf(5.00),
@@ -276,7 +348,7 @@ class CreditoRepositoryIntegrationTest {
 
         // Ação: Filtrar apenas por tipo de crédito
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Credito> resultado = creditoRepository.findByFilters(null, "ISS", null, pageable);
+        Page<Credito> resultado = creditoRepository.findAll(CreditoSpecifications.comFiltros(null, "ISS", null), pageable);
 
         // Verificação
         assertThat(resultado.getContent()).hasSize(2);
@@ -285,7 +357,7 @@ class CreditoRepositoryIntegrationTest {
     }
 
     @Test
-    void findByFilters_ComFiltrosNull_DeveRetornarTodosCreditos() {
+    void findAllComFiltros_ComFiltrosNull_DeveRetornarTodosCreditos() {
         // Cenário: Criar alguns créditos
         Credito credito1 = new Credito("CREDITO001", "NFSE001", LocalDate.now(),
                 BigDecimal.valueOf(100.00), "ISS", true, BigDecimal.valueOf(5.00),
@@ -299,13 +371,36 @@ class CreditoRepositoryIntegrationTest {
 
         // Ação: Buscar sem filtros (todos null)
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Credito> resultado = creditoRepository.findByFilters(null, null, null, pageable);
+        Page<Credito> resultado = creditoRepository.findAll(CreditoSpecifications.comFiltros(null, null, null), pageable);
 
         // Verificação
         assertThat(resultado.getContent()).hasSize(2);
         assertThat(resultado.getContent()).extracting(Credito::getNumeroCredito).containsExactlyInAnyOrder("CREDITO001", "CREDITO002");
     }
 
+    @Test
+    void streamByFilters_DeveAplicarSoOsFiltrosInformadosEOrdenarPorId() {
+        // Given
+        Credito credito1 = creditoRepository.save(new Credito("CREDITO001", "NFSE001", LocalDate.now(),
+                BigDecimal.valueOf(100.00), "ISS", true, BigDecimal.valueOf(5.00),
+                BigDecimal.valueOf(2000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(2000.00)));
+        creditoRepository.save(new Credito("CREDITO002", "NFSE001", LocalDate.now(),
+                BigDecimal.valueOf(150.00), "ICMS", false, BigDecimal.valueOf(7.50),
+                BigDecimal.valueOf(3000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(3000.00)));
+        Credito credito3 = creditoRepository.save(new Credito("CREDITO003", "NFSE002", LocalDate.now(),
+                BigDecimal.valueOf(200.00), "ISS", true, BigDecimal.valueOf(10.00),
+                BigDecimal.valueOf(4000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(4000.00)));
+
+        // When
+        List<Credito> resultado;
+        try (Stream<Credito> creditos = creditoRepository.streamByFilters(null, "ISS", null)) {
+            resultado = creditos.toList();
+        }
+
+        // Then
+        assertThat(resultado).extracting(Credito::getId).containsExactly(credito1.getId(), credito3.getId());
+    }
+
     // Testes para findByTipoCredito com paginação
     @Test
     void findByTipoCredito_ComPaginacao_DeveRetornarCreditosDoTipo() {
@@ -391,4 +486,34 @@ class CreditoRepositoryIntegrationTest {
         assertThat(resultado.getContent()).extracting(Credito::getNumeroCredito)
                 .containsExactly("CREDITO002", "CREDITO003", "CREDITO001");
     }
+
+    @Test
+    void findLeituraByFilters_DeveProjetarSemCarregarEntidades() {
+        // Given
+        creditoRepository.save(new Credito("CREDITO001", "NFSE001", LocalDate.of(2024, 1, 10),
+                BigDecimal.valueOf(100.00), "ISS", true, BigDecimal.valueOf(5.00),
+                BigDecimal.valueOf(2000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(2000.00)));
+        creditoRepository.save(new Credito("CREDITO002", "NFSE001", LocalDate.of(2024, 1, 20),
+                BigDecimal.valueOf(150.00), "ICMS", false, BigDecimal.valueOf(7.50),
+                BigDecimal.valueOf(3000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(3000.00)));
+        creditoRepository.save(new Credito("CREDITO003", "NFSE002", LocalDate.of(2024, 1, 30),
+                BigDecimal.valueOf(200.00), "ISS", true, BigDecimal.valueOf(10.00),
+                BigDecimal.valueOf(4000.00), BigDecimal.valueOf(0.00), BigDecimal.valueOf(4000.00)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Page<CreditoLeitura> resultado = creditoRepository.findLeituraByFilters(
+            null, "ISS", null, PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "dataConstituicao")));
+
+        // Then
+        assertThat(resultado.getTotalElements()).isEqualTo(2);
+        assertThat(resultado.getContent()).hasSize(1);
+        CreditoLeitura credito = resultado.getContent().get(0);
+        assertThat(credito.numeroCredito()).isEqualTo("CREDITO003");
+        assertThat(credito.numeroNfse()).isEqualTo("NFSE002");
+        assertThat(credito.valorIssqn()).isEqualByComparingTo("200.00");
+        assertThat(credito.simplesNacional()).isTrue();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 }
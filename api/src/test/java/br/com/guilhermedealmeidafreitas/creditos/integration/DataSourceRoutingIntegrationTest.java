@@ -0,0 +1,167 @@
+package br.com.guilhermedealmeidafreitas.creditos.integration;
+
+import br.com.guilhermedealmeidafreitas.creditos.command.CommandInvoker;
+import br.com.guilhermedealmeidafreitas.creditos.command.CommandResult;
+import br.com.guilhermedealmeidafreitas.creditos.command.GenerateTestDataCommand;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roteamento primário/réplica com dois PostgreSQL em streaming replication.
+ * As escritas só são aceitas pelo primário; a réplica é um hot standby.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+class DataSourceRoutingIntegrationTest {
+
+    private static final String IMAGEM = "bitnami/postgresql:15";
+    private static final Network REDE = Network.newNetwork();
+
+    @Container
+    @SuppressWarnings("resource")
+    static GenericContainer<?> primario = new GenericContainer<>(IMAGEM)
+            .withNetwork(REDE)
+            .withNetworkAliases("postgres-primario")
+            .withExposedPorts(5432)
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "repl_user")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "repl_pass")
+            .withEnv("POSTGRESQL_USERNAME", "creditos_user")
+            .withEnv("POSTGRESQL_PASSWORD", "creditos_pass")
+            .withEnv("POSTGRESQL_DATABASE", "creditos_test")
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 1)
+                .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @Container
+    @SuppressWarnings("resource")
+    static GenericContainer<?> replica = new GenericContainer<>(IMAGEM)
+            .withNetwork(REDE)
+            .withExposedPorts(5432)
+            .dependsOn(primario)
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "repl_user")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "repl_pass")
+            .withEnv("POSTGRESQL_MASTER_HOST", "postgres-primario")
+            .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", "5432")
+            .withEnv("POSTGRESQL_PASSWORD", "creditos_pass")
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*", 1)
+                .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> jdbcUrl(primario));
+        registry.add("spring.datasource.username", () -> "creditos_user");
+        registry.add("spring.datasource.password", () -> "creditos_pass");
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.jdbc-url", () -> jdbcUrl(replica));
+        registry.add("app.datasource.replica.username", () -> "creditos_user");
+        registry.add("app.datasource.replica.password", () -> "creditos_pass");
+        // Sem a janela pós-escrita, para que as leituras dos testes sempre possam ir à réplica
+        registry.add("app.datasource.replica.janela-apos-escrita", () -> "PT0S");
+    }
+
+    private static String jdbcUrl(GenericContainer<?> container) {
+        return String.format("jdbc:postgresql://%s:%d/creditos_test",
+            container.getHost(), container.getMappedPort(5432));
+    }
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    @Autowired
+    private CreditoService creditoService;
+
+    @Autowired
+    private CommandInvoker commandInvoker;
+
+    @Autowired
+    private GenerateTestDataCommand generateTestDataCommand;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        creditoRepository.deleteAll();
+    }
+
+    private boolean emRecuperacao(boolean somenteLeitura) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(somenteLeitura);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    @Test
+    void transacaoSomenteLeitura_DeveSerRoteadaParaReplica() {
+        assertThat(emRecuperacao(true)).isTrue();
+        assertThat(emRecuperacao(false)).isFalse();
+    }
+
+    @Test
+    void foraDeTransacao_DeveUsarPrimario() {
+        assertThat(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)).isFalse();
+    }
+
+    @Test
+    void escritaNoPrimario_DeveSerLidaPeloServicoNaReplica() throws Exception {
+        // Given: escrita pelo repositório (transação read-write, primário)
+        creditoRepository.save(new Credito("REPL001", "NFSE_REPL", LocalDate.of(2024, 1, 1),
+            new BigDecimal("100.00"), "ISSQN", true, new BigDecimal("5.00"),
+            new BigDecimal("2000.00"), BigDecimal.ZERO, new BigDecimal("2000.00")));
+
+        // When: leitura pelo serviço (transação readOnly, réplica), aguardando o atraso de replicação
+        Credito lido = null;
+        long limite = System.currentTimeMillis() + 10_000;
+        while (lido == null && System.currentTimeMillis() < limite) {
+            lido = creditoService.buscarCreditoPorNumero("REPL001");
+            if (lido == null) {
+                Thread.sleep(100);
+            }
+        }
+
+        // Then
+        assertThat(lido).isNotNull();
+        assertThat(lido.getNumeroNfse()).isEqualTo("NFSE_REPL");
+    }
+
+    @Test
+    void comandoDeEscrita_DeveExecutarNoPrimario() throws Exception {
+        // Given
+        generateTestDataCommand.setParameters(Map.of(
+            GenerateTestDataCommand.PARAM_NFSE_COUNT, 1,
+            GenerateTestDataCommand.PARAM_CREDITOS_PER_NFSE, 5));
+
+        // When: a réplica é um hot standby e rejeitaria o INSERT
+        CommandResult result = commandInvoker.execute(generateTestDataCommand);
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(creditoRepository.count()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.guilhermedealmeidafreitas.creditos.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica, via EXPLAIN, que o schema criado pelas migrações do Flyway atende
+ * as consultas por NFS-e com Index Only Scan e sem etapa de Sort.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndicesPlanoExecucaoIntegrationTest {
+
+    private static final int TOTAL_LINHAS = 50_000;
+    private static final int TOTAL_NFSE = 500;
+
+    private static final String COLUNAS = "c.id, c.aliquota, c.base_calculo, c.data_constituicao, c.numero_credito, " +
+                                          "c.numero_nfse, c.simples_nacional, c.tipo_credito, c.valor_deducao, " +
+                                          "c.valor_faturado, c.valor_issqn, c.created_at, c.updated_at";
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // Schema pelas migrações, validado pelo Hibernate
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.hbm2ddl.auto", () -> "validate");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void popularBase() {
+        jdbcTemplate.update(
+            "INSERT INTO credito (numero_credito, numero_nfse, data_constituicao, valor_issqn, tipo_credito, " +
+            "simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo) " +
+            "SELECT 'CR' || g, 'NFSE' || (g % " + TOTAL_NFSE + "), DATE '2024-01-01' - (g % 365), 100.00, " +
+            "CASE WHEN g % 2 = 0 THEN 'ISSQN' ELSE 'Outros' END, g % 3 = 0, 5.00, 2000.00, 0.00, 2000.00 " +
+            "FROM generate_series(1, " + TOTAL_LINHAS + ") g");
+        // Atualiza o visibility map (necessário para Index Only Scan) e as estatísticas
+        jdbcTemplate.execute("VACUUM ANALYZE credito");
+    }
+
+    private String explain(String sql) {
+        List<String> linhas = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", linhas);
+    }
+
+    @Test
+    void migracoes_DevemCriarIndicesCompostos() {
+        List<String> indices = jdbcTemplate.queryForList(
+            "SELECT indexname FROM pg_indexes WHERE tablename = 'credito'", String.class);
+
+        assertThat(indices)
+            .contains("idx_credito_nfse_data_constituicao", "idx_credito_tipo_simples_nacional")
+            .doesNotContain("idx_credito_numero_nfse", "idx_credito_numero_credito", "idx_credito_tipo_credito");
+    }
+
+    @Test
+    void paginaPorNfseOrdenadaPorDataConstituicao_DeveUsarIndexOnlyScanSemSort() {
+        String plano = explain("SELECT " + COLUNAS + " FROM credito c WHERE c.numero_nfse = 'NFSE42' " +
+                               "ORDER BY c.data_constituicao DESC OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY");
+
+        assertThat(plano).contains("Index Only Scan using idx_credito_nfse_data_constituicao");
+        assertThat(plano).doesNotContain("Sort");
+    }
+
+    @Test
+    void paginaPorCursor_DeveUsarIndexOnlyScanSemSort() {
+        // Keyset gerado pelo Spring Data: data_constituicao DESC com id ASC como desempate
+        String plano = explain("SELECT " + COLUNAS + " FROM credito c WHERE c.numero_nfse = 'NFSE42' " +
+                               "AND (c.data_constituicao < DATE '2023-06-01' OR " +
+                               "(c.data_constituicao = DATE '2023-06-01' AND c.id > 1000)) " +
+                               "ORDER BY c.data_constituicao DESC, c.id FETCH FIRST 11 ROWS ONLY");
+
+        assertThat(plano).contains("Index Only Scan using idx_credito_nfse_data_constituicao");
+        assertThat(plano).doesNotContain("Sort");
+    }
+
+    @Test
+    void contagemPorNfse_DeveUsarIndexOnlyScan() {
+        String plano = explain("SELECT COUNT(c.id) FROM credito c WHERE c.numero_nfse = 'NFSE42'");
+
+        assertThat(plano).contains("Index Only Scan using idx_credito_nfse_data_constituicao");
+    }
+
+    @Test
+    void versaoPorNfse_DeveUsarIndexOnlyScan() {
+        String plano = explain("SELECT MAX(c.updated_at), COUNT(c.id) FROM credito c WHERE c.numero_nfse = 'NFSE42'");
+
+        assertThat(plano).contains("Index Only Scan using idx_credito_nfse_data_constituicao");
+    }
+
+    @Test
+    void buscaPorNumeroCredito_DeveUsarIndiceDaConstraintUnica() {
+        String plano = explain("SELECT " + COLUNAS + " FROM credito c WHERE c.numero_credito = 'CR42'");
+
+        assertThat(plano).contains("uk_credito_numero_credito");
+    }
+}
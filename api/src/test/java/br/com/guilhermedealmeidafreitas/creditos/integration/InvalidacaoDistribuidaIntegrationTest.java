@@ -0,0 +1,148 @@
+package br.com.guilhermedealmeidafreitas.creditos.integration;
+
+import br.com.guilhermedealmeidafreitas.creditos.ApiApplication;
+import br.com.guilhermedealmeidafreitas.creditos.cache.BarramentoInvalidacao;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCacheInvalidador;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.service.CreditoService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duas instâncias da aplicação sobre o mesmo PostgreSQL, com caches locais habilitados:
+ * uma escrita notificada por uma instância deve invalidar o cache da outra, e a perda
+ * da conexão de escuta deve esvaziar os caches ao reconectar.
+ */
+@Testcontainers
+class InvalidacaoDistribuidaIntegrationTest {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(10);
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("creditos_test")
+            .withUsername("creditos_user")
+            .withPassword("creditos_pass");
+
+    private static ConfigurableApplicationContext instanciaA;
+    private static ConfigurableApplicationContext instanciaB;
+
+    @BeforeAll
+    static void iniciarInstancias() {
+        instanciaA = iniciarInstancia();
+        instanciaB = iniciarInstancia();
+    }
+
+    @AfterAll
+    static void pararInstancias() {
+        if (instanciaB != null) {
+            instanciaB.close();
+        }
+        if (instanciaA != null) {
+            instanciaA.close();
+        }
+    }
+
+    // Argumentos de linha de comando têm precedência sobre application-integration.yml
+    private static ConfigurableApplicationContext iniciarInstancia() {
+        return new SpringApplicationBuilder(ApiApplication.class)
+            .profiles("integration")
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.flyway.enabled=true",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.jpa.properties.hibernate.hbm2ddl.auto=validate",
+                "--app.cache.credito-por-numero.enabled=true",
+                "--app.cache.nfse-paginas.enabled=true",
+                "--app.cache.filtro-numeros.enabled=true",
+                "--app.cache.invalidacao-distribuida.enabled=true",
+                "--app.cache.invalidacao-distribuida.reconnect-delay=100ms");
+    }
+
+    private static Credito credito(String numeroCredito, String numeroNfse) {
+        return new Credito(
+            numeroCredito, numeroNfse, LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+    }
+
+    // Grava pela instância A como os caminhos de escrita: filtro, gravação e invalidação
+    private static void gravarNaInstanciaA(Credito credito) {
+        CreditoCacheInvalidador invalidador = instanciaA.getBean(CreditoCacheInvalidador.class);
+        invalidador.registrarGravacao(List.of(credito));
+        instanciaA.getBean(CreditoRepository.class).save(credito);
+        invalidador.invalidarCreditos(List.of(credito));
+    }
+
+    private static void alterarValorSemNotificar(String numeroCredito, String valor) {
+        instanciaA.getBean(JdbcTemplate.class).update(
+            "UPDATE credito SET valor_issqn = ? WHERE numero_credito = ?", new BigDecimal(valor), numeroCredito);
+    }
+
+    private static BigDecimal valorNaInstanciaB(String numeroCredito) {
+        Credito credito = instanciaB.getBean(CreditoService.class).buscarCreditoPorNumero(numeroCredito);
+        return credito == null ? null : credito.getValorIssqn();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condição não atingida em %s", ESPERA_MAXIMA).isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void escritaNaInstanciaA_DeveInvalidarCacheDaInstanciaB() throws InterruptedException {
+        // Given: crédito criado em A e lido (e armazenado em cache) por B
+        gravarNaInstanciaA(credito("CR-DIST-1", "NFSE-DIST-1"));
+        aguardar(() -> valorNaInstanciaB("CR-DIST-1") != null);
+        alterarValorSemNotificar("CR-DIST-1", "999.00");
+        assertThat(valorNaInstanciaB("CR-DIST-1")).isEqualByComparingTo("1500.75");
+
+        // When
+        instanciaA.getBean(CreditoCacheInvalidador.class)
+            .invalidar(List.of("CR-DIST-1"), List.of("NFSE-DIST-1"));
+
+        // Then
+        aguardar(() -> new BigDecimal("999.00").compareTo(valorNaInstanciaB("CR-DIST-1")) == 0);
+    }
+
+    @Test
+    void reconexaoDaEscuta_DeveEsvaziarCacheDaInstanciaB() throws InterruptedException {
+        // Given
+        gravarNaInstanciaA(credito("CR-DIST-2", "NFSE-DIST-2"));
+        aguardar(() -> valorNaInstanciaB("CR-DIST-2") != null);
+        alterarValorSemNotificar("CR-DIST-2", "888.00");
+        assertThat(valorNaInstanciaB("CR-DIST-2")).isEqualByComparingTo("1500.75");
+
+        // When: as conexões de escuta caem (notificações do período seriam perdidas)
+        instanciaA.getBean(JdbcTemplate.class).queryForList(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+            BarramentoInvalidacao.APPLICATION_NAME);
+
+        // Then
+        aguardar(() -> new BigDecimal("888.00").compareTo(valorNaInstanciaB("CR-DIST-2")) == 0);
+    }
+}
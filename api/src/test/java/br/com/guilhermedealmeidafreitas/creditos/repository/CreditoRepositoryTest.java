@@ -11,6 +11,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -19,6 +20,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -182,7 +185,7 @@ class CreditoRepositoryTest {
     }
 
     @Test
-    void testFindByFiltersComTodosFiltros() {
+    void testFindAllComFiltrosComTodosFiltros() {
         // Given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "numeroCredito"));
         Page<Credito> pageComFiltros = new PageImpl<>(
@@ -190,12 +193,12 @@ class CreditoRepositoryTest {
             pageable, 
             1
         );
-        when(creditoRepository.findByFilters("7891011", "ISSQN", true, pageable))
+        when(creditoRepository.findAll(any(Specification.class), eq(pageable)))
             .thenReturn(pageComFiltros);
 
         // When
-        Page<Credito> resultado = creditoRepository.findByFilters(
-            "7891011", "ISSQN", true, pageable
+        Page<Credito> resultado = creditoRepository.findAll(
+            CreditoSpecifications.comFiltros("7891011", "ISSQN", true), pageable
         );
 
         // Then
@@ -205,7 +208,7 @@ class CreditoRepositoryTest {
     }
 
     @Test
-    void testFindByFiltersComFiltroNfse() {
+    void testFindAllComFiltrosComFiltroNfse() {
         // Given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "numeroCredito"));
         Page<Credito> pageComNfse = new PageImpl<>(
@@ -213,12 +216,12 @@ class CreditoRepositoryTest {
             pageable, 
             1
         );
-        when(creditoRepository.findByFilters("1122334", null, null, pageable))
+        when(creditoRepository.findAll(any(Specification.class), eq(pageable)))
             .thenReturn(pageComNfse);
 
         // When
-        Page<Credito> resultado = creditoRepository.findByFilters(
-            "1122334", null, null, pageable
+        Page<Credito> resultado = creditoRepository.findAll(
+            CreditoSpecifications.comFiltros("1122334", null, null), pageable
         );
 
         // Then
@@ -228,7 +231,7 @@ class CreditoRepositoryTest {
     }
 
     @Test
-    void testFindByFiltersComFiltroTipoCredito() {
+    void testFindAllComFiltrosComFiltroTipoCredito() {
         // Given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "numeroCredito"));
         Page<Credito> pageComTipo = new PageImpl<>(
@@ -236,12 +239,12 @@ class CreditoRepositoryTest {
             pageable, 
             1
         );
-        when(creditoRepository.findByFilters(null, "Outros", null, pageable))
+        when(creditoRepository.findAll(any(Specification.class), eq(pageable)))
             .thenReturn(pageComTipo);
 
         // When
-        Page<Credito> resultado = creditoRepository.findByFilters(
-            null, "Outros", null, pageable
+        Page<Credito> resultado = creditoRepository.findAll(
+            CreditoSpecifications.comFiltros(null, "Outros", null), pageable
         );
 
         // Then
@@ -251,7 +254,7 @@ class CreditoRepositoryTest {
     }
 
     @Test
-    void testFindByFiltersComFiltroSimplesNacional() {
+    void testFindAllComFiltrosComFiltroSimplesNacional() {
         // Given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "numeroCredito"));
         Page<Credito> pageComSimplesNacional = new PageImpl<>(
@@ -259,12 +262,12 @@ class CreditoRepositoryTest {
             pageable, 
             1
         );
-        when(creditoRepository.findByFilters(null, null, false, pageable))
+        when(creditoRepository.findAll(any(Specification.class), eq(pageable)))
             .thenReturn(pageComSimplesNacional);
 
         // When
-        Page<Credito> resultado = creditoRepository.findByFilters(
-            null, null, false, pageable
+        Page<Credito> resultado = creditoRepository.findAll(
+            CreditoSpecifications.comFiltros(null, null, false), pageable
         );
 
         // Then
@@ -274,7 +277,7 @@ class CreditoRepositoryTest {
     }
 
     @Test
-    void testFindByFiltersSemFiltros() {
+    void testFindAllComFiltrosSemFiltros() {
         // Given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "numeroCredito"));
         Page<Credito> pageCompleta = new PageImpl<>(
@@ -282,12 +285,12 @@ class CreditoRepositoryTest {
             pageable, 
             3
         );
-        when(creditoRepository.findByFilters(null, null, null, pageable))
+        when(creditoRepository.findAll(any(Specification.class), eq(pageable)))
             .thenReturn(pageCompleta);
 
         // When
-        Page<Credito> resultado = creditoRepository.findByFilters(
-            null, null, null, pageable
+        Page<Credito> resultado = creditoRepository.findAll(
+            CreditoSpecifications.comFiltros(null, null, null), pageable
         );
 
         // Then
@@ -296,7 +299,7 @@ class CreditoRepositoryTest {
     }
 
     @Test
-    void testFindByFiltersSemResultados() {
+    void testFindAllComFiltrosSemResultados() {
         // Given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "numeroCredito"));
         Page<Credito> pageVazia = new PageImpl<>(
@@ -304,12 +307,12 @@ class CreditoRepositoryTest {
             pageable, 
             0
         );
-        when(creditoRepository.findByFilters("9999999", "Inexistente", false, pageable))
+        when(creditoRepository.findAll(any(Specification.class), eq(pageable)))
             .thenReturn(pageVazia);
 
         // When
-        Page<Credito> resultado = creditoRepository.findByFilters(
-            "9999999", "Inexistente", false, pageable
+        Page<Credito> resultado = creditoRepository.findAll(
+            CreditoSpecifications.comFiltros("9999999", "Inexistente", false), pageable
         );
 
         // Then
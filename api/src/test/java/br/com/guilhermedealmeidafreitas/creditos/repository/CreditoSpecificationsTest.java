@@ -0,0 +1,83 @@
+package br.com.guilhermedealmeidafreitas.creditos.repository;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditoSpecificationsTest {
+
+    @Mock
+    private Root<Credito> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    @Mock
+    private Path<Object> path;
+
+    @Test
+    void comFiltros_SemFiltros_NaoDeveGerarPredicado() {
+        // When
+        Predicate predicado = CreditoSpecifications.comFiltros(null, null, null).toPredicate(root, query, cb);
+
+        // Then
+        assertThat(predicado).isNull();
+        verify(cb, never()).equal(any(), any(Object.class));
+    }
+
+    @Test
+    void comFiltros_ApenasNfse_DeveGerarSomentePredicadoDaNfse() {
+        // Given
+        Predicate igualNfse = mock(Predicate.class);
+        Predicate combinado = mock(Predicate.class);
+        when(root.get("numeroNfse")).thenReturn(path);
+        when(cb.equal(path, "7891011")).thenReturn(igualNfse);
+        when(cb.and(igualNfse)).thenReturn(combinado);
+
+        // When
+        Predicate predicado = CreditoSpecifications.comFiltros("7891011", null, null).toPredicate(root, query, cb);
+
+        // Then
+        assertThat(predicado).isSameAs(combinado);
+        verify(root, never()).get("tipoCredito");
+        verify(root, never()).get("simplesNacional");
+    }
+
+    @Test
+    void comFiltros_TodosOsFiltros_DeveCombinarTresPredicados() {
+        // Given
+        lenient().when(root.get(anyString())).thenReturn(path);
+        lenient().when(cb.equal(any(), any(Object.class))).thenReturn(mock(Predicate.class));
+        ArgumentCaptor<Predicate[]> captor = ArgumentCaptor.forClass(Predicate[].class);
+
+        // When
+        CreditoSpecifications.comFiltros("7891011", "ISSQN", true).toPredicate(root, query, cb);
+
+        // Then
+        verify(cb).and(captor.capture());
+        assertThat(captor.getValue()).hasSize(3);
+        verify(cb).equal(path, "ISSQN");
+        verify(cb).equal(path, Boolean.TRUE);
+    }
+}
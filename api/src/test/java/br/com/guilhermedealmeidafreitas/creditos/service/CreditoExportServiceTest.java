@@ -0,0 +1,127 @@
+package br.com.guilhermedealmeidafreitas.creditos.service;
+
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoException;
+import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditoExportServiceTest {
+
+    @Mock
+    private CreditoRepository creditoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CreditoExportService creditoExportService;
+
+    private Credito credito1;
+    private Credito credito2;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        creditoExportService = new CreditoExportService(creditoRepository, objectMapper);
+        ReflectionTestUtils.setField(creditoExportService, "entityManager", entityManager);
+
+        credito1 = new Credito(
+            "123456", "7891011", LocalDate.of(2024, 2, 25),
+            new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+            new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00")
+        );
+        credito1.setId(1L);
+
+        credito2 = new Credito(
+            "789012", "7891011", LocalDate.of(2024, 2, 26),
+            new BigDecimal("1200.50"), "ISS, \"retido\"", false, new BigDecimal("4.5"),
+            new BigDecimal("25000.00"), new BigDecimal("4000.00"), new BigDecimal("21000.00")
+        );
+        credito2.setId(2L);
+    }
+
+    @Test
+    void testExportar_Ndjson_UmCreditoPorLinha() {
+        // Given
+        when(creditoRepository.streamByFilters("7891011", null, null)).thenReturn(Stream.of(credito1, credito2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long total = creditoExportService.exportar("7891011", null, null, CreditoExportService.Formato.NDJSON, out);
+
+        // Then
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(total).isEqualTo(2);
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas[0]).startsWith("{").contains("\"numeroCredito\":\"123456\"")
+            .contains("\"dataConstituicao\":\"2024-02-25\"");
+        assertThat(linhas[1]).contains("\"numeroCredito\":\"789012\"");
+        verify(entityManager).detach(credito1);
+        verify(entityManager).detach(credito2);
+    }
+
+    @Test
+    void testExportar_Csv_ComCabecalhoEEscape() {
+        // Given
+        when(creditoRepository.streamByFilters(null, "ISSQN", true)).thenReturn(Stream.of(credito1, credito2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long total = creditoExportService.exportar(null, "ISSQN", true, CreditoExportService.Formato.CSV, out);
+
+        // Then
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(total).isEqualTo(2);
+        assertThat(linhas[0]).startsWith("id,numeroCredito,numeroNfse");
+        assertThat(linhas[1]).isEqualTo("1,123456,7891011,2024-02-25,1500.75,ISSQN,true,5.0,30000.00,5000.00,25000.00");
+        assertThat(linhas[2]).contains("\"ISS, \"\"retido\"\"\"");
+        verify(entityManager, times(2)).detach(any(Credito.class));
+    }
+
+    @Test
+    void testExportar_FechaStreamDoRepositorio() {
+        // Given
+        AtomicBoolean fechado = new AtomicBoolean(false);
+        when(creditoRepository.streamByFilters(null, null, null))
+            .thenReturn(Stream.of(credito1).onClose(() -> fechado.set(true)));
+
+        // When
+        creditoExportService.exportar(null, null, null, CreditoExportService.Formato.NDJSON, new ByteArrayOutputStream());
+
+        // Then
+        assertThat(fechado).isTrue();
+    }
+
+    @Test
+    void testFormato_Conversao() {
+        assertThat(CreditoExportService.Formato.of(null)).isEqualTo(CreditoExportService.Formato.NDJSON);
+        assertThat(CreditoExportService.Formato.of("CSV")).isEqualTo(CreditoExportService.Formato.CSV);
+        assertThat(CreditoExportService.Formato.of(" ndjson ")).isEqualTo(CreditoExportService.Formato.NDJSON);
+        assertThatThrownBy(() -> CreditoExportService.Formato.of("xml"))
+            .isInstanceOf(CreditoException.class)
+            .hasMessageContaining("Formato de exportação inválido");
+    }
+}
@@ -0,0 +1,337 @@
+package br.com.guilhermedealmeidafreitas.creditos.service;
+
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCacheInvalidador;
+import br.com.guilhermedealmeidafreitas.creditos.config.CreditoImportConfig;
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoImportResponse;
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoException;
+import br.com.guilhermedealmeidafreitas.creditos.validation.batch.CreditoBatchValidator;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditoImportServiceTest {
+
+    private static final String CABECALHO = "id,numeroCredito,numeroNfse,dataConstituicao,valorIssqn,tipoCredito," +
+                                            "simplesNacional,aliquota,valorFaturado,valorDeducao,baseCalculo\n";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CreditoCacheInvalidador creditoCacheInvalidador;
+
+    private CreditoImportConfig creditoImportConfig;
+    private ValidationConfig validationConfig;
+    private CreditoImportService creditoImportService;
+    private ByteArrayOutputStream enviadoAoCopy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        creditoImportConfig = new CreditoImportConfig();
+        validationConfig = new ValidationConfig();
+        ValidationChain validationChain = new ValidationChain(List.of(
+            new StringValidationHandler(validationConfig, new SimpleMeterRegistry())));
+        CreditoBatchValidator creditoBatchValidator =
+            new CreditoBatchValidator(new TaxCalculationService(), validationChain, validationConfig);
+        creditoImportService = new CreditoImportService(dataSource, jdbcTemplate, objectMapper,
+            creditoBatchValidator, creditoImportConfig, creditoCacheInvalidador);
+        lenient().when(creditoCacheInvalidador.getLimiteInvalidacaoIndividual()).thenReturn(10_000L);
+
+        enviadoAoCopy = new ByteArrayOutputStream();
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        lenient().when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        lenient().when(copyManager.copyIn(CreditoImportService.COPY_SQL)).thenReturn(copyIn);
+        lenient().doAnswer(invocation -> {
+            byte[] dados = invocation.getArgument(0);
+            enviadoAoCopy.write(dados, invocation.<Integer>getArgument(1), invocation.<Integer>getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockConsolidacao(long inseridos, long atualizados) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("inseridos")).thenReturn(inseridos);
+        when(rs.getLong("atualizados")).thenReturn(atualizados);
+        when(jdbcTemplate.queryForObject(eq(CreditoImportService.MERGE_SQL), any(RowMapper.class)))
+            .thenAnswer(invocation -> ((RowMapper<long[]>) invocation.getArgument(1)).mapRow(rs, 0));
+    }
+
+    private ByteArrayInputStream arquivo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importar_Csv_DeveEnviarLinhasValidasAoCopyEConsolidar() throws Exception {
+        // Given
+        mockConsolidacao(1, 1);
+        String csv = CABECALHO +
+            ",123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",789012,7891011,2024-02-26,1200.50,\"ISS, retido\",false,4.50,25000.00,4000.00,21000.00\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        assertThat(response.getLinhasLidas()).isEqualTo(2);
+        assertThat(response.getLinhasRejeitadas()).isZero();
+        assertThat(response.getLinhasInseridas()).isEqualTo(1);
+        assertThat(response.getLinhasAtualizadas()).isEqualTo(1);
+        assertThat(response.getRejeicoes()).isEmpty();
+        assertThat(enviadoAoCopy.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "2,123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            "3,789012,7891011,2024-02-26,1200.50,\"ISS, retido\",false,4.50,25000.00,4000.00,21000.00\n");
+        verify(jdbcTemplate).execute(CreditoImportService.CREATE_STAGING_SQL);
+        verify(copyIn).endCopy();
+    }
+
+    @Test
+    void importar_DeveInvalidarNoCacheOsNumerosEAsNfseAfetadas() throws Exception {
+        // Given
+        mockConsolidacao(0, 2);
+        when(jdbcTemplate.queryForList(CreditoImportService.NFSE_ANTERIORES_SQL, String.class))
+            .thenReturn(List.of("NFSE_ANTERIOR"));
+        String csv = CABECALHO +
+            ",123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",789012,7891011,2024-02-26,1200.50,ISSQN,false,4.50,25000.00,4000.00,21000.00\n";
+
+        // When
+        creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        verify(creditoCacheInvalidador).invalidar(Set.of("123456", "789012"), Set.of("7891011", "NFSE_ANTERIOR"));
+        verify(creditoCacheInvalidador, never()).invalidarTodos();
+        verify(creditoCacheInvalidador).invalidarSegundoNivel();
+    }
+
+    @Test
+    void importar_AcimaDoLimite_DeveEsvaziarOCache() throws Exception {
+        // Given
+        mockConsolidacao(2, 0);
+        when(creditoCacheInvalidador.getLimiteInvalidacaoIndividual()).thenReturn(1L);
+        String csv = CABECALHO +
+            ",123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",789012,7891011,2024-02-26,1200.50,ISSQN,false,4.50,25000.00,4000.00,21000.00\n";
+
+        // When
+        creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        verify(creditoCacheInvalidador).invalidarTodos();
+        verify(creditoCacheInvalidador, never()).invalidar(any(), any());
+        verify(jdbcTemplate, never()).queryForList(CreditoImportService.NFSE_ANTERIORES_SQL, String.class);
+    }
+
+    @Test
+    void importar_Csv_DeveRejeitarLinhasInconsistentesSemInterromper() throws Exception {
+        // Given
+        mockConsolidacao(1, 0);
+        String csv = CABECALHO +
+            ",123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000001,7891011,2024-02-25,100.00,ISSQN,true,5.00,30000.00,5000.00,99.00\n" +
+            ",000002,7891011,2024-02-25,100.00,ISSQN,true,150.00,30000.00,5000.00,25000.00\n" +
+            ",000003,7891011,data,100.00,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000004,7891011,2024-02-25,100.00,,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000005,7891011,2024-02-25,100.00,ISSQN,true,5.00,1000.00,5000.00,-4000.00\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        assertThat(response.getLinhasLidas()).isEqualTo(6);
+        assertThat(response.getLinhasRejeitadas()).isEqualTo(5);
+        assertThat(response.getRejeicoes()).extracting(CreditoImportResponse.Rejeicao::getLinha)
+            .containsExactly(3L, 4L, 5L, 6L, 7L);
+        assertThat(response.getRejeicoes().get(0).getMotivo()).contains("Base de cálculo diferente");
+        assertThat(response.getRejeicoes().get(1).getMotivo()).contains("Alíquota");
+        assertThat(response.getRejeicoes().get(2).getMotivo()).contains("Linha mal formada");
+        assertThat(response.getRejeicoes().get(3).getMotivo()).contains("tipoCredito");
+        assertThat(response.getRejeicoes().get(4).getMotivo()).contains("dedução");
+        assertThat(enviadoAoCopy.toString(StandardCharsets.UTF_8))
+            .isEqualTo("2,123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n");
+    }
+
+    @Test
+    void importar_DeveLimitarRejeicoesDetalhadas() throws Exception {
+        // Given
+        mockConsolidacao(0, 0);
+        creditoImportConfig.setMaxRejeicoesReportadas(2);
+        String ndjson = "{}\n{}\n{}\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.NDJSON, arquivo(ndjson));
+
+        // Then
+        assertThat(response.getLinhasRejeitadas()).isEqualTo(3);
+        assertThat(response.getRejeicoes()).hasSize(2);
+    }
+
+    @Test
+    void importar_Ndjson_DeveLerUmCreditoPorLinha() throws Exception {
+        // Given
+        mockConsolidacao(1, 0);
+        String ndjson = "{\"id\":1,\"numeroCredito\":\"123456\",\"numeroNfse\":\"7891011\",\"dataConstituicao\":\"2024-02-25\"," +
+            "\"valorIssqn\":1500.75,\"tipoCredito\":\"ISSQN\",\"simplesNacional\":true,\"aliquota\":5.00," +
+            "\"valorFaturado\":30000.00,\"valorDeducao\":5000.00,\"baseCalculo\":25000.00}\n" +
+            "\n" +
+            "nao e json\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.NDJSON, arquivo(ndjson));
+
+        // Then
+        assertThat(response.getLinhasLidas()).isEqualTo(2);
+        assertThat(response.getLinhasRejeitadas()).isEqualTo(1);
+        assertThat(response.getRejeicoes().get(0).getLinha()).isEqualTo(3);
+        assertThat(enviadoAoCopy.toString(StandardCharsets.UTF_8))
+            .isEqualTo("1,123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n");
+    }
+
+    @Test
+    void importar_CsvSemColunaObrigatoria_DeveLancarValidacaoECancelarCopy() throws Exception {
+        // Given
+        when(copyIn.isActive()).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> creditoImportService.importar(CreditoExportService.Formato.CSV,
+                arquivo("numeroCredito,numeroNfse\n123,456\n")))
+            .isInstanceOf(CreditoException.class)
+            .hasMessageContaining("dataConstituicao");
+        verify(copyIn).cancelCopy();
+        verify(jdbcTemplate, never()).queryForObject(eq(CreditoImportService.MERGE_SQL), any(RowMapper.class));
+    }
+
+    @Test
+    void importar_ComValidacaoDeIssqnHabilitada_DeveExigirValorCalculado() throws Exception {
+        // Given
+        mockConsolidacao(1, 0);
+        validationConfig.getBatch().setValidarValorIssqn(true);
+        String csv = CABECALHO +
+            ",000001,7891011,2024-01-01,1250.00,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000002,7891011,2024-01-01,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        assertThat(response.getLinhasRejeitadas()).isEqualTo(1);
+        assertThat(response.getRejeicoes().get(0).getLinha()).isEqualTo(3);
+        assertThat(response.getRejeicoes().get(0).getMotivo()).isEqualTo("Valor do ISSQN diferente do calculado (valorIssqn)");
+    }
+
+    @Test
+    void importar_LotesDeValidacaoMenoresQueOArquivo_DeveManterOrdemDasLinhas() throws Exception {
+        // Given
+        mockConsolidacao(3, 0);
+        creditoImportConfig.setLoteValidacao(2);
+        String csv = CABECALHO +
+            ",000001,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000002,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,99.00\n" +
+            ",000003,7891011,data,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000004,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",000005,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        assertThat(response.getLinhasLidas()).isEqualTo(5);
+        assertThat(response.getRejeicoes()).extracting(CreditoImportResponse.Rejeicao::getLinha)
+            .containsExactly(3L, 4L);
+        assertThat(enviadoAoCopy.toString(StandardCharsets.UTF_8).lines().map(linha -> linha.split(",")[0]))
+            .containsExactly("2", "5", "6");
+    }
+
+    @Test
+    void importar_CsvComQuebraDeLinhaEntreAspas_DeveManterORegistroENumerarPelaLinhaDoArquivo() throws Exception {
+        // Given
+        mockConsolidacao(2, 0);
+        String csv = CABECALHO +
+            ",123456,7891011,2024-02-25,1500.75,\"ISS\nretido\",true,5.00,30000.00,5000.00,25000.00\r\n" +
+            ",789012,7891011,2024-02-26,1200.50,ISSQN,false,4.50,25000.00,4000.00,21000.00\r\n" +
+            ",000003,7891011,data,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\r\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        assertThat(response.getLinhasLidas()).isEqualTo(3);
+        assertThat(response.getRejeicoes()).extracting(CreditoImportResponse.Rejeicao::getLinha)
+            .containsExactly(5L);
+        assertThat(enviadoAoCopy.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "2,123456,7891011,2024-02-25,1500.75,\"ISS\nretido\",true,5.00,30000.00,5000.00,25000.00\n" +
+            "4,789012,7891011,2024-02-26,1200.50,ISSQN,false,4.50,25000.00,4000.00,21000.00\n");
+    }
+
+    @Test
+    void importar_CsvComAspasNaoFechadas_DeveRejeitarDaLinhaAteOFimDoArquivo() throws Exception {
+        // Given
+        mockConsolidacao(1, 0);
+        String csv = CABECALHO +
+            ",123456,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n" +
+            ",789012,7891011,2024-02-26,1200.50,\"ISSQN,false,4.50,25000.00,4000.00,21000.00\n" +
+            ",000003,7891011,2024-02-25,1500.75,ISSQN,true,5.00,30000.00,5000.00,25000.00\n";
+
+        // When
+        CreditoImportResponse response = creditoImportService.importar(CreditoExportService.Formato.CSV, arquivo(csv));
+
+        // Then
+        assertThat(response.getLinhasLidas()).isEqualTo(2);
+        assertThat(response.getRejeicoes()).singleElement().satisfies(rejeicao -> {
+            assertThat(rejeicao.getLinha()).isEqualTo(3L);
+            assertThat(rejeicao.getMotivo()).contains("aspas não fechadas");
+        });
+        assertThat(enviadoAoCopy.toString(StandardCharsets.UTF_8).lines().map(linha -> linha.split(",")[0]))
+            .containsExactly("2");
+    }
+}
@@ -1,30 +1,58 @@
 package br.com.guilhermedealmeidafreitas.creditos.service;
 
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoCache;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoNumeroFiltro;
+import br.com.guilhermedealmeidafreitas.creditos.cache.CreditoOffHeapCache;
+import br.com.guilhermedealmeidafreitas.creditos.cache.NfsePaginaCache;
+import br.com.guilhermedealmeidafreitas.creditos.config.BatchLookupConfig;
+import br.com.guilhermedealmeidafreitas.creditos.config.CacheConfig;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoBatchResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CreditoLeitura;
+import br.com.guilhermedealmeidafreitas.creditos.dto.CursorPaginatedCreditoResponse;
+import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoLeituraResponse;
 import br.com.guilhermedealmeidafreitas.creditos.dto.PaginatedCreditoResponse;
 import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoException;
 import br.com.guilhermedealmeidafreitas.creditos.repository.CreditoRepository;
+import br.com.guilhermedealmeidafreitas.creditos.repository.VersaoNfse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import br.com.guilhermedealmeidafreitas.creditos.util.CreditoCursorCodec;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(MockitoExtension.class)
 class CreditoServiceTest {
@@ -38,6 +66,24 @@ class CreditoServiceTest {
     @Mock
     private TestDataGeneratorService testDataGeneratorService;
 
+    @Spy
+    private BatchLookupConfig batchLookupConfig = new BatchLookupConfig();
+
+    @Spy
+    private CreditoOffHeapCache creditoOffHeapCache =
+        new CreditoOffHeapCache(cacheConfigPequeno(), new SimpleMeterRegistry());
+
+    @Spy
+    private CreditoCache creditoCache =
+        new CreditoCache(new CacheConfig(), creditoOffHeapCache, new SimpleMeterRegistry());
+
+    @Spy
+    private NfsePaginaCache nfsePaginaCache = new NfsePaginaCache(new CacheConfig(), new SimpleMeterRegistry());
+
+    @Spy
+    private CreditoNumeroFiltro creditoNumeroFiltro =
+        new CreditoNumeroFiltro(new CacheConfig(), null, new SimpleMeterRegistry());
+
     @InjectMocks
     private CreditoServiceImpl creditoService;
 
@@ -46,6 +92,12 @@ class CreditoServiceTest {
     private List<Credito> creditos;
     private Page<Credito> creditosPage;
 
+    private static CacheConfig cacheConfigPequeno() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getCreditoOffHeap().setMaxEntries(100);
+        return cacheConfig;
+    }
+
     @BeforeEach
     void setUp() {
         credito1 = new Credito(
@@ -86,6 +138,23 @@ class CreditoServiceTest {
         assertThat(resultado.getBaseCalculo()).isEqualTo(new BigDecimal("25000.00"));
     }
 
+    @Test
+    void testBuscarCreditoPorNumero_FaltaEmHeap_DeveVirDoCacheForaDoHeap() {
+        // Given
+        when(creditoRepository.findByNumeroCredito("123456")).thenReturn(credito1);
+        creditoService.buscarCreditoPorNumero("123456");
+        creditoCache.invalidarTodos();
+
+        // When
+        Credito resultado = creditoService.buscarCreditoPorNumero("123456");
+
+        // Then
+        assertThat(resultado).isNotSameAs(credito1);
+        assertThat(resultado.getNumeroCredito()).isEqualTo("123456");
+        assertThat(resultado.getValorIssqn()).isEqualTo(new BigDecimal("1500.75"));
+        verify(creditoRepository, times(1)).findByNumeroCredito("123456");
+    }
+
     @Test
     void testBuscarCreditoPorNumero_NaoEncontrado() {
         // Given
@@ -98,6 +167,95 @@ class CreditoServiceTest {
         assertThat(resultado).isNull();
     }
 
+    @Test
+    void testBuscarCreditoPorNumero_SegundaConsultaVemDoCache() {
+        // Given
+        when(creditoRepository.findByNumeroCredito("123456")).thenReturn(credito1);
+
+        // When
+        creditoService.buscarCreditoPorNumero("123456");
+        Credito resultado = creditoService.buscarCreditoPorNumero("123456");
+
+        // Then
+        assertThat(resultado).isSameAs(credito1);
+        verify(creditoRepository, times(1)).findByNumeroCredito("123456");
+    }
+
+    @Test
+    void testBuscarCreditoPorNumero_NaoEncontradoNaoFicaEmCache() {
+        // Given
+        when(creditoRepository.findByNumeroCredito("999999")).thenReturn(null);
+
+        // When
+        creditoService.buscarCreditoPorNumero("999999");
+        creditoService.buscarCreditoPorNumero("999999");
+
+        // Then
+        verify(creditoRepository, times(2)).findByNumeroCredito("999999");
+    }
+
+    @Test
+    void testBuscarCreditoPorNumero_AusenteNoFiltroNaoConsultaRepositorio() {
+        // Given
+        doReturn(false).when(creditoNumeroFiltro).podeExistir("999999");
+
+        // When
+        Credito resultado = creditoService.buscarCreditoPorNumero("999999");
+
+        // Then
+        assertThat(resultado).isNull();
+        verify(creditoRepository, never()).findByNumeroCredito("999999");
+    }
+
+    @Test
+    void testBuscarCreditoPorNumero_NaoEncontradoRegistraFalsoPositivo() {
+        // Given
+        when(creditoRepository.findByNumeroCredito("999999")).thenReturn(null);
+
+        // When
+        creditoService.buscarCreditoPorNumero("999999");
+
+        // Then
+        verify(creditoNumeroFiltro).registrarInexistente();
+    }
+
+    @Test
+    void testBuscarCreditosPorNumeros_SeparaEncontradosENaoEncontrados() {
+        // Given
+        batchLookupConfig.setChunkSize(2);
+        when(validationService.validateStringInput(anyString(), anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(creditoRepository.findByNumeroCreditoIn(List.of("789012", "000000"))).thenReturn(List.of(credito2));
+        when(creditoRepository.findByNumeroCreditoIn(List.of("123456"))).thenReturn(List.of(credito1));
+
+        // When
+        CreditoBatchResponse resultado = creditoService.buscarCreditosPorNumeros(
+            List.of("789012", "000000", "789012", "123456"));
+
+        // Then
+        assertThat(resultado.getEncontrados()).containsExactly(credito2, credito1);
+        assertThat(resultado.getNaoEncontrados()).containsExactly("000000");
+        verify(creditoRepository, times(2)).findByNumeroCreditoIn(any());
+    }
+
+    @Test
+    void testBuscarCreditosPorNumeros_ListaVazia() {
+        assertThatThrownBy(() -> creditoService.buscarCreditosPorNumeros(Collections.emptyList()))
+            .isInstanceOf(CreditoException.class)
+            .hasMessageContaining("Informe ao menos um número de crédito");
+    }
+
+    @Test
+    void testBuscarCreditosPorNumeros_AcimaDoLimite() {
+        // Given
+        batchLookupConfig.setMaxSize(2);
+
+        // When & Then
+        assertThatThrownBy(() -> creditoService.buscarCreditosPorNumeros(List.of("1", "2", "3")))
+            .isInstanceOf(CreditoException.class)
+            .hasMessageContaining("Máximo de 2 números de crédito por requisição");
+    }
+
     @Test
     void testBuscarCreditosPorNfse_Sucesso() {
         // Given
@@ -148,6 +306,55 @@ class CreditoServiceTest {
             .containsExactlyInAnyOrder("123456", "789012");
     }
 
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_MesmaPaginaVemDoCache() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(creditoRepository.findByNumeroNfse("7891011", pageable)).thenReturn(creditosPage);
+
+        // When
+        PaginatedCreditoResponse primeira = creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+        PaginatedCreditoResponse segunda = creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+
+        // Then
+        assertThat(segunda).isSameAs(primeira);
+        verify(creditoRepository, times(1)).findByNumeroNfse("7891011", pageable);
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_AposInvalidacaoDaNfseConsultaNovamente() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(creditoRepository.findByNumeroNfse("7891011", pageable)).thenReturn(creditosPage);
+        creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+
+        // When
+        nfsePaginaCache.invalidar(List.of("7891011"));
+        creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+
+        // Then
+        verify(creditoRepository, times(2)).findByNumeroNfse("7891011", pageable);
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComPaginacao_VersaoNovaSemInvalidacao_NaoDeveServirAPaginaAntiga() {
+        // Given: a versão muda sem invalidação (ex.: expirou) e a página da anterior continua no cache
+        Pageable pageable = PageRequest.of(0, 10);
+        doReturn(new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L),
+                 new VersaoNfse(LocalDateTime.of(2024, 2, 27, 9, 30), 1L))
+            .when(nfsePaginaCache).versao(eq("7891011"), any());
+        when(creditoRepository.findByNumeroNfse("7891011", pageable)).thenReturn(
+            creditosPage, new PageImpl<>(List.of(credito1), pageable, 1));
+        creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+
+        // When
+        PaginatedCreditoResponse resultado = creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+
+        // Then
+        assertThat(resultado.getContent()).extracting(Credito::getNumeroCredito).containsExactly("123456");
+        verify(creditoRepository, times(2)).findByNumeroNfse("7891011", pageable);
+    }
+
     @Test
     void testBuscarCreditosPorNfseComPaginacao_NaoEncontrado() {
         // Given
@@ -239,6 +446,124 @@ class CreditoServiceTest {
         assertThat(resultado.getContent().get(0).getNumeroCredito()).isEqualTo("789012");
     }
 
+    @Test
+    void testBuscarCreditosPorNfseComPaginacaoSemTotal_Sucesso() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(creditoRepository.findSliceByNumeroNfse("7891011", pageable))
+            .thenReturn(new SliceImpl<>(Collections.singletonList(credito1), pageable, true));
+
+        // When
+        PaginatedCreditoResponse resultado = creditoService.buscarCreditosPorNfseComPaginacaoSemTotal("7891011", pageable);
+
+        // Then
+        assertThat(resultado.getContent()).containsExactly(credito1);
+        assertThat(resultado.getPage()).isEqualTo(0);
+        assertThat(resultado.getSize()).isEqualTo(1);
+        assertThat(resultado.getTotalElements()).isEqualTo(PaginatedCreditoResponse.TOTAL_NAO_CALCULADO);
+        assertThat(resultado.getTotalPages()).isEqualTo(PaginatedCreditoResponse.TOTAL_NAO_CALCULADO);
+        assertThat(resultado.isFirst()).isTrue();
+        assertThat(resultado.isLast()).isFalse();
+        assertThat(resultado.isHasNext()).isTrue();
+        assertThat(resultado.isHasPrevious()).isFalse();
+        verify(creditoRepository, times(0)).findByNumeroNfse("7891011", pageable);
+    }
+
+    @Test
+    void testBuscarCreditosComFiltros_Sucesso() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        CreditoLeitura leitura1 = leitura(credito1);
+        CreditoLeitura leitura2 = leitura(credito2);
+        when(creditoRepository.findLeituraByFilters("7891011", null, true, pageable))
+            .thenReturn(new PageImpl<>(List.of(leitura1, leitura2), pageable, 2));
+
+        // When
+        PaginatedCreditoLeituraResponse resultado = creditoService.buscarCreditosComFiltros("7891011", null, true, pageable);
+
+        // Then
+        assertThat(resultado.getContent()).containsExactly(leitura1, leitura2);
+        assertThat(resultado.getTotalElements()).isEqualTo(2);
+        assertThat(resultado.getTotalPages()).isEqualTo(1);
+    }
+
+    @Test
+    void testBuscarVersaoNfse_DeveConsultarMaiorUpdatedAtEQuantidade() {
+        // Given
+        VersaoNfse versao = new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L);
+        when(creditoRepository.findVersaoByNumeroNfse("7891011")).thenReturn(versao);
+
+        // When
+        VersaoNfse resultado = creditoService.buscarVersaoNfse("7891011");
+
+        // Then
+        assertThat(resultado).isEqualTo(versao);
+        verify(validationService).validateStringInput("7891011", "Número da NFS-e");
+    }
+
+    @Test
+    void testBuscarVersaoNfse_MesmaNfse_DeveConsultarOBancoUmaVezAteAInvalidacao() {
+        // Given: a página já carregou a versão usada no ETag
+        Pageable pageable = PageRequest.of(0, 10);
+        when(creditoRepository.findVersaoByNumeroNfse("7891011"))
+            .thenReturn(new VersaoNfse(LocalDateTime.of(2024, 2, 26, 10, 0), 2L));
+        when(creditoRepository.findByNumeroNfse("7891011", pageable)).thenReturn(creditosPage);
+        creditoService.buscarCreditosPorNfseComPaginacao("7891011", pageable);
+
+        // When
+        creditoService.buscarVersaoNfse("7891011");
+        creditoService.buscarVersaoNfse("7891011");
+        nfsePaginaCache.invalidar(List.of("7891011"));
+        creditoService.buscarVersaoNfse("7891011");
+
+        // Then
+        verify(creditoRepository, times(2)).findVersaoByNumeroNfse("7891011");
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComCursor_PrimeiraPagina() {
+        // Given
+        Sort sort = Sort.by(Sort.Direction.DESC, "dataConstituicao");
+        Pageable pageable = PageRequest.of(0, 2, sort);
+        Window<Credito> janela = Window.from(creditos, index -> ScrollPosition.forward(Map.of(
+            "dataConstituicao", creditos.get(index).getDataConstituicao(), "id", (long) index + 1)), true);
+        when(creditoRepository.findByNumeroNfse(eq("7891011"), eq(ScrollPosition.keyset()), eq(sort), eq(Limit.of(2))))
+            .thenReturn(janela);
+
+        // When
+        CursorPaginatedCreditoResponse resultado = creditoService.buscarCreditosPorNfseComCursor("7891011", null, pageable);
+
+        // Then
+        assertThat(resultado.getContent()).hasSize(2);
+        assertThat(resultado.getSize()).isEqualTo(2);
+        assertThat(resultado.isHasNext()).isTrue();
+        assertThat(resultado.getNextCursor()).isNotBlank();
+        KeysetScrollPosition proxima = CreditoCursorCodec.decode(resultado.getNextCursor(), sort);
+        assertThat(proxima.getKeys())
+            .containsEntry("dataConstituicao", LocalDate.of(2024, 2, 26))
+            .containsEntry("id", 2L);
+    }
+
+    @Test
+    void testBuscarCreditosPorNfseComCursor_UltimaPagina() {
+        // Given
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        Pageable pageable = PageRequest.of(0, 10, sort);
+        String cursor = CreditoCursorCodec.encode(ScrollPosition.forward(Map.of("id", 1L)), sort);
+        Window<Credito> janela = Window.from(List.of(credito2),
+            index -> ScrollPosition.forward(Map.of("id", 2L)), false);
+        when(creditoRepository.findByNumeroNfse(eq("7891011"), any(ScrollPosition.class), eq(sort), eq(Limit.of(10))))
+            .thenReturn(janela);
+
+        // When
+        CursorPaginatedCreditoResponse resultado = creditoService.buscarCreditosPorNfseComCursor("7891011", cursor, pageable);
+
+        // Then
+        assertThat(resultado.getContent()).containsExactly(credito2);
+        assertThat(resultado.isHasNext()).isFalse();
+        assertThat(resultado.getNextCursor()).isNull();
+    }
+
     @Test
     void testGerarRegistrosTeste_Sucesso() {
         // Given
@@ -277,4 +602,11 @@ class CreditoServiceTest {
         assertThat(resultado).isEqualTo(0);
         verify(testDataGeneratorService, times(1)).deletarRegistrosTeste();
     }
+
+    private static CreditoLeitura leitura(Credito credito) {
+        return new CreditoLeitura(credito.getId(), credito.getNumeroCredito(), credito.getNumeroNfse(),
+            credito.getDataConstituicao(), credito.getValorIssqn(), credito.getTipoCredito(),
+            credito.getSimplesNacional(), credito.getAliquota(), credito.getValorFaturado(),
+            credito.getValorDeducao(), credito.getBaseCalculo());
+    }
 }
@@ -0,0 +1,74 @@
+package br.com.guilhermedealmeidafreitas.creditos.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeitorCsvTest {
+
+    @Test
+    void proximoRegistro_DeveRespeitarAspas() throws IOException {
+        // Given
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a,\"b, \"\"c\"\"\",,d\n"));
+
+        // When / Then
+        assertThat(leitor.proximoRegistro()).containsExactly("a", "b, \"c\"", "", "d");
+        assertThat(leitor.proximoRegistro()).isNull();
+    }
+
+    @Test
+    void proximoRegistro_QuebraDeLinhaEntreAspas_DeveFazerParteDoCampo() throws IOException {
+        // Given
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a,\"b\r\nc\",d\r\ne,f\r\n"));
+
+        // When / Then
+        assertThat(leitor.proximoRegistro()).containsExactly("a", "b\r\nc", "d");
+        assertThat(leitor.linhaDoRegistro()).isEqualTo(1);
+        assertThat(leitor.proximoRegistro()).containsExactly("e", "f");
+        assertThat(leitor.linhaDoRegistro()).isEqualTo(3);
+        assertThat(leitor.proximoRegistro()).isNull();
+    }
+
+    @Test
+    void proximoRegistro_DeveNumerarLinhasComLfCrlfECr() throws IOException {
+        // Given
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a\nb\r\n\rc"));
+
+        // When / Then
+        assertThat(leitor.proximoRegistro()).containsExactly("a");
+        assertThat(leitor.proximoRegistro()).containsExactly("b");
+        assertThat(leitor.proximoRegistro()).containsExactly("");
+        assertThat(leitor.linhaDoRegistro()).isEqualTo(3);
+        assertThat(leitor.proximoRegistro()).containsExactly("c");
+        assertThat(leitor.linhaDoRegistro()).isEqualTo(4);
+        assertThat(leitor.proximoRegistro()).isNull();
+    }
+
+    @Test
+    void proximoRegistro_RegistroMaiorQueOBloco_DeveSerLidoInteiro() throws IOException {
+        // Given
+        String longo = "x".repeat(20_000);
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\"" + longo + "\"," + longo + "\n"));
+
+        // When / Then
+        assertThat(leitor.proximoRegistro()).containsExactly(longo, longo);
+    }
+
+    @Test
+    void proximoRegistro_AspasNaoFechadas_DeveLancarExcecao() throws IOException {
+        // Given
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a\n\"b\nc"));
+        leitor.proximoRegistro();
+
+        // When / Then
+        assertThatThrownBy(leitor::proximoRegistro)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("aspas não fechadas");
+        assertThat(leitor.linhaDoRegistro()).isEqualTo(2);
+        assertThat(leitor.proximoRegistro()).isNull();
+    }
+}
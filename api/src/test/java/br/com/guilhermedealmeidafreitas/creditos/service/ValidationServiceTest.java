@@ -1,10 +1,16 @@
 package br.com.guilhermedealmeidafreitas.creditos.service;
 
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
 import br.com.guilhermedealmeidafreitas.creditos.constants.ValidationConstants;
 import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoExceptions;
+import br.com.guilhermedealmeidafreitas.creditos.factory.PageableFactory;
 import br.com.guilhermedealmeidafreitas.creditos.service.validation.ValidationContext;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.NumberValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.PageableValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -509,4 +515,44 @@ class ValidationServiceTest {
         assertTrue(result.isEmpty());
         verify(validationContext).getRegisteredStrategies();
     }
+
+    @Test
+    @DisplayName("Deve validar argumentos do endpoint com o validador compilado")
+    void deveValidarArgumentosDoEndpointComValidadorCompilado() {
+        // Given
+        ValidationService servicoComCadeiaReal = new ValidationService(validationContext, cadeiaReal(), validationConstants);
+
+        // When
+        ValidationService.FiltrosPaginados result = servicoComCadeiaReal.validateCreditosComFiltros(
+            " 7891011 ", null, 0, 10, "dataConstituicao", "desc");
+
+        // Then
+        assertEquals("7891011", result.numeroNfse());
+        assertNull(result.tipoCredito());
+        assertEquals(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataConstituicao")), result.pageable());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção na primeira regra inválida do endpoint")
+    void deveLancarExcecaoNaPrimeiraRegraInvalidaDoEndpoint() {
+        // Given
+        ValidationService servicoComCadeiaReal = new ValidationService(validationContext, cadeiaReal(), validationConstants);
+
+        // When & Then
+        RuntimeException exception = assertThrows(
+            RuntimeException.class,
+            () -> servicoComCadeiaReal.validateCreditosPorNfsePaginados("   ", 0, 10, "campoInexistente", "desc")
+        );
+        assertTrue(exception.getMessage().contains("Número da NFS-e"));
+    }
+
+    private static ValidationChain cadeiaReal() {
+        ValidationConfig config = new ValidationConfig();
+        ValidationConstants constants = new ValidationConstants(config);
+        return new ValidationChain(List.of(
+            new StringValidationHandler(config, new SimpleMeterRegistry()),
+            new NumberValidationHandler(),
+            new PageableValidationHandler(new PageableFactory(constants), constants)
+        ));
+    }
 }
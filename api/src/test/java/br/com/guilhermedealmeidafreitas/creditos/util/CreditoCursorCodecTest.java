@@ -0,0 +1,105 @@
+package br.com.guilhermedealmeidafreitas.creditos.util;
+
+import br.com.guilhermedealmeidafreitas.creditos.exception.CreditoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditoCursorCodecTest {
+
+    private static final Sort SORT_DATA_DESC = Sort.by(Sort.Direction.DESC, "dataConstituicao");
+
+    @Test
+    @DisplayName("Cursor deve preservar os valores tipados da última linha")
+    void cursorDevePreservarValoresTipados() {
+        // Arrange
+        KeysetScrollPosition position = ScrollPosition.forward(
+            Map.of("dataConstituicao", LocalDate.of(2024, 2, 25), "id", 42L));
+
+        // Act
+        String cursor = CreditoCursorCodec.encode(position, SORT_DATA_DESC);
+        KeysetScrollPosition decoded = CreditoCursorCodec.decode(cursor, SORT_DATA_DESC);
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 2, 25), decoded.getKeys().get("dataConstituicao"));
+        assertEquals(42L, decoded.getKeys().get("id"));
+        assertTrue(decoded.scrollsForward());
+    }
+
+    @Test
+    @DisplayName("Cursor deve suportar campos monetários, booleanos e texto")
+    void cursorDeveSuportarDemaisTipos() {
+        // Arrange
+        Sort sortValor = Sort.by(Sort.Direction.ASC, "valorIssqn");
+        Sort sortSimples = Sort.by(Sort.Direction.ASC, "simplesNacional");
+        Sort sortTipo = Sort.by(Sort.Direction.ASC, "tipoCredito");
+
+        // Act
+        KeysetScrollPosition valor = CreditoCursorCodec.decode(CreditoCursorCodec.encode(
+            ScrollPosition.forward(Map.of("valorIssqn", new BigDecimal("1500.75"), "id", 1L)), sortValor), sortValor);
+        KeysetScrollPosition simples = CreditoCursorCodec.decode(CreditoCursorCodec.encode(
+            ScrollPosition.forward(Map.of("simplesNacional", true, "id", 1L)), sortSimples), sortSimples);
+        KeysetScrollPosition tipo = CreditoCursorCodec.decode(CreditoCursorCodec.encode(
+            ScrollPosition.forward(Map.of("tipoCredito", "ISS|&\"", "id", 1L)), sortTipo), sortTipo);
+
+        // Assert
+        assertEquals(new BigDecimal("1500.75"), valor.getKeys().get("valorIssqn"));
+        assertEquals(Boolean.TRUE, simples.getKeys().get("simplesNacional"));
+        assertEquals("ISS|&\"", tipo.getKeys().get("tipoCredito"));
+    }
+
+    @Test
+    @DisplayName("Cursor nulo ou vazio deve iniciar a listagem")
+    void cursorVazioDeveIniciarListagem() {
+        assertTrue(CreditoCursorCodec.decode(null, SORT_DATA_DESC).isInitial());
+        assertTrue(CreditoCursorCodec.decode("  ", SORT_DATA_DESC).isInitial());
+    }
+
+    @Test
+    @DisplayName("Cursor gerado para outra ordenação deve ser rejeitado")
+    void cursorDeOutraOrdenacaoDeveSerRejeitado() {
+        // Arrange
+        String cursor = CreditoCursorCodec.encode(
+            ScrollPosition.forward(Map.of("dataConstituicao", LocalDate.of(2024, 2, 25), "id", 42L)), SORT_DATA_DESC);
+
+        // Act & Assert
+        CreditoException exception = assertThrows(CreditoException.class, () ->
+            CreditoCursorCodec.decode(cursor, Sort.by(Sort.Direction.ASC, "dataConstituicao")));
+        assertEquals("VALIDATION_ERROR", exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Cursor malformado deve ser rejeitado como erro de validação")
+    void cursorMalformadoDeveSerRejeitado() {
+        CreditoException exception = assertThrows(CreditoException.class, () ->
+            CreditoCursorCodec.decode("nao-e-um-cursor", SORT_DATA_DESC));
+        assertEquals(400, exception.getHttpStatus());
+    }
+
+    @Test
+    @DisplayName("Ordenação por campo desconhecido deve lançar IllegalArgumentException")
+    void ordenacaoDesconhecidaDeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () ->
+            CreditoCursorCodec.encode(ScrollPosition.forward(Map.of("id", 1L)), Sort.by("campoInexistente")));
+    }
+
+    @Test
+    @DisplayName("Construtor privado deve lançar exceção")
+    void construtorPrivadoDeveLancarExcecao() throws Exception {
+        Constructor<CreditoCursorCodec> constructor = CreditoCursorCodec.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, constructor::newInstance);
+        assertInstanceOf(UnsupportedOperationException.class, exception.getCause());
+    }
+}
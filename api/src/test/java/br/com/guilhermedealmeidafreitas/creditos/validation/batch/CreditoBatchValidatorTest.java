@@ -0,0 +1,278 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.batch;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
+import br.com.guilhermedealmeidafreitas.creditos.entity.Credito;
+import br.com.guilhermedealmeidafreitas.creditos.service.TaxCalculationService;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.AbstractValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationChain;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRequest;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import static br.com.guilhermedealmeidafreitas.creditos.validation.batch.CreditoValidationError.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CreditoBatchValidatorTest {
+
+    private ValidationConfig validationConfig;
+    private CreditoBatchValidator creditoBatchValidator;
+
+    @BeforeEach
+    void setUp() {
+        validationConfig = new ValidationConfig();
+        ValidationChain validationChain = new ValidationChain(List.of(
+            new StringValidationHandler(validationConfig, new SimpleMeterRegistry())));
+        creditoBatchValidator = new CreditoBatchValidator(new TaxCalculationService(), validationChain, validationConfig);
+    }
+
+    private static Credito creditoValido() {
+        return new Credito("123456", "7891011", LocalDate.of(2024, 2, 25), new BigDecimal("1250.00"), "ISSQN",
+                           true, new BigDecimal("5.00"), new BigDecimal("30000.00"), new BigDecimal("5000.00"),
+                           new BigDecimal("25000.00"));
+    }
+
+    @Test
+    void validate_LoteValido_DeveRetornarRelatorioSemErros() {
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(List.of(creditoValido(), creditoValido()));
+
+        // Then
+        assertThat(relatorio.isValid()).isTrue();
+        assertThat(relatorio.getTotalRows()).isEqualTo(2);
+        assertThat(relatorio.getInvalidRowCount()).isZero();
+        assertThat(relatorio.getErrorsByRow()).isEmpty();
+    }
+
+    @Test
+    void validate_LinhaComVariosErros_DeveAcumularTodosOsCodigos() {
+        // Given
+        Credito invalido = creditoValido();
+        invalido.setNumeroCredito(" ");
+        invalido.setTipoCredito("X".repeat(51));
+        invalido.setAliquota(new BigDecimal("150"));
+        invalido.setValorDeducao(new BigDecimal("40000.00"));
+
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(List.of(creditoValido(), invalido, creditoValido()));
+
+        // Then
+        assertThat(relatorio.getInvalidRowCount()).isEqualTo(1);
+        assertThat(relatorio.isRowValid(0)).isTrue();
+        assertThat(relatorio.isRowValid(1)).isFalse();
+        assertThat(relatorio.getErrors(1)).containsExactlyInAnyOrder(
+            NUMERO_CREDITO_OBRIGATORIO, TIPO_CREDITO_TAMANHO, ALIQUOTA_FORA_DO_INTERVALO,
+            VALOR_DEDUCAO_MAIOR_QUE_FATURADO);
+        assertThat(relatorio.getErrorsByRow()).containsOnlyKeys(1);
+        assertThat(relatorio.getErrors(2)).isEmpty();
+    }
+
+    @Test
+    void validate_ValoresNegativos_NaoDevemLancarExcecao() {
+        // Given
+        Credito invalido = creditoValido();
+        invalido.setValorFaturado(new BigDecimal("-1"));
+        invalido.setValorDeducao(new BigDecimal("-2"));
+        invalido.setValorIssqn(new BigDecimal("-3"));
+
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(List.of(invalido));
+
+        // Then
+        assertThat(relatorio.getErrors(0)).containsExactlyInAnyOrder(
+            VALOR_FATURADO_NEGATIVO, VALOR_DEDUCAO_NEGATIVO, VALOR_ISSQN_NEGATIVO);
+    }
+
+    @Test
+    void validate_BaseCalculoInconsistente_DeveRetornarCodigo() {
+        // Given
+        Credito invalido = creditoValido();
+        invalido.setBaseCalculo(new BigDecimal("24999.99"));
+
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(List.of(invalido));
+
+        // Then
+        assertThat(relatorio.getErrors(0)).containsExactly(BASE_CALCULO_INCONSISTENTE);
+    }
+
+    @Test
+    void validate_ValoresForaDoDecimalDaColuna_DevemRetornarCodigoDeFormato() {
+        // Given
+        Credito estouro = creditoValido();
+        estouro.setValorFaturado(new BigDecimal("10000000000000.00"));
+        estouro.setBaseCalculo(new BigDecimal("9999999995000.00"));
+        Credito casasExtras = creditoValido();
+        casasExtras.setValorIssqn(new BigDecimal("1250.005"));
+        casasExtras.setAliquota(new BigDecimal("5.001"));
+        Credito limite = creditoValido();
+        limite.setValorFaturado(new BigDecimal("9999999999999.990"));
+        limite.setValorDeducao(new BigDecimal("0"));
+        limite.setBaseCalculo(new BigDecimal("9999999999999.99"));
+
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(List.of(estouro, casasExtras, limite));
+
+        // Then
+        assertThat(relatorio.getErrors(0)).containsExactly(VALOR_FATURADO_FORMATO);
+        assertThat(relatorio.getErrors(1)).containsExactlyInAnyOrder(VALOR_ISSQN_FORMATO, ALIQUOTA_FORMATO);
+        assertThat(relatorio.isRowValid(2)).isTrue();
+    }
+
+    @Test
+    void validate_ValorIssqnInconsistente_SoDeveSerChecadoQuandoHabilitado() {
+        // Given
+        Credito credito = creditoValido();
+        credito.setValorIssqn(new BigDecimal("1500.75"));
+
+        // When
+        BatchValidationReport semChecagem = creditoBatchValidator.validate(List.of(credito));
+        validationConfig.getBatch().setValidarValorIssqn(true);
+        BatchValidationReport comChecagem = creditoBatchValidator.validate(List.of(credito));
+
+        // Then
+        assertThat(semChecagem.isValid()).isTrue();
+        assertThat(comChecagem.getErrors(0)).containsExactly(VALOR_ISSQN_INCONSISTENTE);
+    }
+
+    @Test
+    void validate_CamposObrigatorios_DevemUsarARegraDaCadeiaDeValidacao() {
+        // Given: uma regra STRING_NOT_EMPTY mais restrita registrada na cadeia
+        ValidationChain cadeia = new ValidationChain(List.of(
+            new AbstractValidationHandler("SemZeros", 10, Set.of(ValidationType.STRING_NOT_EMPTY)) {
+                @Override
+                protected ValidationResult doHandle(ValidationRequest request) {
+                    return "000000".equals(request.getValue())
+                        ? error("Número zerado", request.getFieldName())
+                        : success("ok", request.getFieldName(), request.getValue());
+                }
+            }));
+        CreditoBatchValidator validador = new CreditoBatchValidator(new TaxCalculationService(), cadeia, validationConfig);
+        Credito credito = creditoValido();
+        credito.setNumeroCredito("000000");
+
+        // When
+        BatchValidationReport relatorio = validador.validate(List.of(credito));
+
+        // Then
+        assertThat(relatorio.getErrors(0)).containsExactly(NUMERO_CREDITO_OBRIGATORIO);
+    }
+
+    @Test
+    void validate_LinhaNula_DeveMarcarTodosOsCamposObrigatorios() {
+        // Given
+        List<Credito> creditos = new ArrayList<>();
+        creditos.add(null);
+
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(creditos);
+
+        // Then
+        assertThat(relatorio.getErrors(0)).containsExactlyInAnyOrder(
+            NUMERO_CREDITO_OBRIGATORIO, NUMERO_NFSE_OBRIGATORIO, DATA_CONSTITUICAO_OBRIGATORIA,
+            VALOR_ISSQN_OBRIGATORIO, TIPO_CREDITO_OBRIGATORIO, SIMPLES_NACIONAL_OBRIGATORIO,
+            ALIQUOTA_OBRIGATORIA, VALOR_FATURADO_OBRIGATORIO, VALOR_DEDUCAO_OBRIGATORIO,
+            BASE_CALCULO_OBRIGATORIA);
+    }
+
+    @Test
+    void validate_Colunas_DeveProduzirMesmoRelatorioQueLinhas() {
+        // Given
+        List<Credito> creditos = loteMisto(200);
+
+        // When
+        BatchValidationReport porLinhas = creditoBatchValidator.validate(creditos);
+        BatchValidationReport porColunas = creditoBatchValidator.validate(colunas(creditos));
+
+        // Then
+        assertThat(porColunas.getTotalRows()).isEqualTo(porLinhas.getTotalRows());
+        assertThat(porColunas.getErrorsByRow()).isEqualTo(porLinhas.getErrorsByRow());
+    }
+
+    @Test
+    void validate_LoteAcimaDoLimiar_DeveProduzirMesmoRelatorioQueSequencial() {
+        // Given
+        List<Credito> creditos = loteMisto(10_000);
+        BatchValidationReport sequencial = creditoBatchValidator.validate(creditos);
+
+        // When
+        validationConfig.getBatch().setParallelThreshold(64);
+        BatchValidationReport paralelo = creditoBatchValidator.validate(creditos);
+
+        // Then
+        assertThat(sequencial.getInvalidRowCount()).isEqualTo(10_000 / 7 + 1);
+        assertThat(paralelo.getErrorsByRow()).isEqualTo(sequencial.getErrorsByRow());
+    }
+
+    @Test
+    void validate_ListaSemAcessoAleatorio_DeveValidarNaOrdem() {
+        // Given
+        Credito invalido = creditoValido();
+        invalido.setDataConstituicao(null);
+        List<Credito> creditos = new LinkedList<>(List.of(creditoValido(), invalido));
+
+        // When
+        BatchValidationReport relatorio = creditoBatchValidator.validate(creditos);
+
+        // Then
+        assertThat(relatorio.getErrors(1)).containsExactly(DATA_CONSTITUICAO_OBRIGATORIA);
+    }
+
+    @Test
+    void creditoColumns_ColunasDeTamanhosDiferentes_DeveLancarExcecao() {
+        assertThatThrownBy(() -> new CreditoColumns(
+            new String[2], new String[2], new LocalDate[2], new BigDecimal[2], new String[2],
+            new Boolean[2], new BigDecimal[2], new BigDecimal[2], new BigDecimal[1], new BigDecimal[2]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Uma linha inválida a cada sete, com erros diferentes conforme a posição
+    private static List<Credito> loteMisto(int tamanho) {
+        List<Credito> creditos = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Credito credito = creditoValido();
+            credito.setNumeroCredito("C" + i);
+            if (i % 7 == 0) {
+                if (i % 2 == 0) {
+                    credito.setNumeroNfse(null);
+                } else {
+                    credito.setBaseCalculo(BigDecimal.ONE);
+                }
+            }
+            creditos.add(credito);
+        }
+        return creditos;
+    }
+
+    private static CreditoColumns colunas(List<Credito> creditos) {
+        int n = creditos.size();
+        CreditoColumns colunas = new CreditoColumns(
+            new String[n], new String[n], new LocalDate[n], new BigDecimal[n], new String[n],
+            new Boolean[n], new BigDecimal[n], new BigDecimal[n], new BigDecimal[n], new BigDecimal[n]);
+        for (int i = 0; i < n; i++) {
+            Credito credito = creditos.get(i);
+            colunas.numeroCredito()[i] = credito.getNumeroCredito();
+            colunas.numeroNfse()[i] = credito.getNumeroNfse();
+            colunas.dataConstituicao()[i] = credito.getDataConstituicao();
+            colunas.valorIssqn()[i] = credito.getValorIssqn();
+            colunas.tipoCredito()[i] = credito.getTipoCredito();
+            colunas.simplesNacional()[i] = credito.getSimplesNacional();
+            colunas.aliquota()[i] = credito.getAliquota();
+            colunas.valorFaturado()[i] = credito.getValorFaturado();
+            colunas.valorDeducao()[i] = credito.getValorDeducao();
+            colunas.baseCalculo()[i] = credito.getBaseCalculo();
+        }
+        return colunas;
+    }
+}
@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,7 +31,7 @@ class AbstractValidationHandlerTest {
         private TestValidationHandler(String handlerName, int priority, 
                                     boolean canHandleResult, ValidationResult handleResult, 
                                     RuntimeException exceptionToThrow) {
-            super(handlerName, priority);
+            super(handlerName, priority, Set.of());
             this.canHandleResult = canHandleResult;
             this.handleResult = handleResult;
             this.exceptionToThrow = exceptionToThrow;
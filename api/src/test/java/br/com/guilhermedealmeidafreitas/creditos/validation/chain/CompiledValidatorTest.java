@@ -0,0 +1,161 @@
+package br.com.guilhermedealmeidafreitas.creditos.validation.chain;
+
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
+import br.com.guilhermedealmeidafreitas.creditos.constants.ValidationConstants;
+import br.com.guilhermedealmeidafreitas.creditos.factory.PageableFactory;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.NumberValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.PageableValidationHandler;
+import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Equivalência entre os validadores compilados pela {@link ValidationChain#compile} e a
+ * validação pela cadeia com {@link ValidationRequest}, usando os handlers reais.
+ */
+class CompiledValidatorTest {
+
+    private ValidationChain validationChain;
+
+    @BeforeEach
+    void setUp() {
+        ValidationConfig validationConfig = new ValidationConfig();
+        ValidationConstants validationConstants = new ValidationConstants(validationConfig);
+        PageableFactory pageableFactory = new PageableFactory(validationConstants);
+        validationChain = new ValidationChain(List.of(
+            new StringValidationHandler(validationConfig, new SimpleMeterRegistry()),
+            new NumberValidationHandler(),
+            new PageableValidationHandler(pageableFactory, validationConstants)
+        ));
+    }
+
+    @Test
+    void compile_StringNotEmpty_DeveProduzirMesmoResultadoQueCadeia() {
+        assertEquivalente(ValidationRule.notEmpty("Número da NFS-e"), "7891011", "  7891011  ", "", "   ", null, 123);
+    }
+
+    @Test
+    void compile_StringOptional_DeveProduzirMesmoResultadoQueCadeia() {
+        assertEquivalente(ValidationRule.optional("optionalString"), "ISSQN", " ISSQN ", "", "   ", null, 123);
+    }
+
+    @Test
+    void compile_NumberPositive_DeveProduzirMesmoResultadoQueCadeia() {
+        assertEquivalente(ValidationRule.positive("quantidade"), 5, 0, -3, null, 2.5, "7", "abc");
+    }
+
+    @Test
+    void compile_NumberRange_DeveProduzirMesmoResultadoQueCadeia() {
+        assertEquivalente(ValidationRule.range("percentual", 1, 100), 1, 50, 100, 0, 101, null, 50.5, "50");
+        assertEquivalente(ValidationRule.range("percentual", 10, 1), 5);
+    }
+
+    @Test
+    void compile_Pageable_DeveProduzirMesmoResultadoQueCadeia() {
+        Object[][] casos = {
+            {0, 10, "id", "ASC"},
+            {0, 10, null, null},
+            {3, 25, "dataConstituicao", "desc"},
+            {-1, 500, " numeroNfse ", " desc "},
+            {2, 0, "valorIssqn", "Asc"},
+            {0, 10, "campoInexistente", "ASC"},
+            {0, 10, "id", "lateral"},
+            {"1", "20", "id", "ASC"},
+            {"x", 10, "id", "ASC"},
+        };
+
+        CompiledValidator validator = validationChain.compile("pageable", List.of(ValidationRule.pageable()));
+        for (Object[] caso : casos) {
+            Map<String, Object> parameters = new HashMap<>();
+            putIfNotNull(parameters, "page", caso[0]);
+            putIfNotNull(parameters, "size", caso[1]);
+            putIfNotNull(parameters, "sortBy", caso[2]);
+            putIfNotNull(parameters, "sortDirection", caso[3]);
+
+            ValidationResult esperado = validationChain.validate(
+                new ValidationRequest(ValidationType.PAGEABLE, null, "pageable", parameters));
+            ValidationResult[] compilado = validator.validate(caso);
+
+            assertMesmoResultado(compilado[0], esperado, Arrays.toString(caso));
+        }
+    }
+
+    @Test
+    void compile_TipoSemHandler_DeveRetornarErroDaCadeia() {
+        // Given
+        CompiledValidator validator = validationChain.compile("data",
+            List.of(ValidationRule.of(ValidationType.DATE_FORMAT, "data")));
+
+        // When
+        ValidationResult[] results = validator.validate("2024-01-01");
+
+        // Then
+        assertThat(results[0].isValid()).isFalse();
+        assertThat(results[0].getFirstError()).contains("Nenhum handler disponível");
+    }
+
+    @Test
+    void validate_VariasRegras_DevePararNaPrimeiraInvalida() {
+        // Given
+        CompiledValidator validator = validationChain.compile("nfsePaginada",
+            List.of(ValidationRule.notEmpty("Número da NFS-e"), ValidationRule.pageable()));
+
+        // When
+        ValidationResult[] validos = validator.validate(" 7891011 ", 0, 10, "id", "ASC");
+        ValidationResult[] invalidos = validator.validate("  ", 0, 10, "id", "ASC");
+
+        // Then
+        assertThat(validator.getArgumentCount()).isEqualTo(5);
+        assertThat(validos).allMatch(ValidationResult::isValid);
+        assertThat(validos[0].getProcessedValue()).isEqualTo("7891011");
+        assertThat(invalidos[0].isValid()).isFalse();
+        assertThat(invalidos[1]).isNull();
+    }
+
+    @Test
+    void validate_NumeroDeArgumentosIncorreto_DeveLancarExcecao() {
+        // Given
+        CompiledValidator validator = validationChain.compile("nfse", List.of(ValidationRule.notEmpty("Número da NFS-e")));
+
+        // When & Then
+        assertThatThrownBy(() -> validator.validate("7891011", "extra"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("nfse");
+    }
+
+    private void assertEquivalente(ValidationRule rule, Object... valores) {
+        CompiledValidator validator = validationChain.compile(rule.type().name(), List.of(rule));
+        for (Object valor : valores) {
+            ValidationResult esperado = validationChain.validate(
+                new ValidationRequest(rule.type(), valor, rule.fieldName(), rule.parameters()));
+            ValidationResult compilado = validator.validate(valor)[0];
+
+            assertMesmoResultado(compilado, esperado, String.valueOf(valor));
+        }
+    }
+
+    private static void assertMesmoResultado(ValidationResult compilado, ValidationResult esperado, String caso) {
+        assertThat(compilado.isValid()).as(caso).isEqualTo(esperado.isValid());
+        assertThat(compilado.getMessage()).as(caso).isEqualTo(esperado.getMessage());
+        assertThat(compilado.getFieldName()).as(caso).isEqualTo(esperado.getFieldName());
+        assertThat(compilado.getErrors()).as(caso).isEqualTo(esperado.getErrors());
+        assertThat(compilado.getWarnings()).as(caso).isEqualTo(esperado.getWarnings());
+        assertThat(compilado.getProcessedValue()).as(caso).isEqualTo(esperado.getProcessedValue());
+        assertThat(compilado.getHandlerName()).as(caso).isEqualTo(esperado.getHandlerName());
+    }
+
+    private static void putIfNotNull(Map<String, Object> parameters, String key, Object value) {
+        if (value != null) {
+            parameters.put(key, value);
+        }
+    }
+}
@@ -6,11 +6,14 @@ import br.com.guilhermedealmeidafreitas.creditos.factory.PageableFactory;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.NumberValidationHandler;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.PageableValidationHandler;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers.StringValidationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,7 +32,7 @@ class ValidationChainRealTest {
         ValidationConstants validationConstants = new ValidationConstants(validationConfig);
         PageableFactory pageableFactory = new PageableFactory(validationConstants);
         validationChain = new ValidationChain(List.of(
-            new StringValidationHandler(),
+            new StringValidationHandler(validationConfig, new SimpleMeterRegistry()),
             new NumberValidationHandler(),
             new PageableValidationHandler(pageableFactory, validationConstants)
         ));
@@ -285,4 +288,110 @@ class ValidationChainRealTest {
         assertThat(result.isValid()).isFalse();
         assertThat(result.getFirstError()).contains("Nenhum handler de validação disponível");
     }
+
+    @Test
+    void testValidate_ShouldEnterHandlerOfTypeWithoutAskingHigherPriorityHandlers() {
+        // Given
+        AtomicInteger consultasString = new AtomicInteger();
+        ValidationHandler string = new TipoFixoHandler("String", 100, ValidationType.STRING_NOT_EMPTY, consultasString);
+        ValidationHandler pageable = new TipoFixoHandler("Pageable", 300, ValidationType.PAGEABLE, new AtomicInteger());
+        ValidationChain chain = new ValidationChain(List.of(pageable, string));
+
+        // When
+        ValidationResult result = chain.validate(new ValidationRequest(ValidationType.PAGEABLE, null, "pageable"));
+
+        // Then
+        assertThat(result.getHandlerName()).isEqualTo("Pageable");
+        assertThat(consultasString).hasValue(0);
+    }
+
+    @Test
+    void testConstructor_ShouldBuildDispatchFromSupportedTypesWithoutCallingCanHandle() {
+        // Given: um canHandle que falha sem o valor não decide mais a tabela de despacho
+        ValidationHandler falhaSemValor = new AbstractValidationHandler("FalhaSemValor", 10, Set.of(ValidationType.CUSTOM)) {
+            @Override
+            public boolean canHandle(ValidationRequest request) {
+                return request.getValue().toString().startsWith("custom:");
+            }
+
+            @Override
+            protected ValidationResult doHandle(ValidationRequest request) {
+                return success("ok", request.getFieldName(), request.getValue());
+            }
+        };
+        AtomicInteger consultasString = new AtomicInteger();
+        ValidationHandler string = new TipoFixoHandler("String", 100, ValidationType.STRING_NOT_EMPTY, consultasString);
+
+        // When
+        ValidationChain chain = new ValidationChain(List.of(string, falhaSemValor));
+        ValidationResult result = chain.validateStringNotEmpty("valor", "campo");
+
+        // Then: a string entra direto no seu handler, sem passar pelo de prioridade maior
+        assertThat(result.getHandlerName()).isEqualTo("String");
+        assertThat(consultasString).hasValue(1);
+    }
+
+    @Test
+    void testValidate_WithOverlappingHandlers_ShouldUseHighestPriority() {
+        // Given
+        ValidationHandler baixa = new TipoFixoHandler("Baixa", 500, ValidationType.SORT_FIELD, new AtomicInteger());
+        ValidationHandler alta = new TipoFixoHandler("Alta", 50, ValidationType.SORT_FIELD, new AtomicInteger());
+        ValidationChain chain = new ValidationChain(List.of(baixa, alta));
+
+        // When
+        ValidationResult result = chain.validateSortField("numeroCredito", "sortBy");
+
+        // Then
+        assertThat(result.getHandlerName()).isEqualTo("Alta");
+    }
+
+    @Test
+    void testValidate_WithTypeWithoutHandler_ShouldReturnChainError() {
+        // Given
+        ValidationRequest request = new ValidationRequest(ValidationType.DATE_FORMAT, "2024-01-01", "data");
+
+        // When
+        ValidationResult result = validationChain.validate(request);
+
+        // Then
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getFirstError()).contains("Nenhum handler disponível");
+    }
+
+    @Test
+    void testValidateAndCreatePageable_WithoutSortParameters_ShouldUseDefaults() {
+        // When
+        ValidationResult result = validationChain.validateAndCreatePageable(0, 10, null, null);
+
+        // Then
+        assertThat(result.isValid()).isTrue();
+        Pageable pageable = (Pageable) result.getProcessedValue();
+        assertThat(pageable.getSort().getOrderFor("id")).isNotNull();
+    }
+
+    /**
+     * Handler que aceita um único tipo e conta quantas vezes foi consultado.
+     */
+    private static final class TipoFixoHandler extends AbstractValidationHandler {
+
+        private final ValidationType tipo;
+        private final AtomicInteger consultas;
+
+        TipoFixoHandler(String nome, int prioridade, ValidationType tipo, AtomicInteger consultas) {
+            super(nome, prioridade, Set.of(tipo));
+            this.tipo = tipo;
+            this.consultas = consultas;
+        }
+
+        @Override
+        public boolean canHandle(ValidationRequest request) {
+            consultas.incrementAndGet();
+            return request.getType() == tipo;
+        }
+
+        @Override
+        protected ValidationResult doHandle(ValidationRequest request) {
+            return success("ok", request.getFieldName(), request.getValue());
+        }
+    }
 }
@@ -546,4 +546,26 @@ class NumberValidationHandlerTest {
         assertNotNull(result.getMessage());
         assertEquals("testField", result.getFieldName());
     }
+
+    @Test
+    @DisplayName("Deve falhar quando mínimo é maior que máximo via interface com inteiros")
+    void deveFalharQuandoMinimoMaiorQueMaximoViaInterfaceComInteiros() {
+        ValidationResult result = handler.validateRange(5, "testField", 10, 1);
+
+        assertFalse(result.isValid());
+        assertEquals("testField", result.getFieldName());
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar resultado de sucesso de inteiros pequenos")
+    void deveCompartilharResultadoDeSucessoDeInteirosPequenos() {
+        ValidationResult positivo = handler.validatePositive(42, "testField");
+        ValidationResult intervalo = handler.validateRange(42, "testField", 1, 100);
+        ValidationResult grande = handler.validatePositive(1000, "testField");
+
+        assertSame(positivo, intervalo);
+        assertEquals(42, positivo.getProcessedValue());
+        assertNotSame(grande, handler.validatePositive(1000, "testField"));
+        assertEquals(1000, grande.getProcessedValue());
+    }
 }
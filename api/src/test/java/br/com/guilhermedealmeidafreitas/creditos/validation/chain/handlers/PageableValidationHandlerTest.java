@@ -590,4 +590,52 @@ class PageableValidationHandlerTest {
         // Strings vazias são tratadas como inválidas para direção de ordenação
         assertFalse(result2.isValid());
     }
+
+    @Test
+    @DisplayName("Deve validar Pageable com inteiros via validatePageableParameters")
+    void deveValidarPageableComInteirosViaValidatePageableParameters() {
+        Pageable expectedPageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "nome"));
+        when(pageableFactory.createPageable(0, 20, "nome", "desc"))
+            .thenReturn(expectedPageable);
+
+        ValidationResult result = handler.validatePageableParameters(0, 20, "nome", "desc");
+
+        assertTrue(result.isValid());
+        assertEquals("pageable", result.getFieldName());
+        assertEquals(expectedPageable, result.getProcessedValue());
+    }
+
+    @Test
+    @DisplayName("Deve falhar com campo de ordenação inválido via validatePageableParameters")
+    void deveFalharComCampoDeOrdenacaoInvalidoViaValidatePageableParameters() {
+        ValidationResult result = handler.validatePageableParameters(0, 20, "senha", "ASC");
+
+        assertFalse(result.isValid());
+        assertEquals("sortBy", result.getFieldName());
+    }
+
+    @Test
+    @DisplayName("Deve falhar com direção inválida via validatePageableParameters")
+    void deveFalharComDirecaoInvalidaViaValidatePageableParameters() {
+        ValidationResult result = handler.validatePageableParameters(0, 20, "nome", "LATERAL");
+
+        assertFalse(result.isValid());
+        assertEquals("sortDirection", result.getFieldName());
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar resultado de sucesso da primeira página")
+    void deveCompartilharResultadoDeSucessoDaPrimeiraPagina() {
+        Pageable primeiraPagina = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "nome"));
+        Pageable segundaPagina = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "nome"));
+        when(pageableFactory.createPageable(0, 20, "nome", "desc")).thenReturn(primeiraPagina);
+        when(pageableFactory.createPageable(1, 20, "nome", "desc")).thenReturn(segundaPagina);
+
+        ValidationResult primeira = handler.validatePageableParameters(0, 20, "nome", "desc");
+        ValidationResult segunda = handler.validatePageableParameters(1, 20, "nome", "desc");
+
+        assertSame(primeira, handler.validatePageableParameters(0, 20, "nome", "desc"));
+        assertNotSame(segunda, handler.validatePageableParameters(1, 20, "nome", "desc"));
+        assertEquals(segundaPagina, segunda.getProcessedValue());
+    }
 }
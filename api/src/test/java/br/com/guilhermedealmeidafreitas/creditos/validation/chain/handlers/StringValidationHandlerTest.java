@@ -1,8 +1,10 @@
 package br.com.guilhermedealmeidafreitas.creditos.validation.chain.handlers;
 
+import br.com.guilhermedealmeidafreitas.creditos.config.ValidationConfig;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationRequest;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationResult;
 import br.com.guilhermedealmeidafreitas.creditos.validation.chain.ValidationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,7 +18,7 @@ class StringValidationHandlerTest {
 
     @BeforeEach
     void setUp() {
-        handler = new StringValidationHandler();
+        handler = new StringValidationHandler(new ValidationConfig(), new SimpleMeterRegistry());
     }
 
     @Test
@@ -565,4 +567,47 @@ class StringValidationHandlerTest {
         assertTrue(result.isValid());
         assertEquals(tabString, result.getProcessedValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve reaproveitar o resultado de campo opcional nulo")
+    void deveReaproveitarResultadoDeCampoOpcionalNulo() {
+        ValidationRequest request = new ValidationRequest(
+            ValidationType.STRING_OPTIONAL, null, "testField");
+
+        ValidationResult result = handler.handle(request);
+
+        assertTrue(result.isValid());
+        assertNull(result.getProcessedValue());
+        assertEquals("testField", result.getFieldName());
+        assertSame(result, handler.handle(request));
+    }
+
+    @Test
+    @DisplayName("Deve compilar cada padrão uma única vez")
+    void deveCompilarCadaPadraoUmaUnicaVez() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StringValidationHandler handlerComMetricas = new StringValidationHandler(new ValidationConfig(), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(handlerComMetricas.validatePattern("123-456", "testField", "\\d{3}-\\d{3}").isValid());
+            assertFalse(handlerComMetricas.validatePattern("abc", "testField", "\\d{3}-\\d{3}").isValid());
+        }
+        handlerComMetricas.validatePattern("abc", "testField", "[a-z]+");
+
+        assertEquals(2.0, meterRegistry.get("creditos.validacao.padroes.compilacoes").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o número de padrões no cache")
+    void deveLimitarNumeroDePadroesNoCache() {
+        ValidationConfig config = new ValidationConfig();
+        config.getStringValidation().setPatternCacheSize(4);
+        StringValidationHandler handlerLimitado = new StringValidationHandler(config, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(handlerLimitado.validatePattern("a", "testField", "a{1," + (i + 1) + "}").isValid());
+        }
+
+        assertTrue(handlerLimitado.cachedPatternCount() <= 4);
+    }
+}
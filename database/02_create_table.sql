@@ -15,7 +15,7 @@ CREATE TABLE credito (
     valor_deducao DECIMAL(15, 2) NOT NULL,
     base_calculo DECIMAL(15, 2) NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT clock_timestamp()
 );
 
 -- Comentários das colunas
@@ -42,7 +42,7 @@ CREATE INDEX idx_credito_tipo_credito ON credito(tipo_credito);
 CREATE OR REPLACE FUNCTION update_updated_at_column()
 RETURNS TRIGGER AS $$
 BEGIN
-    NEW.updated_at = CURRENT_TIMESTAMP;
+    NEW.updated_at = clock_timestamp();
     RETURN NEW;
 END;
 $$ language 'plpgsql';
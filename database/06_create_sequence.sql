@@ -0,0 +1,32 @@
+-- Script para migrar a geração de ids da tabela credito de IDENTITY para sequence
+-- Execute este script conectado ao banco creditos_db, após o 05_add_constraints.sql
+--
+-- Com IDENTITY o Hibernate precisa executar cada INSERT individualmente para
+-- obter o id gerado, o que desabilita o batching JDBC. Com uma sequence de
+-- incremento 50 (mesmo allocationSize da entidade) o otimizador pooled reserva
+-- 50 ids por chamada ao banco e os INSERTs podem ser agrupados em lote.
+-- O script é idempotente e pode ser executado mais de uma vez.
+
+-- Remover a IDENTITY da coluna id (remove também a sequence interna associada)
+ALTER TABLE credito ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Criar a sequence usada pela aplicação
+CREATE SEQUENCE IF NOT EXISTS credito_id_seq
+    INCREMENT BY 50
+    START WITH 1
+    OWNED BY credito.id;
+
+ALTER SEQUENCE credito_id_seq INCREMENT BY 50;
+
+-- Posicionar a sequence após o maior id existente. No otimizador pooled o valor
+-- retornado pela sequence é o limite superior do bloco reservado, por isso a
+-- sequence avança um bloco inteiro além do MAX(id)
+SELECT setval('credito_id_seq', COALESCE((SELECT MAX(id) FROM credito), 0) + 50, false);
+
+-- Manter um default para INSERTs feitos diretamente via SQL (ex.: 03_insert_data.sql)
+ALTER TABLE credito ALTER COLUMN id SET DEFAULT nextval('credito_id_seq');
+
+-- Verificar a sequence criada
+SELECT sequencename, increment_by, last_value
+FROM pg_sequences
+WHERE sequencename = 'credito_id_seq';
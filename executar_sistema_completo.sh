@@ -278,7 +278,7 @@ execute_sql_script() {
     # Para scripts que criam banco de dados, executar no banco postgres
     # Para outros scripts, executar no banco creditos_db
     local target_db="postgres"
-    if [[ "$script_name" == "02_create_table.sql" ]] || [[ "$script_name" == "03_insert_data.sql" ]] || [[ "$script_name" == "04_cleanup_duplicates.sql" ]] || [[ "$script_name" == "05_add_constraints.sql" ]]; then
+    if [[ "$script_name" == "02_create_table.sql" ]] || [[ "$script_name" == "03_insert_data.sql" ]] || [[ "$script_name" == "04_cleanup_duplicates.sql" ]] || [[ "$script_name" == "05_add_constraints.sql" ]] || [[ "$script_name" == "06_create_sequence.sql" ]]; then
         target_db="creditos_db"
     fi
     
@@ -382,7 +382,7 @@ wait_for_services() {
     print_status "Aguardando API..."
     timeout=120
     counter=0
-    while ! curl -f http://localhost:8080/actuator/health >/dev/null 2>&1; do
+    while ! curl -f http://localhost:8080/actuator/health/liveness >/dev/null 2>&1; do
         if [ $counter -ge $timeout ]; then
             print_error "Timeout aguardando API ficar pronta"
             exit 1
@@ -427,7 +427,7 @@ check_final_status() {
     print_status "=== TESTANDO ENDPOINTS ==="
     
     # Testar API
-    if curl -f http://localhost:8080/actuator/health >/dev/null 2>&1; then
+    if curl -f http://localhost:8080/actuator/health/liveness >/dev/null 2>&1; then
         print_success "API: http://localhost:8080 ✓"
     else
         print_error "API não está respondendo"
@@ -548,6 +548,9 @@ main() {
         # Verificar se a tabela credito existe
         if check_table_exists; then
             print_success "Tabela 'credito' já existe."
+            
+            # Migração idempotente da geração de ids para sequence
+            execute_sql_script "database/06_create_sequence.sql"
             print_status "Banco de dados está configurado e pronto para uso."
         else
             print_warning "Tabela 'credito' não existe no banco 'creditos_db'."
@@ -558,6 +561,7 @@ main() {
             execute_sql_script "database/03_insert_data.sql"
             execute_sql_script "database/04_cleanup_duplicates.sql"
             execute_sql_script "database/05_add_constraints.sql"
+            execute_sql_script "database/06_create_sequence.sql"
             
             print_success "Tabelas e dados criados com sucesso!"
         fi
@@ -572,6 +576,7 @@ main() {
         execute_sql_script "database/03_insert_data.sql"
         execute_sql_script "database/04_cleanup_duplicates.sql"
         execute_sql_script "database/05_add_constraints.sql"
+        execute_sql_script "database/06_create_sequence.sql"
         
         print_success "Banco de dados configurado com sucesso!"
     fi